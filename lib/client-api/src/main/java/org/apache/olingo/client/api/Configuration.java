@@ -20,6 +20,7 @@ package org.apache.olingo.client.api;
 
 import java.util.concurrent.ExecutorService;
 
+import org.apache.olingo.client.api.http.AsyncHttpTransport;
 import org.apache.olingo.client.api.http.HttpClientFactory;
 import org.apache.olingo.client.api.http.HttpUriRequestFactory;
 import org.apache.olingo.commons.api.format.ContentType;
@@ -111,6 +112,23 @@ public interface Configuration {
    */
   void setHttpClientFactory(HttpClientFactory factory);
 
+  /**
+   * Gets the transport to be used for executing requests asynchronously.
+   *
+   * @return provided implementation (if configured via <tt>setAsyncHttpTransport</tt>) or <tt>null</tt>.
+   */
+  AsyncHttpTransport getAsyncHttpTransport();
+
+  /**
+   * Sets the transport to be used for executing requests asynchronously.
+   * <br/>
+   * If not set, asynchronous requests are executed on the executor service.
+   *
+   * @param transport implementation of <tt>AsyncHttpTransport</tt>.
+   * @see AsyncHttpTransport
+   */
+  void setAsyncHttpTransport(AsyncHttpTransport transport);
+
   /**
    * Gets the HttpUriRequest factory for generating requests to be executed.
    *
@@ -158,6 +176,22 @@ public interface Configuration {
    */
   void setGzipCompression(boolean value);
 
+  /**
+   * Checks whether the payloads of outgoing requests are compressed with Gzip
+   * (and sent with the <tt>Content-Encoding: gzip</tt> HTTP header).
+   *
+   * @return whether request payloads are compressed
+   */
+  boolean isGzipRequestCompression();
+
+  /**
+   * Sets Gzip compression of outgoing request payloads enabled or disabled.
+   * The service must support requests with <tt>Content-Encoding: gzip</tt>.
+   *
+   * @param value whether to compress request payloads with Gzip.
+   */
+  void setGzipRequestCompression(boolean value);
+
   /**
    * Checks whether chunk HTTP encoding is being used.
    *
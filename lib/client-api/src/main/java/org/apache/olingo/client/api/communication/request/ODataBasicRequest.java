@@ -20,6 +20,7 @@ package org.apache.olingo.client.api.communication.request;
 
 import java.util.concurrent.Future;
 
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.olingo.client.api.communication.response.ODataResponse;
 import org.apache.olingo.commons.api.format.ContentType;
 
@@ -44,6 +45,15 @@ public interface ODataBasicRequest<T extends ODataResponse> extends ODataRequest
    */
   Future<T> asyncExecute();
 
+  /**
+   * Async request execute, notifying the given callback on completion.
+   *
+   * @param callback callback to be notified when the response has been received or the request has failed;
+   * can be <tt>null</tt>.
+   * @return <code>Future&lt;ODataResponse&gt;</code> about the executed request.
+   */
+  Future<T> asyncExecute(FutureCallback<T> callback);
+
   /**
    * Override configured request Content-Type.
    *
@@ -18,28 +18,36 @@
  */
 package org.apache.olingo.client.api.domain;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URI;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
 import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.request.ODataRequest;
+import org.apache.olingo.client.api.communication.request.retrieve.ODataEntitySetIteratorRequest;
+import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
 import org.apache.olingo.client.api.data.ResWrap;
+import org.apache.olingo.client.api.serialization.EntitySetStream;
 import org.apache.olingo.client.api.serialization.ODataDeserializerException;
-import org.apache.olingo.commons.api.Constants;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * OData entity set iterator class.
  * <br/>
+ * Entities are read one at a time while the response payload is being consumed; the iterator can optionally
+ * follow next links, retrieving the following pages as needed.
+ * <br/>
  * <b>Please don't forget to call the <tt>close()>/</tt> method when not needed any more.</b>
  *
  * @param <E> concrete ODataEntity implementation
@@ -57,18 +65,29 @@ public class ClientEntitySetIterator<T extends ClientEntitySet, E extends Client
 
   protected ResWrap<Entity> cached;
 
-  private final InputStream stream;
+  private final Header[] headers;
 
-  private final ContentType contentType;
+  private InputStream stream;
 
-  private T entitySet;
+  /**
+   * Response of the current page if it has been retrieved by this iterator, following a next link.
+   */
+  private ODataRetrieveResponse<ClientEntitySetIterator<ClientEntitySet, ClientEntity>> pageResponse;
+
+  private ContentType contentType;
 
-  private final ByteArrayOutputStream osEntitySet;
+  private EntitySetStream entitySetStream;
 
-  private final String namespaces;
+  private T entitySet;
 
   private boolean available = true;
 
+  private boolean followNextLinks = false;
+
+  private boolean prefetchNextPage = false;
+
+  private Future<ODataRetrieveResponse<ClientEntitySetIterator<ClientEntitySet, ClientEntity>>> nextPage;
+
   /**
    * Constructor.
    *
@@ -79,49 +98,56 @@ public class ClientEntitySetIterator<T extends ClientEntitySet, E extends Client
   public ClientEntitySetIterator(final ODataClient odataClient, final InputStream stream,
                                  final ContentType contentType) {
 
+    this(odataClient, stream, contentType, null);
+  }
+
+  /**
+   * Constructor.
+   * <br/>
+   * The headers of the given request, like <tt>Prefer</tt>, <tt>Authorization</tt> or any custom header, are sent
+   * again when following next links; only <tt>Accept</tt> and the conditional headers are not.
+   *
+   * @param odataClient client instance getting this request
+   * @param stream source stream.
+   * @param contentType OData format.
+   * @param request request this iterator is the response of, or <tt>null</tt>
+   */
+  public ClientEntitySetIterator(final ODataClient odataClient, final InputStream stream,
+                                 final ContentType contentType, final ODataRequest request) {
+
     this.odataClient = odataClient;
-    this.stream = stream;
-    this.contentType = contentType;
-    this.osEntitySet = new ByteArrayOutputStream();
-    
-    if(contentType.isCompatible(ContentType.APPLICATION_ATOM_SVC)
-        || contentType.isCompatible(ContentType.APPLICATION_ATOM_XML)) {
-      namespaces = getAllElementAttributes(stream, "feed", osEntitySet);
-    } else {
-      namespaces = null;
-      try {
-        if (consume(stream, "\"value\":", osEntitySet, true) >= 0) {
-          int c = 0;
-          while (c != '[' && (c = stream.read()) >= 0) {
-            osEntitySet.write(c);
-          }
-        }
-      } catch (IOException e) {
-        LOG.error("Error parsing entity set", e);
-        throw new IllegalStateException(e);
-      }
-    }
+    this.headers = request == null ? new Header[0] : request.getHttpRequest().getAllHeaders();
+    open(stream, contentType);
+  }
+
+  /**
+   * Sets whether next links are followed: when enabled, the entities of the following pages are returned as well,
+   * once the current page is exhausted.
+   *
+   * @param followNextLinks whether next links have to be followed.
+   */
+  public void setFollowNextLinks(final boolean followNextLinks) {
+    this.followNextLinks = followNextLinks;
+  }
+
+  /**
+   * Sets whether the next page is requested as soon as its link is known, while the current page is still being
+   * read; this only applies when next links are followed.
+   *
+   * @param prefetchNextPage whether the next page has to be prefetched.
+   * @see #setFollowNextLinks(boolean)
+   */
+  public void setPrefetchNextPage(final boolean prefetchNextPage) {
+    this.prefetchNextPage = prefetchNextPage;
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public boolean hasNext() {
     if (available && cached == null) {
-      if (contentType.isCompatible(ContentType.APPLICATION_ATOM_SVC)
-          || contentType.isCompatible(ContentType.APPLICATION_ATOM_XML)) {
-        cached = nextAtomEntityFromEntitySet(stream, osEntitySet, namespaces);
-      } else {
-        cached = nextJSONEntityFromEntitySet(stream, osEntitySet);
-      }
+      cached = nextEntity();
 
       if (cached == null) {
         available = false;
-        try {
-          entitySet = (T) odataClient.getReader().
-                  readEntitySet(new ByteArrayInputStream(osEntitySet.toByteArray()), contentType);
-        } catch (final ODataDeserializerException e) {
-          available = false;
-        }
         close();
       }
     }
@@ -153,12 +179,27 @@ public class ClientEntitySetIterator<T extends ClientEntitySet, E extends Client
    * Closes the current iterator.
    */
   public void close() {
+    entitySetStream.close();
     IOUtils.closeQuietly(stream);
-    IOUtils.closeQuietly(osEntitySet);
+    if (pageResponse != null) {
+      pageResponse.close();
+      pageResponse = null;
+    }
+    if (nextPage != null && !nextPage.cancel(true)) {
+      try {
+        nextPage.get().close();
+      } catch (final Exception e) {
+        LOG.debug("Error closing prefetched page", e);
+      }
+    }
+    nextPage = null;
   }
 
   /**
    * Gets the next link if exists.
+   * <br/>
+   * When next links are followed, this is the next link of the last page read, hence <tt>null</tt> unless iteration
+   * was interrupted by an error.
    *
    * @return next link if exists; null otherwise.
    */
@@ -169,140 +210,99 @@ public class ClientEntitySetIterator<T extends ClientEntitySet, E extends Client
     return entitySet.getNext();
   }
 
-  private ResWrap<Entity> nextJSONEntityFromEntitySet(final InputStream input, final OutputStream osEntitySet) {
-    final ByteArrayOutputStream entity = new ByteArrayOutputStream();
-
-    ResWrap<Entity> jsonEntity = null;
+  private void open(final InputStream stream, final ContentType contentType) {
+    this.stream = stream;
+    this.contentType = contentType;
     try {
-      int c;
-
-      boolean foundNewOne = false;
+      entitySetStream = odataClient.getDeserializer(contentType).toEntitySetStream(stream);
+    } catch (final ODataDeserializerException e) {
+      LOG.error("Error parsing entity set", e);
+      throw new IllegalStateException(e);
+    }
+  }
 
-      do {
-        c = input.read();
-        if (c == '{') {
-          entity.write(c);
-          c = -1;
-          foundNewOne = true;
-        }
-        if (c == ']') {
-          osEntitySet.write(c);
-          c = -1;
-        }
-      } while (c >= 0);
-
-      if (foundNewOne) {
-        int count = 1;
-        c = 0;
-
-        while (count > 0 && c >= 0) {
-          c = input.read();
-          if (c == '{') {
-            count++;
-          } else if (c == '}') {
-            count--;
-          }
-          entity.write(c);
+  @SuppressWarnings("unchecked")
+  private ResWrap<Entity> nextEntity() {
+    try {
+      ResWrap<Entity> entity = entitySetStream.next();
+      while (entity == null) {
+        entitySet = (T) odataClient.getBinder().getODataEntitySet(entitySetStream.getEntitySet());
+        if (!followNextLinks || entitySet.getNext() == null) {
+          return null;
         }
 
-        if (c >= 0) {
-          jsonEntity = odataClient.getDeserializer(ContentType.JSON).toEntity(
-                  new ByteArrayInputStream(entity.toByteArray()));
-        }
-      } else {
-        while ((c = input.read()) >= 0) {
-          osEntitySet.write(c);
-        }
+        final ODataRetrieveResponse<ClientEntitySetIterator<ClientEntitySet, ClientEntity>> response =
+            nextPage == null ? retrieve(entitySet.getNext()) : nextPage.get();
+        nextPage = null;
+        close();
+        pageResponse = response;
+        open(response.getRawResponse(), ContentType.parse(response.getContentType()));
+        entity = entitySetStream.next();
+      }
+
+      if (followNextLinks && prefetchNextPage && nextPage == null
+          && entitySetStream.getEntitySet().getPayload().getNext() != null) {
+
+        final URI next = odataClient.getBinder().getODataEntitySet(entitySetStream.getEntitySet()).getNext();
+        final PageTask task = new PageTask(
+            new Callable<ODataRetrieveResponse<ClientEntitySetIterator<ClientEntitySet, ClientEntity>>>() {
+              @Override
+              public ODataRetrieveResponse<ClientEntitySetIterator<ClientEntitySet, ClientEntity>> call() {
+                return retrieve(next);
+              }
+            });
+        odataClient.getConfiguration().getExecutor().execute(task);
+        nextPage = task;
       }
-    } catch (Exception e) {
+
+      return entity;
+    } catch (final ODataDeserializerException e) {
       LOG.error("Error retrieving entities from EntitySet", e);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.error("Interrupted while retrieving the next page of EntitySet", e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      LOG.error("Error retrieving the next page of EntitySet", e);
     }
 
-    return jsonEntity;
+    return null;
   }
 
-  private ResWrap<Entity> nextAtomEntityFromEntitySet(
-          final InputStream input, final OutputStream osEntitySet, final String namespaces) {
-
-    final ByteArrayOutputStream entity = new ByteArrayOutputStream();
-
-    ResWrap<Entity> atomEntity = null;
-
-    try {
-      if (consume(input, "<entry>", osEntitySet, false) >= 0) {
-        entity.write("<entry ".getBytes(Constants.UTF8));
-        entity.write(namespaces.getBytes(Constants.UTF8));
-        entity.write(">".getBytes(Constants.UTF8));
-
-        if (consume(input, "</entry>", entity, true) >= 0) {
-          atomEntity = odataClient.getDeserializer(ContentType.APPLICATION_ATOM_XML).
-                  toEntity(new ByteArrayInputStream(entity.toByteArray()));
-        }
+  private ODataRetrieveResponse<ClientEntitySetIterator<ClientEntitySet, ClientEntity>> retrieve(final URI next) {
+    final ODataEntitySetIteratorRequest<ClientEntitySet, ClientEntity> request =
+        odataClient.getRetrieveRequestFactory().getEntitySetIteratorRequest(next);
+    for (Header header : headers) {
+      if (!HttpHeader.ACCEPT.equalsIgnoreCase(header.getName())
+          && !HttpHeader.IF_MATCH.equalsIgnoreCase(header.getName())
+          && !HttpHeader.IF_NONE_MATCH.equalsIgnoreCase(header.getName())) {
+        request.addCustomHeader(header.getName(), header.getValue());
       }
-    } catch (Exception e) {
-      LOG.error("Error retrieving entities from EntitySet", e);
     }
-
-    return atomEntity;
+    request.setFormat(contentType);
+    return request.execute();
   }
 
-  private String getAllElementAttributes(final InputStream input, final String name, final OutputStream os) {
-    final ByteArrayOutputStream attrs = new ByteArrayOutputStream();
-
-    String res;
-
-    try {
-      byte[] attrsDeclaration = null;
-
-      final String key = "<" + name + " ";
-      if (consume(input, key, os, true) >= 0 && consume(input, ">", attrs, false) >= 0) {
-        attrsDeclaration = attrs.toByteArray();
-        os.write(attrsDeclaration);
-        os.write('>');
-      }
+  /**
+   * Retrieval of the next page; a response still arriving after the retrieval has been cancelled is closed, since
+   * nobody is going to read it.
+   */
+  private static final class PageTask
+      extends FutureTask<ODataRetrieveResponse<ClientEntitySetIterator<ClientEntitySet, ClientEntity>>> {
 
-      res = attrsDeclaration == null ? "" : new String(attrsDeclaration, Constants.UTF8).trim();
-    } catch (Exception e) {
-      LOG.error("Error retrieving entities from EntitySet", e);
-      res = "";
+    private PageTask(
+        final Callable<ODataRetrieveResponse<ClientEntitySetIterator<ClientEntitySet, ClientEntity>>> callable) {
+      super(callable);
     }
 
-    return res.endsWith("/") ? res.substring(0, res.length() - 1) : res;
-  }
-
-  private int consume(
-          final InputStream input, final String end, final OutputStream os, final boolean includeEndKey)
-          throws IOException {
-
-    final char[] endKey = end.toCharArray();
-    final char[] endLowerKey = end.toLowerCase().toCharArray();
-    final char[] endUpperKey = end.toUpperCase().toCharArray();
-
-    int pos = 0;
-    int c = 0;
-    while (pos < endKey.length && (c = input.read()) >= 0) {
-      if (c == endLowerKey[pos] || c == endUpperKey[pos]) {
-        pos++;
-        if (includeEndKey && os != null) {
-          os.write(c);
-        }
-      } else if (pos > 0) {
-        if (!includeEndKey && os != null) {
-          for (int i = 0; i < pos; i++) {
-            os.write(endKey[i]);
-          }
-        }
-        if (os != null) {
-          os.write(c);
-        }
-        pos = 0;
-      } else {
-        if (os != null) {
-          os.write(c);
-        }
+    @Override
+    protected void set(final ODataRetrieveResponse<ClientEntitySetIterator<ClientEntitySet, ClientEntity>> response) {
+      super.set(response);
+      if (isCancelled()) {
+        response.close();
       }
     }
-
-    return c;
   }
 }
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.http;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+
+/**
+ * Interface used by ODataRequest implementations to send requests without blocking a thread until the response
+ * arrives, e.g. by means of a client based on non-blocking I/O.
+ * <br/>
+ * If configured, it is used by <tt>ODataBasicRequest.asyncExecute</tt> instead of executing the request on the
+ * configured executor.
+ */
+public interface AsyncHttpTransport {
+
+  /**
+   * Sends the given request; the callback has to be notified as soon as the response headers have been received,
+   * the request has failed or has been cancelled.
+   *
+   * @param request request to be sent, including headers and payload.
+   * @param callback callback to be notified.
+   */
+  void execute(HttpUriRequest request, FutureCallback<HttpResponse> callback);
+}
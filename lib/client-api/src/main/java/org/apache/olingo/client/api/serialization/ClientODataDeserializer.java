@@ -55,4 +55,13 @@ public interface ClientODataDeserializer extends ODataDeserializer {
    * @throws ODataDeserializerException
    */
   ResWrap<Delta> toDelta(InputStream input) throws ODataDeserializerException;
+
+  /**
+   * Gets a reader for the entity set represented by the given InputStream, returning its entities one at a time.
+   *
+   * @param input stream to be de-serialized.
+   * @return {@link EntitySetStream} instance.
+   * @throws ODataDeserializerException
+   */
+  EntitySetStream toEntitySetStream(InputStream input) throws ODataDeserializerException;
 }
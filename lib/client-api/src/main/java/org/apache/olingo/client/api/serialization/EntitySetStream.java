@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.serialization;
+
+import java.io.Closeable;
+
+import org.apache.olingo.client.api.data.ResWrap;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityCollection;
+
+/**
+ * Reads the entities of an entity set one at a time, while the payload is being consumed.
+ * <br/>
+ * <b>Please don't forget to call the <tt>close()</tt> method when not needed any more.</b>
+ */
+public interface EntitySetStream extends Closeable {
+
+  /**
+   * Reads the next entity of the entity set.
+   *
+   * @return next entity, or <tt>null</tt> if all entities have been read.
+   * @throws ODataDeserializerException
+   */
+  ResWrap<Entity> next() throws ODataDeserializerException;
+
+  /**
+   * Gets the entity set read so far, without its entities.
+   * <br/>
+   * Count, next and delta link can be found anywhere in the payload, hence they are guaranteed to be available only
+   * once {@link #next()} has returned <tt>null</tt>.
+   *
+   * @return entity set read so far.
+   */
+  ResWrap<EntityCollection> getEntitySet();
+
+  /**
+   * Closes the underlying payload.
+   */
+  @Override
+  void close();
+}
@@ -24,10 +24,11 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.apache.olingo.client.api.Configuration;
+import org.apache.olingo.client.api.http.AsyncHttpTransport;
 import org.apache.olingo.client.api.http.HttpClientFactory;
 import org.apache.olingo.client.api.http.HttpUriRequestFactory;
-import org.apache.olingo.client.core.http.DefaultHttpClientFactory;
 import org.apache.olingo.client.core.http.DefaultHttpUriRequestFactory;
+import org.apache.olingo.client.core.http.PoolingHttpClientFactory;
 import org.apache.olingo.commons.api.format.ContentType;
 
 public class ConfigurationImpl implements Configuration {
@@ -44,6 +45,8 @@ public class ConfigurationImpl implements Configuration {
 
   private static final String HTTP_URI_REQUEST_FACTORY = "httpUriRequestFactory";
 
+  private static final String ASYNC_HTTP_TRANSPORT = "asyncHttpTransport";
+
   private static final String USE_XHTTP_METHOD = "useHTTPMethod";
 
   private static final String KEY_AS_SEGMENT = "keyAsSegment";
@@ -54,6 +57,8 @@ public class ConfigurationImpl implements Configuration {
 
   private static final String GZIP_COMPRESSION = "gzipCompression";
 
+  private static final String GZIP_REQUEST_COMPRESSION = "gzipRequestCompression";
+
   private static final String CHUNKING = "chunking";
 
   private static final String CONTINUE_ON_ERROR = "continueOnError";
@@ -62,6 +67,8 @@ public class ConfigurationImpl implements Configuration {
 
   private transient ExecutorService executor = Executors.newFixedThreadPool(10);
 
+  private transient HttpClientFactory defaultHttpClientFactory;
+
   /**
    * Gets given configuration property.
    *
@@ -132,7 +139,19 @@ public class ConfigurationImpl implements Configuration {
 
   @Override
   public HttpClientFactory getHttpClientFactory() {
-    return (HttpClientFactory) getProperty(HTTP_CLIENT_FACTORY, new DefaultHttpClientFactory());
+    final HttpClientFactory factory = (HttpClientFactory) getProperty(HTTP_CLIENT_FACTORY, null);
+    return factory == null && !CONF.containsKey(HTTP_CLIENT_FACTORY) ? getDefaultHttpClientFactory() : factory;
+  }
+
+  /**
+   * Gets the factory used if none has been set; its pool of connections is shared by all requests
+   * executed with this configuration.
+   */
+  private synchronized HttpClientFactory getDefaultHttpClientFactory() {
+    if (defaultHttpClientFactory == null) {
+      defaultHttpClientFactory = new PoolingHttpClientFactory();
+    }
+    return defaultHttpClientFactory;
   }
 
   @Override
@@ -140,6 +159,16 @@ public class ConfigurationImpl implements Configuration {
     setProperty(HTTP_CLIENT_FACTORY, factory);
   }
 
+  @Override
+  public AsyncHttpTransport getAsyncHttpTransport() {
+    return (AsyncHttpTransport) getProperty(ASYNC_HTTP_TRANSPORT, null);
+  }
+
+  @Override
+  public void setAsyncHttpTransport(final AsyncHttpTransport transport) {
+    setProperty(ASYNC_HTTP_TRANSPORT, transport);
+  }
+
   @Override
   public HttpUriRequestFactory getHttpUriRequestFactory() {
     return (HttpUriRequestFactory) getProperty(HTTP_URI_REQUEST_FACTORY, new DefaultHttpUriRequestFactory());
@@ -170,6 +199,16 @@ public class ConfigurationImpl implements Configuration {
     setProperty(GZIP_COMPRESSION, value);
   }
 
+  @Override
+  public boolean isGzipRequestCompression() {
+    return (Boolean) getProperty(GZIP_REQUEST_COMPRESSION, false);
+  }
+
+  @Override
+  public void setGzipRequestCompression(final boolean value) {
+    setProperty(GZIP_REQUEST_COMPRESSION, value);
+  }
+
   @Override
   public boolean isUseChuncked() {
     return (Boolean) getProperty(CHUNKING, true);
@@ -18,14 +18,24 @@
  */
 package org.apache.olingo.client.core;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.apache.commons.io.IOUtils;
 import org.apache.olingo.client.api.EdmEnabledODataClient;
 import org.apache.olingo.client.api.communication.request.invoke.EdmEnabledInvokeRequestFactory;
 import org.apache.olingo.client.api.communication.request.retrieve.EdmMetadataRequest;
+import org.apache.olingo.client.api.communication.request.retrieve.ODataRawRequest;
+import org.apache.olingo.client.api.communication.response.ODataRawResponse;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
+import org.apache.olingo.client.api.edm.xml.XMLMetadata;
 import org.apache.olingo.client.api.uri.URIBuilder;
 import org.apache.olingo.client.core.communication.request.invoke.EdmEnabledInvokeRequestFactoryImpl;
 import org.apache.olingo.client.core.uri.URIBuilderImpl;
 import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
 
 public class EdmEnabledODataClientImpl extends ODataClientImpl implements EdmEnabledODataClient {
 
@@ -54,15 +64,73 @@ public class EdmEnabledODataClientImpl extends ODataClientImpl implements EdmEna
   public Edm getEdm(final String metadataETag) {
     synchronized (this) {
       if (this.edm == null || (metadataETag != null && !metadataETag.equals(this.metadataETag))) {
-        final EdmMetadataRequest metadataReq = getRetrieveRequestFactory().getMetadataRequest(serviceRoot);
-        final ODataRetrieveResponse<Edm> metadataRes = metadataReq.execute();
-        this.metadataETag = metadataRes.getETag();
-        this.edm = metadataRes.getBody();
+        final MetadataCache.Entry entry = MetadataCache.isEnabled() ? getEdmFromCache(metadataETag) : retrieveEdm();
+        this.metadataETag = entry.getMetadataETag();
+        this.edm = entry.getEdm();
       }
     }
     return this.edm;
   }
 
+  /**
+   * Gets the metadata from the cache, revalidating them unless fresh or matching the ETag announced by the service.
+   */
+  private MetadataCache.Entry getEdmFromCache(final String metadataETag) {
+    final MetadataCache.Entry cached = MetadataCache.get(serviceRoot, metadataETag);
+    if (cached != null && (metadataETag != null || cached.isFresh())) {
+      return cached;
+    }
+    final MetadataCache.Entry entry = retrieveAndStoreEdm(cached);
+    if (entry != cached) {
+      MetadataCache.put(serviceRoot, entry);
+    }
+    return entry;
+  }
+
+  private MetadataCache.Entry retrieveEdm() {
+    final EdmMetadataRequest metadataReq = getRetrieveRequestFactory().getMetadataRequest(serviceRoot);
+    final ODataRetrieveResponse<Edm> metadataRes = metadataReq.execute();
+    return new MetadataCache.Entry(metadataRes.getETag(), metadataRes.getBody());
+  }
+
+  /**
+   * Retrieves the metadata document as is, in order to persist it; documents referencing other documents are
+   * retrieved again through the metadata request, which takes care of resolving references.
+   *
+   * @param cached cached metadata to be revalidated, or <tt>null</tt>
+   * @return the given cached metadata if still current, or the metadata just retrieved
+   */
+  private MetadataCache.Entry retrieveAndStoreEdm(final MetadataCache.Entry cached) {
+    final ODataRawRequest request =
+        getRetrieveRequestFactory().getRawRequest(newURIBuilder().appendMetadataSegment().build());
+    request.setFormat(ContentType.APPLICATION_XML.toContentTypeString());
+    if (cached != null && cached.getMetadataETag() != null) {
+      request.setIfNoneMatch(cached.getMetadataETag());
+    }
+    final ODataRawResponse response = request.execute();
+    if (cached != null && response.getStatusCode() == HttpStatusCode.NOT_MODIFIED.getStatusCode()) {
+      response.close();
+      cached.validated();
+      return cached;
+    }
+    final byte[] document;
+    try {
+      document = IOUtils.toByteArray(response.getRawResponse());
+    } catch (final IOException e) {
+      throw new ODataRuntimeException(e);
+    } finally {
+      response.close();
+    }
+
+    final XMLMetadata metadata = getDeserializer(ContentType.APPLICATION_XML).toMetadata(
+        new ByteArrayInputStream(document));
+    if (!metadata.getReferences().isEmpty()) {
+      return retrieveEdm();
+    }
+    MetadataCache.store(serviceRoot, response.getETag(), document);
+    return new MetadataCache.Entry(response.getETag(), getReader().readMetadata(metadata.getSchemaByNsOrAlias()));
+  }
+
   @Override
   public Edm getCachedEdm() {
     if (this.edm == null) {
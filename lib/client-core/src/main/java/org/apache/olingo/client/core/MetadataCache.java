@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.commons.api.Constants;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide cache of service metadata, keyed by service root and metadata ETag: all
+ * {@link EdmEnabledODataClientImpl} instances working against the same service share the parsed metadata, which is
+ * then requested and parsed only once per ETag.
+ * <br/>
+ * The cache is disabled by default, see {@link #setEnabled(boolean)}. Entries are keyed by service root only, hence
+ * they are shared among all clients, whatever credentials they use: do not enable the cache when the metadata
+ * served depend on who is asking.
+ * <br/>
+ * Cached metadata older than the time to live, as well as metadata read from disk, are revalidated through a
+ * conditional request carrying their ETag before being used; metadata without ETag are requested again.
+ * <br/>
+ * Optionally, metadata documents can be persisted into a local directory, so that they are read from there rather
+ * than requested again after a restart.
+ */
+public final class MetadataCache {
+
+  /**
+   * Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(MetadataCache.class);
+
+  /**
+   * Default time to live of cached metadata, in milliseconds.
+   */
+  public static final long DEFAULT_TIME_TO_LIVE = 5 * 60 * 1000L;
+
+  private static final ConcurrentMap<String, Entry> ENTRIES = new ConcurrentHashMap<String, Entry>();
+
+  private static volatile boolean enabled;
+
+  private static volatile long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+  private static volatile File directory;
+
+  private MetadataCache() {
+    // Empty private constructor for static utility classes
+  }
+
+  /**
+   * Sets whether metadata are cached; disabled by default.
+   * <br/>
+   * Cached metadata are shared among all clients working against the same service root, whatever credentials they
+   * use.
+   *
+   * @param enabled whether metadata are cached.
+   */
+  public static void setEnabled(final boolean enabled) {
+    MetadataCache.enabled = enabled;
+  }
+
+  /**
+   * Gets whether metadata are cached.
+   *
+   * @return whether metadata are cached.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Sets for how long cached metadata are used without being revalidated against the service.
+   *
+   * @param timeToLive time to live in milliseconds; 0 revalidates cached metadata on every use.
+   */
+  public static void setTimeToLive(final long timeToLive) {
+    MetadataCache.timeToLive = timeToLive;
+  }
+
+  /**
+   * Gets for how long cached metadata are used without being revalidated against the service.
+   *
+   * @return time to live in milliseconds.
+   */
+  public static long getTimeToLive() {
+    return timeToLive;
+  }
+
+  /**
+   * Sets the directory where metadata documents are persisted; <tt>null</tt> (the default) disables persistence.
+   * Persistence only applies while the cache is enabled.
+   *
+   * @param directory directory where metadata documents are persisted.
+   */
+  public static void setDirectory(final File directory) {
+    MetadataCache.directory = directory;
+  }
+
+  /**
+   * Gets the directory where metadata documents are persisted.
+   *
+   * @return directory where metadata documents are persisted, or <tt>null</tt> if persistence is disabled.
+   */
+  public static File getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Removes all cached metadata from memory; persisted documents are left untouched.
+   */
+  public static void clear() {
+    ENTRIES.clear();
+  }
+
+  /**
+   * Removes the metadata of the given service from memory and from the persistence directory, if any; they are
+   * requested again on next use.
+   *
+   * @param serviceRoot service root.
+   */
+  public static void invalidate(final String serviceRoot) {
+    if (serviceRoot == null) {
+      return;
+    }
+    ENTRIES.remove(serviceRoot);
+    final File dir = directory;
+    if (dir != null) {
+      try {
+        final String name = fileName(serviceRoot);
+        FileUtils.deleteQuietly(new File(dir, name + ".xml"));
+        FileUtils.deleteQuietly(new File(dir, name + ".etag"));
+      } catch (final UnsupportedEncodingException e) {
+        LOG.warn("Could not remove persisted metadata of " + serviceRoot, e);
+      }
+    }
+  }
+
+  /**
+   * Gets the cached metadata of the given service.
+   *
+   * @param serviceRoot service root.
+   * @param metadataETag required metadata ETag, or <tt>null</tt> if any cached metadata will do.
+   * @return cached metadata, possibly to be revalidated, or <tt>null</tt> if not available.
+   * @see Entry#isFresh()
+   */
+  static Entry get(final String serviceRoot, final String metadataETag) {
+    if (serviceRoot == null) {
+      return null;
+    }
+    Entry entry = ENTRIES.get(serviceRoot);
+    if (entry == null && directory != null) {
+      entry = load(serviceRoot);
+      if (entry != null) {
+        ENTRIES.putIfAbsent(serviceRoot, entry);
+      }
+    }
+    return entry == null || metadataETag != null && !metadataETag.equals(entry.getMetadataETag()) ? null : entry;
+  }
+
+  static void put(final String serviceRoot, final Entry entry) {
+    if (serviceRoot != null) {
+      ENTRIES.put(serviceRoot, entry);
+    }
+  }
+
+  /**
+   * Persists the given metadata document, if a directory has been set.
+   *
+   * @param serviceRoot service root.
+   * @param metadataETag metadata ETag, can be <tt>null</tt>.
+   * @param document metadata document.
+   */
+  static void store(final String serviceRoot, final String metadataETag, final byte[] document) {
+    final File dir = directory;
+    if (dir == null || serviceRoot == null) {
+      return;
+    }
+    try {
+      final String name = fileName(serviceRoot);
+      FileUtils.writeStringToFile(new File(dir, name + ".etag"), metadataETag == null ? "" : metadataETag,
+          Constants.UTF8);
+      FileUtils.writeByteArrayToFile(new File(dir, name + ".xml"), document);
+    } catch (final IOException e) {
+      LOG.warn("Could not persist metadata of " + serviceRoot, e);
+    }
+  }
+
+  private static Entry load(final String serviceRoot) {
+    InputStream input = null;
+    try {
+      final String name = fileName(serviceRoot);
+      final File document = new File(directory, name + ".xml");
+      final File etag = new File(directory, name + ".etag");
+      if (!document.isFile() || !etag.isFile()) {
+        return null;
+      }
+
+      final String metadataETag = FileUtils.readFileToString(etag, Constants.UTF8);
+      input = FileUtils.openInputStream(document);
+      return new Entry(metadataETag.isEmpty() ? null : metadataETag,
+          ODataClientFactory.getClient().getReader().readMetadata(input), 0);
+    } catch (final Exception e) {
+      LOG.warn("Could not load persisted metadata of " + serviceRoot, e);
+      return null;
+    } finally {
+      IOUtils.closeQuietly(input);
+    }
+  }
+
+  private static String fileName(final String serviceRoot) throws UnsupportedEncodingException {
+    return URLEncoder.encode(serviceRoot, Constants.UTF8);
+  }
+
+  /**
+   * Metadata of a service, along with its ETag and the time they have last been validated.
+   */
+  static final class Entry {
+
+    private final String metadataETag;
+
+    private final Edm edm;
+
+    private volatile long validated;
+
+    Entry(final String metadataETag, final Edm edm) {
+      this(metadataETag, edm, System.currentTimeMillis());
+    }
+
+    private Entry(final String metadataETag, final Edm edm, final long validated) {
+      this.metadataETag = metadataETag;
+      this.edm = edm;
+      this.validated = validated;
+    }
+
+    String getMetadataETag() {
+      return metadataETag;
+    }
+
+    Edm getEdm() {
+      return edm;
+    }
+
+    /**
+     * Gets whether these metadata can be used without asking the service first.
+     *
+     * @return <tt>false</tt> if these metadata have been read from disk and not validated yet, or have last been
+     * validated longer than the time to live ago.
+     */
+    boolean isFresh() {
+      return System.currentTimeMillis() - validated < timeToLive;
+    }
+
+    /**
+     * Records that the service confirmed these metadata to be current.
+     */
+    void validated() {
+      validated = System.currentTimeMillis();
+    }
+  }
+}
@@ -23,16 +23,26 @@ import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.olingo.client.api.ODataBatchConstants;
 import org.apache.olingo.client.api.ODataClient;
 import org.apache.olingo.client.api.communication.request.ODataBasicRequest;
 import org.apache.olingo.client.api.communication.request.ODataStreamer;
 import org.apache.olingo.client.api.communication.request.batch.ODataBatchRequest;
 import org.apache.olingo.client.api.communication.response.ODataResponse;
+import org.apache.olingo.client.api.http.AsyncHttpTransport;
+import org.apache.olingo.client.api.http.HttpClientException;
+import org.apache.olingo.client.core.uri.URIUtils;
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpMethod;
 
@@ -68,12 +78,141 @@ public abstract class AbstractODataBasicRequest<T extends ODataResponse>
 
   @Override
   public final Future<T> asyncExecute() {
-    return odataClient.getConfiguration().getExecutor().submit(new Callable<T>() {
-      @Override
-      public T call() throws Exception { //NOSONAR
-        return execute();
+    return asyncExecute(null);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <br/>
+   * Cancelling the returned future also cancels the execution: the task on the executor is cancelled,
+   * or the request sent by the {@link AsyncHttpTransport} is aborted.
+   * A response which arrives nevertheless is closed.
+   */
+  @Override
+  public final Future<T> asyncExecute(final FutureCallback<T> callback) {
+    final AsyncHttpTransport transport = odataClient.getConfiguration().getAsyncHttpTransport();
+    final T response = transport == null ? null : getAsyncResponseTemplate();
+    final RequestFuture<T> future = new RequestFuture<T>(callback);
+
+    if (response == null) {
+      // The task also reports errors which are no exceptions to the future.
+      final FutureTask<Void> task = new FutureTask<Void>(new Callable<Void>() {
+        @Override
+        public Void call() {
+          complete(future, execute());
+          return null;
+        }
+      }) {
+        @Override
+        protected void done() {
+          if (!isCancelled()) {
+            try {
+              get();
+            } catch (final ExecutionException e) {
+              future.failed(e.getCause() instanceof Exception ?
+                  (Exception) e.getCause() :
+                  new HttpClientException(e.getCause()));
+            } catch (final InterruptedException e) {
+              // The task is done, so get() does not wait.
+              Thread.currentThread().interrupt();
+            }
+          }
+        }
+      };
+      odataClient.getConfiguration().getExecutor().execute(task);
+      future.setExecution(new Cancellable() {
+        @Override
+        public boolean cancel() {
+          return task.cancel(true);
+        }
+      });
+    } else {
+      final InputStream input = getPayload();
+      try {
+        preparePayload(input);
+        prepareRequest();
+        future.setExecution(new Cancellable() {
+          @Override
+          public boolean cancel() {
+            request.abort();
+            return true;
+          }
+        });
+        transport.execute(request, new FutureCallback<HttpResponse>() {
+          @Override
+          public void completed(final HttpResponse res) {
+            boolean handled = false;
+            try {
+              validateResponse(res);
+              response.initFromHttpResponse(res);
+              complete(future, response);
+              handled = true;
+            } catch (final RuntimeException e) {
+              future.failed(e);
+              handled = true;
+            } finally {
+              IOUtils.closeQuietly(input);
+              if (!handled) {
+                // An error which is no exception is on its way to the transport; the future must complete anyway.
+                future.failed(new HttpClientException("Error on processing the response"));
+              }
+            }
+          }
+
+          @Override
+          public void failed(final Exception e) {
+            IOUtils.closeQuietly(input);
+            future.failed(new HttpClientException(e));
+          }
+
+          @Override
+          public void cancelled() {
+            IOUtils.closeQuietly(input);
+            future.cancel();
+          }
+        });
+      } catch (final RuntimeException e) {
+        IOUtils.closeQuietly(input);
+        future.failed(e);
       }
-    });
+    }
+
+    return future;
+  }
+
+  /**
+   * Completes the future with the given response; closes the response if the future has already been cancelled.
+   */
+  private void complete(final BasicFuture<T> future, final T response) {
+    if (!future.completed(response)) {
+      response.close();
+    }
+  }
+
+  /**
+   * Gets an empty response to be initialized with the HTTP response received by an {@link AsyncHttpTransport}.
+   *
+   * @return empty OData response instance or <tt>null</tt> if this request has to be executed via
+   * {@link #execute()} on the configured executor.
+   */
+  protected T getAsyncResponseTemplate() {
+    try {
+      return getResponseTemplate();
+    } catch (final IllegalStateException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Sets the given payload as entity of the request;
+   * used before sending the request by an {@link AsyncHttpTransport}.
+   *
+   * @param input payload as returned by {@link #getPayload()}; can be <tt>null</tt>.
+   */
+  protected void preparePayload(final InputStream input) {
+    if (input != null && request instanceof HttpEntityEnclosingRequestBase) {
+      ((HttpEntityEnclosingRequestBase) request).setEntity(URIUtils.buildInputStreamEntity(odataClient, input));
+    }
   }
 
   /**
@@ -117,4 +256,33 @@ public abstract class AbstractODataBasicRequest<T extends ODataResponse>
       throw new IllegalStateException(e);
     }
   }
+
+  /**
+   * Future which also cancels the execution of its request.
+   */
+  private static final class RequestFuture<T> extends BasicFuture<T> {
+
+    private volatile Cancellable execution;
+
+    private RequestFuture(final FutureCallback<T> callback) {
+      super(callback);
+    }
+
+    private void setExecution(final Cancellable execution) {
+      this.execution = execution;
+      if (isCancelled()) {
+        execution.cancel();
+      }
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+      final boolean cancelled = super.cancel(mayInterruptIfRunning);
+      final Cancellable current = execution;
+      if (cancelled && current != null) {
+        current.cancel();
+      }
+      return cancelled;
+    }
+  }
 }
@@ -33,6 +33,7 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.impl.client.DecompressingHttpClient;
 import org.apache.http.util.EntityUtils;
 import org.apache.olingo.client.api.ODataClient;
@@ -275,6 +276,27 @@ public abstract class AbstractODataRequest extends AbstractRequest implements OD
    * @return HttpReponse object.
    */
   protected HttpResponse doExecute() {
+    prepareRequest();
+
+    HttpResponse response;
+    try {
+      response = httpClient.execute(request);
+    } catch (IOException e) {
+      throw new HttpClientException(e);
+    } catch (RuntimeException e) {
+      request.abort();
+      throw new HttpClientException(e);
+    }
+
+    validateResponse(response);
+
+    return response;
+  }
+
+  /**
+   * Checks the request and adds all headers, to be sent.
+   */
+  protected void prepareRequest() {
     checkRequest(odataClient, request);
 
     // Set Content-Type and Accept headers with default values, if not yet set
@@ -300,25 +322,21 @@ public abstract class AbstractODataRequest extends AbstractRequest implements OD
         LOG.debug("HTTP header being sent: " + header);
       }
     }
+  }
 
-    HttpResponse response;
-    try {
-      response = httpClient.execute(request);
-    } catch (IOException e) {
-      throw new HttpClientException(e);
-    } catch (RuntimeException e) {
-      request.abort();
-      throw new HttpClientException(e);
-    }
-
+  /**
+   * Checks the received response, releasing the HTTP client in case of error.
+   *
+   * @param response received response
+   */
+  protected void validateResponse(final HttpResponse response) {
     try {
       checkResponse(odataClient, response, getAccept());
     } catch (ODataRuntimeException e) {
+      HttpClientUtils.closeQuietly(response);
       odataClient.getConfiguration().getHttpClientFactory().close(httpClient);
       throw e;
     }
-
-    return response;
   }
 
   /**
@@ -153,7 +153,20 @@ public abstract class AbstractODataInvokeRequest<T extends ClientInvokeResult>
   @Override
   public ODataInvokeResponse<T> execute() {
     final InputStream input = getPayload();
+    preparePayload(input);
 
+    try {
+      return new ODataInvokeResponseImpl(odataClient, httpClient, doExecute());
+    } finally {
+      IOUtils.closeQuietly(input);
+    }
+  }
+
+  /**
+   * Sets the parameters either into the URI (for functions) or as payload (for actions).
+   */
+  @Override
+  protected void preparePayload(final InputStream input) {
     if (!this.parameters.isEmpty()) {
       if (this.method == HttpMethod.GET) {
         ((HttpRequestBase) this.request).setURI(
@@ -164,12 +177,6 @@ public abstract class AbstractODataInvokeRequest<T extends ClientInvokeResult>
         setContentType(getActualFormat(getPOSTParameterFormat()));
       }
     }
-
-    try {
-      return new ODataInvokeResponseImpl(odataClient, httpClient, doExecute());
-    } finally {
-      IOUtils.closeQuietly(input);
-    }
   }
 
   /**
@@ -75,7 +75,8 @@ public class ODataEntitySetIteratorRequestImpl<ES extends ClientEntitySet, E ext
     public ClientEntitySetIterator<ES, E> getBody() {
       if (entitySetIterator == null) {
         entitySetIterator = new ClientEntitySetIterator<ES, E>(
-                odataClient, getRawResponse(), ContentType.parse(getContentType()));
+                odataClient, getRawResponse(), ContentType.parse(getContentType()),
+                ODataEntitySetIteratorRequestImpl.this);
       }
       return entitySetIterator;
     }
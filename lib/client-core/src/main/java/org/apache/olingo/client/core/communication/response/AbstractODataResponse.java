@@ -31,10 +31,12 @@ import java.util.TreeMap;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.utils.HttpClientUtils;
+import org.apache.http.conn.ConnectionReleaseTrigger;
 import org.apache.olingo.client.api.ODataClient;
 import org.apache.olingo.client.api.communication.request.ODataStreamer;
 import org.apache.olingo.client.api.communication.request.batch.ODataBatchLineIterator;
@@ -59,6 +61,11 @@ public abstract class AbstractODataResponse implements ODataResponse {
    */
   protected static final Logger LOG = LoggerFactory.getLogger(ODataResponse.class);
 
+  /**
+   * Maximum number of not yet read payload bytes which are read on close to keep the connection reusable.
+   */
+  private static final int MAX_DRAINED_BYTES = 8192;
+
   protected final ODataClient odataClient;
 
   /**
@@ -243,6 +250,9 @@ public abstract class AbstractODataResponse implements ODataResponse {
 
   @Override
   public void close() {
+    if (res != null) {
+      releaseConnection();
+    }
     odataClient.getConfiguration().getHttpClientFactory().close(httpClient);
 
     if (batchInfo != null) {
@@ -250,6 +260,40 @@ public abstract class AbstractODataResponse implements ODataResponse {
     }
   }
 
+  /**
+   * Releases the connection of the HTTP response.
+   * A connection whose payload has been read completely has already been returned to the pool.
+   * Otherwise the rest of the payload is read if it is small, so that the connection can be reused;
+   * a larger rest is not read but the connection is aborted.
+   */
+  private void releaseConnection() {
+    final HttpEntity entity = res.getEntity();
+    if (!(entity instanceof ConnectionReleaseTrigger)) {
+      HttpClientUtils.closeQuietly(res);
+      return;
+    }
+    boolean consumed = false;
+    try {
+      final InputStream content = entity.getContent();
+      final byte[] buffer = new byte[1024];
+      int drained = 0;
+      int count = 0;
+      while (drained <= MAX_DRAINED_BYTES && (count = content.read(buffer)) >= 0) {
+        drained += count;
+      }
+      consumed = count < 0;
+    } catch (final Exception e) {
+      LOG.debug("Payload could not be read on close", e);
+    }
+    if (!consumed) {
+      try {
+        ((ConnectionReleaseTrigger) entity).abortConnection();
+      } catch (final IOException e) {
+        LOG.debug("Connection could not be aborted", e);
+      }
+    }
+  }
+
   @Override
   public InputStream getRawResponse() {
     if (HttpStatus.SC_NO_CONTENT == getStatusCode()) {
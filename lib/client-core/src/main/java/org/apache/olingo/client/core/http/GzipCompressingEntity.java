@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HTTP;
+
+/**
+ * Entity compressing the content of the wrapped entity with Gzip while it is sent.
+ * The content length is unknown, so the entity is always sent chunked.
+ */
+public class GzipCompressingEntity extends HttpEntityWrapper {
+
+  public static final String GZIP = "gzip";
+
+  private static final int BUFFER_SIZE = 8192;
+
+  /**
+   * Constructor.
+   *
+   * @param entity entity to be compressed.
+   */
+  public GzipCompressingEntity(final HttpEntity entity) {
+    super(entity);
+  }
+
+  @Override
+  public Header getContentEncoding() {
+    return new BasicHeader(HTTP.CONTENT_ENCODING, GZIP);
+  }
+
+  @Override
+  public long getContentLength() {
+    return -1;
+  }
+
+  @Override
+  public boolean isChunked() {
+    return true;
+  }
+
+  @Override
+  public InputStream getContent() throws IOException {
+    throw new UnsupportedOperationException("The compressed content can only be written.");
+  }
+
+  @Override
+  public void writeTo(final OutputStream outstream) throws IOException {
+    final GZIPOutputStream gzip = new GZIPOutputStream(outstream, BUFFER_SIZE);
+    wrappedEntity.writeTo(gzip);
+    gzip.finish();
+    gzip.flush();
+  }
+}
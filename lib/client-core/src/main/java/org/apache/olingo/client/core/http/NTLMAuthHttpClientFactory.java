@@ -23,6 +23,7 @@ import java.net.URI;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.NTCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.HttpClient;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.olingo.commons.api.http.HttpMethod;
@@ -46,18 +47,31 @@ public class NTLMAuthHttpClientFactory extends DefaultHttpClientFactory {
 
   private final String domain;
 
+  private final DefaultHttpClientFactory wrapped;
+
   public NTLMAuthHttpClientFactory(final String username, final String password,
           final String workstation, final String domain) {
 
+    this(username, password, workstation, domain, null);
+  }
+
+  /**
+   * Creates a factory adding NTLM Authentication to the clients created by the given factory,
+   * e.g. a {@link PoolingHttpClientFactory}.
+   */
+  public NTLMAuthHttpClientFactory(final String username, final String password,
+          final String workstation, final String domain, final DefaultHttpClientFactory wrapped) {
+
     this.username = username;
     this.password = password;
     this.workstation = workstation;
     this.domain = domain;
+    this.wrapped = wrapped;
   }
 
   @Override
   public DefaultHttpClient create(final HttpMethod method, final URI uri) {
-    final DefaultHttpClient httpclient = super.create(method, uri);
+    final DefaultHttpClient httpclient = wrapped == null ? super.create(method, uri) : wrapped.create(method, uri);
 
     final CredentialsProvider credsProvider = new BasicCredentialsProvider();
     credsProvider.setCredentials(AuthScope.ANY,
@@ -67,4 +81,13 @@ public class NTLMAuthHttpClientFactory extends DefaultHttpClientFactory {
 
     return httpclient;
   }
+
+  @Override
+  public void close(final HttpClient httpClient) {
+    if (wrapped == null) {
+      super.close(httpClient);
+    } else {
+      wrapped.close(httpClient);
+    }
+  }
 }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.http;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreProtocolPNames;
+import org.apache.http.protocol.HttpContext;
+import org.apache.olingo.commons.api.http.HttpMethod;
+
+/**
+ * Implementation returning HttpClients which share a pool of keep-alive connections, so that subsequent requests
+ * to the same host reuse already established (TCP and TLS) connections.
+ * <br/>
+ * Closing a client returns nothing but its connections to the pool; expired and idle connections are evicted while
+ * the factory is used. {@link #shutdown()} releases the whole pool.
+ * <br/>
+ * A request waits at most the lease timeout for a connection of the pool; so a request fails instead of blocking
+ * forever if all connections to its host are held by responses which have not been closed.
+ * <br/>
+ * Being a {@link DefaultHttpClientFactory}, this factory can be wrapped by the authentication and proxy factories.
+ */
+public class PoolingHttpClientFactory extends DefaultHttpClientFactory {
+
+  /** Default maximum number of connections in the pool. */
+  public static final int DEFAULT_MAX_TOTAL = 200;
+
+  /** Default maximum number of connections per route (i.e. per target host). */
+  public static final int DEFAULT_MAX_PER_ROUTE = 20;
+
+  /** Default time a connection is kept alive if the server does not request a shorter time. */
+  public static final long DEFAULT_KEEP_ALIVE_MILLIS = 30000;
+
+  /** Default time after which an unused connection is closed. */
+  public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60000;
+
+  /** Default maximum time to wait for a connection of the pool. */
+  public static final long DEFAULT_LEASE_TIMEOUT_MILLIS = 30000;
+
+  private final PoolingClientConnectionManager connectionManager;
+
+  private final ConnectionKeepAliveStrategy keepAliveStrategy;
+
+  private final long idleTimeoutMillis;
+
+  private final long leaseTimeoutMillis;
+
+  private final AtomicLong nextEviction;
+
+  public PoolingHttpClientFactory() {
+    this(DEFAULT_MAX_TOTAL, DEFAULT_MAX_PER_ROUTE, DEFAULT_KEEP_ALIVE_MILLIS, DEFAULT_IDLE_TIMEOUT_MILLIS);
+  }
+
+  public PoolingHttpClientFactory(final int maxTotal, final int maxPerRoute,
+          final long keepAliveMillis, final long idleTimeoutMillis) {
+    this(maxTotal, maxPerRoute, keepAliveMillis, idleTimeoutMillis, DEFAULT_LEASE_TIMEOUT_MILLIS);
+  }
+
+  public PoolingHttpClientFactory(final int maxTotal, final int maxPerRoute,
+          final long keepAliveMillis, final long idleTimeoutMillis, final long leaseTimeoutMillis) {
+
+    connectionManager = new PoolingClientConnectionManager(SchemeRegistryFactory.createDefault());
+    connectionManager.setMaxTotal(maxTotal);
+    connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+    keepAliveStrategy = new DefaultConnectionKeepAliveStrategy() {
+
+      @Override
+      public long getKeepAliveDuration(final HttpResponse response, final HttpContext context) {
+        // Honors a shorter timeout sent by the server in the Keep-Alive header.
+        final long duration = super.getKeepAliveDuration(response, context);
+        return duration > 0 && duration < keepAliveMillis ? duration : keepAliveMillis;
+      }
+    };
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    this.leaseTimeoutMillis = leaseTimeoutMillis;
+    nextEviction = new AtomicLong(System.currentTimeMillis() + idleTimeoutMillis);
+  }
+
+  /**
+   * Sets the maximum number of connections to the host of the given URI.
+   *
+   * @param uri URI of the target host
+   * @param max maximum number of connections
+   */
+  public void setMaxPerRoute(final URI uri, final int max) {
+    connectionManager.setMaxPerRoute(
+        new HttpRoute(new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme())), max);
+  }
+
+  @Override
+  public DefaultHttpClient create(final HttpMethod method, final URI uri) {
+    evictConnections();
+
+    final DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+    client.getParams().setParameter(CoreProtocolPNames.USER_AGENT, USER_AGENT);
+    client.getParams().setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, leaseTimeoutMillis);
+    client.setKeepAliveStrategy(keepAliveStrategy);
+    return client;
+  }
+
+  /**
+   * Does not shut the shared connection manager down;
+   * the connection of the client is released as soon as its response has been consumed.
+   */
+  @Override
+  public void close(final HttpClient httpClient) {
+    evictConnections();
+  }
+
+  /**
+   * Closes all pooled connections. Clients created before must not be used anymore.
+   */
+  public void shutdown() {
+    connectionManager.shutdown();
+  }
+
+  /**
+   * Closes expired and idle connections, at most once per idle timeout.
+   */
+  private void evictConnections() {
+    final long now = System.currentTimeMillis();
+    final long next = nextEviction.get();
+    if (now >= next && nextEviction.compareAndSet(next, now + idleTimeoutMillis)) {
+      connectionManager.closeExpiredConnections();
+      connectionManager.closeIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+}
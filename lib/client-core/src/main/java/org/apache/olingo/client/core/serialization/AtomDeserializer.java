@@ -35,8 +35,10 @@ import javax.xml.stream.events.Attribute;
 import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.olingo.client.api.data.ResWrap;
+import org.apache.olingo.client.api.serialization.EntitySetStream;
 import org.apache.olingo.client.api.serialization.ODataDeserializer;
 import org.apache.olingo.client.api.serialization.ODataDeserializerException;
 import org.apache.olingo.commons.api.Constants;
@@ -770,14 +772,33 @@ public class AtomDeserializer implements ODataDeserializer {
     if (!Constants.QNAME_ATOM_ELEM_FEED.equals(start.getName())) {
       return null;
     }
+    final EntityCollection entitySet = newEntitySet(start);
+    for (Entity entity = nextEntity(reader, start, entitySet); entity != null;
+        entity = nextEntity(reader, start, entitySet)) {
+      entitySet.getEntities().add(entity);
+    }
+
+    return entitySet;
+  }
+
+  private EntityCollection newEntitySet(final StartElement start) {
     final EntityCollection entitySet = new EntityCollection();
     final Attribute xmlBase = start.getAttributeByName(Constants.QNAME_ATTR_XML_BASE);
     if (xmlBase != null) {
       entitySet.setBaseURI(URI.create(xmlBase.getValue()));
     }
+    return entitySet;
+  }
 
-    boolean foundEndFeed = false;
-    while (reader.hasNext() && !foundEndFeed) {
+  /**
+   * Reads the feed up to its next entry, populating the given entity set with everything found on the way.
+   *
+   * @return next entry, or <tt>null</tt> when the end of the feed has been reached
+   */
+  private Entity nextEntity(final XMLEventReader reader, final StartElement start, final EntityCollection entitySet)
+      throws XMLStreamException, EdmPrimitiveTypeException {
+
+    while (reader.hasNext()) {
       final XMLEvent event = reader.nextEvent();
       if (event.isStartElement()) {
         if (countQName.equals(event.asStartElement().getName())) {
@@ -807,20 +828,20 @@ public class AtomDeserializer implements ODataDeserializer {
             }
           }
         } else if (Constants.QNAME_ATOM_ELEM_ENTRY.equals(event.asStartElement().getName())) {
-          entitySet.getEntities().add(entity(reader, event.asStartElement()));
+          return entity(reader, event.asStartElement());
         } else if (entryRefQName.equals(event.asStartElement().getName())) {
-          entitySet.getEntities().add(entityRef(event.asStartElement()));
+          return entityRef(event.asStartElement());
         } else if (annotationQName.equals(event.asStartElement().getName())) {
           entitySet.getAnnotations().add(annotation(reader, event.asStartElement()));
         }
       }
 
       if (event.isEndElement() && start.getName().equals(event.asEndElement().getName())) {
-        foundEndFeed = true;
+        return null;
       }
     }
 
-    return entitySet;
+    return null;
   }
 
   @Override
@@ -836,6 +857,80 @@ public class AtomDeserializer implements ODataDeserializer {
     }
   }
 
+  /**
+   * Gets a reader for the feed represented by the given InputStream, returning its entries one at a time.
+   *
+   * @param input stream to be de-serialized.
+   * @return {@link EntitySetStream} instance.
+   * @throws ODataDeserializerException
+   */
+  public EntitySetStream toEntitySetStream(final InputStream input) throws ODataDeserializerException {
+    try {
+      return new AtomEntitySetStream(input, getReader(input));
+    } catch (XMLStreamException e) {
+      throw new ODataDeserializerException(e);
+    }
+  }
+
+  private class AtomEntitySetStream implements EntitySetStream {
+
+    private final InputStream input;
+
+    private final XMLEventReader reader;
+
+    private StartElement start;
+
+    private ResWrap<EntityCollection> entitySet;
+
+    private boolean finished = false;
+
+    AtomEntitySetStream(final InputStream input, final XMLEventReader reader) {
+      this.input = input;
+      this.reader = reader;
+    }
+
+    @Override
+    public ResWrap<Entity> next() throws ODataDeserializerException {
+      try {
+        if (start == null) {
+          start = skipBeforeFirstStartElement(reader);
+          entitySet = getContainer(start, newEntitySet(start));
+          finished = !Constants.QNAME_ATOM_ELEM_FEED.equals(start.getName());
+        }
+        if (finished) {
+          return null;
+        }
+
+        final Entity entity = nextEntity(reader, start, entitySet.getPayload());
+        if (entity == null) {
+          finished = true;
+          return null;
+        }
+        // entries inherit the base URI of the feed they are part of
+        if (entity.getBaseURI() == null) {
+          entity.setBaseURI(entitySet.getPayload().getBaseURI());
+        }
+        return new ResWrap<Entity>(entitySet.getContextURL(), entitySet.getMetadataETag(), entity);
+      } catch (final XMLStreamException e) {
+        throw new ODataDeserializerException(e);
+      } catch (final EdmPrimitiveTypeException e) {
+        throw new ODataDeserializerException(e);
+      } catch (final IllegalArgumentException e) {
+        throw new ODataDeserializerException(e);
+      }
+    }
+
+    @Override
+    public ResWrap<EntityCollection> getEntitySet() {
+      return entitySet == null ? new ResWrap<EntityCollection>((URI) null, null, new EntityCollection()) : entitySet;
+    }
+
+    @Override
+    public void close() {
+      IOUtils.closeQuietly(input);
+    }
+  }
+
   private ODataError error(final XMLEventReader reader, final StartElement start) throws XMLStreamException {
     final ODataError error = new ODataError();
     error.setDetails(new ArrayList<ODataErrorDetail>(0));
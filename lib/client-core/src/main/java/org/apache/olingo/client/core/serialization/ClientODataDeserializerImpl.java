@@ -35,6 +35,7 @@ import org.apache.olingo.client.api.data.ServiceDocument;
 import org.apache.olingo.client.api.edm.xml.Edmx;
 import org.apache.olingo.client.api.edm.xml.XMLMetadata;
 import org.apache.olingo.client.api.serialization.ClientODataDeserializer;
+import org.apache.olingo.client.api.serialization.EntitySetStream;
 import org.apache.olingo.client.api.serialization.ODataDeserializer;
 import org.apache.olingo.client.api.serialization.ODataDeserializerException;
 import org.apache.olingo.client.core.data.JSONServiceDocumentDeserializer;
@@ -69,6 +70,8 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 
 public class ClientODataDeserializerImpl implements ClientODataDeserializer {
 
+  private static final XmlMapper XML_MAPPER = newXmlMapper();
+
   private final ODataDeserializer deserializer;
   private final ContentType contentType;
   private static final String SCHEMA = "Schema";
@@ -105,7 +108,16 @@ public class ClientODataDeserializerImpl implements ClientODataDeserializer {
     return deserializer.toError(input);
   }
 
+  /**
+   * Gets the mapper used for metadata documents; it is shared, hence it must not be further configured.
+   *
+   * @return XML mapper
+   */
   protected XmlMapper getXmlMapper() {
+    return XML_MAPPER;
+  }
+
+  private static XmlMapper newXmlMapper() {
     final XmlMapper xmlMapper = new XmlMapper(
         new XmlFactory(new InputFactoryImpl(), new OutputFactoryImpl()), new JacksonXmlModule());
 
@@ -219,6 +231,13 @@ public class ClientODataDeserializerImpl implements ClientODataDeserializer {
     }
   }
 
+  @Override
+  public EntitySetStream toEntitySetStream(final InputStream input) throws ODataDeserializerException {
+    return deserializer instanceof AtomDeserializer ?
+        ((AtomDeserializer) deserializer).toEntitySetStream(input) :
+        ((JsonDeserializer) deserializer).toEntitySetStream(input);
+  }
+
   @Override
   public List<CsdlSchema> fetchTermDefinitionSchema(List<InputStream> input) {
     List<CsdlSchema> schemas = new ArrayList<CsdlSchema>();
@@ -32,6 +32,7 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.olingo.client.api.data.ResWrap;
+import org.apache.olingo.client.api.serialization.EntitySetStream;
 import org.apache.olingo.client.api.serialization.ODataDeserializer;
 import org.apache.olingo.client.api.serialization.ODataDeserializerException;
 import org.apache.olingo.commons.api.Constants;
@@ -415,6 +416,22 @@ public class JsonDeserializer implements ODataDeserializer {
     }
   }
 
+  /**
+   * Gets a reader for the entity set represented by the given InputStream, returning its entities one at a time.
+   *
+   * @param input stream to be de-serialized.
+   * @return {@link EntitySetStream} instance.
+   * @throws ODataDeserializerException
+   */
+  public EntitySetStream toEntitySetStream(final InputStream input) throws ODataDeserializerException {
+    try {
+      parser = new JsonFactory(new ObjectMapper()).createParser(input);
+      return new JsonEntitySetDeserializer(serverMode).doDeserializeStream(parser);
+    } catch (final IOException e) {
+      throw new ODataDeserializerException(e);
+    }
+  }
+
   @Override
   public ResWrap<Entity> toEntity(final InputStream input) throws ODataDeserializerException {
     try {
@@ -0,0 +1,454 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.serialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.data.ResWrap;
+import org.apache.olingo.client.api.domain.ClientEntity;
+import org.apache.olingo.client.api.domain.ClientEntitySet;
+import org.apache.olingo.client.api.domain.ClientOperation;
+import org.apache.olingo.client.api.domain.ClientProperty;
+import org.apache.olingo.client.api.serialization.ODataDeserializerException;
+import org.apache.olingo.client.core.uri.URIUtils;
+import org.apache.olingo.commons.api.Constants;
+import org.apache.olingo.commons.api.data.Annotation;
+import org.apache.olingo.commons.api.data.ContextURL;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.Operation;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.EdmElement;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmType;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.core.edm.EdmTypeInfo;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Binds JSON entities and entity sets straight to {@link ClientEntity} and {@link ClientEntitySet}, reading the
+ * parser tokens in a single pass instead of building a JSON tree, an intermediate entity and then the client-side
+ * entity from it.
+ * <br/>
+ * Entities of an entity set are added to the {@link ClientEntitySet} as they are read, so that only one entity is
+ * held besides the result. Each entity is kept as parser tokens until it has been bound: only plain entities are
+ * bound directly, while an entity containing navigation links, expanded or bound navigation properties,
+ * operations, instance annotations or other less common constructs is read again from its tokens through
+ * {@link JsonEntityDeserializer} and {@link ODataBinderImpl}.
+ * <br/>
+ * As required by the JSON format, the context URL and the metadata ETag are expected before the entities.
+ */
+class JsonEntityBinder extends JsonDeserializer {
+
+  private static final JsonFactory JSON_FACTORY =
+      new JsonFactory(new ObjectMapper()).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+  private final ODataClient client;
+
+  private final ODataBinderImpl binder;
+
+  JsonEntityBinder(final ODataClient client, final ODataBinderImpl binder) {
+    super(false);
+    this.client = client;
+    this.binder = binder;
+  }
+
+  /**
+   * Reads a single entity.
+   *
+   * @param input JSON payload, left open
+   * @return entity
+   * @throws ODataDeserializerException if the payload cannot be read
+   */
+  public ResWrap<ClientEntity> readEntity(final InputStream input) throws ODataDeserializerException {
+    try {
+      final JsonParser parser = JSON_FACTORY.createParser(input);
+      try {
+        parser.nextToken();
+        final TokenBuffer tokens = copy(parser);
+        final Header header = new Header();
+        final ClientEntity entity = entity(tokens, header, true);
+        if (entity != null) {
+          return new ResWrap<ClientEntity>(header.contextURL, header.metadataETag, entity);
+        }
+        final ResWrap<Entity> resource = deserializeEntity(tokens.asParser());
+        return new ResWrap<ClientEntity>(resource.getContextURL(), resource.getMetadataETag(),
+            binder.getODataEntity(resource));
+      } finally {
+        parser.close();
+      }
+    } catch (final IOException e) {
+      throw new ODataDeserializerException(e);
+    }
+  }
+
+  /**
+   * Reads an entity set.
+   *
+   * @param input JSON payload, left open
+   * @return entity set
+   * @throws ODataDeserializerException if the payload cannot be read
+   */
+  public ResWrap<ClientEntitySet> readEntitySet(final InputStream input) throws ODataDeserializerException {
+    try {
+      final JsonParser parser = JSON_FACTORY.createParser(input);
+      try {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+          throw new ODataDeserializerException("Expected OData EntitySet, found " + parser.getCurrentToken());
+        }
+        return entitySet(parser);
+      } finally {
+        parser.close();
+      }
+    } catch (final IOException e) {
+      throw new ODataDeserializerException(e);
+    } catch (final EdmPrimitiveTypeException e) {
+      throw new ODataDeserializerException(e);
+    }
+  }
+
+  /**
+   * Reads an entity through the generic deserializer; invoked for each entity that cannot be bound directly.
+   *
+   * @param parser parser over the tokens of the entity
+   * @return entity
+   */
+  ResWrap<Entity> deserializeEntity(final JsonParser parser) throws IOException {
+    return new JsonEntityDeserializer(serverMode).doDeserialize(parser);
+  }
+
+  private ResWrap<ClientEntitySet> entitySet(final JsonParser parser)
+      throws IOException, EdmPrimitiveTypeException, ODataDeserializerException {
+
+    final Header header = new Header();
+    ClientEntitySet entitySet = client.getObjectFactory().newEntitySet();
+    // annotations and operations of the entity set, bound once the whole payload has been read
+    final EntityCollection envelope = new EntityCollection();
+    boolean hasValue = false;
+
+    for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+      final String name = parser.getCurrentName();
+      final JsonToken valueToken = parser.nextToken();
+
+      if (Constants.VALUE.equals(name)) {
+        hasValue = true;
+        if (valueToken == JsonToken.START_ARRAY) {
+          for (JsonToken item = parser.nextToken(); item != JsonToken.END_ARRAY; item = parser.nextToken()) {
+            if (item == JsonToken.START_OBJECT) {
+              binder.add(entitySet, entity(copy(parser), header));
+            } else {
+              parser.skipChildren();
+            }
+          }
+        } else {
+          parser.skipChildren();
+        }
+      } else if (Constants.JSON_CONTEXT.equals(name) && valueToken != JsonToken.VALUE_NULL
+          || Constants.JSON_METADATA.equals(name) && valueToken != JsonToken.VALUE_NULL && header.contextURL == null) {
+        header.setContextURL(parser.getText());
+      } else if (Constants.JSON_METADATA_ETAG.equals(name) && valueToken != JsonToken.VALUE_NULL) {
+        header.metadataETag = parser.getText();
+      } else if (Constants.JSON_COUNT.equals(name) && valueToken != JsonToken.VALUE_NULL) {
+        entitySet.setCount(parser.getValueAsInt());
+      } else if (Constants.JSON_NEXT_LINK.equals(name) && valueToken != JsonToken.VALUE_NULL) {
+        // the next link usually follows the entities, which are then moved to an entity set having the link
+        final ClientEntitySet withNext =
+            client.getObjectFactory().newEntitySet(URIUtils.getURI(header.base, parser.getText()));
+        if (entitySet.getCount() != null) {
+          withNext.setCount(entitySet.getCount());
+        }
+        withNext.setDeltaLink(entitySet.getDeltaLink());
+        withNext.getEntities().addAll(entitySet.getEntities());
+        entitySet = withNext;
+      } else if (Constants.JSON_DELTA_LINK.equals(name) && valueToken != JsonToken.VALUE_NULL) {
+        entitySet.setDeltaLink(URIUtils.getURI(header.base, URI.create(parser.getText())));
+      } else if (name.charAt(0) == '@') {
+        final Annotation annotation = new Annotation();
+        annotation.setTerm(name.substring(1));
+        value(annotation, parser.<JsonNode> readValueAsTree(), parser.getCodec());
+        envelope.getAnnotations().add(annotation);
+      } else if (name.charAt(0) == '#') {
+        final JsonNode node = parser.readValueAsTree();
+        final Operation operation = new Operation();
+        operation.setMetadataAnchor(name);
+        operation.setTitle(node.get(Constants.ATTR_TITLE).asText());
+        operation.setTarget(URI.create(node.get(Constants.ATTR_TARGET).asText()));
+        envelope.getOperations().add(operation);
+      } else {
+        // any other entry is ignored
+        parser.skipChildren();
+      }
+    }
+    if (!hasValue) {
+      throw new ODataDeserializerException("Expected OData EntitySet, found no " + Constants.VALUE);
+    }
+
+    for (Operation op : envelope.getOperations()) {
+      final ClientOperation operation = new ClientOperation();
+      operation.setTarget(URIUtils.getURI(header.base, op.getTarget()));
+      operation.setTitle(op.getTitle());
+      operation.setMetadataAnchor(op.getMetadataAnchor());
+      entitySet.getOperations().add(operation);
+    }
+    binder.odataAnnotations(envelope, entitySet);
+
+    return new ResWrap<ClientEntitySet>(header.contextURL, header.metadataETag, entitySet);
+  }
+
+  /**
+   * Binds an entity of an entity set, through the generic deserializer if it cannot be bound directly.
+   */
+  private ClientEntity entity(final TokenBuffer tokens, final Header header) throws IOException {
+    final ClientEntity entity = entity(tokens, header, false);
+    return entity == null
+        ? binder.getODataEntity(new ResWrap<Entity>(header.contextURL, header.metadataETag,
+            deserializeEntity(tokens.asParser()).getPayload()))
+        : entity;
+  }
+
+  /**
+   * Binds the entity held by the given tokens directly.
+   *
+   * @return entity, or <tt>null</tt> if it needs to be read by the generic deserializer
+   */
+  private ClientEntity entity(final TokenBuffer tokens, final Header header, final boolean topLevel)
+      throws IOException {
+    final JsonParser parser = tokens.asParser();
+    try {
+      return parser.nextToken() == JsonToken.START_OBJECT ? entity(parser, header, topLevel) : null;
+    } catch (final EdmPrimitiveTypeException e) {
+      return null;
+    } finally {
+      parser.close();
+    }
+  }
+
+  private static TokenBuffer copy(final JsonParser parser) throws IOException {
+    final TokenBuffer tokens = new TokenBuffer(parser.getCodec(), false);
+    tokens.copyCurrentStructure(parser);
+    return tokens;
+  }
+
+  private ClientEntity entity(final JsonParser parser, final Header header, final boolean topLevel)
+      throws IOException, EdmPrimitiveTypeException {
+
+    String type = null;
+    String etag = null;
+    String id = null;
+    String readLink = null;
+    String editLink = null;
+    String mediaReadLink = null;
+    String mediaEditLink = null;
+    String mediaContentType = null;
+    String mediaETag = null;
+
+    boolean typeResolved = false;
+    EdmType edmType = null;
+    String propertyType = null;
+    final List<ClientProperty> properties = new ArrayList<ClientProperty>();
+
+    for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+      final String name = parser.getCurrentName();
+      final JsonToken valueToken = parser.nextToken();
+
+      if (name.charAt(0) == '@') {
+        if (valueToken != JsonToken.VALUE_STRING) {
+          return null;
+        }
+        final String text = parser.getText();
+        if (Constants.JSON_CONTEXT.equals(name) && topLevel && !typeResolved) {
+          header.setContextURL(text);
+        } else if (Constants.JSON_METADATA_ETAG.equals(name) && topLevel && !typeResolved) {
+          header.metadataETag = text;
+        } else if (Constants.JSON_TYPE.equals(name) && !typeResolved) {
+          type = new EdmTypeInfo.Builder().setTypeExpression(text).build().internal();
+        } else if (Constants.JSON_ETAG.equals(name)) {
+          etag = text;
+        } else if (Constants.JSON_ID.equals(name)) {
+          id = text;
+        } else if (Constants.JSON_READ_LINK.equals(name)) {
+          readLink = text;
+        } else if (Constants.JSON_EDIT_LINK.equals(name)) {
+          editLink = text;
+        } else if (Constants.JSON_MEDIA_READ_LINK.equals(name)) {
+          mediaReadLink = text;
+        } else if (Constants.JSON_MEDIA_EDIT_LINK.equals(name)) {
+          mediaEditLink = text;
+        } else if (Constants.JSON_MEDIA_CONTENT_TYPE.equals(name)) {
+          mediaContentType = text;
+        } else if (Constants.JSON_MEDIA_ETAG.equals(name)) {
+          mediaETag = text;
+        } else {
+          return null;
+        }
+      } else if (name.endsWith(Constants.JSON_TYPE)) {
+        if (propertyType != null || valueToken != JsonToken.VALUE_STRING) {
+          return null;
+        }
+        propertyType = parser.getText();
+      } else if (name.charAt(0) == '#' || name.indexOf('@') != -1 || Constants.JSON_METADATA.equals(name)
+          || Constants.VALUE.equals(name) && valueToken == JsonToken.START_ARRAY) {
+        return null;
+      } else {
+        if (!typeResolved) {
+          edmType = binder.findType(type, header.parsed, header.metadataETag);
+          typeResolved = true;
+        }
+
+        EdmType edmPropertyType = null;
+        if (edmType instanceof EdmEntityType) {
+          final EdmElement edmProperty = ((EdmEntityType) edmType).getProperty(name);
+          if (edmProperty != null) {
+            if (edmProperty instanceof EdmNavigationProperty && valueToken != JsonToken.VALUE_NULL) {
+              return null;
+            }
+            edmPropertyType = edmProperty.getType();
+          }
+        }
+
+        final Property property = new Property();
+        property.setName(name);
+        if (propertyType == null) {
+          if (!primitive(property, parser, valueToken)) {
+            value(property, parser.<JsonNode> readValueAsTree(), parser.getCodec());
+          }
+        } else {
+          property.setType(new EdmTypeInfo.Builder().setTypeExpression(propertyType).build().internal());
+          propertyType = null;
+          value(property, parser.<JsonNode> readValueAsTree(), parser.getCodec());
+        }
+        properties.add(binder.getODataProperty(edmPropertyType, property));
+      }
+    }
+
+    if (!typeResolved) {
+      edmType = binder.findType(type, header.parsed, header.metadataETag);
+    }
+    FullQualifiedName typeName = null;
+    if (type == null) {
+      if (edmType != null) {
+        typeName = edmType.getFullQualifiedName();
+      }
+    } else {
+      typeName = new FullQualifiedName(type);
+    }
+
+    final ClientEntity entity = readLink == null
+        ? client.getObjectFactory().newEntity(typeName)
+        : client.getObjectFactory().newEntity(typeName, URIUtils.getURI(header.base, readLink));
+    if (StringUtils.isNotBlank(etag)) {
+      entity.setETag(etag);
+    }
+    if (editLink != null) {
+      entity.setEditLink(URIUtils.getURI(header.base, editLink));
+    }
+    if (mediaReadLink != null || mediaEditLink != null) {
+      entity.setMediaEntity(true);
+      entity.setMediaContentSource(URIUtils.getURI(header.base,
+          URI.create(mediaEditLink == null ? mediaReadLink : mediaEditLink)));
+      entity.setMediaContentType(mediaContentType);
+      entity.setMediaETag(mediaETag);
+    }
+    for (ClientProperty property : properties) {
+      binder.add(entity, property);
+    }
+    if (id != null) {
+      entity.setId(URI.create(id));
+    }
+
+    return entity;
+  }
+
+  /**
+   * Binds the most common untyped primitive values without building a JSON node first.
+   *
+   * @return whether the value has been bound
+   */
+  private boolean primitive(final Property property, final JsonParser parser, final JsonToken token)
+      throws IOException {
+
+    final EdmPrimitiveTypeKind kind;
+    final Object value;
+    switch (token) {
+    case VALUE_STRING:
+      kind = EdmPrimitiveTypeKind.String;
+      value = parser.getText();
+      break;
+
+    case VALUE_NULL:
+      kind = EdmPrimitiveTypeKind.String;
+      value = null;
+      break;
+
+    case VALUE_TRUE:
+    case VALUE_FALSE:
+      kind = EdmPrimitiveTypeKind.Boolean;
+      value = token == JsonToken.VALUE_TRUE;
+      break;
+
+    case VALUE_NUMBER_INT:
+      if (parser.getNumberType() != JsonParser.NumberType.INT) {
+        return false;
+      }
+      kind = EdmPrimitiveTypeKind.Int32;
+      value = parser.getIntValue();
+      break;
+
+    default:
+      return false;
+    }
+
+    property.setType(kind.getFullQualifiedName().toString());
+    property.setValue(ValueType.PRIMITIVE, value);
+    return true;
+  }
+
+  private static final class Header {
+
+    private URI contextURL;
+
+    private ContextURL parsed;
+
+    private URI base;
+
+    private String metadataETag;
+
+    private void setContextURL(final String contextURL) {
+      this.contextURL = URI.create(contextURL);
+      parsed = ContextURLParser.parse(this.contextURL);
+      base = parsed.getServiceRoot();
+    }
+  }
+}
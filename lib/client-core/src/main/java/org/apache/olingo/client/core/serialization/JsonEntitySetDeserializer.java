@@ -25,15 +25,20 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.olingo.client.api.data.ResWrap;
+import org.apache.olingo.client.api.serialization.EntitySetStream;
+import org.apache.olingo.client.api.serialization.ODataDeserializerException;
 import org.apache.olingo.commons.api.Constants;
 import org.apache.olingo.commons.api.data.Annotation;
+import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
 import org.apache.olingo.commons.api.data.Operation;
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -129,4 +134,127 @@ public class JsonEntitySetDeserializer extends JsonDeserializer {
     tree.remove(toRemove);
     return new ResWrap<EntityCollection>(contextURL, metadataETag, entitySet);
   }
+
+  /**
+   * Reads the entity set lazily: entities are deserialized one at a time, as the parser moves through the
+   * <tt>value</tt> array.
+   *
+   * @param parser JSON parser, positioned before the entity set
+   * @return entity set stream
+   */
+  protected EntitySetStream doDeserializeStream(final JsonParser parser) {
+    return new JsonEntitySetStream(parser);
+  }
+
+  private class JsonEntitySetStream implements EntitySetStream {
+
+    private final JsonParser parser;
+
+    private final JsonEntityDeserializer entityDeserializer = new JsonEntityDeserializer(serverMode);
+
+    private final EntityCollection entitySet = new EntityCollection();
+
+    private URI contextURL;
+
+    private String metadataETag;
+
+    private boolean started = false;
+
+    private boolean inValue = false;
+
+    JsonEntitySetStream(final JsonParser parser) {
+      this.parser = parser;
+    }
+
+    @Override
+    public ResWrap<Entity> next() throws ODataDeserializerException {
+      try {
+        if (!started) {
+          started = true;
+          if (parser.nextToken() == JsonToken.START_OBJECT) {
+            fields();
+          }
+        }
+
+        while (inValue) {
+          final JsonToken token = parser.nextToken();
+          if (token == JsonToken.START_OBJECT) {
+            final ResWrap<Entity> entity = entityDeserializer.doDeserialize(parser);
+            return entity.getContextURL() == null
+                ? new ResWrap<Entity>(contextURL, metadataETag, entity.getPayload())
+                : entity;
+          } else if (token == JsonToken.END_ARRAY) {
+            inValue = false;
+            fields();
+          } else if (token == null) {
+            inValue = false;
+          } else {
+            parser.skipChildren();
+          }
+        }
+        return null;
+      } catch (final IOException e) {
+        throw new ODataDeserializerException(e);
+      } catch (final EdmPrimitiveTypeException e) {
+        throw new ODataDeserializerException(e);
+      }
+    }
+
+    /**
+     * Reads the entity set fields up to the beginning of the <tt>value</tt> array or to the end of the entity set.
+     */
+    private void fields() throws IOException, EdmPrimitiveTypeException {
+      for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+        final String name = parser.getCurrentName();
+        if (parser.nextToken() == JsonToken.START_ARRAY && Constants.VALUE.equals(name)) {
+          inValue = true;
+          return;
+        }
+
+        final JsonNode node = parser.readValueAsTree();
+        if (Constants.JSON_CONTEXT.equals(name) || Constants.JSON_METADATA.equals(name)) {
+          if (contextURL == null && !node.isNull()) {
+            contextURL = URI.create(node.textValue());
+            entitySet.setBaseURI(
+                URI.create(StringUtils.substringBefore(contextURL.toASCIIString(), Constants.METADATA)));
+          }
+        } else if (Constants.JSON_METADATA_ETAG.equals(name)) {
+          metadataETag = node.textValue();
+        } else if (Constants.JSON_COUNT.equals(name)) {
+          if (!node.isNull()) {
+            entitySet.setCount(node.asInt());
+          }
+        } else if (Constants.JSON_NEXT_LINK.equals(name)) {
+          if (!node.isNull()) {
+            entitySet.setNext(URI.create(node.textValue()));
+          }
+        } else if (Constants.JSON_DELTA_LINK.equals(name)) {
+          if (!node.isNull()) {
+            entitySet.setDeltaLink(URI.create(node.textValue()));
+          }
+        } else if (name.charAt(0) == '@') {
+          final Annotation annotation = new Annotation();
+          annotation.setTerm(name.substring(1));
+          value(annotation, node, parser.getCodec());
+          entitySet.getAnnotations().add(annotation);
+        } else if (name.charAt(0) == '#') {
+          final Operation operation = new Operation();
+          operation.setMetadataAnchor(name);
+          operation.setTitle(node.get(Constants.ATTR_TITLE).asText());
+          operation.setTarget(URI.create(node.get(Constants.ATTR_TARGET).asText()));
+          entitySet.getOperations().add(operation);
+        }
+      }
+    }
+
+    @Override
+    public ResWrap<EntityCollection> getEntitySet() {
+      return new ResWrap<EntityCollection>(contextURL, metadataETag, entitySet);
+    }
+
+    @Override
+    public void close() {
+      IOUtils.closeQuietly(parser);
+    }
+  }
 }
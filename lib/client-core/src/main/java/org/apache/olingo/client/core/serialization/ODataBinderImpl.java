@@ -366,7 +366,7 @@ public class ODataBinderImpl implements ODataBinder {
     return valueResource;
   }
 
-  private void odataAnnotations(final Annotatable annotatable, final ClientAnnotatable odataAnnotatable) {
+  void odataAnnotations(final Annotatable annotatable, final ClientAnnotatable odataAnnotatable) {
     for (Annotation annotation : annotatable.getAnnotations()) {
       FullQualifiedName fqn = null;
       if (client instanceof EdmEnabledODataClient) {
@@ -540,7 +540,7 @@ public class ODataBinderImpl implements ODataBinder {
    * @param metadataETag metadata ETag
    * @return Edm type information
    */
-  private EdmType findType(final String candidateTypeName, final ContextURL contextURL, final String metadataETag) {
+  protected EdmType findType(final String candidateTypeName, final ContextURL contextURL, final String metadataETag) {
     EdmType type = null;
 
     if (client instanceof EdmEnabledODataClient) {
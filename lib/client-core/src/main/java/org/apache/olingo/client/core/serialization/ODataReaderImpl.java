@@ -99,18 +99,17 @@ public class ODataReaderImpl implements ODataReader {
             reference.cast(new ClientEntitySetIterator<ClientEntitySet, ClientEntity>(
                 client, src, ContentType.parse(format))));
       } else if (ClientEntitySet.class.isAssignableFrom(reference)) {
-        final ResWrap<EntityCollection> resource = client.getDeserializer(ContentType.parse(format))
-            .toEntitySet(src);
+        final ResWrap<ClientEntitySet> resource = readEntitySetResource(src, ContentType.parse(format));
         res = new ResWrap<T>(
             resource.getContextURL(),
             resource.getMetadataETag(),
-            reference.cast(client.getBinder().getODataEntitySet(resource)));
+            reference.cast(resource.getPayload()));
       } else if (ClientEntity.class.isAssignableFrom(reference)) {
-        final ResWrap<Entity> container = client.getDeserializer(ContentType.parse(format)).toEntity(src);
+        final ResWrap<ClientEntity> container = readEntityResource(src, ContentType.parse(format));
         res = new ResWrap<T>(
             container.getContextURL(),
             container.getMetadataETag(),
-            reference.cast(client.getBinder().getODataEntity(container)));
+            reference.cast(container.getPayload()));
       } else if (ClientProperty.class.isAssignableFrom(reference)) {
         final ResWrap<Property> container = client.getDeserializer(ContentType.parse(format)).toProperty(src);
         res = new ResWrap<T>(
@@ -161,13 +160,61 @@ public class ODataReaderImpl implements ODataReader {
   @Override
   public ClientEntitySet readEntitySet(final InputStream input, final ContentType contentType)
       throws ODataDeserializerException {
-    return client.getBinder().getODataEntitySet(client.getDeserializer(contentType).toEntitySet(input));
+    return readEntitySetResource(input, contentType).getPayload();
   }
 
   @Override
   public ClientEntity readEntity(final InputStream input, final ContentType contentType)
       throws ODataDeserializerException {
-    return client.getBinder().getODataEntity(client.getDeserializer(contentType).toEntity(input));
+    return readEntityResource(input, contentType).getPayload();
+  }
+
+  private ResWrap<ClientEntitySet> readEntitySetResource(final InputStream input, final ContentType contentType)
+      throws ODataDeserializerException {
+
+    final JsonEntityBinder jsonBinder = getJsonEntityBinder(contentType);
+    if (jsonBinder == null) {
+      return bindEntitySet(client.getDeserializer(contentType).toEntitySet(input));
+    }
+    return jsonBinder.readEntitySet(input);
+  }
+
+  private ResWrap<ClientEntitySet> bindEntitySet(final ResWrap<EntityCollection> resource) {
+    return new ResWrap<ClientEntitySet>(resource.getContextURL(), resource.getMetadataETag(),
+        client.getBinder().getODataEntitySet(resource));
+  }
+
+  private ResWrap<ClientEntity> readEntityResource(final InputStream input, final ContentType contentType)
+      throws ODataDeserializerException {
+
+    final JsonEntityBinder jsonBinder = getJsonEntityBinder(contentType);
+    if (jsonBinder == null) {
+      return bindEntity(client.getDeserializer(contentType).toEntity(input));
+    }
+    return jsonBinder.readEntity(input);
+  }
+
+  private ResWrap<ClientEntity> bindEntity(final ResWrap<Entity> resource) {
+    return new ResWrap<ClientEntity>(resource.getContextURL(), resource.getMetadataETag(),
+        client.getBinder().getODataEntity(resource));
+  }
+
+  /**
+   * Gets the binder reading JSON entities directly into their client-side representation; this is only possible
+   * when neither the deserializer nor the binder have been customized.
+   *
+   * @param contentType content type of the payload
+   * @return JSON entity binder, or <tt>null</tt> if payloads need to be read by deserializer and binder
+   */
+  private JsonEntityBinder getJsonEntityBinder(final ContentType contentType) {
+    if (contentType.isCompatible(ContentType.APPLICATION_ATOM_SVC)
+        || contentType.isCompatible(ContentType.APPLICATION_ATOM_XML)
+        || contentType.isCompatible(ContentType.APPLICATION_XML)
+        || client.getBinder().getClass() != ODataBinderImpl.class
+        || client.getDeserializer(contentType).getClass() != ClientODataDeserializerImpl.class) {
+      return null;
+    }
+    return new JsonEntityBinder(client, (ODataBinderImpl) client.getBinder());
   }
 
   @Override
@@ -18,6 +18,7 @@
  */
 package org.apache.olingo.client.core.uri;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
@@ -31,6 +32,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 import javax.xml.datatype.Duration;
 
@@ -50,6 +52,7 @@ import org.apache.olingo.client.api.http.HttpClientFactory;
 import org.apache.olingo.client.api.http.WrappingHttpClientFactory;
 import org.apache.olingo.client.api.uri.SegmentType;
 import org.apache.olingo.client.core.http.BasicAuthHttpClientFactory;
+import org.apache.olingo.client.core.http.GzipCompressingEntity;
 import org.apache.olingo.commons.api.Constants;
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 import org.apache.olingo.commons.api.edm.geo.Geospatial;
@@ -284,17 +287,27 @@ public final class URIUtils {
   public static HttpEntity buildInputStreamEntity(final ODataClient client, final InputStream input) {
     AbstractHttpEntity entity;
     boolean useChunked = client.getConfiguration().isUseChuncked();
+    final boolean gzip = client.getConfiguration().isGzipRequestCompression();
 
     if (shouldUseRepeatableHttpBodyEntry(client) || !useChunked) {
       byte[] bytes = new byte[0];
       try {
         bytes = IOUtils.toByteArray(input);
         IOUtils.closeQuietly(input);
+        if (gzip) {
+          bytes = gzip(bytes);
+        }
       } catch (IOException e) {
         throw new ODataRuntimeException("While reading input for not chunked encoding", e);
       }
 
       entity = new ByteArrayEntity(bytes);
+      if (gzip) {
+        entity.setContentEncoding(GzipCompressingEntity.GZIP);
+      }
+    } else if (gzip) {
+      // compressed while it is sent, without buffering the complete payload
+      return new GzipCompressingEntity(new InputStreamEntity(input, -1));
     } else {
       entity = new InputStreamEntity(input, -1);
     }
@@ -308,6 +321,14 @@ public final class URIUtils {
     return entity;
   }
 
+  private static byte[] gzip(final byte[] bytes) throws IOException {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+    final GZIPOutputStream output = new GZIPOutputStream(compressed);
+    output.write(bytes);
+    output.close();
+    return compressed.toByteArray();
+  }
+
   public static URI addValueSegment(final URI uri) {
     final URI res;
     if (uri.getPath().endsWith(SegmentType.VALUE.getValue())) {
@@ -19,23 +19,40 @@
 package org.apache.olingo.client.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.InetSocketAddress;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.http.client.HttpClient;
 import org.apache.olingo.client.api.EdmEnabledODataClient;
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.request.retrieve.ODataEntitySetIteratorRequest;
+import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
 import org.apache.olingo.client.api.data.ResWrap;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.client.api.domain.ClientEntitySet;
+import org.apache.olingo.client.api.domain.ClientEntitySetIterator;
 import org.apache.olingo.client.api.serialization.ODataDeserializerException;
+import org.apache.olingo.client.core.http.DefaultHttpClientFactory;
 import org.apache.olingo.commons.api.data.EntityCollection;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.format.ContentType;
 import org.junit.Test;
 
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
 public class EntitySetTest extends AbstractTest {
 
 private EdmEnabledODataClient getEdmEnabledClient1() {
@@ -165,4 +182,184 @@ private EdmEnabledODataClient getEdmEnabledClient1() {
     assertEquals("olingo.odata.test1.ETCont", 
         entity.getEntities().get(1).getTypeName().getFullQualifiedNameAsString());
   }
+
+  private void iterate(final ContentType contentType) throws Exception {
+    final ClientEntitySet entitySet = client.getReader().readEntitySet(
+        getClass().getResourceAsStream("Customers." + getSuffix(contentType)), contentType);
+
+    final ClientEntitySetIterator<ClientEntitySet, ClientEntity> iterator =
+        new ClientEntitySetIterator<ClientEntitySet, ClientEntity>(
+            client, getClass().getResourceAsStream("Customers." + getSuffix(contentType)), contentType);
+    final List<ClientEntity> entities = new ArrayList<ClientEntity>();
+    while (iterator.hasNext()) {
+      entities.add(iterator.next());
+    }
+    assertEquals(entitySet.getEntities().toString(), entities.toString());
+    assertNull(iterator.getNext());
+  }
+
+  @Test
+  public void iterateAtom() throws Exception {
+    iterate(ContentType.APPLICATION_ATOM_XML);
+  }
+
+  @Test
+  public void iterateJSON() throws Exception {
+    iterate(ContentType.JSON);
+  }
+
+  @Test
+  public void iterateWithTrailingNextLink() throws Exception {
+    final String payload = "{\"@odata.context\":\"http://host/service/$metadata#Customers\","
+        + "\"value\":[{\"ID\":1,\"Name\":\"{}\"},{\"ID\":2,\"Name\":\"[\"}],"
+        + "\"@odata.count\":10,\"@odata.nextLink\":\"Customers?$skiptoken=2\"}";
+
+    final ClientEntitySetIterator<ClientEntitySet, ClientEntity> iterator =
+        new ClientEntitySetIterator<ClientEntitySet, ClientEntity>(
+            client, new ByteArrayInputStream(payload.getBytes("UTF-8")), ContentType.JSON);
+    assertEquals("{}", iterator.next().getProperty("Name").getPrimitiveValue().toString());
+    assertEquals("[", iterator.next().getProperty("Name").getPrimitiveValue().toString());
+    assertFalse(iterator.hasNext());
+    assertEquals(URI.create("http://host/service/Customers?$skiptoken=2"), iterator.getNext());
+  }
+
+  @Test
+  public void iterateFollowingNextLinks() throws Exception {
+    final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    final String serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/service/";
+    server.createContext("/service/Customers", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        final String skipToken = exchange.getRequestURI().getQuery();
+        final byte[] page = page(serviceRoot, "$skiptoken=2".equals(skipToken) ? 3 : 5, null).getBytes("UTF-8");
+        exchange.getResponseHeaders().add("Content-Type", ContentType.JSON.toContentTypeString());
+        exchange.getResponseHeaders().add("OData-Version", "4.0");
+        exchange.sendResponseHeaders(200, page.length);
+        exchange.getResponseBody().write(page);
+        exchange.close();
+      }
+    });
+    server.start();
+    try {
+      final ClientEntitySetIterator<ClientEntitySet, ClientEntity> iterator =
+          new ClientEntitySetIterator<ClientEntitySet, ClientEntity>(client,
+              new ByteArrayInputStream(page(serviceRoot, 1, "Customers?$skiptoken=2").getBytes("UTF-8")),
+              ContentType.JSON);
+      iterator.setFollowNextLinks(true);
+      iterator.setPrefetchNextPage(true);
+
+      final List<Object> ids = new ArrayList<Object>();
+      while (iterator.hasNext()) {
+        ids.add(iterator.next().getProperty("ID").getPrimitiveValue().toValue());
+      }
+      assertEquals(Arrays.<Object> asList(1, 2, 3, 4), ids);
+      assertNull(iterator.getNext());
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  public void nextLinksKeepRequestHeaders() throws Exception {
+    final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    final String serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/service/";
+    final List<String> received = new ArrayList<String>();
+    server.createContext("/service/Customers", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        final boolean first = exchange.getRequestURI().getQuery() == null;
+        synchronized (received) {
+          received.add(exchange.getRequestHeaders().getFirst("Prefer") + ","
+              + exchange.getRequestHeaders().getFirst("X-Tenant"));
+        }
+        final byte[] page = page(serviceRoot, first ? 1 : 3, first ? "Customers?$skiptoken=2" : null)
+            .getBytes("UTF-8");
+        exchange.getResponseHeaders().add("Content-Type", ContentType.JSON.toContentTypeString());
+        exchange.getResponseHeaders().add("OData-Version", "4.0");
+        exchange.sendResponseHeaders(200, page.length);
+        exchange.getResponseBody().write(page);
+        exchange.close();
+      }
+    });
+    server.start();
+    try {
+      final ODataEntitySetIteratorRequest<ClientEntitySet, ClientEntity> request =
+          client.getRetrieveRequestFactory().getEntitySetIteratorRequest(URI.create(serviceRoot + "Customers"));
+      request.setPrefer(client.newPreferences().maxPageSize(2));
+      request.addCustomHeader("X-Tenant", "north");
+      final ClientEntitySetIterator<ClientEntitySet, ClientEntity> iterator = request.execute().getBody();
+      iterator.setFollowNextLinks(true);
+      iterator.setPrefetchNextPage(true);
+
+      int count = 0;
+      while (iterator.hasNext()) {
+        iterator.next();
+        count++;
+      }
+      assertEquals(4, count);
+      assertEquals(Arrays.asList("odata.maxpagesize=2,north", "odata.maxpagesize=2,north"), received);
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  public void followedPagesAreClosed() throws Exception {
+    final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    final String serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/service/";
+    server.createContext("/service/Customers", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        final String skipToken = exchange.getRequestURI().getQuery();
+        final byte[] page = (skipToken == null ? page(serviceRoot, 1, "Customers?$skiptoken=2")
+            : "$skiptoken=2".equals(skipToken) ? page(serviceRoot, 3, "Customers?$skiptoken=4")
+                : page(serviceRoot, 5, null)).getBytes("UTF-8");
+        exchange.getResponseHeaders().add("Content-Type", ContentType.JSON.toContentTypeString());
+        exchange.getResponseHeaders().add("OData-Version", "4.0");
+        exchange.sendResponseHeaders(200, page.length);
+        exchange.getResponseBody().write(page);
+        exchange.close();
+      }
+    });
+    server.start();
+    final AtomicInteger closed = new AtomicInteger();
+    final ODataClient pagingClient = ODataClientFactory.getClient();
+    pagingClient.getConfiguration().setHttpClientFactory(new DefaultHttpClientFactory() {
+      @Override
+      public void close(final HttpClient httpClient) {
+        closed.incrementAndGet();
+        super.close(httpClient);
+      }
+    });
+    try {
+      final ODataRetrieveResponse<ClientEntitySetIterator<ClientEntitySet, ClientEntity>> response =
+          pagingClient.getRetrieveRequestFactory().getEntitySetIteratorRequest(
+              URI.create(serviceRoot + "Customers")).execute();
+      final ClientEntitySetIterator<ClientEntitySet, ClientEntity> iterator = response.getBody();
+      iterator.setFollowNextLinks(true);
+
+      int count = 0;
+      while (iterator.hasNext()) {
+        iterator.next();
+        count++;
+        if (count == 3) {
+          // the second page has been read, the first one is left to its owner
+          assertEquals(0, closed.get());
+        }
+      }
+      assertEquals(6, count);
+      // the second page is closed when advancing to the third one, the third one at the end
+      assertEquals(2, closed.get());
+      response.close();
+      assertEquals(3, closed.get());
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  private static String page(final String serviceRoot, final int first, final String next) {
+    return "{\"@odata.context\":\"" + serviceRoot + "$metadata#Customers\","
+        + (next == null ? "" : "\"@odata.nextLink\":\"" + next + "\",")
+        + "\"value\":[{\"ID\":" + first + "},{\"ID\":" + (first + 1) + "}]}";
+  }
 }
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.client.api.EdmEnabledODataClient;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class MetadataCacheTest extends AbstractTest {
+
+  private static final String SERVICE_ROOT = "http://host/service";
+
+  @Before
+  public void enable() {
+    MetadataCache.setEnabled(true);
+  }
+
+  @After
+  public void reset() {
+    MetadataCache.clear();
+    MetadataCache.setDirectory(null);
+    MetadataCache.setTimeToLive(MetadataCache.DEFAULT_TIME_TO_LIVE);
+    MetadataCache.setEnabled(false);
+  }
+
+  /**
+   * Starts a service answering metadata requests with 304 when the given ETag is sent, and with 500 otherwise.
+   */
+  private HttpServer notModified(final String metadataETag, final AtomicInteger requests) throws IOException {
+    final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/service/$metadata", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        exchange.sendResponseHeaders(
+            metadataETag.equals(exchange.getRequestHeaders().getFirst("If-None-Match")) ? 304 : 500, -1);
+        exchange.close();
+      }
+    });
+    server.start();
+    return server;
+  }
+
+  private String serviceRoot(final HttpServer server) {
+    return "http://localhost:" + server.getAddress().getPort() + "/service";
+  }
+
+  @Test
+  public void sharedAmongClients() {
+    final Edm edm = client.getReader().readMetadata(getClass().getResourceAsStream("metadata.xml"));
+    MetadataCache.put(SERVICE_ROOT, new MetadataCache.Entry("W/\"1\"", edm));
+
+    final EdmEnabledODataClient first = ODataClientFactory.getEdmEnabledClient(SERVICE_ROOT);
+    final EdmEnabledODataClient second = ODataClientFactory.getEdmEnabledClient(SERVICE_ROOT);
+    assertSame(edm, first.getCachedEdm());
+    assertSame(edm, second.getEdm("W/\"1\""));
+
+    assertNotNull(MetadataCache.get(SERVICE_ROOT, null));
+    assertNull(MetadataCache.get(SERVICE_ROOT, "W/\"2\""));
+    assertNull(MetadataCache.get("http://host/other", null));
+  }
+
+  @Test
+  public void revalidatedWhenExpired() throws Exception {
+    final AtomicInteger requests = new AtomicInteger();
+    final HttpServer server = notModified("W/\"1\"", requests);
+    try {
+      final Edm edm = client.getReader().readMetadata(getClass().getResourceAsStream("metadata.xml"));
+      MetadataCache.put(serviceRoot(server), new MetadataCache.Entry("W/\"1\"", edm));
+
+      assertSame(edm, ODataClientFactory.getEdmEnabledClient(serviceRoot(server)).getCachedEdm());
+      assertEquals(0, requests.get());
+
+      MetadataCache.setTimeToLive(0);
+      assertSame(edm, ODataClientFactory.getEdmEnabledClient(serviceRoot(server)).getCachedEdm());
+      assertEquals(1, requests.get());
+      // the ETag announced by the service confirms the cached metadata
+      assertSame(edm, ODataClientFactory.getEdmEnabledClient(serviceRoot(server)).getEdm("W/\"1\""));
+      assertEquals(1, requests.get());
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  public void persisted() throws Exception {
+    final File directory = new File(System.getProperty("java.io.tmpdir"), "olingo-metadata-" + System.nanoTime());
+    directory.mkdirs();
+    final AtomicInteger requests = new AtomicInteger();
+    final HttpServer server = notModified("W/\"1\"", requests);
+    try {
+      final String serviceRoot = serviceRoot(server);
+      MetadataCache.setDirectory(directory);
+      MetadataCache.store(serviceRoot, "W/\"1\"",
+          IOUtils.toByteArray(getClass().getResourceAsStream("metadata.xml")));
+      assertEquals(2, directory.list().length);
+
+      // persisted metadata are revalidated on first use only
+      final Edm edm = ODataClientFactory.getEdmEnabledClient(serviceRoot).getCachedEdm();
+      assertNotNull(edm.getEntityType(new FullQualifiedName("Microsoft.Exchange.Services.OData.Model", "User")));
+      assertEquals(1, requests.get());
+      assertSame(edm, ODataClientFactory.getEdmEnabledClient(serviceRoot).getCachedEdm());
+      assertEquals(1, requests.get());
+
+      MetadataCache.invalidate(serviceRoot);
+      assertNull(MetadataCache.get(serviceRoot, null));
+      assertEquals(0, directory.list().length);
+    } finally {
+      server.stop(0);
+      FileUtils.deleteDirectory(directory);
+    }
+  }
+
+}
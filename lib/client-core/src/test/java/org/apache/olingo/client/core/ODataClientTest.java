@@ -18,12 +18,23 @@
  */
 package org.apache.olingo.client.core;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntity;
 import org.apache.olingo.client.api.ODataClient;
 import org.apache.olingo.client.api.uri.SearchFactory;
+import org.apache.olingo.client.core.uri.URIUtils;
 import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
 import org.apache.olingo.commons.api.format.ContentType;
 import org.junit.Test;
@@ -99,6 +110,8 @@ public class ODataClientTest {
     assertEquals(true, config.isContinueOnError());
     config.setGzipCompression(true);
     assertEquals(true, config.isGzipCompression());
+    config.setGzipRequestCompression(true);
+    assertEquals(true, config.isGzipRequestCompression());
     config.setKeyAsSegment(true);
     assertEquals(true, config.isKeyAsSegment());
     config.setUseChuncked(true);
@@ -124,4 +137,29 @@ public class ODataClientTest {
     config.setProperty("key", "value");
     assertEquals("value", config.getProperty("key", "value"));
   }
+
+  @Test
+  public void gzipRequestCompression() throws Exception {
+    ODataClient client = ODataClientFactory.getClient();
+    client.getConfiguration().setGzipRequestCompression(true);
+    final byte[] payload = "{\"PropertyString\":\"Test\"}".getBytes("UTF-8");
+
+    HttpEntity entity = URIUtils.buildInputStreamEntity(client, new ByteArrayInputStream(payload));
+    assertEquals("gzip", entity.getContentEncoding().getValue());
+    assertTrue(entity.isChunked());
+    assertArrayEquals(payload, gunzip(entity));
+
+    client.getConfiguration().setUseChuncked(false);
+    entity = URIUtils.buildInputStreamEntity(client, new ByteArrayInputStream(payload));
+    assertEquals("gzip", entity.getContentEncoding().getValue());
+    assertFalse(entity.isChunked());
+    assertTrue(entity.getContentLength() > 0);
+    assertArrayEquals(payload, gunzip(entity));
+  }
+
+  private byte[] gunzip(final HttpEntity entity) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    entity.writeTo(output);
+    return IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())));
+  }
 }
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
+import org.apache.olingo.client.api.domain.ClientEntity;
+import org.apache.olingo.client.api.http.AsyncHttpTransport;
+import org.apache.olingo.client.api.http.HttpClientException;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.junit.Test;
+
+public class AsyncHttpTransportTest {
+
+  private static final URI ENTITY_URI = URI.create("http://localhost:9080/svc/People(1)");
+
+  /** Transport answering all requests on the calling thread, with the given response or error. */
+  private static class StaticTransport implements AsyncHttpTransport {
+
+    private final HttpResponse response;
+
+    private HttpUriRequest request;
+
+    private StaticTransport(final HttpResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public void execute(final HttpUriRequest request, final FutureCallback<HttpResponse> callback) {
+      this.request = request;
+      if (response == null) {
+        callback.failed(new IOException("Connection refused"));
+      } else {
+        callback.completed(response);
+      }
+    }
+  }
+
+  @Test
+  public void retrieveEntity() throws Exception {
+    final BasicHttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+    httpResponse.setEntity(new StringEntity(
+        "{\"@odata.context\":\"$metadata#People/$entity\",\"Name\":\"Bob\"}", "UTF-8"));
+    httpResponse.addHeader(HttpHeader.CONTENT_TYPE, ContentType.JSON.toContentTypeString());
+    final StaticTransport transport = new StaticTransport(httpResponse);
+
+    final ODataClient client = ODataClientFactory.getClient();
+    client.getConfiguration().setAsyncHttpTransport(transport);
+
+    final Object[] notified = new Object[1];
+    final Future<ODataRetrieveResponse<ClientEntity>> future =
+        client.getRetrieveRequestFactory().getEntityRequest(ENTITY_URI).asyncExecute(
+            new FutureCallback<ODataRetrieveResponse<ClientEntity>>() {
+              @Override
+              public void completed(final ODataRetrieveResponse<ClientEntity> result) {
+                notified[0] = result;
+              }
+
+              @Override
+              public void failed(final Exception ex) {
+                notified[0] = ex;
+              }
+
+              @Override
+              public void cancelled() {
+                notified[0] = null;
+              }
+            });
+
+    assertTrue(future.isDone());
+    assertSame(future.get(), notified[0]);
+    assertEquals(ENTITY_URI, transport.request.getURI());
+    assertTrue(transport.request.containsHeader(HttpHeader.ACCEPT));
+
+    final ODataRetrieveResponse<ClientEntity> response = future.get();
+    assertEquals(HttpStatus.SC_OK, response.getStatusCode());
+    assertEquals("Bob", response.getBody().getProperty("Name").getPrimitiveValue().toString());
+  }
+
+  @Test
+  public void failedRequest() throws Exception {
+    final ODataClient client = ODataClientFactory.getClient();
+    client.getConfiguration().setAsyncHttpTransport(new StaticTransport(null));
+
+    try {
+      client.getRetrieveRequestFactory().getEntityRequest(ENTITY_URI).asyncExecute().get();
+      fail("Expected failed request");
+    } catch (final ExecutionException e) {
+      assertTrue(e.getCause() instanceof HttpClientException);
+    }
+  }
+
+  @Test
+  public void errorFailsFuture() throws Exception {
+    final HttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK") {
+      @Override
+      public StatusLine getStatusLine() {
+        throw new AssertionError("broken");
+      }
+    };
+    final List<FutureCallback<HttpResponse>> callbacks = new ArrayList<FutureCallback<HttpResponse>>();
+    final ODataClient client = ODataClientFactory.getClient();
+    client.getConfiguration().setAsyncHttpTransport(new AsyncHttpTransport() {
+      @Override
+      public void execute(final HttpUriRequest request, final FutureCallback<HttpResponse> callback) {
+        callbacks.add(callback);
+      }
+    });
+
+    final Future<ODataRetrieveResponse<ClientEntity>> future =
+        client.getRetrieveRequestFactory().getEntityRequest(ENTITY_URI).asyncExecute();
+    try {
+      callbacks.get(0).completed(httpResponse);
+      fail("Expected error");
+    } catch (final AssertionError e) {
+      assertEquals("broken", e.getMessage());
+    }
+    assertTrue(future.isDone());
+    try {
+      future.get();
+      fail("Expected failed request");
+    } catch (final ExecutionException e) {
+      assertTrue(e.getCause() instanceof HttpClientException);
+    }
+  }
+
+  @Test
+  public void cancelAbortsRequest() throws Exception {
+    final HttpUriRequest[] sent = new HttpUriRequest[1];
+    final ODataClient client = ODataClientFactory.getClient();
+    client.getConfiguration().setAsyncHttpTransport(new AsyncHttpTransport() {
+      @Override
+      public void execute(final HttpUriRequest request, final FutureCallback<HttpResponse> callback) {
+        sent[0] = request;
+      }
+    });
+
+    final Future<ODataRetrieveResponse<ClientEntity>> future =
+        client.getRetrieveRequestFactory().getEntityRequest(ENTITY_URI).asyncExecute();
+    assertFalse(sent[0].isAborted());
+    assertTrue(future.cancel(true));
+    assertTrue(future.isCancelled());
+    assertTrue(sent[0].isAborted());
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.response;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.junit.Test;
+
+public class AbstractODataResponseTest {
+
+  @Test
+  public void smallRestIsRead() {
+    final ReleasableEntity entity = new ReleasableEntity(new byte[100]);
+    close(entity);
+    assertFalse(entity.aborted);
+    assertTrue(entity.read);
+  }
+
+  @Test
+  public void largeRestIsNotRead() {
+    final ReleasableEntity entity = new ReleasableEntity(new byte[1024 * 1024]);
+    close(entity);
+    assertTrue(entity.aborted);
+    assertFalse(entity.read);
+  }
+
+  private void close(final ReleasableEntity entity) {
+    final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+    response.setEntity(entity);
+    new AsyncResponseImpl(ODataClientFactory.getClient(), null, response).close();
+  }
+
+  private static final class ReleasableEntity extends InputStreamEntity implements ConnectionReleaseTrigger {
+    private boolean aborted = false;
+    private boolean read = false;
+
+    private ReleasableEntity(final byte[] content) {
+      super(new ByteArrayInputStream(content), content.length);
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+      final InputStream content = super.getContent();
+      return new InputStream() {
+        @Override
+        public int read() throws IOException {
+          return check(content.read());
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+          return check(content.read(b, off, len));
+        }
+      };
+    }
+
+    private int check(final int count) {
+      read = count < 0;
+      return count;
+    }
+
+    @Override
+    public void releaseConnection() {
+      // not used
+    }
+
+    @Override
+    public void abortConnection() {
+      aborted = true;
+    }
+  }
+}
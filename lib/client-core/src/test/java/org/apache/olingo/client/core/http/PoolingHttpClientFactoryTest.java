@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+
+import org.apache.http.auth.AuthScope;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.olingo.client.api.http.HttpClientFactory;
+import org.apache.olingo.client.core.ConfigurationImpl;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.junit.Test;
+
+public class PoolingHttpClientFactoryTest {
+
+  private static final URI SERVICE = URI.create("http://localhost:9080/odata.svc/");
+
+  @Test
+  public void clientsShareConnectionManager() {
+    final PoolingHttpClientFactory factory = new PoolingHttpClientFactory(10, 5, 1000, 1000);
+    try {
+      final HttpClient first = factory.create(HttpMethod.GET, SERVICE);
+      final HttpClient second = factory.create(HttpMethod.GET, SERVICE);
+      assertSame(first.getConnectionManager(), second.getConnectionManager());
+      assertTrue(first.getConnectionManager() instanceof PoolingClientConnectionManager);
+
+      final PoolingClientConnectionManager connectionManager =
+          (PoolingClientConnectionManager) first.getConnectionManager();
+      assertEquals(10, connectionManager.getMaxTotal());
+      assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+      assertEquals(PoolingHttpClientFactory.DEFAULT_LEASE_TIMEOUT_MILLIS,
+          first.getParams().getLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, 0));
+
+      // Closing a client must keep the pool usable for later requests.
+      factory.close(first);
+      assertSame(connectionManager, factory.create(HttpMethod.GET, SERVICE).getConnectionManager());
+    } finally {
+      factory.shutdown();
+    }
+  }
+
+  @Test
+  public void wrappingFactories() {
+    final PoolingHttpClientFactory pooling = new PoolingHttpClientFactory();
+    try {
+      final DefaultHttpClient client =
+          new BasicAuthHttpClientFactory("user", "password", pooling).create(HttpMethod.GET, SERVICE);
+      assertTrue(client.getConnectionManager() instanceof PoolingClientConnectionManager);
+      assertEquals("user", client.getCredentialsProvider()
+          .getCredentials(new AuthScope(SERVICE.getHost(), SERVICE.getPort())).getUserPrincipal().getName());
+
+      final ProxyWrappingHttpClientFactory proxy =
+          new ProxyWrappingHttpClientFactory(URI.create("http://proxy:8080"), pooling);
+      assertTrue(proxy.create(HttpMethod.GET, SERVICE).getConnectionManager()
+          instanceof PoolingClientConnectionManager);
+    } finally {
+      pooling.shutdown();
+    }
+  }
+
+  @Test
+  public void defaultOfConfiguration() {
+    final ConfigurationImpl configuration = new ConfigurationImpl();
+    final HttpClientFactory factory = configuration.getHttpClientFactory();
+    assertTrue(factory instanceof PoolingHttpClientFactory);
+    assertSame(factory, configuration.getHttpClientFactory());
+
+    configuration.setHttpClientFactory(new DefaultHttpClientFactory());
+    assertFalse(configuration.getHttpClientFactory() instanceof PoolingHttpClientFactory);
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.serialization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.client.api.EdmEnabledODataClient;
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.data.ResWrap;
+import org.apache.olingo.client.api.domain.ClientEntity;
+import org.apache.olingo.client.api.domain.ClientEntitySet;
+import org.apache.olingo.client.core.EdmEnabledODataClientImpl;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+public class JsonEntityBinderTest {
+
+  private static final String RESOURCES = "/org/apache/olingo/client/core/";
+
+  private static final String[] ENTITIES = {
+    "entity.minimal.json", "entity.primitive.json", "entity.complex.json", "entity.collection.primitive.json",
+    "entity.collection.complex.json", "Customer.json", "PersonDetails_1.json", "minimalEntity.json", "olingo390.json",
+    "ESTwoKeyNav.json"
+  };
+
+  private static final String[] ENTITY_SETS = {
+    "Customers.json", "CustomersWithFullMetadata.json", "CustomersWithOperations.json"
+  };
+
+  private static final String SET = "{\"@odata.context\":\"http://host/service/$metadata#Customers\","
+      + "\"@odata.count\":2,\"value\":["
+      + "{\"@odata.id\":\"Customers(1)\",\"@odata.editLink\":\"Customers(1)\",\"ID\":1,\"Name\":\"Bob\","
+      + "\"Rating\":4.5,\"Active\":true,\"Address\":{\"City\":\"Berlin\"},\"Tags\":[\"a\",\"b\"]},"
+      + "{\"@odata.id\":\"Customers(2)\",\"@odata.etag\":\"W/\\\"1\\\"\",\"ID\":2,\"Name\":null,"
+      + "\"Since@odata.type\":\"#Date\",\"Since\":\"2012-12-03\",\"Big\":12345678901}],"
+      + "\"@odata.nextLink\":\"Customers?$skiptoken=2\"}";
+
+  private final ODataClient client = ODataClientFactory.getClient();
+
+  /** Binder counting the entities read through the generic deserializer. */
+  private static class CountingBinder extends JsonEntityBinder {
+
+    private int deserialized = 0;
+
+    CountingBinder(final ODataClient client) {
+      super(client, (ODataBinderImpl) client.getBinder());
+    }
+
+    @Override
+    ResWrap<Entity> deserializeEntity(final JsonParser parser) throws IOException {
+      deserialized++;
+      return super.deserializeEntity(parser);
+    }
+  }
+
+  private EdmEnabledODataClient getEdmEnabledClient() {
+    return new EdmEnabledODataClientImpl(null, null, null) {
+
+      private Edm edm;
+
+      @Override
+      public Edm getEdm(final String metadataETag) {
+        return getCachedEdm();
+      }
+
+      @Override
+      public Edm getCachedEdm() {
+        if (edm == null) {
+          edm = getReader().readMetadata(getClass().getResourceAsStream(RESOURCES + "staticservice-metadata.xml"));
+        }
+        return edm;
+      }
+    };
+  }
+
+  private byte[] resource(final String name) throws Exception {
+    final InputStream input = getClass().getResourceAsStream(RESOURCES + name);
+    try {
+      return IOUtils.toByteArray(input);
+    } finally {
+      IOUtils.closeQuietly(input);
+    }
+  }
+
+  // binary values and operations have no value-based equality, so the whole entity is compared textually
+  private void sameEntity(final ODataClient client, final byte[] content) throws Exception {
+    final ClientEntity expected = client.getBinder().getODataEntity(
+        client.getDeserializer(ContentType.JSON).toEntity(new ByteArrayInputStream(content)));
+    assertEquals(expected.toString(),
+        client.getReader().readEntity(new ByteArrayInputStream(content), ContentType.JSON).toString());
+  }
+
+  private void sameEntitySet(final ODataClient client, final byte[] content) throws Exception {
+    final ClientEntitySet expected = client.getBinder().getODataEntitySet(
+        client.getDeserializer(ContentType.JSON).toEntitySet(new ByteArrayInputStream(content)));
+    assertEquals(expected.toString(),
+        client.getReader().readEntitySet(new ByteArrayInputStream(content), ContentType.JSON).toString());
+  }
+
+  @Test
+  public void sameAsDeserializerAndBinder() throws Exception {
+    final ODataClient edmEnabledClient = getEdmEnabledClient();
+    for (String name : ENTITIES) {
+      sameEntity(client, resource(name));
+      sameEntity(edmEnabledClient, resource(name));
+    }
+    for (String name : ENTITY_SETS) {
+      sameEntitySet(client, resource(name));
+      sameEntitySet(edmEnabledClient, resource(name));
+    }
+    sameEntitySet(client, SET.getBytes("UTF-8"));
+    sameEntitySet(edmEnabledClient, SET.getBytes("UTF-8"));
+  }
+
+  @Test
+  public void entity() throws Exception {
+    final CountingBinder binder = new CountingBinder(client);
+    final ResWrap<ClientEntity> entity = binder.readEntity(new ByteArrayInputStream(resource("entity.primitive.json")));
+    assertNotNull(entity);
+    assertEquals(Integer.valueOf(-128),
+        entity.getPayload().getProperty("IntegerValue").getPrimitiveValue().toValue());
+    assertEquals(Boolean.TRUE, entity.getPayload().getProperty("TrueValue").getPrimitiveValue().toValue());
+    assertTrue(entity.getPayload().getProperty("NullValue").hasNullValue());
+
+    assertNotNull(binder.readEntity(new ByteArrayInputStream(resource("entity.complex.json"))));
+    assertEquals(0, binder.deserialized);
+    // navigation links are only bound by the generic deserializer and binder
+    assertNotNull(binder.readEntity(new ByteArrayInputStream(resource("minimalEntity.json"))));
+    assertEquals(1, binder.deserialized);
+  }
+
+  @Test
+  public void entitySet() throws Exception {
+    final CountingBinder binder = new CountingBinder(client);
+    final ResWrap<ClientEntitySet> entitySet = binder.readEntitySet(new ByteArrayInputStream(SET.getBytes("UTF-8")));
+    assertNotNull(entitySet);
+    assertEquals(URI.create("http://host/service/$metadata#Customers"), entitySet.getContextURL());
+    assertEquals(Integer.valueOf(2), entitySet.getPayload().getCount());
+    assertEquals(URI.create("http://host/service/Customers?$skiptoken=2"), entitySet.getPayload().getNext());
+    assertEquals(2, entitySet.getPayload().getEntities().size());
+
+    final ClientEntity first = entitySet.getPayload().getEntities().get(0);
+    assertEquals(URI.create("Customers(1)"), first.getId());
+    assertEquals(URI.create("http://host/service/Customers(1)"), first.getEditLink());
+    assertEquals("Berlin", first.getProperty("Address").getComplexValue().get("City").getPrimitiveValue().toValue());
+    assertEquals(2, first.getProperty("Tags").getCollectionValue().size());
+    assertEquals("W/\"1\"", entitySet.getPayload().getEntities().get(1).getETag());
+    assertEquals(0, binder.deserialized);
+  }
+
+  @Test
+  public void largeEntitySet() throws Exception {
+    final StringBuilder content = new StringBuilder("{\"@odata.context\":\"http://host/service/$metadata#Customers\","
+        + "\"value\":[");
+    int count = 0;
+    while (content.length() <= 2 * 1024 * 1024) {
+      if (count > 0) {
+        content.append(',');
+      }
+      content.append("{\"@odata.id\":\"Customers(").append(count).append(")\",\"ID\":").append(count)
+          .append(",\"Name\":\"Customer ").append(count).append("\",\"Active\":true}");
+      count++;
+    }
+    final int plain = content.length();
+    // followed by an entity with a navigation link
+    content.append(",{\"ID\":-1,\"Orders@odata.navigationLink\":\"Customers(-1)/Orders\"}");
+    content.append("],\"@odata.nextLink\":\"Customers?$skiptoken=").append(count).append("\"}");
+    final byte[] payload = content.toString().getBytes("UTF-8");
+
+    final CountingBinder binder = new CountingBinder(client);
+    ClientEntitySet entitySet = binder.readEntitySet(
+        new ByteArrayInputStream((content.substring(0, plain) + "]}").getBytes("UTF-8"))).getPayload();
+    assertEquals(count, entitySet.getEntities().size());
+    assertEquals(0, binder.deserialized);
+
+    entitySet = binder.readEntitySet(new ByteArrayInputStream(payload)).getPayload();
+    assertEquals(count + 1, entitySet.getEntities().size());
+    assertEquals(URI.create("http://host/service/Customers?$skiptoken=" + count), entitySet.getNext());
+    assertEquals(URI.create("Customers(" + (count - 1) + ")"), entitySet.getEntities().get(count - 1).getId());
+    assertEquals(URI.create("http://host/service/Customers(-1)/Orders"),
+        entitySet.getEntities().get(count).getNavigationLink("Orders").getLink());
+    // only the entity with the navigation link is read by the generic deserializer
+    assertEquals(1, binder.deserialized);
+  }
+}
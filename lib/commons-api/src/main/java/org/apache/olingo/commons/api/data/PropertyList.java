@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.commons.api.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * List of properties with lookup by property name.
+ * <p>
+ * Lists with more than a few properties keep an index from names to positions,
+ * built on the first lookup and rebuilt after the list has been modified.
+ * The names of properties are expected not to change while they are contained in the list.
+ * The index is published as one immutable object, so a list which is no longer modified
+ * can be read by several threads concurrently.
+ * </p>
+ */
+public class PropertyList extends ArrayList<Property> {
+
+  private static final long serialVersionUID = -2853367128937622405L;
+
+  /** Lists up to this size are searched sequentially. */
+  private static final int INDEX_THRESHOLD = 8;
+
+  private transient volatile Index index;
+
+  /**
+   * Get the first property with the given name.
+   * @param name name of the property
+   * @return the property or <code>null</code> if there is no property with the given name
+   */
+  public Property getProperty(final String name) {
+    if (size() <= INDEX_THRESHOLD) {
+      return scan(name);
+    }
+    Index current = index;
+    if (current == null || current.modCount != modCount) {
+      current = buildIndex();
+    }
+    final Integer position = current.positions.get(name);
+    if (position == null) {
+      return null;
+    }
+    final Property property = get(position);
+    // The property could have been renamed after the index had been built.
+    return name.equals(property.getName()) ? property : scan(name);
+  }
+
+  @Override
+  public Property set(final int position, final Property property) {
+    index = null;
+    return super.set(position, property);
+  }
+
+  private Property scan(final String name) {
+    for (int position = 0; position < size(); position++) {
+      final Property property = get(position);
+      if (name.equals(property.getName())) {
+        return property;
+      }
+    }
+    return null;
+  }
+
+  private Index buildIndex() {
+    final int expectedModCount = modCount;
+    final Map<String, Integer> positions = new HashMap<String, Integer>(size() * 2);
+    for (int position = size() - 1; position >= 0; position--) {
+      positions.put(get(position).getName(), position);
+    }
+    final Index newIndex = new Index(positions, expectedModCount);
+    index = newIndex;
+    return newIndex;
+  }
+
+  /** Positions of the property names, valid as long as the list has not been modified. */
+  private static final class Index {
+    private final Map<String, Integer> positions;
+    private final int modCount;
+
+    private Index(final Map<String, Integer> positions, final int modCount) {
+      this.positions = positions;
+      this.modCount = modCount;
+    }
+  }
+}
@@ -29,6 +29,9 @@ public abstract class Valuable extends Annotatable {
 
   private ValueType valueType = null;
   private Object value = null;
+  private PrimitiveSlot slot = PrimitiveSlot.NONE;
+  private long longValue;
+  private double doubleValue;
   private String type;
 
   /**
@@ -36,7 +39,7 @@ public abstract class Valuable extends Annotatable {
    * @return <code>true</code> if value is <code>null</code>, otherwise <code>false</code>
    */
   public boolean isNull() {
-    return value == null;
+    return value == null && slot == PrimitiveSlot.NONE;
   }
 
   /**
@@ -106,7 +109,7 @@ public abstract class Valuable extends Annotatable {
    * @return primitive representation or null if it is not based on a primitive ValueType
    */
   public Object asPrimitive() {
-    return isPrimitive() && !isCollection() ? value : null;
+    return isPrimitive() && !isCollection() ? getValue() : null;
   }
 
   /**
@@ -146,12 +149,21 @@ public abstract class Valuable extends Annotatable {
   }
 
   /**
-   * Get the value
+   * Get the value; unboxed primitive values are returned boxed
    *
    * @return the value
    */
   public Object getValue() {
-    return value;
+    switch (slot) {
+    case LONG:
+      return Long.valueOf(longValue);
+    case DOUBLE:
+      return Double.valueOf(doubleValue);
+    case BOOLEAN:
+      return Boolean.valueOf(longValue != 0);
+    default:
+      return value;
+    }
   }
 
   /**
@@ -162,6 +174,89 @@ public abstract class Valuable extends Annotatable {
   public void setValue(final ValueType valueType, final Object value) {
     this.valueType = valueType;
     this.value = value;
+    slot = PrimitiveSlot.NONE;
+  }
+
+  /**
+   * Set a primitive <code>long</code> value, without boxing it.
+   * The value is typically used for properties of the integer types Byte, SByte, Int16, Int32, and Int64.
+   * @param value value
+   */
+  public void setLongValue(final long value) {
+    setPrimitiveSlot(PrimitiveSlot.LONG);
+    longValue = value;
+  }
+
+  /**
+   * Set a primitive <code>double</code> value, without boxing it.
+   * @param value value
+   */
+  public void setDoubleValue(final double value) {
+    setPrimitiveSlot(PrimitiveSlot.DOUBLE);
+    doubleValue = value;
+  }
+
+  /**
+   * Set a primitive <code>boolean</code> value.
+   * @param value value
+   */
+  public void setBooleanValue(final boolean value) {
+    setPrimitiveSlot(PrimitiveSlot.BOOLEAN);
+    longValue = value ? 1 : 0;
+  }
+
+  private void setPrimitiveSlot(final PrimitiveSlot slot) {
+    valueType = ValueType.PRIMITIVE;
+    value = null;
+    this.slot = slot;
+  }
+
+  /**
+   * Check if the value has been set with {@link #setLongValue(long)}.
+   * @return <code>true</code> if the value is an unboxed <code>long</code> value
+   */
+  public boolean hasLongValue() {
+    return slot == PrimitiveSlot.LONG;
+  }
+
+  /**
+   * Check if the value has been set with {@link #setDoubleValue(double)}.
+   * @return <code>true</code> if the value is an unboxed <code>double</code> value
+   */
+  public boolean hasDoubleValue() {
+    return slot == PrimitiveSlot.DOUBLE;
+  }
+
+  /**
+   * Check if the value has been set with {@link #setBooleanValue(boolean)}.
+   * @return <code>true</code> if the value is an unboxed <code>boolean</code> value
+   */
+  public boolean hasBooleanValue() {
+    return slot == PrimitiveSlot.BOOLEAN;
+  }
+
+  /**
+   * Get the unboxed <code>long</code> value; only meaningful if {@link #hasLongValue()} is true.
+   * @return the value
+   */
+  public long getLongValue() {
+    return longValue;
+  }
+
+  /**
+   * Get the unboxed <code>double</code> value; only meaningful if {@link #hasDoubleValue()} is true.
+   * @return the value
+   */
+  public double getDoubleValue() {
+    return doubleValue;
+  }
+
+  /**
+   * Get the unboxed <code>boolean</code> value; only meaningful if {@link #hasBooleanValue()} is true.
+   * @return the value
+   */
+  public boolean getBooleanValue() {
+    return longValue != 0;
   }
 
   /**
@@ -182,9 +277,11 @@ public abstract class Valuable extends Annotatable {
     }
 
     final Valuable other = (Valuable) o;
+    final Object value = getValue();
+    final Object otherValue = other.getValue();
     return getAnnotations().equals(other.getAnnotations())
         && (valueType == null ? other.valueType == null : valueType.equals(other.valueType))
-        && (value == null ? other.value == null : value.equals(other.value))
+        && (value == null ? otherValue == null : value.equals(otherValue))
         && (type == null ? other.type == null : type.equals(other.type));
   }
 
@@ -192,6 +289,7 @@ public abstract class Valuable extends Annotatable {
   public int hashCode() {
     int result = getAnnotations().hashCode();
     result = 31 * result + (valueType == null ? 0 : valueType.hashCode());
+    final Object value = getValue();
     result = 31 * result + (value == null ? 0 : value.hashCode());
     result = 31 * result + (type == null ? 0 : type.hashCode());
     return result;
@@ -199,6 +297,12 @@ public abstract class Valuable extends Annotatable {
 
   @Override
   public String toString() {
+    final Object value = getValue();
     return value == null ? "null" : value.toString();
   }
+
+  /** Kinds of unboxed primitive values. */
+  private enum PrimitiveSlot {
+    NONE, LONG, DOUBLE, BOOLEAN
+  }
 }
@@ -20,81 +20,96 @@ package org.apache.olingo.commons.core.edm;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmAction;
 import org.apache.olingo.commons.api.edm.EdmAnnotations;
 import org.apache.olingo.commons.api.edm.EdmComplexType;
+import org.apache.olingo.commons.api.edm.EdmActionImport;
 import org.apache.olingo.commons.api.edm.EdmEntityContainer;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmEnumType;
 import org.apache.olingo.commons.api.edm.EdmFunction;
+import org.apache.olingo.commons.api.edm.EdmFunctionImport;
+import org.apache.olingo.commons.api.edm.EdmOperation;
 import org.apache.olingo.commons.api.edm.EdmParameter;
 import org.apache.olingo.commons.api.edm.EdmSchema;
+import org.apache.olingo.commons.api.edm.EdmSingleton;
+import org.apache.olingo.commons.api.edm.EdmStructuredType;
 import org.apache.olingo.commons.api.edm.EdmTerm;
 import org.apache.olingo.commons.api.edm.EdmTypeDefinition;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
 
+/**
+ * Base class of the entity data model implementations.
+ * <p>
+ * All lookups are cached in concurrent maps so that reading the model from many threads does not
+ * contend on a common lock. {@link #loadAll()} creates all elements of the model in advance
+ * so that the request processing afterwards only reads from the caches.
+ * </p>
+ */
 public abstract class AbstractEdm implements Edm {
 
-  protected Map<String, EdmSchema> schemas;
-  protected List<EdmSchema> schemaList;
+  protected volatile Map<String, EdmSchema> schemas;
+  protected volatile List<EdmSchema> schemaList;
   private boolean isEntityDerivedFromES;
   private boolean isComplexDerivedFromES;
   private boolean isPreviousES;
 
   private final Map<FullQualifiedName, EdmEntityContainer> entityContainers =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmEntityContainer>());
+      new ConcurrentHashMap<FullQualifiedName, EdmEntityContainer>();
+  private volatile EdmEntityContainer defaultEntityContainer;
 
   private final Map<FullQualifiedName, EdmEnumType> enumTypes =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmEnumType>());
+      new ConcurrentHashMap<FullQualifiedName, EdmEnumType>();
 
   private final Map<FullQualifiedName, EdmTypeDefinition> typeDefinitions =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmTypeDefinition>());
+      new ConcurrentHashMap<FullQualifiedName, EdmTypeDefinition>();
 
   private final Map<FullQualifiedName, EdmEntityType> entityTypes =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmEntityType>());
+      new ConcurrentHashMap<FullQualifiedName, EdmEntityType>();
 
   private final Map<FullQualifiedName, EdmComplexType> complexTypes =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmComplexType>());
+      new ConcurrentHashMap<FullQualifiedName, EdmComplexType>();
 
   private final Map<FullQualifiedName, EdmAction> unboundActions =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmAction>());
+      new ConcurrentHashMap<FullQualifiedName, EdmAction>();
 
   private final Map<FullQualifiedName, List<EdmFunction>> unboundFunctionsByName =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, List<EdmFunction>>());
+      new ConcurrentHashMap<FullQualifiedName, List<EdmFunction>>();
 
   private final Map<FunctionMapKey, EdmFunction> unboundFunctionsByKey =
-      Collections.synchronizedMap(new HashMap<FunctionMapKey, EdmFunction>());
+      new ConcurrentHashMap<FunctionMapKey, EdmFunction>();
 
   private final Map<ActionMapKey, EdmAction> boundActions =
-      Collections.synchronizedMap(new HashMap<ActionMapKey, EdmAction>());
+      new ConcurrentHashMap<ActionMapKey, EdmAction>();
 
   private final Map<FunctionMapKey, EdmFunction> boundFunctions =
-      Collections.synchronizedMap(new HashMap<FunctionMapKey, EdmFunction>());
+      new ConcurrentHashMap<FunctionMapKey, EdmFunction>();
 
   private final Map<FullQualifiedName, EdmTerm> terms =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmTerm>());
+      new ConcurrentHashMap<FullQualifiedName, EdmTerm>();
 
   private final Map<TargetQualifierMapKey, EdmAnnotations> annotationGroups =
-      Collections.synchronizedMap(new HashMap<TargetQualifierMapKey, EdmAnnotations>());
+      new ConcurrentHashMap<TargetQualifierMapKey, EdmAnnotations>();
 
-  private Map<String, String> aliasToNamespaceInfo = null;
+  private volatile Map<String, String> aliasToNamespaceInfo = null;
   
   private final Map<FullQualifiedName, EdmEntityType> entityTypesWithAnnotations =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmEntityType>());
+      new ConcurrentHashMap<FullQualifiedName, EdmEntityType>();
   
   private final Map<FullQualifiedName, EdmEntityType> entityTypesDerivedFromES =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmEntityType>());
+      new ConcurrentHashMap<FullQualifiedName, EdmEntityType>();
   
   private final Map<FullQualifiedName, EdmComplexType> complexTypesWithAnnotations =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmComplexType>());
+      new ConcurrentHashMap<FullQualifiedName, EdmComplexType>();
   
   private final Map<FullQualifiedName, EdmComplexType> complexTypesDerivedFromES =
-      Collections.synchronizedMap(new HashMap<FullQualifiedName, EdmComplexType>());
+      new ConcurrentHashMap<FullQualifiedName, EdmComplexType>();
 
   @Override
   public List<EdmSchema> getSchemas() {
@@ -110,24 +125,30 @@ public abstract class AbstractEdm implements Edm {
       initSchemas();
     }
 
+    if (namespace == null) {
+      return null;
+    }
     EdmSchema schema = schemas.get(namespace);
     if (schema == null) {
-      schema = schemas.get(aliasToNamespaceInfo.get(namespace));
+      final String aliasNamespace = aliasToNamespaceInfo.get(namespace);
+      schema = aliasNamespace == null ? null : schemas.get(aliasNamespace);
     }
     return schema;
   }
 
-  private void initSchemas() {
+  private synchronized void initSchemas() {
+    if (schemas != null) {
+      return;
+    }
     loadAliasToNamespaceInfo();
     Map<String, EdmSchema> localSchemas = createSchemas();
-    schemas = Collections.synchronizedMap(localSchemas);
-
-    schemaList = Collections.unmodifiableList(new ArrayList<EdmSchema>(schemas.values()));
+    schemaList = Collections.unmodifiableList(new ArrayList<EdmSchema>(localSchemas.values()));
+    schemas = copyWithoutNulls(localSchemas);
   }
 
   private void loadAliasToNamespaceInfo() {
     Map<String, String> localAliasToNamespaceInfo = createAliasToNamespaceInfo();
-    aliasToNamespaceInfo = Collections.synchronizedMap(localAliasToNamespaceInfo);
+    aliasToNamespaceInfo = copyWithoutNulls(localAliasToNamespaceInfo);
   }
 
   @Override
@@ -138,13 +159,13 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmEntityContainer getEntityContainer(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
-    EdmEntityContainer container = entityContainers.get(fqn);
+    EdmEntityContainer container = fqn == null ? defaultEntityContainer : entityContainers.get(fqn);
     if (container == null) {
       container = createEntityContainer(fqn);
       if (container != null) {
-        entityContainers.put(fqn, container);
+        cacheEntityContainer(fqn, container);
         if (fqn == null) {
-          entityContainers.put(new FullQualifiedName(container.getNamespace(), container.getName()), container);
+          cacheEntityContainer(new FullQualifiedName(container.getNamespace(), container.getName()), container);
         }
       }
     }
@@ -154,11 +175,11 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmEnumType getEnumType(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
-    EdmEnumType enumType = enumTypes.get(fqn);
+    EdmEnumType enumType = getCached(enumTypes, fqn);
     if (enumType == null) {
       enumType = createEnumType(fqn);
       if (enumType != null) {
-        enumTypes.put(fqn, enumType);
+        putCached(enumTypes, fqn, enumType);
       }
     }
     return enumType;
@@ -167,11 +188,11 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmTypeDefinition getTypeDefinition(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
-    EdmTypeDefinition typeDefinition = typeDefinitions.get(fqn);
+    EdmTypeDefinition typeDefinition = getCached(typeDefinitions, fqn);
     if (typeDefinition == null) {
       typeDefinition = createTypeDefinition(fqn);
       if (typeDefinition != null) {
-        typeDefinitions.put(fqn, typeDefinition);
+        putCached(typeDefinitions, fqn, typeDefinition);
       }
     }
     return typeDefinition;
@@ -180,11 +201,11 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmEntityType getEntityType(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
-    EdmEntityType entityType = entityTypes.get(fqn);
+    EdmEntityType entityType = getCached(entityTypes, fqn);
     if (entityType == null) {
       entityType = createEntityType(fqn);
       if (entityType != null) {
-        entityTypes.put(fqn, entityType);
+        putCached(entityTypes, fqn, entityType);
       }
     }
     return entityType;
@@ -193,11 +214,11 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmEntityType getEntityTypeWithAnnotations(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
-    EdmEntityType entityType = entityTypesWithAnnotations.get(fqn);
+    EdmEntityType entityType = getCached(entityTypesWithAnnotations, fqn);
     if (entityType == null) {
       entityType = createEntityType(fqn);
       if (entityType != null) {
-          entityTypesWithAnnotations.put(fqn, entityType);
+          putCached(entityTypesWithAnnotations, fqn, entityType);
       }
     }
     setIsPreviousES(false);
@@ -211,11 +232,11 @@ public abstract class AbstractEdm implements Edm {
     if (!isPreviousES() && getEntityContainer() != null) {
        getEntityContainer().getEntitySetsWithAnnotations();
     }
-    EdmEntityType entityType = entityTypesDerivedFromES.get(fqn);
+    EdmEntityType entityType = getCached(entityTypesDerivedFromES, fqn);
     if (entityType == null) {
       entityType = createEntityType(fqn);
       if (entityType != null) {
-          entityTypesDerivedFromES.put(fqn, entityType);
+          putCached(entityTypesDerivedFromES, fqn, entityType);
       }
     }
     this.isEntityDerivedFromES = false;
@@ -229,11 +250,11 @@ public abstract class AbstractEdm implements Edm {
     if (!isPreviousES() && getEntityContainer() != null) {
        getEntityContainer().getEntitySetsWithAnnotations();
     }
-    EdmComplexType complexType = complexTypesDerivedFromES.get(fqn);
+    EdmComplexType complexType = getCached(complexTypesDerivedFromES, fqn);
     if (complexType == null) {
       complexType = createComplexType(fqn);
       if (complexType != null) {
-          complexTypesDerivedFromES.put(fqn, complexType);
+          putCached(complexTypesDerivedFromES, fqn, complexType);
       }
     }
     this.isComplexDerivedFromES = false;
@@ -243,11 +264,11 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmComplexType getComplexType(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
-    EdmComplexType complexType = complexTypes.get(fqn);
+    EdmComplexType complexType = getCached(complexTypes, fqn);
     if (complexType == null) {
       complexType = createComplexType(fqn);
       if (complexType != null) {
-        complexTypes.put(fqn, complexType);
+        putCached(complexTypes, fqn, complexType);
       }
     }
     return complexType;
@@ -256,11 +277,11 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmComplexType getComplexTypeWithAnnotations(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
-    EdmComplexType complexType = complexTypesWithAnnotations.get(fqn);
+    EdmComplexType complexType = getCached(complexTypesWithAnnotations, fqn);
     if (complexType == null) {
       complexType = createComplexType(fqn);
       if (complexType != null) {
-          complexTypesWithAnnotations.put(fqn, complexType);
+          putCached(complexTypesWithAnnotations, fqn, complexType);
       }
     }
     setIsPreviousES(false);
@@ -270,11 +291,11 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmAction getUnboundAction(final FullQualifiedName actionName) {
     final FullQualifiedName fqn = resolvePossibleAlias(actionName);
-    EdmAction action = unboundActions.get(fqn);
+    EdmAction action = getCached(unboundActions, fqn);
     if (action == null) {
       action = createUnboundAction(fqn);
       if (action != null) {
-        unboundActions.put(actionName, action);
+        putCached(unboundActions, actionName, action);
       }
     }
 
@@ -288,11 +309,11 @@ public abstract class AbstractEdm implements Edm {
     final FullQualifiedName actionFqn = resolvePossibleAlias(actionName);
     final FullQualifiedName bindingParameterTypeFqn = resolvePossibleAlias(bindingParameterTypeName);
     final ActionMapKey key = new ActionMapKey(actionFqn, bindingParameterTypeFqn, isBindingParameterCollection);
-    EdmAction action = boundActions.get(key);
+    EdmAction action = getCached(boundActions, key);
     if (action == null) {
       action = createBoundAction(actionFqn, bindingParameterTypeFqn, isBindingParameterCollection);
       if (action != null) {
-        boundActions.put(key, action);
+        putCached(boundActions, key, action);
       }
     }
 
@@ -303,11 +324,11 @@ public abstract class AbstractEdm implements Edm {
   public List<EdmFunction> getUnboundFunctions(final FullQualifiedName functionName) {
     final FullQualifiedName functionFqn = resolvePossibleAlias(functionName);
 
-    List<EdmFunction> functions = unboundFunctionsByName.get(functionFqn);
+    List<EdmFunction> functions = getCached(unboundFunctionsByName, functionFqn);
     if (functions == null) {
       functions = createUnboundFunctions(functionFqn);
       if (functions != null) {
-        unboundFunctionsByName.put(functionFqn, functions);
+        putCached(unboundFunctionsByName, functionFqn, functions);
 
         for (EdmFunction unbound : functions) {
           final FunctionMapKey key = new FunctionMapKey(
@@ -315,7 +336,7 @@ public abstract class AbstractEdm implements Edm {
               unbound.getBindingParameterTypeFqn(),
               unbound.isBindingParameterTypeCollection(),
               unbound.getParameterNames());
-          unboundFunctionsByKey.put(key, unbound);
+          putCached(unboundFunctionsByKey, key, unbound);
         }
       }
     }
@@ -328,11 +349,11 @@ public abstract class AbstractEdm implements Edm {
     final FullQualifiedName functionFqn = resolvePossibleAlias(functionName);
 
     final FunctionMapKey key = new FunctionMapKey(functionFqn, null, null, parameterNames);
-    EdmFunction function = unboundFunctionsByKey.get(key);
+    EdmFunction function = getCached(unboundFunctionsByKey, key);
     if (function == null) {
       function = createUnboundFunction(functionFqn, parameterNames);
       if (function != null) {
-        unboundFunctionsByKey.put(key, function);
+        putCached(unboundFunctionsByKey, key, function);
       }
     }
 
@@ -348,12 +369,12 @@ public abstract class AbstractEdm implements Edm {
     final FullQualifiedName bindingParameterTypeFqn = resolvePossibleAlias(bindingParameterTypeName);
     final FunctionMapKey key =
         new FunctionMapKey(functionFqn, bindingParameterTypeFqn, isBindingParameterCollection, parameterNames);
-    EdmFunction function = boundFunctions.get(key);
+    EdmFunction function = getCached(boundFunctions, key);
     if (function == null) {
       function = createBoundFunction(functionFqn, bindingParameterTypeFqn, isBindingParameterCollection,
           parameterNames);
       if (function != null) {
-        boundFunctions.put(key, function);
+        putCached(boundFunctions, key, function);
       }
     }
 
@@ -363,11 +384,11 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmTerm getTerm(final FullQualifiedName termName) {
     final FullQualifiedName fqn = resolvePossibleAlias(termName);
-    EdmTerm term = terms.get(fqn);
+    EdmTerm term = getCached(terms, fqn);
     if (term == null) {
       term = createTerm(fqn);
       if (term != null) {
-        terms.put(fqn, term);
+        putCached(terms, fqn, term);
       }
     }
     return term;
@@ -377,11 +398,11 @@ public abstract class AbstractEdm implements Edm {
   public EdmAnnotations getAnnotationGroup(final FullQualifiedName targetName, String qualifier) {
     final FullQualifiedName fqn = resolvePossibleAlias(targetName);
     TargetQualifierMapKey key = new TargetQualifierMapKey(fqn, qualifier);
-    EdmAnnotations _annotations = annotationGroups.get(key);
+    EdmAnnotations _annotations = getCached(annotationGroups, key);
     if (_annotations == null) {
       _annotations = createAnnotationGroup(fqn, qualifier);
       if (_annotations != null) {
-        annotationGroups.put(key, _annotations);
+        putCached(annotationGroups, key, _annotations);
       }
     }
     return _annotations;
@@ -393,7 +414,9 @@ public abstract class AbstractEdm implements Edm {
     }
     FullQualifiedName finalFQN = null;
     if (namespaceOrAliasFQN != null) {
-      final String namespace = aliasToNamespaceInfo.get(namespaceOrAliasFQN.getNamespace());
+      final String namespace = namespaceOrAliasFQN.getNamespace() == null ?
+          null :
+          aliasToNamespaceInfo.get(namespaceOrAliasFQN.getNamespace());
       // If not contained in info it must be a namespace
       if (namespace == null) {
         finalFQN = namespaceOrAliasFQN;
@@ -409,37 +432,41 @@ public abstract class AbstractEdm implements Edm {
   protected abstract Map<String, String> createAliasToNamespaceInfo();
 
   public void cacheAliasNamespaceInfo(final String alias, final String namespace) {
-    aliasToNamespaceInfo.put(alias, namespace);
+    putCached(aliasToNamespaceInfo, alias, namespace);
   }
 
   protected abstract EdmEntityContainer createEntityContainer(FullQualifiedName containerName);
 
   public void cacheEntityContainer(final FullQualifiedName containerFQN, final EdmEntityContainer container) {
-    entityContainers.put(containerFQN, container);
+    if (containerFQN == null) {
+      defaultEntityContainer = container;
+    } else {
+      entityContainers.put(containerFQN, container);
+    }
   }
 
   protected abstract EdmEnumType createEnumType(FullQualifiedName enumName);
 
   public void cacheEnumType(final FullQualifiedName enumName, final EdmEnumType enumType) {
-    enumTypes.put(enumName, enumType);
+    putCached(enumTypes, enumName, enumType);
   }
 
   protected abstract EdmTypeDefinition createTypeDefinition(FullQualifiedName typeDefinitionName);
 
   public void cacheTypeDefinition(final FullQualifiedName typeDefName, final EdmTypeDefinition typeDef) {
-    typeDefinitions.put(typeDefName, typeDef);
+    putCached(typeDefinitions, typeDefName, typeDef);
   }
 
   protected abstract EdmEntityType createEntityType(FullQualifiedName entityTypeName);
 
   public void cacheEntityType(final FullQualifiedName entityTypeName, final EdmEntityType entityType) {
-    entityTypes.put(entityTypeName, entityType);
+    putCached(entityTypes, entityTypeName, entityType);
   }
 
   protected abstract EdmComplexType createComplexType(FullQualifiedName complexTypeName);
 
   public void cacheComplexType(final FullQualifiedName compelxTypeName, final EdmComplexType complexType) {
-    complexTypes.put(compelxTypeName, complexType);
+    putCached(complexTypes, compelxTypeName, complexType);
   }
 
   protected abstract EdmAction createUnboundAction(FullQualifiedName actionName);
@@ -462,14 +489,17 @@ public abstract class AbstractEdm implements Edm {
         function.getParameterNames());
 
     if (function.isBound()) {
-      boundFunctions.put(key, function);
+      putCached(boundFunctions, key, function);
     } else {
-      if (!unboundFunctionsByName.containsKey(functionName)) {
-        unboundFunctionsByName.put(functionName, new ArrayList<EdmFunction>());
-      }
-      unboundFunctionsByName.get(functionName).add(function);
-
-      unboundFunctionsByKey.put(key, function);
+      // The list is replaced instead of modified because it may be read concurrently.
+      final List<EdmFunction> cachedFunctions = getCached(unboundFunctionsByName, functionName);
+      final List<EdmFunction> functions = cachedFunctions == null ?
+          new ArrayList<EdmFunction>() :
+          new ArrayList<EdmFunction>(cachedFunctions);
+      functions.add(function);
+      putCached(unboundFunctionsByName, functionName, functions);
+
+      putCached(unboundFunctionsByKey, key, function);
     }
   }
 
@@ -477,16 +507,16 @@ public abstract class AbstractEdm implements Edm {
     if (action.isBound()) {
       final ActionMapKey key = new ActionMapKey(actionName,
           action.getBindingParameterTypeFqn(), action.isBindingParameterTypeCollection());
-      boundActions.put(key, action);
+      putCached(boundActions, key, action);
     } else {
-      unboundActions.put(actionName, action);
+      putCached(unboundActions, actionName, action);
     }
   }
 
   protected abstract EdmTerm createTerm(FullQualifiedName termName);
 
   public void cacheTerm(final FullQualifiedName termName, final EdmTerm term) {
-    terms.put(termName, term);
+    putCached(terms, termName, term);
   }
 
   protected abstract EdmAnnotations createAnnotationGroup(FullQualifiedName targetName, String qualifier);
@@ -494,7 +524,7 @@ public abstract class AbstractEdm implements Edm {
   public void cacheAnnotationGroup(final FullQualifiedName targetName,
       final EdmAnnotations annotationsGroup) {
     TargetQualifierMapKey key = new TargetQualifierMapKey(targetName, annotationsGroup.getQualifier());
-    annotationGroups.put(key, annotationsGroup);
+    putCached(annotationGroups, key, annotationsGroup);
   }
   
   @Override
@@ -532,6 +562,73 @@ public abstract class AbstractEdm implements Edm {
     return functions;
   }
   
+  /**
+   * Creates all elements of the entity data model and fills the lookup caches with them.
+   * <p>
+   * This is meant to be called once at start-up, so that errors in the model are found early
+   * and the processing of requests afterwards only reads already created elements.
+   * </p>
+   */
+  public void loadAll() {
+    for (final EdmSchema schema : getSchemas()) {
+      for (final EdmTypeDefinition typeDefinition : schema.getTypeDefinitions()) {
+        typeDefinition.getUnderlyingType();
+      }
+      for (final EdmEntityType entityType : schema.getEntityTypes()) {
+        entityType.getKeyPropertyRefs();
+        loadStructuredType(entityType);
+      }
+      for (final EdmComplexType complexType : schema.getComplexTypes()) {
+        loadStructuredType(complexType);
+      }
+      for (final EdmAction action : schema.getActions()) {
+        loadOperation(action);
+      }
+      for (final EdmFunction function : schema.getFunctions()) {
+        loadOperation(function);
+      }
+      for (final EdmTerm term : schema.getTerms()) {
+        term.getType();
+      }
+      final EdmEntityContainer container = schema.getEntityContainer();
+      if (container != null) {
+        for (final EdmEntitySet entitySet : container.getEntitySets()) {
+          entitySet.getEntityType();
+          entitySet.getNavigationPropertyBindings();
+        }
+        for (final EdmSingleton singleton : container.getSingletons()) {
+          singleton.getEntityType();
+          singleton.getNavigationPropertyBindings();
+        }
+        for (final EdmActionImport actionImport : container.getActionImports()) {
+          actionImport.getUnboundAction();
+        }
+        for (final EdmFunctionImport functionImport : container.getFunctionImports()) {
+          functionImport.getUnboundFunctions();
+        }
+      }
+    }
+  }
+
+  private void loadStructuredType(final EdmStructuredType type) {
+    type.getBaseType();
+    for (final String name : type.getPropertyNames()) {
+      type.getStructuralProperty(name).getType();
+    }
+    for (final String name : type.getNavigationPropertyNames()) {
+      type.getNavigationProperty(name).getType();
+    }
+  }
+
+  private void loadOperation(final EdmOperation operation) {
+    for (final String name : operation.getParameterNames()) {
+      operation.getParameter(name).getType();
+    }
+    if (operation.getReturnType() != null) {
+      operation.getReturnType().getType();
+    }
+  }
+
   protected boolean isEntityDerivedFromES() {
     return isEntityDerivedFromES;
   }
@@ -547,4 +644,22 @@ public abstract class AbstractEdm implements Edm {
   protected boolean isPreviousES() {
     return isPreviousES;
   }
+
+  static <K, V> V getCached(final Map<K, V> cache, final K key) {
+    return key == null ? null : cache.get(key);
+  }
+
+  static <K, V> void putCached(final Map<K, V> cache, final K key, final V value) {
+    if (key != null && value != null) {
+      cache.put(key, value);
+    }
+  }
+
+  private static <K, V> Map<K, V> copyWithoutNulls(final Map<K, V> map) {
+    final Map<K, V> copy = new ConcurrentHashMap<K, V>();
+    for (final Map.Entry<K, V> entry : map.entrySet()) {
+      putCached(copy, entry.getKey(), entry.getValue());
+    }
+    return copy;
+  }
 }
@@ -20,9 +20,9 @@ package org.apache.olingo.commons.core.edm;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.edm.Edm;
@@ -58,22 +58,22 @@ public class EdmEntityContainerImpl extends AbstractEdmNamed implements EdmEntit
   private final FullQualifiedName parentContainerName;
 
   private List<EdmSingleton> singletons;
-  private final Map<String, EdmSingleton> singletonCache = Collections.synchronizedMap(
-      new LinkedHashMap<String, EdmSingleton>());
+  private final Map<String, EdmSingleton> singletonCache =
+      new ConcurrentHashMap<String, EdmSingleton>();
   private List<EdmEntitySet> entitySets;
-  private final Map<String, EdmEntitySet> entitySetCache = Collections.synchronizedMap(
-      new LinkedHashMap<String, EdmEntitySet>());
+  private final Map<String, EdmEntitySet> entitySetCache =
+      new ConcurrentHashMap<String, EdmEntitySet>();
   private List<EdmActionImport> actionImports;
-  private final Map<String, EdmActionImport> actionImportCache = Collections.synchronizedMap(
-      new LinkedHashMap<String, EdmActionImport>());
+  private final Map<String, EdmActionImport> actionImportCache =
+      new ConcurrentHashMap<String, EdmActionImport>();
   private List<EdmFunctionImport> functionImports;
-  private final Map<String, EdmFunctionImport> functionImportCache = Collections.synchronizedMap(
-      new LinkedHashMap<String, EdmFunctionImport>());
+  private final Map<String, EdmFunctionImport> functionImportCache =
+      new ConcurrentHashMap<String, EdmFunctionImport>();
 	  private boolean isAnnotationsIncluded = false;
-  private final Map<String, EdmEntitySet> entitySetWithAnnotationsCache = Collections.synchronizedMap(
-      new LinkedHashMap<String, EdmEntitySet>());
-  private final Map<String, EdmSingleton> singletonWithAnnotationsCache = Collections.synchronizedMap(
-      new LinkedHashMap<String, EdmSingleton>());
+  private final Map<String, EdmEntitySet> entitySetWithAnnotationsCache =
+      new ConcurrentHashMap<String, EdmEntitySet>();
+  private final Map<String, EdmSingleton> singletonWithAnnotationsCache =
+      new ConcurrentHashMap<String, EdmSingleton>();
   private boolean isSingletonAnnotationsIncluded = false;
 
   public EdmEntityContainerImpl(final Edm edm, final CsdlEdmProvider provider,
@@ -106,16 +106,16 @@ public class EdmEntityContainerImpl extends AbstractEdmNamed implements EdmEntit
 
   @Override
   public EdmSingleton getSingleton(final String singletonName) {
-    EdmSingleton singleton = singletonWithAnnotationsCache.get(singletonName);
+    EdmSingleton singleton = AbstractEdm.getCached(singletonWithAnnotationsCache, singletonName);
     if (singleton == null) {
-      singleton = singletonCache.get(singletonName);
+      singleton = AbstractEdm.getCached(singletonCache, singletonName);
       if (singleton == null) {
         singleton = createSingleton(singletonName);
         if (singleton != null) {
           if (isSingletonAnnotationsIncluded) {
-            singletonWithAnnotationsCache.put(singletonName, singleton);
+            AbstractEdm.putCached(singletonWithAnnotationsCache, singletonName, singleton);
           } else {
-            singletonCache.put(singletonName, singleton);
+            AbstractEdm.putCached(singletonCache, singletonName, singleton);
           }
         }
       }
@@ -125,16 +125,16 @@ public class EdmEntityContainerImpl extends AbstractEdmNamed implements EdmEntit
 
   @Override
   public EdmEntitySet getEntitySet(final String entitySetName) {
-    EdmEntitySet entitySet = entitySetWithAnnotationsCache.get(entitySetName);
+    EdmEntitySet entitySet = AbstractEdm.getCached(entitySetWithAnnotationsCache, entitySetName);
     if (entitySet == null) {
-      entitySet = entitySetCache.get(entitySetName);
+      entitySet = AbstractEdm.getCached(entitySetCache, entitySetName);
       if (entitySet == null) {
         entitySet = createEntitySet(entitySetName);
         if (entitySet != null) {
           if (isAnnotationsIncluded) {
-            entitySetWithAnnotationsCache.put(entitySetName, entitySet);
+            AbstractEdm.putCached(entitySetWithAnnotationsCache, entitySetName, entitySet);
           } else {
-            entitySetCache.put(entitySetName, entitySet);
+            AbstractEdm.putCached(entitySetCache, entitySetName, entitySet);
           }
         }
       }
@@ -145,11 +145,11 @@ public class EdmEntityContainerImpl extends AbstractEdmNamed implements EdmEntit
 
   @Override
   public EdmActionImport getActionImport(final String actionImportName) {
-    EdmActionImport actionImport = actionImportCache.get(actionImportName);
+    EdmActionImport actionImport = AbstractEdm.getCached(actionImportCache, actionImportName);
     if (actionImport == null) {
       actionImport = createActionImport(actionImportName);
       if (actionImport != null) {
-        actionImportCache.put(actionImportName, actionImport);
+        AbstractEdm.putCached(actionImportCache, actionImportName, actionImport);
       }
     }
     return actionImport;
@@ -157,11 +157,11 @@ public class EdmEntityContainerImpl extends AbstractEdmNamed implements EdmEntit
 
   @Override
   public EdmFunctionImport getFunctionImport(final String functionImportName) {
-    EdmFunctionImport functionImport = functionImportCache.get(functionImportName);
+    EdmFunctionImport functionImport = AbstractEdm.getCached(functionImportCache, functionImportName);
     if (functionImport == null) {
       functionImport = createFunctionImport(functionImportName);
       if (functionImport != null) {
-        functionImportCache.put(functionImportName, functionImport);
+        AbstractEdm.putCached(functionImportCache, functionImportName, functionImport);
       }
     }
     return functionImport;
@@ -634,9 +634,9 @@ public class EdmEntityContainerImpl extends AbstractEdmNamed implements EdmEntit
 		addAnnotations(entitySet, entityContainerName);
         final EdmEntitySetImpl impl = new EdmEntitySetImpl(edm, this, entitySet);
         if (isAnnotationsIncluded) {
-          entitySetWithAnnotationsCache.put(impl.getName(), impl);
+          AbstractEdm.putCached(entitySetWithAnnotationsCache, impl.getName(), impl);
         } else {
-          entitySetCache.put(impl.getName(), impl);
+          AbstractEdm.putCached(entitySetCache, impl.getName(), impl);
         }
         entitySetsLocal.add(impl);
       }
@@ -654,7 +654,7 @@ public class EdmEntityContainerImpl extends AbstractEdmNamed implements EdmEntit
       for (CsdlFunctionImport functionImport : providerFunctionImports) {
 		addAnnotations(functionImport, entityContainerName);
         EdmFunctionImportImpl impl = new EdmFunctionImportImpl(edm, this, functionImport);
-        functionImportCache.put(impl.getName(), impl);
+        AbstractEdm.putCached(functionImportCache, impl.getName(), impl);
         functionImportsLocal.add(impl);
       }
       functionImports = functionImportsLocal;
@@ -670,7 +670,7 @@ public class EdmEntityContainerImpl extends AbstractEdmNamed implements EdmEntit
       for (CsdlSingleton singleton : providerSingletons) {
 		addAnnotations(singleton, entityContainerName);
         final EdmSingletonImpl impl = new EdmSingletonImpl(edm, this, singleton);
-        singletonCache.put(singleton.getName(), impl);
+        AbstractEdm.putCached(singletonCache, singleton.getName(), impl);
         singletonsLocal.add(impl);
       }
       singletons = singletonsLocal;
@@ -686,7 +686,7 @@ public class EdmEntityContainerImpl extends AbstractEdmNamed implements EdmEntit
       for (CsdlActionImport actionImport : providerActionImports) {
         addAnnotations(actionImport, entityContainerName);
 		final EdmActionImportImpl impl = new EdmActionImportImpl(edm, this, actionImport);
-        actionImportCache.put(actionImport.getName(), impl);
+        AbstractEdm.putCached(actionImportCache, actionImport.getName(), impl);
         actionImportsLocal.add(impl);
       }
       actionImports = actionImportsLocal;
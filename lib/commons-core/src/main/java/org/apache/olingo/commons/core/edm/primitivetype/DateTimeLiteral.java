@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.commons.core.edm.primitivetype;
+
+/**
+ * Parser and formatter for the parts of date and time literals.
+ * <p>Parsing reads the characters directly instead of using regular expressions;
+ * the conversions between date fields and epoch days use the proleptic Gregorian calendar
+ * and are therefore only used for dates after the Gregorian calendar reform.</p>
+ */
+final class DateTimeLiteral {
+
+  static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+  /** First year handled by the calendar arithmetic, safely after the Gregorian calendar reform. */
+  static final int MIN_YEAR = 1600;
+  /** Last year handled by the calendar arithmetic, the last one with four digits. */
+  static final int MAX_YEAR = 9999;
+  /** 1600-01-01T00:00:00Z in milliseconds since the epoch */
+  static final long MIN_MILLIS = -11676096000000L;
+  /** 10000-01-01T00:00:00Z in milliseconds since the epoch */
+  static final long MAX_MILLIS = 253402300800000L;
+
+  int year;
+  int month;
+  int day;
+  int hour;
+  int minute;
+  int second;
+  /** number of digits after the decimal point; <code>-1</code> if there is no decimal point */
+  int fractionDigits = -1;
+  /** number of fractional digits without trailing zeroes */
+  int decimals;
+  /** value of the fractional digits without trailing zeroes, if there are at most nine of them */
+  int decimalsValue;
+  /** start of the time-zone offset in the literal; <code>-1</code> if there is none or it is zero */
+  int offsetStart = -1;
+  /** time-zone offset in minutes */
+  int offsetInMinutes;
+
+  /**
+   * Parses a date of the form <code>-?YYYY-MM-DD</code>, where the year can have more than four digits.
+   * @return the position after the date or <code>-1</code> if the literal has no such date at this position
+   */
+  int parseDate(final String value, final int start) {
+    int index = start;
+    final boolean isNegative = index < value.length() && value.charAt(index) == '-';
+    if (isNegative) {
+      index++;
+    }
+    final int yearStart = index;
+    int yearValue = 0;
+    while (index < value.length() && isDigit(value.charAt(index))) {
+      yearValue = yearValue * 10 + value.charAt(index) - '0';
+      index++;
+    }
+    if (index - yearStart < 4 || index - yearStart > 9
+        || !hasChar(value, index, '-') || !hasChar(value, index + 3, '-')) {
+      return -1;
+    }
+    year = isNegative ? -yearValue : yearValue;
+    month = parseTwoDigits(value, index + 1);
+    day = parseTwoDigits(value, index + 4);
+    return month < 0 || day < 0 ? -1 : index + 6;
+  }
+
+  /**
+   * Parses a time of the form <code>hh:mm(:ss(.s*)?)?</code>.
+   * @return the position after the time or <code>-1</code> if the literal has no such time at this position
+   */
+  int parseTime(final String value, final int start) {
+    hour = parseTwoDigits(value, start);
+    minute = hasChar(value, start + 2, ':') ? parseTwoDigits(value, start + 3) : -1;
+    if (hour < 0 || minute < 0) {
+      return -1;
+    }
+    int index = start + 5;
+    second = 0;
+    if (hasChar(value, index, ':')) {
+      second = parseTwoDigits(value, index + 1);
+      if (second < 0) {
+        return -1;
+      }
+      index += 3;
+      if (hasChar(value, index, '.')) {
+        index++;
+        final int fractionStart = index;
+        int significantEnd = index;
+        while (index < value.length() && isDigit(value.charAt(index))) {
+          if (value.charAt(index) != '0') {
+            significantEnd = index + 1;
+          }
+          index++;
+        }
+        fractionDigits = index - fractionStart;
+        decimals = significantEnd - fractionStart;
+        decimalsValue = 0;
+        if (decimals <= 9) {
+          for (int position = fractionStart; position < significantEnd; position++) {
+            decimalsValue = decimalsValue * 10 + value.charAt(position) - '0';
+          }
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Parses an optional time-zone designator of the form <code>Z</code> or <code>[-+]hh:mm</code>.
+   * @return the position after the designator or <code>-1</code> if the designator is malformed
+   */
+  int parseOffset(final String value, final int start) {
+    if (start == value.length()) {
+      return start;
+    } else if (value.charAt(start) == 'Z') {
+      return start + 1;
+    } else if (value.charAt(start) == '+' || value.charAt(start) == '-') {
+      final int offsetHours = parseTwoDigits(value, start + 1);
+      final int offsetMinutes = hasChar(value, start + 3, ':') ? parseTwoDigits(value, start + 4) : -1;
+      if (offsetHours < 0 || offsetMinutes < 0) {
+        return -1;
+      }
+      offsetInMinutes = (value.charAt(start) == '-' ? -1 : 1) * (offsetHours * 60 + offsetMinutes);
+      offsetStart = offsetInMinutes == 0 ? -1 : start;
+      return start + 6;
+    } else {
+      return -1;
+    }
+  }
+
+  /**
+   * Returns whether the fractional seconds are syntactically valid:
+   * if there is a decimal point, it must be followed by one to twelve digits.
+   */
+  boolean isFractionValid() {
+    return fractionDigits != 0 && fractionDigits <= 12;
+  }
+
+  /**
+   * Returns the fractional seconds scaled to the given number of digits;
+   * only valid if {@link #decimals} is not larger than the number of digits.
+   */
+  int getFraction(final int digits) {
+    int result = decimalsValue;
+    for (int d = decimals; d < digits; d++) {
+      result *= 10;
+    }
+    return result;
+  }
+
+  /** Returns whether the year is in the range handled by the calendar arithmetic. */
+  boolean isInFastRange() {
+    return year >= MIN_YEAR && year <= MAX_YEAR;
+  }
+
+  boolean isDateValid() {
+    return month >= 1 && month <= 12 && day >= 1 && day <= daysInMonth(year, month);
+  }
+
+  boolean isTimeValid() {
+    return hour <= 23 && minute <= 59 && second <= 59;
+  }
+
+  /**
+   * Returns the date part as number of days since 1970-01-01 in the proleptic Gregorian calendar.
+   */
+  long toEpochDay() {
+    return toEpochDay(year, month, day);
+  }
+
+  static long toEpochDay(final int year, final int month, final int day) {
+    final long y = month <= 2 ? year - 1 : year;
+    final long era = (y >= 0 ? y : y - 399) / 400;
+    final long yearOfEra = y - era * 400;
+    final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+
+  /**
+   * Appends the date with the given number of days since 1970-01-01 as <code>YYYY-MM-DD</code>
+   * in the proleptic Gregorian calendar; the year must have four digits.
+   */
+  static void appendDate(final StringBuilder result, final long epochDay) {
+    final long z = epochDay + 719468;
+    final long era = (z >= 0 ? z : z - 146096) / 146097;
+    final long dayOfEra = z - era * 146097;
+    final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    final int mp = (int) ((5 * dayOfYear + 2) / 153);
+    final int dayOfMonth = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+    final int monthOfYear = mp < 10 ? mp + 3 : mp - 9;
+    final int yearValue = (int) (yearOfEra + era * 400 + (monthOfYear <= 2 ? 1 : 0));
+    EdmDateTimeOffset.appendTwoDigits(result, yearValue / 100);
+    EdmDateTimeOffset.appendTwoDigits(result, yearValue % 100);
+    result.append('-');
+    EdmDateTimeOffset.appendTwoDigits(result, monthOfYear);
+    result.append('-');
+    EdmDateTimeOffset.appendTwoDigits(result, dayOfMonth);
+  }
+
+  /**
+   * Appends the time of day of the given milliseconds since the start of the day as <code>hh:mm:ss</code>.
+   */
+  static void appendTime(final StringBuilder result, final int millisOfDay) {
+    final int secondsOfDay = millisOfDay / 1000;
+    EdmDateTimeOffset.appendTwoDigits(result, secondsOfDay / 3600);
+    result.append(':');
+    EdmDateTimeOffset.appendTwoDigits(result, secondsOfDay / 60 % 60);
+    result.append(':');
+    EdmDateTimeOffset.appendTwoDigits(result, secondsOfDay % 60);
+  }
+
+  /** Returns the non-negative remainder of the division of the given milliseconds by the length of a day. */
+  static int millisOfDay(final long millis) {
+    final long remainder = millis % MILLIS_PER_DAY;
+    return (int) (remainder < 0 ? remainder + MILLIS_PER_DAY : remainder);
+  }
+
+  /** Returns the number of days since 1970-01-01 of the given milliseconds since the epoch. */
+  static long epochDay(final long millis) {
+    return (millis - millisOfDay(millis)) / MILLIS_PER_DAY;
+  }
+
+  private static int daysInMonth(final int year, final int month) {
+    switch (month) {
+    case 2:
+      return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+    case 4:
+    case 6:
+    case 9:
+    case 11:
+      return 30;
+    default:
+      return 31;
+    }
+  }
+
+  private static boolean hasChar(final String value, final int index, final char character) {
+    return index < value.length() && value.charAt(index) == character;
+  }
+
+  private static int parseTwoDigits(final String value, final int index) {
+    if (index + 2 > value.length()) {
+      return -1;
+    }
+    final char first = value.charAt(index);
+    final char second = value.charAt(index + 1);
+    return isDigit(first) && isDigit(second) ? (first - '0') * 10 + second - '0' : -1;
+  }
+
+  private static boolean isDigit(final char character) {
+    return character >= '0' && character <= '9';
+  }
+}
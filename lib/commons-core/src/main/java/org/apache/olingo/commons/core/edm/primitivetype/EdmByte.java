@@ -85,4 +85,11 @@ public final class EdmByte extends SingletonPrimitiveType {
       throw new EdmPrimitiveTypeException("The value type " + value.getClass() + " is not supported.");
     }
   }
+
+  @Override
+  public String longValueToString(final long value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
+    return longToString(value, 0, (1 << Byte.SIZE) - 1);
+  }
 }
@@ -19,8 +19,8 @@
 package org.apache.olingo.commons.core.edm.primitivetype;
 
 import java.util.Calendar;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Date;
+import java.util.TimeZone;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 
@@ -29,8 +29,6 @@ import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
  */
 public final class EdmDate extends SingletonPrimitiveType {
 
-  private static final Pattern PATTERN = Pattern.compile("(-?\\p{Digit}{4,})-(\\p{Digit}{2})-(\\p{Digit}{2})");
-
   private static final EdmDate INSTANCE = new EdmDate();
 
   public static EdmDate getInstance() {
@@ -47,18 +45,14 @@ public final class EdmDate extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode, final Class<T> returnType) throws EdmPrimitiveTypeException {
 
-    final Calendar dateTimeValue = Calendar.getInstance();
-    dateTimeValue.clear();
-
-    final Matcher matcher = PATTERN.matcher(value);
-    if (!matcher.matches()) {
+    final DateTimeLiteral literal = new DateTimeLiteral();
+    if (literal.parseDate(value, 0) != value.length()) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
 
-    dateTimeValue.set(
-        Integer.parseInt(matcher.group(1)),
-        Byte.parseByte(matcher.group(2)) - 1, // month is zero-based
-        Byte.parseByte(matcher.group(3)));
+    final Calendar dateTimeValue = Calendar.getInstance();
+    dateTimeValue.clear();
+    dateTimeValue.set(literal.year, literal.month - 1, literal.day); // month is zero-based
 
     try {
       return EdmDateTimeOffset.convertDateTime(dateTimeValue, 0, returnType);
@@ -74,6 +68,17 @@ public final class EdmDate extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
 
+    if (value instanceof Date || value instanceof Long) {
+      final long millis = value instanceof Date ? ((Date) value).getTime() : (Long) value;
+      final long localMillis = millis + TimeZone.getDefault().getOffset(millis);
+      if (localMillis >= DateTimeLiteral.MIN_MILLIS && localMillis < DateTimeLiteral.MAX_MILLIS) {
+        // The value is formatted directly in the default time zone, without creating a calendar.
+        final StringBuilder result = new StringBuilder(10);
+        DateTimeLiteral.appendDate(result, DateTimeLiteral.epochDay(localMillis));
+        return result.toString();
+      }
+    }
+
     final Calendar dateTimeValue = EdmDateTimeOffset.createDateTime(value, true);
 
     final StringBuilder result = new StringBuilder(10); // Ten characters are enough for "normal" dates.
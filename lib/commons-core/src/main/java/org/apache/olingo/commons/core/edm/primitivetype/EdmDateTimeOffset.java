@@ -23,8 +23,6 @@ import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 
@@ -33,11 +31,6 @@ import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
  */
 public final class EdmDateTimeOffset extends SingletonPrimitiveType {
 
-  private static final Pattern PATTERN = Pattern.compile(
-      "(-?\\p{Digit}{4,})-(\\p{Digit}{2})-(\\p{Digit}{2})"
-          + "T(\\p{Digit}{2}):(\\p{Digit}{2})(?::(\\p{Digit}{2})(\\.(\\p{Digit}{0,12}?)0*)?)?"
-          + "(Z|([-+]\\p{Digit}{2}:\\p{Digit}{2}))?");
-
   private static final EdmDateTimeOffset INSTANCE = new EdmDateTimeOffset();
 
   public static EdmDateTimeOffset getInstance() {
@@ -54,47 +47,36 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode, final Class<T> returnType) throws EdmPrimitiveTypeException {
 
-    final Matcher matcher = PATTERN.matcher(value);
-    if (!matcher.matches()) {
+    final DateTimeLiteral literal = new DateTimeLiteral();
+    int index = literal.parseDate(value, 0);
+    index = index < 0 || index >= value.length() || value.charAt(index) != 'T' ? -1 :
+        literal.parseTime(value, index + 1);
+    index = index < 0 ? -1 : literal.parseOffset(value, index);
+    if (index != value.length() || !literal.isFractionValid()) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
-
-    final String timeZoneOffset = matcher.group(9) == null || matcher.group(10) == null
-        || matcher.group(10).matches("[-+]0+:0+") ? "" : matcher.group(10);
-    final Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone("GMT" + timeZoneOffset));
-    if (dateTimeValue.get(Calendar.ZONE_OFFSET) == 0 && !timeZoneOffset.isEmpty()) {
+    if (literal.offsetStart >= 0
+        && (Math.abs(literal.offsetInMinutes) / 60 > 23 || Math.abs(literal.offsetInMinutes) % 60 > 59)) {
+      // Such offsets are not accepted as custom time-zone IDs.
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
-    dateTimeValue.clear();
-
-    dateTimeValue.set(
-        Short.parseShort(matcher.group(1)),
-        Byte.parseByte(matcher.group(2)) - 1, // month is zero-based
-        Byte.parseByte(matcher.group(3)),
-        Byte.parseByte(matcher.group(4)),
-        Byte.parseByte(matcher.group(5)),
-        matcher.group(6) == null ? 0 : Byte.parseByte(matcher.group(6)));
 
     int nanoSeconds = 0;
-    if (matcher.group(7) != null) {
-      if (matcher.group(7).length() == 1 || matcher.group(7).length() > 13) {
-        throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
-      }
-      final String decimals = matcher.group(8);
-      if (decimals.length() > (precision == null ? 0 : precision)) {
+    int milliSeconds = 0;
+    if (literal.fractionDigits > 0) {
+      if (literal.decimals > (precision == null ? 0 : precision)) {
         throw new EdmPrimitiveTypeException("The literal '" + value + "' does not match the facets' constraints.");
       }
       if (returnType.isAssignableFrom(Timestamp.class)) {
-        if (decimals.length() <= 9) {
-          nanoSeconds = Integer.parseInt(decimals + "000000000".substring(decimals.length()));
+        if (literal.decimals <= 9) {
+          nanoSeconds = literal.getFraction(9);
         } else {
           throw new EdmPrimitiveTypeException("The literal '" + value
               + "' cannot be converted to value type " + returnType + ".");
         }
       } else {
-        if (decimals.length() <= 3) {
-          final String milliSeconds = decimals + "000".substring(decimals.length());
-          dateTimeValue.set(Calendar.MILLISECOND, Short.parseShort(milliSeconds));
+        if (literal.decimals <= 3) {
+          milliSeconds = literal.getFraction(3);
         } else {
           throw new EdmPrimitiveTypeException("The literal '" + value
               + "' cannot be converted to value type " + returnType + ".");
@@ -102,6 +84,33 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
       }
     }
 
+    if ((returnType == Timestamp.class || returnType == Long.class || returnType == Date.class)
+        && literal.isInFastRange()) {
+      // The point in time is computed directly, without creating a calendar.
+      if (!literal.isDateValid() || !literal.isTimeValid()) {
+        throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+      }
+      final long millis = literal.toEpochDay() * DateTimeLiteral.MILLIS_PER_DAY
+          + ((literal.hour * 60L + literal.minute - literal.offsetInMinutes) * 60 + literal.second) * 1000
+          + milliSeconds;
+      if (returnType == Long.class) {
+        return returnType.cast(millis);
+      } else if (returnType == Date.class) {
+        return returnType.cast(new Date(millis));
+      } else {
+        final Timestamp timestamp = new Timestamp(millis);
+        timestamp.setNanos(nanoSeconds);
+        return returnType.cast(timestamp);
+      }
+    }
+
+    final Calendar dateTimeValue = Calendar.getInstance(TimeZone.getTimeZone(
+        literal.offsetStart < 0 ? "GMT" : "GMT" + value.substring(literal.offsetStart)));
+    dateTimeValue.clear();
+    dateTimeValue.set(literal.year, literal.month - 1, literal.day, // month is zero-based
+        literal.hour, literal.minute, literal.second);
+    dateTimeValue.set(Calendar.MILLISECOND, milliSeconds);
+
     try {
       return convertDateTime(dateTimeValue, nanoSeconds, returnType);
     } catch (final IllegalArgumentException e) {
@@ -170,9 +179,26 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
 
+    if (value instanceof Date || value instanceof Long) {
+      final long millis = value instanceof Date ? ((Date) value).getTime() : (Long) value;
+      if (millis >= DateTimeLiteral.MIN_MILLIS && millis < DateTimeLiteral.MAX_MILLIS) {
+        // The value is formatted directly in UTC, without creating a calendar.
+        final StringBuilder result = new StringBuilder(30);
+        DateTimeLiteral.appendDate(result, DateTimeLiteral.epochDay(millis));
+        result.append('T');
+        final int millisOfDay = DateTimeLiteral.millisOfDay(millis);
+        DateTimeLiteral.appendTime(result, millisOfDay);
+        appendFractionalSeconds(result, value, value instanceof Timestamp ?
+            ((Timestamp) value).getNanos() :
+            millisOfDay % 1000, precision);
+        result.append('Z');
+        return result.toString();
+      }
+    }
+
     final Calendar dateTimeValue = createDateTime(value, false);
 
-    StringBuilder result = new StringBuilder();
+    StringBuilder result = new StringBuilder(30);
     final int year = dateTimeValue.get(Calendar.YEAR);
     appendTwoDigits(result, year / 100);
     appendTwoDigits(result, year % 100);
@@ -187,21 +213,20 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
     result.append(':');
     appendTwoDigits(result, dateTimeValue.get(Calendar.SECOND));
 
-    final int fractionalSecs = value instanceof Timestamp ?
+    appendFractionalSeconds(result, value, value instanceof Timestamp ?
         ((Timestamp) value).getNanos() :
-        dateTimeValue.get(Calendar.MILLISECOND);
-    try {
-      appendFractionalSeconds(result, fractionalSecs, value instanceof Timestamp, precision);
-    } catch (final IllegalArgumentException e) {
-      throw new EdmPrimitiveTypeException("The value '" + value + "' does not match the facets' constraints.", e);
-    }
+        dateTimeValue.get(Calendar.MILLISECOND), precision);
 
     final int offsetInMinutes = (dateTimeValue.get(Calendar.ZONE_OFFSET)
         + dateTimeValue.get(Calendar.DST_OFFSET)) / 60 / 1000;
-    final int offsetHours = offsetInMinutes / 60;
-    final int offsetMinutes = Math.abs(offsetInMinutes % 60);
-    final String offsetString = offsetInMinutes == 0 ? "Z" : String.format("%+03d:%02d", offsetHours, offsetMinutes);
-    result.append(offsetString);
+    if (offsetInMinutes == 0) {
+      result.append('Z');
+    } else {
+      result.append(offsetInMinutes < 0 ? '-' : '+');
+      appendTwoDigits(result, Math.abs(offsetInMinutes) / 60);
+      result.append(':');
+      appendTwoDigits(result, Math.abs(offsetInMinutes) % 60);
+    }
 
     return result.toString();
   }
@@ -242,6 +267,23 @@ public final class EdmDateTimeOffset extends SingletonPrimitiveType {
     result.append((char) ('0' + number % 10));
   }
 
+  /**
+   * Appends the fractional seconds of the given value to the given string builder.
+   * @param result a {@link StringBuilder}
+   * @param value the value; fractional seconds are nanoseconds if it is a {@link Timestamp}
+   * @param fractionalSeconds fractional seconds (nonnegative and assumed to be in the valid range)
+   * @param precision the upper limit for decimal digits (optional, defaults to zero)
+   * @throws EdmPrimitiveTypeException if precision is not met
+   */
+  protected static void appendFractionalSeconds(final StringBuilder result, final Object value,
+      final int fractionalSeconds, final Integer precision) throws EdmPrimitiveTypeException {
+    try {
+      appendFractionalSeconds(result, fractionalSeconds, value instanceof Timestamp, precision);
+    } catch (final IllegalArgumentException e) {
+      throw new EdmPrimitiveTypeException("The value '" + value + "' does not match the facets' constraints.", e);
+    }
+  }
+
   /**
    * Appends the given milli- or nanoseconds to the given string builder, performance-optimized.
    * @param result a {@link StringBuilder}
@@ -57,14 +57,23 @@ public final class EdmDecimal extends SingletonPrimitiveType {
     return BigDecimal.class;
   }
 
+  /** Result of {@link #scanPlainLiteral(String)} for literals with illegal content */
+  private static final long ILLEGAL = -1;
+  /** Result of {@link #scanPlainLiteral(String)} for literals with exponent */
+  private static final long WITH_EXPONENT = -2;
+
   @Override
   public boolean validate(final String value,
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode) {
 
-    return value == null
-        ? isNullable == null || isNullable
-        : validateLiteral(value) && validatePrecisionAndScale(value, precision, scale);
+    if (value == null) {
+      return isNullable == null || isNullable;
+    }
+    final long digits = scanPlainLiteral(value);
+    return digits == WITH_EXPONENT ?
+        validateLiteral(value) && validatePrecisionAndScale(value, precision, scale) :
+        digits != ILLEGAL && validateDigits(digits, precision, scale);
   }
 
   private static boolean validateLiteral(final String value) {
@@ -87,19 +96,86 @@ public final class EdmDecimal extends SingletonPrimitiveType {
         && (decimals <= (scale == null ? 0 : scale));
   }
 
+  private static boolean validateDigits(final long digits, final Integer precision, final Integer scale) {
+    final int significantIntegerDigits = (int) (digits >>> 32);
+    final int decimals = (int) digits;
+    return (precision == null || precision >= significantIntegerDigits + decimals)
+        && (decimals <= (scale == null ? 0 : scale));
+  }
+
+  /**
+   * Scans a literal without exponent character by character, in the same way as the regular expression.
+   * @return the number of significant integer digits in the upper and the number of decimals
+   * in the lower half of the result, {@link #WITH_EXPONENT} if the literal contains an exponent,
+   * or {@link #ILLEGAL} if it has illegal content
+   */
+  private static long scanPlainLiteral(final String value) {
+    final int length = value.length();
+    int index = length > 0 && (value.charAt(0) == '+' || value.charAt(0) == '-') ? 1 : 0;
+    final int integerStart = index;
+    while (index < length && value.charAt(index) == '0') {
+      index++;
+    }
+    final int significantStart = index;
+    while (index < length && isDigit(value.charAt(index))) {
+      index++;
+    }
+    if (index == integerStart) {
+      return ILLEGAL;
+    }
+    final int significantIntegerDigits = index - significantStart;
+    int decimals = 0;
+    if (index < length && value.charAt(index) == '.') {
+      index++;
+      final int fractionStart = index;
+      int significantEnd = fractionStart + 1; // At least one decimal is counted, as in the regular expression.
+      while (index < length && isDigit(value.charAt(index))) {
+        if (value.charAt(index) != '0') {
+          significantEnd = Math.max(significantEnd, index + 1);
+        }
+        index++;
+      }
+      if (index == fractionStart) {
+        return ILLEGAL;
+      }
+      decimals = significantEnd - fractionStart;
+    }
+    if (index < length && (value.charAt(index) == 'E' || value.charAt(index) == 'e')) {
+      return WITH_EXPONENT;
+    }
+    return index == length ? (long) significantIntegerDigits << 32 | decimals : ILLEGAL;
+  }
+
+  private static boolean isDigit(final char character) {
+    return character >= '0' && character <= '9';
+  }
+
   @Override
   protected <T> T internalValueOfString(final String value,
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode, final Class<T> returnType) throws EdmPrimitiveTypeException {
 
-    if (!validateLiteral(value)) {
+    final long digits = scanPlainLiteral(value);
+    if (digits == WITH_EXPONENT) {
+      if (!validateLiteral(value)) {
+        throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
+      }
+      if (!validatePrecisionAndScale(value, precision, scale)) {
+        throw new EdmPrimitiveTypeException("The literal '" + value + "' does not match the facets' constraints.");
+      }
+    } else if (digits == ILLEGAL) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
-    }
-    if (!validatePrecisionAndScale(value, precision, scale)) {
+    } else if (!validateDigits(digits, precision, scale)) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' does not match the facets' constraints.");
     }
 
     try {
+      if (digits >= 0 && (int) digits == 0 && digits >>> 32 <= 18
+          && (returnType == Long.class || returnType == Integer.class || returnType == Short.class
+          || returnType == Byte.class || returnType == BigInteger.class)) {
+        // Whole numbers are converted without creating a BigDecimal.
+        return EdmInt64.convertNumber(parseLong(value), returnType);
+      }
       return convertDecimal(new BigDecimal(value), returnType);
     } catch (final IllegalArgumentException e) {
       throw new EdmPrimitiveTypeException("The literal '" + value
@@ -109,6 +185,16 @@ public final class EdmDecimal extends SingletonPrimitiveType {
     }
   }
 
+  /** Parses a scanned literal without decimal point and with at most 18 significant digits. */
+  private static long parseLong(final String value) {
+    final boolean isNegative = value.charAt(0) == '-';
+    long result = 0;
+    for (int index = isNegative || value.charAt(0) == '+' ? 1 : 0; index < value.length(); index++) {
+      result = result * 10 + value.charAt(index) - '0';
+    }
+    return isNegative ? -result : result;
+  }
+
   /**
    * Converts a {@link BigDecimal} value into the requested return type if possible.
    *
@@ -38,6 +38,10 @@ public final class EdmDouble extends SingletonPrimitiveType {
   private static final Pattern PATTERN = Pattern.compile(
       "(?:\\+|-)?\\p{Digit}{1,17}(?:\\.\\p{Digit}{1,17})?(?:(?:E|e)(?:\\+|-)?\\p{Digit}{1,3})?");
 
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+      1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17 };
+
   private static final EdmDouble INSTANCE = new EdmDouble();
 
   public static EdmDouble getInstance() {
@@ -65,6 +69,13 @@ public final class EdmDouble extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode, final Class<T> returnType) throws EdmPrimitiveTypeException {
 
+    if (returnType.isAssignableFrom(Double.class)) {
+      final double simpleResult = parseSimpleLiteral(value);
+      if (!Double.isNaN(simpleResult)) {
+        return returnType.cast(simpleResult);
+      }
+    }
+
     Double result = null;
     BigDecimal bigDecimalValue = null;
     // Handle special values first.
@@ -111,6 +122,51 @@ public final class EdmDouble extends SingletonPrimitiveType {
     }
   }
 
+  /**
+   * Parses a literal without exponent and with at most fifteen digits (apart from leading zeroes)
+   * directly from its characters.
+   * Such a literal is always represented exactly by the nearest double value
+   * in the sense of {@link BigDecimal#valueOf(double)}.
+   * @return the value or {@link Double#NaN} if the literal is not of this simple form
+   */
+  private static double parseSimpleLiteral(final String value) {
+    final int length = value.length();
+    final boolean isNegative = length > 0 && value.charAt(0) == '-';
+    int index = isNegative || length > 0 && value.charAt(0) == '+' ? 1 : 0;
+    long mantissa = 0;
+    int digits = 0;
+    int integerDigits = 0;
+    int decimals = 0;
+    boolean isFraction = false;
+    for (; index < length; index++) {
+      final char character = value.charAt(index);
+      if (character >= '0' && character <= '9') {
+        if (isFraction) {
+          decimals++;
+        } else {
+          integerDigits++;
+        }
+        if (mantissa > 0 || character != '0') {
+          digits++;
+        }
+        mantissa = mantissa * 10 + character - '0';
+        if (digits > 15) {
+          return Double.NaN;
+        }
+      } else if (character == '.' && !isFraction && integerDigits > 0) {
+        isFraction = true;
+      } else {
+        return Double.NaN;
+      }
+    }
+    if (integerDigits == 0 || integerDigits > 17 || isFraction && (decimals == 0 || decimals > 17)) {
+      return Double.NaN;
+    }
+    // Both operands are exact double values, and the division is correctly rounded.
+    final double result = decimals == 0 ? mantissa : mantissa / POWERS_OF_TEN[decimals];
+    return isNegative && mantissa != 0 ? -result : result;
+  }
+
   @Override
   protected <T> String internalValueToString(final T value,
       final Boolean isNullable, final Integer maxLength, final Integer precision,
@@ -140,4 +196,19 @@ public final class EdmDouble extends SingletonPrimitiveType {
       throw new EdmPrimitiveTypeException("The value type " + value.getClass() + " is not supported.");
     }
   }
+
+  @Override
+  public String longValueToString(final long value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
+    return longToString(value, 1 - (1L << 51), (1L << 51) - 1);
+  }
+
+  @Override
+  public String doubleValueToString(final double value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
+    return value == Double.NEGATIVE_INFINITY ? NEGATIVE_INFINITY
+        : value == Double.POSITIVE_INFINITY ? POSITIVE_INFINITY : Double.toString(value);
+  }
 }
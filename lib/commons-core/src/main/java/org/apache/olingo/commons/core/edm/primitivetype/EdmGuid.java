@@ -27,8 +27,6 @@ import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
  */
 public final class EdmGuid extends SingletonPrimitiveType {
 
-  private static final String PATTERN = "\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}";
-
   private static final EdmGuid INSTANCE = new EdmGuid();
 
   public static EdmGuid getInstance() {
@@ -47,8 +45,45 @@ public final class EdmGuid extends SingletonPrimitiveType {
     return value == null ? isNullable == null || isNullable : validateLiteral(value);
   }
 
-  private boolean validateLiteral(final String value) {
-    return value.matches(PATTERN);
+  /**
+   * Checks the form <code>8-4-4-4-12</code> hexadecimal digits without using a regular expression.
+   */
+  private static boolean validateLiteral(final String value) {
+    if (value.length() != 36) {
+      return false;
+    }
+    for (int index = 0; index < 36; index++) {
+      final char character = value.charAt(index);
+      if (index == 8 || index == 13 || index == 18 || index == 23) {
+        if (character != '-') {
+          return false;
+        }
+      } else if (hexDigit(character) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses the hexadecimal digits between the given positions, skipping hyphens.
+   * The literal must have been validated.
+   */
+  private static long parseHexDigits(final String value, final int start, final int end) {
+    long result = 0;
+    for (int index = start; index < end; index++) {
+      final char character = value.charAt(index);
+      if (character != '-') {
+        result = result << 4 | hexDigit(character);
+      }
+    }
+    return result;
+  }
+
+  private static int hexDigit(final char character) {
+    return character >= '0' && character <= '9' ? character - '0'
+        : character >= 'a' && character <= 'f' ? character - 'a' + 10
+            : character >= 'A' && character <= 'F' ? character - 'A' + 10 : -1;
   }
 
   @Override
@@ -59,7 +94,7 @@ public final class EdmGuid extends SingletonPrimitiveType {
 
     UUID result;
     if (validateLiteral(value)) {
-      result = UUID.fromString(value);
+      result = new UUID(parseHexDigits(value, 0, 18), parseHexDigits(value, 19, 36));
     } else {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
@@ -90,4 +90,11 @@ public final class EdmInt16 extends SingletonPrimitiveType {
       throw new EdmPrimitiveTypeException("The value type " + value.getClass() + " is not supported.");
     }
   }
+
+  @Override
+  public String longValueToString(final long value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
+    return longToString(value, Short.MIN_VALUE, Short.MAX_VALUE);
+  }
 }
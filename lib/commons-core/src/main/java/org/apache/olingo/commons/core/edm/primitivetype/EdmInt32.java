@@ -92,4 +92,11 @@ public final class EdmInt32 extends SingletonPrimitiveType {
       throw new EdmPrimitiveTypeException("The value type " + value.getClass() + " is not supported.");
     }
   }
+
+  @Override
+  public String longValueToString(final long value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
+    return longToString(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+  }
 }
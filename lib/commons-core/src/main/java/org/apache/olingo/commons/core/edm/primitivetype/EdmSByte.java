@@ -80,4 +80,11 @@ public final class EdmSByte extends SingletonPrimitiveType {
       throw new EdmPrimitiveTypeException("The value type " + value.getClass() + " is not supported.");
     }
   }
+
+  @Override
+  public String longValueToString(final long value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
+    return longToString(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+  }
 }
@@ -20,16 +20,13 @@ package org.apache.olingo.commons.core.edm.primitivetype;
 
 import java.sql.Timestamp;
 import java.util.Calendar;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Date;
+import java.util.TimeZone;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 
 public final class EdmTimeOfDay extends SingletonPrimitiveType {
 
-  private static final Pattern PATTERN = Pattern.compile(
-      "(\\p{Digit}{2}):(\\p{Digit}{2})(?::(\\p{Digit}{2})(\\.(\\p{Digit}{0,}?)0*)?)?");
-
   private static final EdmTimeOfDay INSTANCE = new EdmTimeOfDay();
 
   public static EdmTimeOfDay getInstance() {
@@ -46,37 +43,32 @@ public final class EdmTimeOfDay extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode, final Class<T> returnType) throws EdmPrimitiveTypeException {
 
-    final Matcher matcher = PATTERN.matcher(value);
-    if (!matcher.matches()) {
+    final DateTimeLiteral literal = new DateTimeLiteral();
+    if (literal.parseTime(value, 0) != value.length() || !literal.isFractionValid()) {
       throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
     }
 
     final Calendar dateTimeValue = Calendar.getInstance();
     dateTimeValue.clear();
-    dateTimeValue.set(Calendar.HOUR_OF_DAY, Byte.parseByte(matcher.group(1)));
-    dateTimeValue.set(Calendar.MINUTE, Byte.parseByte(matcher.group(2)));
-    dateTimeValue.set(Calendar.SECOND, matcher.group(3) == null ? 0 : Byte.parseByte(matcher.group(3)));
+    dateTimeValue.set(Calendar.HOUR_OF_DAY, literal.hour);
+    dateTimeValue.set(Calendar.MINUTE, literal.minute);
+    dateTimeValue.set(Calendar.SECOND, literal.second);
 
     int nanoSeconds = 0;
-    if (matcher.group(4) != null) {
-      if (matcher.group(4).length() == 1 || matcher.group(4).length() > 13) {
-        throw new EdmPrimitiveTypeException("The literal '" + value + "' has illegal content.");
-      }
-      final String decimals = matcher.group(5);
-      if (decimals.length() > (precision == null ? 0 : precision)) {
+    if (literal.fractionDigits > 0) {
+      if (literal.decimals > (precision == null ? 0 : precision)) {
         throw new EdmPrimitiveTypeException("The literal '" + value + "' does not match the facets' constraints.");
       }
       if (returnType.isAssignableFrom(Timestamp.class)) {
-        if (decimals.length() <= 9) {
-          nanoSeconds = Integer.parseInt(decimals + "000000000".substring(decimals.length()));
+        if (literal.decimals <= 9) {
+          nanoSeconds = literal.getFraction(9);
         } else {
           throw new EdmPrimitiveTypeException("The literal '" + value
               + "' cannot be converted to value type " + returnType + ".");
         }
       } else {
-        if (decimals.length() <= 3) {
-          final String milliSeconds = decimals + "000".substring(decimals.length());
-          dateTimeValue.set(Calendar.MILLISECOND, Short.parseShort(milliSeconds));
+        if (literal.decimals <= 3) {
+          dateTimeValue.set(Calendar.MILLISECOND, literal.getFraction(3));
         } else {
           throw new EdmPrimitiveTypeException("The literal '" + value
               + "' cannot be converted to value type " + returnType + ".");
@@ -98,6 +90,18 @@ public final class EdmTimeOfDay extends SingletonPrimitiveType {
       final Boolean isNullable, final Integer maxLength, final Integer precision,
       final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
 
+    if (value instanceof Date || value instanceof Long) {
+      // The value is formatted directly in the default time zone, without creating a calendar.
+      final long millis = value instanceof Date ? ((Date) value).getTime() : (Long) value;
+      final int millisOfDay = DateTimeLiteral.millisOfDay(millis + TimeZone.getDefault().getOffset(millis));
+      final StringBuilder result = new StringBuilder(value instanceof Timestamp ? 18 : 12);
+      DateTimeLiteral.appendTime(result, millisOfDay);
+      EdmDateTimeOffset.appendFractionalSeconds(result, value, value instanceof Timestamp ?
+          ((Timestamp) value).getNanos() :
+          millisOfDay % 1000, precision);
+      return result.toString();
+    }
+
     final Calendar dateTimeValue = EdmDateTimeOffset.createDateTime(value, true);
 
     StringBuilder result = new StringBuilder();
@@ -107,14 +111,9 @@ public final class EdmTimeOfDay extends SingletonPrimitiveType {
     result.append(':');
     EdmDateTimeOffset.appendTwoDigits(result, dateTimeValue.get(Calendar.SECOND));
 
-    final int fractionalSecs = value instanceof Timestamp ?
+    EdmDateTimeOffset.appendFractionalSeconds(result, value, value instanceof Timestamp ?
         ((Timestamp) value).getNanos() :
-        dateTimeValue.get(Calendar.MILLISECOND);
-    try {
-      EdmDateTimeOffset.appendFractionalSeconds(result, fractionalSecs, value instanceof Timestamp, precision);
-    } catch (final IllegalArgumentException e) {
-      throw new EdmPrimitiveTypeException("The value '" + value + "' does not match the facets' constraints.", e);
-    }
+        dateTimeValue.get(Calendar.MILLISECOND), precision);
 
     return result.toString();
   }
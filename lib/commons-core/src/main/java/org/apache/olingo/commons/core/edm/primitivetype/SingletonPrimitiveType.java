@@ -18,6 +18,7 @@
  */
 package org.apache.olingo.commons.core.edm.primitivetype;
 
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 import org.apache.olingo.commons.api.edm.constants.EdmTypeKind;
 
 /**
@@ -49,4 +50,35 @@ public abstract class SingletonPrimitiveType extends AbstractPrimitiveType {
   public EdmTypeKind getKind() {
     return EdmTypeKind.PRIMITIVE;
   }
+
+  /**
+   * Converts an unboxed <code>long</code> value into the default literal representation.
+   * Types which can represent the value without boxing it override this method.
+   * @see #valueToString(Object, Boolean, Integer, Integer, Integer, Boolean)
+   */
+  public String longValueToString(final long value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
+    return valueToString(Long.valueOf(value), isNullable, maxLength, precision, scale, isUnicode);
+  }
+
+  /**
+   * Converts an unboxed <code>double</code> value into the default literal representation.
+   * Types which can represent the value without boxing it override this method.
+   * @see #valueToString(Object, Boolean, Integer, Integer, Integer, Boolean)
+   */
+  public String doubleValueToString(final double value,
+      final Boolean isNullable, final Integer maxLength, final Integer precision,
+      final Integer scale, final Boolean isUnicode) throws EdmPrimitiveTypeException {
+    return valueToString(Double.valueOf(value), isNullable, maxLength, precision, scale, isUnicode);
+  }
+
+  protected static String longToString(final long value, final long minimum, final long maximum)
+      throws EdmPrimitiveTypeException {
+    if (value >= minimum && value <= maximum) {
+      return Long.toString(value);
+    } else {
+      throw new EdmPrimitiveTypeException("The value '" + value + "' is not valid.");
+    }
+  }
 }
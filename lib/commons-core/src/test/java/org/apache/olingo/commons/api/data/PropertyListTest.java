@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.commons.api.data;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class PropertyListTest {
+
+  @Test
+  public void lookup() {
+    final Entity entity = new Entity();
+    for (int i = 0; i < 20; i++) {
+      entity.addProperty(new Property(null, "Property" + i));
+    }
+    final Property duplicate = new Property(null, "Property3");
+    entity.addProperty(duplicate);
+    assertSame(entity.getProperties().get(3), entity.getProperty("Property3"));
+    assertSame(entity.getProperties().get(19), entity.getProperty("Property19"));
+    assertNull(entity.getProperty("Property20"));
+
+    entity.getProperties().remove(3);
+    assertSame(duplicate, entity.getProperty("Property3"));
+    Collections.reverse(entity.getProperties());
+    assertSame(entity.getProperties().get(0), entity.getProperty("Property3"));
+    entity.getProperties().get(0).setName("Renamed");
+    assertNull(entity.getProperty("Property3"));
+  }
+
+  @Test
+  public void complexValue() {
+    final ComplexValue complexValue = new ComplexValue();
+    final Property property = new Property(null, "Name");
+    complexValue.getValue().add(property);
+    assertSame(property, complexValue.getProperty("Name"));
+    assertNull(complexValue.getProperty("Other"));
+  }
+}
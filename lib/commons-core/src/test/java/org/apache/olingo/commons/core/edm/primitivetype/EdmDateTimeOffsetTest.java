@@ -99,6 +99,25 @@ public class EdmDateTimeOffsetTest extends PrimitiveTypeBaseTest {
     expectTypeErrorInValueToString(instance, 0);
   }
 
+  @Test
+  public void directConversionsMatchCalendar() throws Exception {
+    final Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+    // Steps through the years 1600 to 9999 with varying times of day.
+    for (long millis = -11676096000000L; millis < 253402300800000L; millis += 1234567890123L) {
+      calendar.setTimeInMillis(millis);
+      final String expected = instance.valueToString(calendar, null, null, 3, null, null);
+      assertEquals(expected, instance.valueToString(millis, null, null, 3, null, null));
+      assertEquals(Long.valueOf(millis), instance.valueOfString(expected, null, null, 3, null, null, Long.class));
+      assertEquals(expected, instance.valueToString(
+          instance.valueOfString(expected, null, null, 3, null, null, Calendar.class), null, null, 3, null, null));
+    }
+    assertEquals(Long.valueOf(951782400000L),
+        instance.valueOfString("2000-02-29T01:00:00+01:00", null, null, null, null, null, Long.class));
+    expectContentErrorInValueOfString(instance, "2100-02-29T00:00:00Z");
+    expectContentErrorInValueOfString(instance, "2012-02-28T24:00:00Z");
+    expectContentErrorInValueOfString(instance, "2012-02-28T23:00:00+24:00");
+  }
+
   @Test
   public void valueOfString() throws Exception {
     Calendar dateTime = Calendar.getInstance();
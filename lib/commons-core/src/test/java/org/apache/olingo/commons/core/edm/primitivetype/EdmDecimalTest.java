@@ -89,6 +89,9 @@ public class EdmDecimalTest extends PrimitiveTypeBaseTest {
     assertEquals(new BigDecimal("-123456789012345678901234567890"), instance.valueOfString(
         "-123456789012345678901234567890", null, null, null, null, null, BigDecimal.class));
     assertEquals(Short.valueOf((short) 0), instance.valueOfString("0", null, null, null, null, null, Short.class));
+    assertEquals(Long.valueOf(-123456789012345678L), instance.valueOfString("-000123456789012345678",
+        null, null, null, null, null, Long.class));
+    assertEquals(BigInteger.valueOf(12), instance.valueOfString("+12", null, null, 2, null, null, BigInteger.class));
 
     assertEquals(Integer.valueOf(-32768), instance.valueOfString("-32768", null, null, 42, null, null, Integer.class));
     assertEquals(Long.valueOf(-32768), instance.valueOfString("-32768", null, null, 5, null, null, Long.class));
@@ -78,12 +78,26 @@ public class EdmDoubleTest extends PrimitiveTypeBaseTest {
 
     expectTypeErrorInValueToString(instance, 'A');
   }
+  @Test
+  public void doubleValueToString() throws Exception {
+    final SingletonPrimitiveType type = (SingletonPrimitiveType) instance;
+    assertEquals("0.00390625", type.doubleValueToString(1.0 / 256, null, null, null, null, null));
+    assertEquals("INF", type.doubleValueToString(Double.POSITIVE_INFINITY, null, null, null, null, null));
+    assertEquals("-INF", type.doubleValueToString(Double.NEGATIVE_INFINITY, null, null, null, null, null));
+    assertEquals("NaN", type.doubleValueToString(Double.NaN, null, null, null, null, null));
+    assertEquals("255", type.longValueToString(255L, null, null, null, null, null));
+  }
+
 
   @Test
   public void valueOfString() throws Exception {
     assertEquals(Double.valueOf(1.42), instance.valueOfString("1.42", null, null, null, null, null, Double.class));
     assertEquals(Float.valueOf(-42.25F), instance.valueOfString("-42.25", null, null, null, null, null, Float.class));
     assertEquals(Double.valueOf(42.0), instance.valueOfString("42", null, null, null, null, null, Double.class));
+    assertEquals(Double.valueOf(0.1), instance.valueOfString("0.1", null, null, null, null, null, Double.class));
+    assertEquals(Double.valueOf(-1234.00000000001), instance.valueOfString("-1234.00000000001",
+        null, null, null, null, null, Double.class));
+    assertEquals(Double.valueOf(0.0), instance.valueOfString("-0", null, null, null, null, null, Double.class));
     assertEquals(Double.valueOf(42E42), instance.valueOfString("42E42", null, null, null, null, null, Double.class));
     assertEquals(BigDecimal.TEN, instance.valueOfString("10", null, null, null, null, null, BigDecimal.class));
     assertEquals(Byte.valueOf((byte) 0), instance.valueOfString("0", null, null, null, null, null, Byte.class));
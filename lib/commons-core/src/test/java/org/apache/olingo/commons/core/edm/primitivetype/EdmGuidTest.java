@@ -62,6 +62,8 @@ public class EdmGuidTest extends PrimitiveTypeBaseTest {
         UUID.class));
 
     expectContentErrorInValueOfString(instance, "AABBCCDDAABBCCDDEEFFAABBCCDDEEFF");
+    expectContentErrorInValueOfString(instance, "aabbccdd-aabb-ccdd-eeff-aabbccddeefg");
+    expectContentErrorInValueOfString(instance, "aabbccdd+aabb-ccdd-eeff-aabbccddeeff");
 
     expectTypeErrorInValueOfString(instance, uuid.toString());
   }
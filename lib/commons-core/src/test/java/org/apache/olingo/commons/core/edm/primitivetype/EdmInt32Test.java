@@ -19,11 +19,14 @@
 package org.apache.olingo.commons.core.edm.primitivetype;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.math.BigInteger;
 
 import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
 import org.junit.Test;
 
@@ -64,6 +67,19 @@ public class EdmInt32Test extends PrimitiveTypeBaseTest {
 
     expectTypeErrorInValueToString(instance, 1.0);
   }
+  @Test
+  public void longValueToString() throws Exception {
+    final SingletonPrimitiveType type = (SingletonPrimitiveType) instance;
+    assertEquals("-2147483648", type.longValueToString(Integer.MIN_VALUE, null, null, null, null, null));
+    assertEquals("2147483647", type.longValueToString(Integer.MAX_VALUE, null, null, null, null, null));
+    try {
+      type.longValueToString(2147483648L, null, null, null, null, null);
+      fail("Expected exception not thrown");
+    } catch (final EdmPrimitiveTypeException e) {
+      assertNotNull(e.getLocalizedMessage());
+    }
+  }
+
 
   @Test
   public void valueOfString() throws Exception {
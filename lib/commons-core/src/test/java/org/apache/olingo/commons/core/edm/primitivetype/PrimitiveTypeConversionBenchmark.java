@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.commons.core.edm.primitivetype;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the conversions of the numeric and Guid primitive types with the former
+ * regular-expression and {@link BigDecimal} based implementations, which are reproduced here as baselines.
+ * <p>
+ * Run with <code>java -cp &lt;test class path&gt;
+ * org.apache.olingo.commons.core.edm.primitivetype.PrimitiveTypeConversionBenchmark</code>.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveTypeConversionBenchmark {
+
+  private static final Pattern DECIMAL_PATTERN = Pattern.compile(
+      "(?:\\+|-)?(?:0*(\\p{Digit}+?))(?:\\.(\\p{Digit}+?)0*)?((?:E|e)(?:\\+|-)?\\p{Digit}+)?");
+  private static final Pattern DOUBLE_PATTERN = Pattern.compile(
+      "(?:\\+|-)?\\p{Digit}{1,17}(?:\\.\\p{Digit}{1,17})?(?:(?:E|e)(?:\\+|-)?\\p{Digit}{1,3})?");
+  private static final String GUID_PATTERN =
+      "\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}";
+
+  private final EdmPrimitiveType decimal = EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Decimal);
+  private final EdmPrimitiveType edmDouble = EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Double);
+  private final EdmPrimitiveType int64 = EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Int64);
+  private final EdmPrimitiveType guid = EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Guid);
+
+  private final String decimalLiteral = "1234567.891";
+  private final String wholeDecimalLiteral = "123456789012";
+  private final String doubleLiteral = "-12345.6789";
+  private final String int64Literal = "9007199254740993";
+  private final String guidLiteral = "01234567-89ab-cdef-0123-456789abcdef";
+
+  @Benchmark
+  public BigDecimal decimalValueOfString() throws EdmPrimitiveTypeException {
+    return decimal.valueOfString(decimalLiteral, null, null, 10, 3, null, BigDecimal.class);
+  }
+
+  @Benchmark
+  public BigDecimal decimalValueOfStringBaseline() {
+    DECIMAL_PATTERN.matcher(decimalLiteral).matches();
+    DECIMAL_PATTERN.matcher(decimalLiteral).matches();
+    return new BigDecimal(decimalLiteral);
+  }
+
+  @Benchmark
+  public Long wholeDecimalValueOfString() throws EdmPrimitiveTypeException {
+    return decimal.valueOfString(wholeDecimalLiteral, null, null, null, null, null, Long.class);
+  }
+
+  @Benchmark
+  public Long wholeDecimalValueOfStringBaseline() {
+    DECIMAL_PATTERN.matcher(wholeDecimalLiteral).matches();
+    DECIMAL_PATTERN.matcher(wholeDecimalLiteral).matches();
+    return new BigDecimal(wholeDecimalLiteral).longValueExact();
+  }
+
+  @Benchmark
+  public Double doubleValueOfString() throws EdmPrimitiveTypeException {
+    return edmDouble.valueOfString(doubleLiteral, null, null, null, null, null, Double.class);
+  }
+
+  @Benchmark
+  public Double doubleValueOfStringBaseline() {
+    DOUBLE_PATTERN.matcher(doubleLiteral).matches();
+    final BigDecimal bigDecimalValue = new BigDecimal(doubleLiteral);
+    final Double result = bigDecimalValue.doubleValue();
+    return BigDecimal.valueOf(result).compareTo(bigDecimalValue) == 0 ? result : null;
+  }
+
+  @Benchmark
+  public Long int64ValueOfString() throws EdmPrimitiveTypeException {
+    return int64.valueOfString(int64Literal, null, null, null, null, null, Long.class);
+  }
+
+  @Benchmark
+  public UUID guidValueOfString() throws EdmPrimitiveTypeException {
+    return guid.valueOfString(guidLiteral, null, null, null, null, null, UUID.class);
+  }
+
+  @Benchmark
+  public UUID guidValueOfStringBaseline() {
+    return guidLiteral.matches(GUID_PATTERN) ? UUID.fromString(guidLiteral) : null;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PrimitiveTypeConversionBenchmark.class.getSimpleName()).build()).run();
+  }
+}
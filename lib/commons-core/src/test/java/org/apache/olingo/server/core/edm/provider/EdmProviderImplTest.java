@@ -21,6 +21,7 @@ package org.apache.olingo.server.core.edm.provider;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -28,6 +29,7 @@ import static org.mockito.Mockito.when;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.olingo.commons.api.ex.ODataException;
@@ -35,6 +37,7 @@ import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmAnnotations;
 import org.apache.olingo.commons.api.edm.EdmComplexType;
 import org.apache.olingo.commons.api.edm.EdmEntityContainer;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmEnumType;
 import org.apache.olingo.commons.api.edm.EdmException;
@@ -44,10 +47,14 @@ import org.apache.olingo.commons.api.edm.provider.CsdlAliasInfo;
 import org.apache.olingo.commons.api.edm.provider.CsdlAnnotations;
 import org.apache.olingo.commons.api.edm.provider.CsdlComplexType;
 import org.apache.olingo.commons.api.edm.provider.CsdlEdmProvider;
+import org.apache.olingo.commons.api.edm.provider.CsdlEntityContainer;
 import org.apache.olingo.commons.api.edm.provider.CsdlEntityContainerInfo;
+import org.apache.olingo.commons.api.edm.provider.CsdlEntitySet;
 import org.apache.olingo.commons.api.edm.provider.CsdlEntityType;
 import org.apache.olingo.commons.api.edm.provider.CsdlEnumType;
+import org.apache.olingo.commons.api.edm.provider.CsdlProperty;
 import org.apache.olingo.commons.api.edm.provider.CsdlPropertyRef;
+import org.apache.olingo.commons.api.edm.provider.CsdlSchema;
 import org.apache.olingo.commons.api.edm.provider.CsdlTypeDefinition;
 import org.apache.olingo.commons.core.edm.EdmProviderImpl;
 import org.junit.Before;
@@ -248,4 +255,31 @@ public class EdmProviderImplTest {
 
     assertNull(edm.getAnnotationGroup(WRONG_FQN, null));
   }
+
+  @Test
+  public void loadAll() throws Exception {
+    final FullQualifiedName propertyType = new FullQualifiedName("Edm", "Int16");
+    CsdlEntityType entityType = new CsdlEntityType().setName("ET")
+        .setKey(Collections.singletonList(new CsdlPropertyRef().setName("Id")))
+        .setProperties(Collections.singletonList(new CsdlProperty().setName("Id").setType(propertyType)));
+    CsdlEntityContainer container = new CsdlEntityContainer().setName("Container")
+        .setEntitySets(Collections.singletonList(
+            new CsdlEntitySet().setName("ES").setType(new FullQualifiedName("ns", "ET"))));
+    CsdlSchema schema = new CsdlSchema().setNamespace("ns")
+        .setEntityTypes(Collections.singletonList(entityType))
+        .setEntityContainer(container);
+    CsdlEdmProvider localProvider = mock(CsdlEdmProvider.class);
+    when(localProvider.getSchemas()).thenReturn(Collections.singletonList(schema));
+    when(localProvider.getEntityContainer()).thenReturn(container);
+
+    EdmProviderImpl localEdm = new EdmProviderImpl(localProvider);
+    localEdm.loadAll();
+
+    final EdmEntityType edmEntityType = localEdm.getSchema("ns").getEntityTypes().get(0);
+    assertSame(edmEntityType, localEdm.getEntityType(new FullQualifiedName("ns", "ET")));
+    assertEquals(Collections.singletonList("Id"), edmEntityType.getKeyPredicateNames());
+    final EdmEntitySet entitySet = localEdm.getEntityContainer().getEntitySet("ES");
+    assertNotNull(entitySet);
+    assertSame(entitySet, localEdm.getSchema("ns").getEntityContainer().getEntitySet("ES"));
+  }
 }
@@ -20,8 +20,10 @@ package org.apache.olingo.netty.server.api;
 
 import java.util.Map;
 
+import org.apache.olingo.server.api.OlingoExtension;
 import org.apache.olingo.server.api.processor.Processor;
 
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 
@@ -36,6 +38,21 @@ public interface ODataNettyHandler {
    * @param response - HTTP OData response
    */
   void processNettyRequest(HttpRequest request, HttpResponse response, Map<String, String> requestParameters);
+
+  /**
+   * <p>Processes a NettyRequest as an OData request and writes the response directly
+   * to the channel of the given context.</p>
+   * <p>In contrast to {@link #processNettyRequest(HttpRequest, HttpResponse, Map)} the response
+   * content is not aggregated in a single buffer but sent as HTTP chunks while it is serialized.
+   * If the channel is not writable the serialization waits until the pending chunks have been
+   * written. If the request is processed on the event loop of the channel, the content is
+   * serialized in a separate thread, so that the event loop is not blocked; the method may then
+   * return before the response has been written completely.</p>
+   * @param request - must be a HTTP OData request
+   * @param ctx - context of the channel the response is written to
+   * @param requestParameters - request parameters like context path and split
+   */
+  void processNettyRequest(HttpRequest request, ChannelHandlerContext ctx, Map<String, String> requestParameters);
   
   /**
    * <p>Registers additional custom processor implementations for handling OData requests.</p>
@@ -43,5 +60,11 @@ public interface ODataNettyHandler {
    * "not implemented" exception will happen.</p>
    */
   void register(Processor processor);
+
+  /**
+   * <p>Registers additional extensions for handling OData requests,
+   * e.g., the compression of response content.</p>
+   */
+  void register(OlingoExtension extension);
   
 }
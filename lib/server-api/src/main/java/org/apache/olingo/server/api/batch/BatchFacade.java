@@ -17,11 +17,14 @@
  * under the License.
  */package org.apache.olingo.server.api.batch;
 
+ import java.util.List;
+
  import org.apache.olingo.server.api.ODataApplicationException;
  import org.apache.olingo.server.api.ODataLibraryException;
  import org.apache.olingo.server.api.ODataRequest;
  import org.apache.olingo.server.api.ODataResponse;
  import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+ import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartReader;
  import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
 
  /**
@@ -60,6 +63,19 @@
    public ODataResponsePart handleBatchRequest(BatchRequestPart request)
        throws ODataApplicationException, ODataLibraryException;
 
+   /**
+    * Handles all BatchRequestParts provided by a reader.
+    * If a {@link ParallelBatchSupport} is registered, independent retrieve requests are executed concurrently.
+    * Unless <code>continueOnError</code> is set, processing stops after the first part with an error response.
+    * @param requests reader for the parts to process
+    * @param continueOnError whether the processing continues after an error response
+    * @return the corresponding {@link ODataResponsePart}s in the order of the requests
+    * @throws ODataApplicationException
+    * @throws ODataLibraryException
+    */
+   public List<ODataResponsePart> handleBatchRequests(BatchRequestPartReader requests, boolean continueOnError)
+       throws ODataApplicationException, ODataLibraryException;
+
    /**
     * Extracts the boundary of a multipart/mixed header.
     * See RFC 2046#5.1
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.batch;
+
+import java.util.concurrent.Executor;
+
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.OlingoExtension;
+
+/**
+ * <p>Enables the concurrent execution of independent parts of batch requests.</p>
+ * <p>If an implementation of this interface is registered at the ODataHttpHandler,
+ * {@link BatchFacade#handleBatchRequests(org.apache.olingo.server.api.deserializer.batch.BatchRequestPartReader,
+ * boolean) BatchFacade#handleBatchRequests} executes consecutive retrieve requests (GET requests outside of
+ * change sets) with the executor returned by {@link #getExecutor(ODataRequest)}. Change sets and all other
+ * requests are executed one after another in the request thread and wait for all preceding requests,
+ * so their effects are visible to the following requests as before. The responses are always returned in
+ * the order of the requests.</p>
+ * <p>The processors and the data they access must be thread-safe if parallel execution is enabled.
+ * Parallel execution is not used for requests in debug mode.</p>
+ */
+public interface ParallelBatchSupport extends OlingoExtension {
+
+  /**
+   * Determines the executor for the parts of a batch request, e.g., depending on a preference
+   * in the Prefer header of the batch request or on a server-side policy.
+   * @param batchRequest the batch request
+   * @return the executor or <code>null</code> to execute all parts sequentially
+   */
+  Executor getExecutor(ODataRequest batchRequest);
+}
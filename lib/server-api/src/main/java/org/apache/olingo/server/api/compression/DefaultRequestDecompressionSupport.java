@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.compression;
+
+/**
+ * Decompresses request content up to a size of 64 MiB.
+ */
+public class DefaultRequestDecompressionSupport implements RequestDecompressionSupport {
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 64L * 1024 * 1024;
+
+  private final long maximumSize;
+
+  public DefaultRequestDecompressionSupport() {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * Creates the decompression support with the given maximum size of decompressed request content.
+   * @param maximumSize maximum size in bytes
+   */
+  public DefaultRequestDecompressionSupport(final long maximumSize) {
+    if (maximumSize < 0) {
+      throw new IllegalArgumentException("Invalid maximum size: " + maximumSize);
+    }
+    this.maximumSize = maximumSize;
+  }
+
+  @Override
+  public long getMaximumSize() {
+    return maximumSize;
+  }
+}
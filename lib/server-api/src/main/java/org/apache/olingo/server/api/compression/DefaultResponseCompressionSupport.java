@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.compression;
+
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses textual content (JSON, XML, plain text, and multipart content like batch responses)
+ * of at least 1024 bytes with the default compression level.
+ */
+public class DefaultResponseCompressionSupport implements ResponseCompressionSupport {
+
+  public static final int DEFAULT_MINIMUM_SIZE = 1024;
+
+  private final int minimumSize;
+  private final int compressionLevel;
+
+  public DefaultResponseCompressionSupport() {
+    this(DEFAULT_MINIMUM_SIZE, Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Creates the compression support with the given configuration.
+   * @param minimumSize minimum size in bytes of the content to be compressed
+   * @param compressionLevel compression level from 0 to 9, or -1 for the default level
+   */
+  public DefaultResponseCompressionSupport(final int minimumSize, final int compressionLevel) {
+    if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+    }
+    this.minimumSize = Math.max(minimumSize, 0);
+    this.compressionLevel = compressionLevel;
+  }
+
+  @Override
+  public int getMinimumSize() {
+    return minimumSize;
+  }
+
+  @Override
+  public int getCompressionLevel() {
+    return compressionLevel;
+  }
+
+  @Override
+  public boolean isCompressible(final String contentType) {
+    if (contentType == null) {
+      return false;
+    }
+    final String type = contentType.toLowerCase(Locale.ROOT);
+    return type.startsWith("text/")
+        || type.startsWith("multipart/")
+        || type.startsWith("application/json")
+        || type.startsWith("application/xml")
+        || type.startsWith("application/atom+xml")
+        || type.startsWith("application/javascript")
+        || type.matches("application/[^;]*\\+(json|xml).*");
+  }
+}
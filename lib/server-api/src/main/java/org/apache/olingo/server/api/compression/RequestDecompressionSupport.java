@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.compression;
+
+import org.apache.olingo.server.api.OlingoExtension;
+
+/**
+ * <p>Enables the decompression of request content.</p>
+ * <p>If an implementation of this interface is registered at the ODataHttpHandler or at the
+ * ODataNettyHandler, request bodies with the Content-Encoding <code>gzip</code> or <code>deflate</code>
+ * are decompressed while they are read; requests with other content encodings are rejected.
+ * Without a registered implementation the request body is passed on unchanged.</p>
+ */
+public interface RequestDecompressionSupport extends OlingoExtension {
+
+  /**
+   * Gets the maximum size of the decompressed request content.
+   * Reading more bytes from the decompressed content results in an I/O error,
+   * so that small compressed requests can not exhaust the resources of the server.
+   * @return the maximum size in bytes
+   */
+  long getMaximumSize();
+}
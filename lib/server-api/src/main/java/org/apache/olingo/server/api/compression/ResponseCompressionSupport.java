@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.compression;
+
+import org.apache.olingo.server.api.OlingoExtension;
+
+/**
+ * <p>Enables the compression of response content.</p>
+ * <p>If an implementation of this interface is registered at the ODataHttpHandler or at the
+ * ODataNettyHandler, the content of responses is compressed with <code>gzip</code> or <code>deflate</code>,
+ * whichever the client accepts in its Accept-Encoding header. The compression is done while the content is
+ * written, without buffering the complete content. Content already carrying a Content-Encoding header
+ * is sent unchanged.</p>
+ * <p>Compressed content is not delivered incrementally: flushing the content, e.g., as done
+ * periodically for streamed entity collections, does not flush the compressor on Java 6,
+ * so compressed bytes reach the client only when the compressor's buffer is full or the content
+ * is complete. Where the time to the first byte of streamed responses matters more than their size,
+ * return <code>false</code> from {@link #isCompressible(String)} for their content types.</p>
+ */
+public interface ResponseCompressionSupport extends OlingoExtension {
+
+  /**
+   * Gets the minimum size of response content to be compressed; smaller content is sent uncompressed.
+   * Up to this number of bytes are buffered per response to decide about the compression.
+   * @return the minimum size in bytes
+   */
+  int getMinimumSize();
+
+  /**
+   * Gets the compression level.
+   * @return a level from 0 (no compression) to 9 (best compression),
+   * or -1 for the default level of {@link java.util.zip.Deflater}
+   */
+  int getCompressionLevel();
+
+  /**
+   * Determines whether content of the given type is compressed.
+   * @param contentType the value of the Content-Type header of the response
+   * @return <code>true</code> if the content should be compressed
+   */
+  boolean isCompressible(String contentType);
+}
@@ -27,6 +27,7 @@ import org.apache.olingo.commons.api.edm.EdmProperty;
 import org.apache.olingo.server.api.deserializer.batch.BatchDeserializerException;
 import org.apache.olingo.server.api.deserializer.batch.BatchOptions;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartReader;
 
 public interface FixedFormatDeserializer {
 
@@ -60,4 +61,16 @@ public interface FixedFormatDeserializer {
    */
   public List<BatchRequestPart> parseBatchRequest(InputStream content, String boundary, BatchOptions options)
       throws BatchDeserializerException;
+
+  /**
+   * Reads batch data from an InputStream part by part.
+   * In contrast to {@link #parseBatchRequest(InputStream, String, BatchOptions)} the parts are read lazily,
+   * so that processing can start before the complete batch request has been read.
+   * @param content the data as multipart input stream
+   * @param boundary the boundary between the parts
+   * @param options options for the deserializer
+   * @return a reader for the batch-request parts
+   */
+  public BatchRequestPartReader parseBatchRequestStreamed(InputStream content, String boundary,
+      BatchOptions options) throws BatchDeserializerException;
 }
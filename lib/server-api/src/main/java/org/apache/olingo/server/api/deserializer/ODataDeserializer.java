@@ -20,6 +20,7 @@ package org.apache.olingo.server.api.deserializer;
 
 import java.io.InputStream;
 
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.edm.EdmAction;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmProperty;
@@ -51,6 +52,21 @@ public interface ODataDeserializer {
    */
   DeserializerResult entityCollection(InputStream stream, EdmEntityType edmEntityType) throws DeserializerException;
 
+  /**
+   * Deserializes an entity collection stream lazily into an {@link EntityIterator}.
+   * Entities are read from the stream one at a time while iterating, so that large collections
+   * have not to be kept in memory completely; errors found during iteration are reported as
+   * {@link org.apache.olingo.commons.api.ex.ODataRuntimeException ODataRuntimeException}
+   * with the {@link DeserializerException} as cause.
+   * The iterator has to be consumed completely; otherwise the caller has to close the stream.
+   * @param stream
+   * @param edmEntityType
+   * @return an iterator over the deserialized entities
+   * @throws DeserializerException
+   */
+  EntityIterator entityCollectionStreamed(InputStream stream, EdmEntityType edmEntityType)
+      throws DeserializerException;
+
   /**
    * Deserializes an action-parameters stream into a map of key/value pairs.
    * Validates: parameter types, no double parameters, correct json types.
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.deserializer.batch;
+
+/**
+ * Reads the parts of a batch request one at a time.
+ * <p>Each call of {@link #next()} reads only as much of the request body as is needed for the next part,
+ * so that a part can be processed before the rest of the batch request has been received.
+ * Syntax errors in later parts are therefore reported only when these parts are read.</p>
+ * <p>The reader closes the request body after the close delimiter has been read or an error has occurred.
+ * If the reader is not consumed completely, the caller is responsible for closing the request body.</p>
+ */
+public interface BatchRequestPartReader {
+
+  /**
+   * Checks whether there is another part, reading it from the request body if necessary.
+   * @return <code>true</code> if there is another part
+   * @throws BatchDeserializerException if the next part is not valid
+   */
+  boolean hasNext() throws BatchDeserializerException;
+
+  /**
+   * Returns the next part.
+   * @return the next batch-request part
+   * @throws BatchDeserializerException if the next part is not valid
+   * @throws java.util.NoSuchElementException if there are no more parts
+   */
+  BatchRequestPart next() throws BatchDeserializerException;
+}
@@ -35,6 +35,8 @@ import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.etag.ETagHelper;
 import org.apache.olingo.server.api.etag.ServiceMetadataETagSupport;
 import org.apache.olingo.server.api.serializer.ODataSerializer;
+import org.apache.olingo.server.api.serializer.RenderedDocument;
+import org.apache.olingo.server.api.serializer.RenderedDocumentSupport;
 import org.apache.olingo.server.api.uri.UriInfo;
 
 /**
@@ -58,8 +60,19 @@ public class DefaultProcessor implements MetadataProcessor, ServiceDocumentProce
   @Override
   public void readServiceDocument(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
       final ContentType requestedContentType) throws ODataApplicationException, ODataLibraryException {
-    boolean isNotModified = false;
     ServiceMetadataETagSupport eTagSupport = serviceMetadata.getServiceMetadataETagSupport();
+    if (serviceMetadata instanceof RenderedDocumentSupport) {
+      final RenderedDocument document =
+          ((RenderedDocumentSupport) serviceMetadata).getServiceDocument(odata, requestedContentType);
+      writeRenderedDocument(request, response, document,
+          eTagSupport == null || eTagSupport.getServiceDocumentETag() == null ?
+              document.getETag() :
+              eTagSupport.getServiceDocumentETag(),
+          requestedContentType);
+      return;
+    }
+
+    boolean isNotModified = false;
     if (eTagSupport != null && eTagSupport.getServiceDocumentETag() != null) {
       // Set application etag at response
       response.setHeader(HttpHeader.ETAG, eTagSupport.getServiceDocumentETag());
@@ -88,8 +101,19 @@ public class DefaultProcessor implements MetadataProcessor, ServiceDocumentProce
   @Override
   public void readMetadata(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
       final ContentType requestedContentType) throws ODataApplicationException, ODataLibraryException {
-    boolean isNotModified = false;
     ServiceMetadataETagSupport eTagSupport = serviceMetadata.getServiceMetadataETagSupport();
+    if (serviceMetadata instanceof RenderedDocumentSupport) {
+      final RenderedDocument document =
+          ((RenderedDocumentSupport) serviceMetadata).getMetadataDocument(odata, requestedContentType);
+      writeRenderedDocument(request, response, document,
+          eTagSupport == null || eTagSupport.getMetadataETag() == null ?
+              document.getETag() :
+              eTagSupport.getMetadataETag(),
+          requestedContentType);
+      return;
+    }
+
+    boolean isNotModified = false;
     if (eTagSupport != null && eTagSupport.getMetadataETag() != null) {
       // Set application etag at response
       response.setHeader(HttpHeader.ETAG, eTagSupport.getMetadataETag());
@@ -115,6 +139,29 @@ public class DefaultProcessor implements MetadataProcessor, ServiceDocumentProce
     }
   }
 
+  /**
+   * Writes a rendered document, or only the status code 304 if the client's version is still current.
+   * Whether the content is sent compressed is decided together with all other responses
+   * if response compression is supported.
+   */
+  private void writeRenderedDocument(final ODataRequest request, final ODataResponse response,
+      final RenderedDocument document, final String eTag, final ContentType requestedContentType)
+      throws ODataLibraryException {
+    response.setHeader(HttpHeader.ETAG, eTag);
+    final boolean isNotModified = odata.createETagHelper().checkReadPreconditions(eTag,
+        request.getHeaders(HttpHeader.IF_MATCH), request.getHeaders(HttpHeader.IF_NONE_MATCH));
+    if (isNotModified) {
+      response.setStatusCode(HttpStatusCode.NOT_MODIFIED.getStatusCode());
+    } else if (HttpMethod.HEAD == request.getMethod()) {
+      // HTTP HEAD requires no payload but a 200 OK response
+      response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+    } else {
+      response.setContent(document.getContent());
+      response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+      response.setHeader(HttpHeader.CONTENT_TYPE, requestedContentType.toContentTypeString());
+    }
+  }
+
   @Override
   public void processError(final ODataRequest request, final ODataResponse response,
       final ODataServerError serverError,
@@ -57,6 +57,9 @@ public interface ODataSerializer {
 
   /**
    * Writes entity-collection data into an InputStream.
+   * XML content is flushed periodically while it is written;
+   * if the response is compressed, see {@link org.apache.olingo.server.api.compression.ResponseCompressionSupport},
+   * flushed content reaches the client only when the compressor's buffer is full.
    * @param metadata metadata for the service
    * @param entityType the {@link EdmEntityType}
    * @param entitySet the data of the entity set
@@ -67,6 +70,9 @@ public interface ODataSerializer {
 
   /**
    * Writes entity-collection data into an InputStream.
+   * XML content is flushed periodically while it is written;
+   * if the response is compressed, see {@link org.apache.olingo.server.api.compression.ResponseCompressionSupport},
+   * flushed content reaches the client only when the compressor's buffer is full.
    * @param metadata metadata for the service
    * @param entityType the {@link EdmEntityType}
    * @param entities the data of the entity set
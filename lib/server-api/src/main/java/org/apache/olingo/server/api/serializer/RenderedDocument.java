@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable, completely serialized document, e.g., the metadata document.
+ * Its gzip-compressed form and its entity tag are computed on first use and kept.
+ * If response compression is supported, the kept gzip-compressed form is sent
+ * instead of compressing the content again for every response.
+ */
+public final class RenderedDocument {
+
+  private final byte[] content;
+  private volatile byte[] gzippedContent;
+  private volatile String eTag;
+
+  /**
+   * Creates a rendered document. The array is not copied and must not be modified afterwards.
+   * @param content the serialized content
+   */
+  public RenderedDocument(final byte[] content) {
+    this.content = content;
+  }
+
+  /**
+   * Gets the serialized content.
+   * @return a new stream on the content
+   */
+  public InputStream getContent() {
+    return new ContentStream(this);
+  }
+
+  /**
+   * Gets the rendered document a content stream has been created for, as long as nothing has been read from it.
+   * @param content a content stream (can be <code>null</code>)
+   * @return the rendered document or <code>null</code>
+   * @see #getContent()
+   */
+  public static RenderedDocument getDocument(final InputStream content) {
+    return content instanceof ContentStream && ((ContentStream) content).isUnread() ?
+        ((ContentStream) content).document :
+        null;
+  }
+
+  /**
+   * Gets the gzip-compressed serialized content.
+   * @return a new stream on the compressed content
+   */
+  public InputStream getGzippedContent() {
+    byte[] gzipped = gzippedContent;
+    if (gzipped == null) {
+      try {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 4 + 64);
+        final GZIPOutputStream gzipStream = new GZIPOutputStream(output);
+        gzipStream.write(content);
+        gzipStream.close();
+        gzipped = output.toByteArray();
+      } catch (final IOException e) {
+        // Writing into a byte array never fails.
+        throw new IllegalStateException(e);
+      }
+      gzippedContent = gzipped;
+    }
+    return new ByteArrayInputStream(gzipped);
+  }
+
+  /**
+   * Gets the strong entity tag derived from the (not compressed) content.
+   * @return the entity tag, including the quotes
+   */
+  public String getETag() {
+    String tag = eTag;
+    if (tag == null) {
+      try {
+        final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+        final StringBuilder builder = new StringBuilder(2 + 2 * digest.length).append('"');
+        for (final byte b : digest) {
+          builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        tag = builder.append('"').toString();
+      } catch (final NoSuchAlgorithmException e) {
+        // Every Java platform supports SHA-256.
+        throw new IllegalStateException(e);
+      }
+      eTag = tag;
+    }
+    return tag;
+  }
+
+  /** Stream on the content, knowing its document. */
+  private static final class ContentStream extends ByteArrayInputStream {
+    private final RenderedDocument document;
+
+    private ContentStream(final RenderedDocument document) {
+      super(document.content);
+      this.document = document;
+    }
+
+    private boolean isUnread() {
+      return pos == 0;
+    }
+  }
+}
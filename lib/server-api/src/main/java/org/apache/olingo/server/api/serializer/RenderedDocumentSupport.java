@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.serializer;
+
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.server.api.OData;
+
+/**
+ * Optional interface of a {@link org.apache.olingo.server.api.ServiceMetadata} implementation
+ * that serializes the metadata document and the service document only once per content type.
+ * The default processor serves the rendered documents if the service metadata implements this interface.
+ */
+public interface RenderedDocumentSupport {
+
+  /**
+   * Gets the rendered metadata document.
+   * @param odata the OData instance used to serialize the document if it has not been rendered yet
+   * @param contentType the content type of the document
+   * @return the rendered document
+   * @throws SerializerException if the document can not be serialized
+   */
+  RenderedDocument getMetadataDocument(OData odata, ContentType contentType) throws SerializerException;
+
+  /**
+   * Gets the rendered service document with URLs relative to the service root.
+   * @param odata the OData instance used to serialize the document if it has not been rendered yet
+   * @param contentType the content type of the document
+   * @return the rendered document
+   * @throws SerializerException if the document can not be serialized
+   */
+  RenderedDocument getServiceDocument(OData odata, ContentType contentType) throws SerializerException;
+}
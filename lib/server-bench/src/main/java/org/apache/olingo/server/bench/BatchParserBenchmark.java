@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.bench;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.server.api.deserializer.batch.BatchOptions;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.core.deserializer.batch.BatchParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of batch requests with retrieve requests and change sets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchParserBenchmark {
+
+  private static final String CRLF = "\r\n";
+  private static final String BOUNDARY = "batch_8194-cf13-1f56";
+  private static final String CHANGE_SET_BOUNDARY = "changeset_f980-1cb6-94dd";
+
+  /** number of retrieve requests and of change sets (with two requests each) in the batch request */
+  @Param({ "10", "100" })
+  public int parts;
+
+  private byte[] content;
+  private BatchOptions options;
+
+  @Setup
+  public void setup() throws Exception {
+    final StringBuilder batch = new StringBuilder();
+    for (int i = 0; i < parts; i++) {
+      batch.append("--").append(BOUNDARY).append(CRLF)
+          .append("Content-Type: application/http").append(CRLF)
+          .append("Content-Transfer-Encoding: binary").append(CRLF)
+          .append(CRLF)
+          .append("GET ESAllPrim(").append(i).append(")?$select=PropertyString HTTP/1.1").append(CRLF)
+          .append("Accept: application/json").append(CRLF)
+          .append(CRLF)
+          .append(CRLF);
+      batch.append("--").append(BOUNDARY).append(CRLF)
+          .append("Content-Type: multipart/mixed; boundary=").append(CHANGE_SET_BOUNDARY).append(CRLF)
+          .append(CRLF);
+      for (int j = 0; j < 2; j++) {
+        batch.append("--").append(CHANGE_SET_BOUNDARY).append(CRLF)
+            .append("Content-Type: application/http").append(CRLF)
+            .append("Content-Transfer-Encoding: binary").append(CRLF)
+            .append("Content-Id: ").append(j).append(CRLF)
+            .append(CRLF)
+            .append("PATCH ESAllPrim(").append(i).append(") HTTP/1.1").append(CRLF)
+            .append("Content-Type: application/json").append(CRLF)
+            .append(CRLF)
+            .append("{\"PropertyString\":\"Changed value ").append(i).append("\"}").append(CRLF);
+      }
+      batch.append("--").append(CHANGE_SET_BOUNDARY).append("--").append(CRLF).append(CRLF);
+    }
+    batch.append("--").append(BOUNDARY).append("--");
+    content = batch.toString().getBytes("UTF-8");
+    options = BatchOptions.with().isStrict(true).rawBaseUri(TechnicalServiceState.BASE_URI).build();
+  }
+
+  @Benchmark
+  public List<BatchRequestPart> parseBatchRequest() throws Exception {
+    return new BatchParser().parseBatchRequest(new ByteArrayInputStream(content), BOUNDARY, options);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.bench;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.server.api.deserializer.DeserializerResult;
+import org.apache.olingo.server.api.deserializer.ODataDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deserialization of JSON entities of the technical service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonDeserializerBenchmark {
+
+  private static final String ALL_PRIM = "{"
+      + "\"PropertyInt16\":32767,"
+      + "\"PropertyString\":\"First Resource - positive values\","
+      + "\"PropertyBoolean\":true,"
+      + "\"PropertyByte\":255,"
+      + "\"PropertySByte\":127,"
+      + "\"PropertyInt32\":2147483647,"
+      + "\"PropertyInt64\":9223372036854775807,"
+      + "\"PropertySingle\":1.79E20,"
+      + "\"PropertyDouble\":-1.79E19,"
+      + "\"PropertyDecimal\":34,"
+      + "\"PropertyBinary\":\"ASNFZ4mrze8=\","
+      + "\"PropertyDate\":\"2012-12-03\","
+      + "\"PropertyDateTimeOffset\":\"2012-12-03T07:16:23Z\","
+      + "\"PropertyDuration\":\"PT6S\","
+      + "\"PropertyGuid\":\"01234567-89ab-cdef-0123-456789abcdef\","
+      + "\"PropertyTimeOfDay\":\"03:26:05\"}";
+
+  private byte[] content;
+  private EdmEntityType entityType;
+  private ODataDeserializer deserializer;
+
+  @Setup
+  public void setup(final TechnicalServiceState service) throws Exception {
+    content = ALL_PRIM.getBytes("UTF-8");
+    entityType = service.getEntitySet("ESAllPrim").getEntityType();
+    deserializer = service.odata.createDeserializer(ContentType.JSON, service.serviceMetadata);
+  }
+
+  @Benchmark
+  public DeserializerResult entity() throws Exception {
+    return deserializer.entity(new ByteArrayInputStream(content), entityType);
+  }
+}
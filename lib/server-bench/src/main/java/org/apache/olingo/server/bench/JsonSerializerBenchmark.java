@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.commons.api.data.ContextURL;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.server.api.serializer.EntityCollectionSerializerOptions;
+import org.apache.olingo.server.api.serializer.ODataSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of entity collections of the technical service into JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonSerializerBenchmark {
+
+  @Param({ "ESAllPrim", "ESCompAllPrim" })
+  public String entitySetName;
+
+  @Param({ "10", "1000" })
+  public int size;
+
+  @Param({ "application/json;odata.metadata=minimal", "application/json;odata.metadata=full" })
+  public String contentType;
+
+  private EdmEntitySet edmEntitySet;
+  private EntityCollection entityCollection;
+  private ODataSerializer serializer;
+  private EntityCollectionSerializerOptions options;
+
+  @Setup
+  public void setup(final TechnicalServiceState service) throws Exception {
+    edmEntitySet = service.getEntitySet(entitySetName);
+    final List<Entity> entities = service.dataProvider.readAll(edmEntitySet).getEntities();
+    entityCollection = new EntityCollection();
+    for (int i = 0; i < size; i++) {
+      entityCollection.getEntities().add(entities.get(i % entities.size()));
+    }
+    serializer = service.odata.createSerializer(ContentType.create(contentType));
+    options = EntityCollectionSerializerOptions.with()
+        .contextURL(ContextURL.with().entitySet(edmEntitySet).build())
+        .build();
+  }
+
+  @Benchmark
+  public long entityCollection(final TechnicalServiceState service) throws Exception {
+    return TechnicalServiceState.consume(serializer.entityCollection(service.serviceMetadata,
+        edmEntitySet.getEntityType(), entityCollection, options).getContent());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.bench;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.core.ODataHandlerImpl;
+import org.apache.olingo.server.core.debug.ServerCoreDebugger;
+import org.apache.olingo.server.tecsvc.ETagSupport;
+import org.apache.olingo.server.tecsvc.processor.TechnicalActionProcessor;
+import org.apache.olingo.server.tecsvc.processor.TechnicalBatchProcessor;
+import org.apache.olingo.server.tecsvc.processor.TechnicalEntityProcessor;
+import org.apache.olingo.server.tecsvc.processor.TechnicalPrimitiveComplexProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Complete processing of read requests by the {@link ODataHandlerImpl} with the processors
+ * of the technical service, the same way as the technical servlet does it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ODataHandlerBenchmark {
+
+  @Param({ "ESAllPrim(32767)",
+      "ESAllPrim",
+      "ESAllPrim?$filter=PropertyInt16 gt 0&$select=PropertyInt16,PropertyString",
+      "ESKeyNav?$expand=NavPropertyETTwoKeyNavMany",
+      "$metadata" })
+  public String uri;
+
+  @Param({ "application/json", "application/xml" })
+  public String accept;
+
+  private String path;
+  private String query;
+
+  @Setup
+  public void setup() {
+    final int index = uri.indexOf('?');
+    path = "/" + (index < 0 ? uri : uri.substring(0, index));
+    query = index < 0 ? null : uri.substring(index + 1);
+  }
+
+  @Benchmark
+  public long process(final TechnicalServiceState service) throws Exception {
+    final ODataHandlerImpl handler = new ODataHandlerImpl(service.odata, service.serviceMetadata,
+        new ServerCoreDebugger(service.odata));
+    handler.register(new TechnicalEntityProcessor(service.dataProvider, service.serviceMetadata));
+    handler.register(new TechnicalPrimitiveComplexProcessor(service.dataProvider, service.serviceMetadata));
+    handler.register(new TechnicalActionProcessor(service.dataProvider, service.serviceMetadata));
+    handler.register(new TechnicalBatchProcessor(service.dataProvider));
+    handler.register(new ETagSupport());
+
+    final ODataRequest request = new ODataRequest();
+    request.setMethod(HttpMethod.GET);
+    request.setProtocol("HTTP/1.1");
+    request.setRawBaseUri(TechnicalServiceState.BASE_URI);
+    request.setRawODataPath(path);
+    request.setRawQueryPath(query);
+    request.setRawRequestUri(TechnicalServiceState.BASE_URI + path + (query == null ? "" : "?" + query));
+    request.addHeader(HttpHeader.ACCEPT, Collections.singletonList(accept));
+
+    final ODataResponse response = handler.process(request);
+    if (response.getStatusCode() != 200) {
+      throw new IllegalStateException("Unexpected status code " + response.getStatusCode() + " for " + uri);
+    }
+    return TechnicalServiceState.consume(response.getContent());
+  }
+}
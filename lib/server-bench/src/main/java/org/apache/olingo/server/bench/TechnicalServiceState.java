@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.tecsvc.MetadataETagSupport;
+import org.apache.olingo.server.tecsvc.data.DataProvider;
+import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Technical service (model of {@link EdmTechProvider} with the data of {@link DataProvider})
+ * shared by all threads of a benchmark.
+ */
+@State(Scope.Benchmark)
+public class TechnicalServiceState {
+
+  public static final String BASE_URI = "http://localhost/odata.svc";
+
+  OData odata;
+  ServiceMetadata serviceMetadata;
+  Edm edm;
+  DataProvider dataProvider;
+
+  @Setup
+  public void setup() {
+    odata = OData.newInstance();
+    serviceMetadata = odata.createServiceMetadata(new EdmTechProvider(),
+        Collections.<EdmxReference> emptyList(), new MetadataETagSupport("W/\"metadataETag\""));
+    edm = serviceMetadata.getEdm();
+    dataProvider = new DataProvider(odata, edm);
+  }
+
+  EdmEntitySet getEntitySet(final String name) {
+    return edm.getEntityContainer().getEntitySet(name);
+  }
+
+  /**
+   * Reads the given content completely and closes it.
+   * @return number of read bytes
+   */
+  static long consume(final InputStream content) throws IOException {
+    long count = 0;
+    final byte[] buffer = new byte[8192];
+    try {
+      int read;
+      while ((read = content.read(buffer)) >= 0) {
+        count += read;
+      }
+    } finally {
+      content.close();
+    }
+    return count;
+  }
+}
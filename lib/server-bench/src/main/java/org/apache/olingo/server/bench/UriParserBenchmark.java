@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.apache.olingo.server.core.uri.parser.UriInfoCache;
+import org.apache.olingo.server.core.uri.validator.UriValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * URI parsing and validation against the technical service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UriParserBenchmark {
+
+  @Param({ "ESAllPrim(32767)",
+      "ESAllPrim?$top=10&$skip=2&$orderby=PropertyString desc",
+      "ESAllPrim?$filter=PropertyInt16 gt 5 and startswith(PropertyString,'F')&$select=PropertyInt16,PropertyString",
+      "ESKeyNav?$expand=NavPropertyETTwoKeyNavMany($filter=PropertyInt16 eq 1;$top=5)&$count=true" })
+  public String uri;
+
+  private String path;
+  private String query;
+  private UriInfo uriInfo;
+  private final UriInfoCache uriInfoCache = new UriInfoCache(1024);
+
+  @Setup
+  public void setup(final TechnicalServiceState service) throws Exception {
+    final int index = uri.indexOf('?');
+    path = index < 0 ? uri : uri.substring(0, index);
+    query = index < 0 ? null : uri.substring(index + 1);
+    uriInfo = parse(service);
+  }
+
+  @Benchmark
+  public UriInfo parse(final TechnicalServiceState service) throws Exception {
+    return new Parser(service.edm, service.odata).parseUri(path, query, null, TechnicalServiceState.BASE_URI);
+  }
+
+  @Benchmark
+  public UriInfo parseCached(final TechnicalServiceState service) throws Exception {
+    return new Parser(service.edm, service.odata, uriInfoCache)
+        .parseUri(path, query, null, TechnicalServiceState.BASE_URI);
+  }
+
+  @Benchmark
+  public UriInfo validate() throws Exception {
+    new UriValidator().validate(uriInfo, HttpMethod.GET);
+    return uriInfo;
+  }
+
+  @Benchmark
+  public UriInfo parseAndValidate(final TechnicalServiceState service) throws Exception {
+    final UriInfo result = parse(service);
+    new UriValidator().validate(result, HttpMethod.GET);
+    return result;
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.netty.server.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * <p>Output stream which emits the written bytes as Netty <code>HttpContent</code> chunks.</p>
+ * <p>Bytes are collected in a buffer taken from the channel allocator and written to the channel
+ * each time <code>chunkSize</code> bytes are available. If the channel is not writable,
+ * the stream waits until the pending chunk has been written, so the memory held per request
+ * is limited to roughly one chunk plus the channel's outbound buffer. Waiting is not possible
+ * on the event loop of the channel, so the stream must be written from another thread
+ * to be subject to this back-pressure.</p>
+ * <p>Closing the stream writes the remaining bytes followed by the last (empty) chunk.
+ * Aborting the stream instead discards the remaining bytes and closes the channel without
+ * the last chunk, so that the client can detect the truncated content.</p>
+ */
+class ODataNettyChunkedOutputStream extends OutputStream {
+
+  private final ChannelHandlerContext ctx;
+  private final int chunkSize;
+  private ByteBuf buffer;
+  private ChannelFuture lastWrite;
+  private boolean closed = false;
+
+  ODataNettyChunkedOutputStream(final ChannelHandlerContext ctx, final int chunkSize) {
+    this.ctx = ctx;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    ensureOpen();
+    getBuffer().writeByte(b);
+    if (buffer.readableBytes() >= chunkSize) {
+      writeChunk();
+    }
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    ensureOpen();
+    int offset = off;
+    int remaining = len;
+    while (remaining > 0) {
+      final int count = Math.min(remaining, chunkSize - getBuffer().readableBytes());
+      buffer.writeBytes(b, offset, count);
+      offset += count;
+      remaining -= count;
+      if (buffer.readableBytes() >= chunkSize) {
+        writeChunk();
+      }
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    if (buffer != null && buffer.isReadable()) {
+      writeChunk();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (buffer != null && buffer.isReadable()) {
+      ctx.write(new DefaultHttpContent(buffer));
+    } else if (buffer != null) {
+      buffer.release();
+    }
+    buffer = null;
+    lastWrite = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT, ctx.channel().newPromise());
+  }
+
+  /**
+   * Discards the bytes not yet written and closes the channel without writing the last (empty) chunk.
+   * Does nothing if the stream has already been closed.
+   */
+  void abort() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (buffer != null) {
+      buffer.release();
+      buffer = null;
+    }
+    lastWrite = ctx.close();
+  }
+
+  /**
+   * Returns the future of the last write operation on the channel, or <code>null</code>
+   * if nothing has been written yet.
+   */
+  ChannelFuture getLastWrite() {
+    return lastWrite;
+  }
+
+  private ByteBuf getBuffer() {
+    if (buffer == null) {
+      buffer = ctx.alloc().buffer(chunkSize);
+    }
+    return buffer;
+  }
+
+  private void writeChunk() throws IOException {
+    final ByteBuf chunk = buffer;
+    buffer = null;
+    // The promise is bound to the channel's event loop so that waiting on it
+    // is possible from any other thread (including a handler's own executor group).
+    lastWrite = ctx.writeAndFlush(new DefaultHttpContent(chunk), ctx.channel().newPromise());
+    if (!ctx.channel().isWritable() && !ctx.channel().eventLoop().inEventLoop()) {
+      lastWrite.awaitUninterruptibly();
+    }
+    if (lastWrite.isDone() && !lastWrite.isSuccess()) {
+      throw new IOException("Error on writing response chunk", lastWrite.cause());
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream is already closed.");
+    }
+  }
+}
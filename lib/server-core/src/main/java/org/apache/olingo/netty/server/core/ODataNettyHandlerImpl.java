@@ -18,8 +18,10 @@
  */
 package org.apache.olingo.netty.server.core;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
@@ -30,10 +32,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.olingo.commons.api.ex.ODataRuntimeException;
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.netty.server.api.ODataNettyHandler;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataContent;
@@ -41,26 +47,45 @@ import org.apache.olingo.server.api.ODataLibraryException;
 import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.ODataServerError;
+import org.apache.olingo.server.api.OlingoExtension;
 import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.compression.ResponseCompressionSupport;
 import org.apache.olingo.server.api.processor.Processor;
+import org.apache.olingo.server.core.CompressingOutputStream;
+import org.apache.olingo.server.core.DecompressingInputStream;
 import org.apache.olingo.server.core.ODataExceptionHelper;
 import org.apache.olingo.server.core.ODataHandlerException;
 import org.apache.olingo.server.core.ODataHandlerImpl;
 import org.apache.olingo.server.core.debug.ServerCoreDebugger;
+import org.apache.olingo.server.core.serializer.utils.CircleStreamBuffer;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpMessage;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
 
 public class ODataNettyHandlerImpl implements ODataNettyHandler {
 
   public static final int COPY_BUFFER_SIZE = 8192;
 
+  /**
+   * Writes chunked response content for requests processed on the event loop of their channel,
+   * where waiting for the channel to become writable is not possible.
+   */
+  private static final ExecutorService CONTENT_EXECUTOR =
+      Executors.newCachedThreadPool(new DefaultThreadFactory("odata-netty-content", true));
+
   private final ODataHandlerImpl handler;
   private final ServerCoreDebugger debugger;
   
@@ -68,6 +93,7 @@ public class ODataNettyHandlerImpl implements ODataNettyHandler {
   private static final String SPLIT = "split";
 
   private int split = 0;
+  private Executor contentExecutor = CONTENT_EXECUTOR;
 
   public ODataNettyHandlerImpl(final OData odata, final ServiceMetadata serviceMetadata) {
     debugger = new ServerCoreDebugger(odata);
@@ -96,11 +122,7 @@ public class ODataNettyHandlerImpl implements ODataNettyHandler {
   static void convertToHttp(final HttpResponse response, final ODataResponse odResponse) {
 	    response.setStatus(HttpResponseStatus.valueOf(odResponse.getStatusCode()));
 
-	    for (Entry<String, List<String>> entry : odResponse.getAllHeaders().entrySet()) {
-	      for (String headerValue : entry.getValue()) {
-	        ((HttpMessage)response).headers().add(entry.getKey(), headerValue);
-	      }
-	    }
+	    copyHeaders(response, odResponse);
 
 	    if (odResponse.getContent() != null) {
 	      copyContent(odResponse.getContent(), response);
@@ -109,6 +131,14 @@ public class ODataNettyHandlerImpl implements ODataNettyHandler {
 	    }
 	  }
   
+  private static void copyHeaders(final HttpResponse response, final ODataResponse odResponse) {
+    for (Entry<String, List<String>> entry : odResponse.getAllHeaders().entrySet()) {
+      for (String headerValue : entry.getValue()) {
+        ((HttpMessage) response).headers().add(entry.getKey(), headerValue);
+      }
+    }
+  }
+
   /**
    * Write the odata content to netty response content
    * @param odataResponse
@@ -120,8 +150,19 @@ public class ODataNettyHandlerImpl implements ODataNettyHandler {
   }
   
   static void copyContent(final InputStream inputStream, final HttpResponse response) {
-	    copyContent(Channels.newChannel(inputStream), response);
-	  }
+    if (inputStream instanceof CircleStreamBuffer.BufferInputStream) {
+      try {
+        ((CircleStreamBuffer.BufferInputStream) inputStream).writeTo(
+            new ByteBufOutputStream(((HttpContent) response).content()));
+      } catch (IOException e) {
+        throw new ODataRuntimeException("Error on reading request content", e);
+      } finally {
+        closeStream(inputStream);
+      }
+    } else {
+      copyContent(Channels.newChannel(inputStream), response);
+    }
+  }
 
   /** 
    * Copy OData content to netty content
@@ -129,15 +170,86 @@ public class ODataNettyHandlerImpl implements ODataNettyHandler {
    * @param response
    */
   static void copyContent(final ReadableByteChannel input, final HttpResponse response) {
-    WritableByteChannel output = null;
+    copyContent(input, Channels.newChannel(new ByteBufOutputStream(((HttpContent)response).content())));
+  }
+
+  /**
+   * Write the OData response content as HTTP chunks to the channel of the given context.
+   * If an error occurs during the write, the channel is closed without the last (empty) chunk
+   * so that the client does not take the truncated content for a complete response.
+   * @param odResponse
+   * @param ctx
+   */
+  static void writeChunkedContent(final ODataResponse odResponse, final ChannelHandlerContext ctx) {
+    final ODataNettyChunkedOutputStream output = new ODataNettyChunkedOutputStream(ctx, COPY_BUFFER_SIZE);
+    writeContent(odResponse, output, output);
+  }
+
+  /**
+   * Write the OData response content to the given output stream and close the stream.
+   * If an error occurs during the write, the given chunked output stream (if any) is aborted
+   * before the output stream is closed.
+   * @param odResponse
+   * @param output
+   * @param chunkedOutput the chunked stream the output stream finally writes to, or <code>null</code>
+   */
+  private static void writeContent(final ODataResponse odResponse, final OutputStream output,
+      final ODataNettyChunkedOutputStream chunkedOutput) {
+    final InputStream content = odResponse.getContent();
+    boolean completed = false;
     try {
-      ByteBuffer inBuffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
-      output = Channels.newChannel(new ByteBufOutputStream(((HttpContent)response).content()));
-      while (input.read(inBuffer) > 0) {
-        inBuffer.flip();
-        output.write(inBuffer);
-        inBuffer.clear();
+      if (content == null) {
+        odResponse.getODataContent().write(output);
+      } else if (content instanceof CircleStreamBuffer.BufferInputStream) {
+        ((CircleStreamBuffer.BufferInputStream) content).writeTo(output);
+      } else {
+        copy(Channels.newChannel(content), Channels.newChannel(output));
+      }
+      completed = true;
+    } catch (IOException e) {
+      throw new ODataRuntimeException("Error on reading request content", e);
+    } finally {
+      if (!completed && chunkedOutput != null) {
+        chunkedOutput.abort();
       }
+      closeStream(content);
+      closeStream(output);
+    }
+  }
+
+  /**
+   * Creates an output stream compressing the content written to the given target
+   * if it exceeds the minimum size of the registered compression support.
+   * @param contentEncoding the negotiated content encoding
+   * @param target the target of the content
+   * @param response the response; its Content-Encoding header is set if the content is compressed
+   * @param support the registered compression support
+   * @return the output stream
+   */
+  private static OutputStream createCompressingStream(final String contentEncoding,
+      final CompressingOutputStream.Target target, final HttpResponse response,
+      final ResponseCompressionSupport support) {
+    response.headers().remove(HttpHeaderNames.CONTENT_LENGTH);
+    return new CompressingOutputStream(
+        new CompressingOutputStream.Target() {
+          @Override
+          public OutputStream open(final String encoding) throws IOException {
+            if (encoding != null) {
+              response.headers().set(HttpHeaderNames.CONTENT_ENCODING, encoding);
+              final String eTag = response.headers().get(HttpHeaderNames.ETAG);
+              if (eTag != null) {
+                response.headers().set(HttpHeaderNames.ETAG, CompressingOutputStream.getCompressedETag(eTag));
+              }
+            }
+            return target.open(encoding);
+          }
+        },
+        contentEncoding, support.getCompressionLevel(), support.getMinimumSize());
+  }
+
+  private static void copyContent(final ReadableByteChannel input, final WritableByteChannel output) {
+    try {
+      copy(input, output);
     } catch (IOException e) {
       throw new ODataRuntimeException("Error on reading request content", e);
     } finally {
@@ -146,6 +258,25 @@ public class ODataNettyHandlerImpl implements ODataNettyHandler {
     }
   }
 
+  private static void copy(final ReadableByteChannel input, final WritableByteChannel output) throws IOException {
+    ByteBuffer inBuffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+    while (input.read(inBuffer) > 0) {
+      inBuffer.flip();
+      output.write(inBuffer);
+      inBuffer.clear();
+    }
+  }
+
+  private static void closeStream(final Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        // ignore
+      }
+    }
+  }
+
   private static void closeStream(final Channel closeable) {
     if (closeable != null) {
       try {
@@ -178,6 +309,7 @@ public class ODataNettyHandlerImpl implements ODataNettyHandler {
 	      int innerHandle = debugger.startRuntimeMeasurement("ODataNettyHandlerImpl", "copyHeaders");
 	      copyHeaders(odRequest, httpRequest);
 	      debugger.stopRuntimeMeasurement(innerHandle);
+	      DecompressingInputStream.decompress(handler.getRequestDecompressionSupport(), odRequest);
 	      innerHandle = debugger.startRuntimeMeasurement("ODataNettyHandlerImpl", "fillUriInformation");
 	      fillUriInformationFromHttpRequest(odRequest, httpRequest, split, contextPath);
 	      debugger.stopRuntimeMeasurement(innerHandle);
@@ -297,11 +429,120 @@ public class ODataNettyHandlerImpl implements ODataNettyHandler {
 	  }
   }
   
-@SuppressWarnings("unused")
 @Override
 public void processNettyRequest(HttpRequest request, HttpResponse response, 
 		Map<String, String> requestParameters) {
-	  ODataRequest odRequest = new ODataRequest();
+    final ODataResponse odResponse = processNettyRequest(request, requestParameters);
+    final String contentEncoding = negotiateEncoding(request, odResponse);
+    if (contentEncoding == null) {
+      convertToHttp(response, odResponse);
+    } else {
+      response.setStatus(HttpResponseStatus.valueOf(odResponse.getStatusCode()));
+      copyHeaders(response, odResponse);
+      final ByteBuf content = ((HttpContent) response).content();
+      writeContent(odResponse, createCompressingStream(contentEncoding,
+          new CompressingOutputStream.Target() {
+            @Override
+            public OutputStream open(final String encoding) {
+              return new ByteBufOutputStream(content);
+            }
+          },
+          response, handler.getResponseCompressionSupport()), null);
+    }
+  }
+
+  @Override
+  public void processNettyRequest(final HttpRequest request, final ChannelHandlerContext ctx,
+      final Map<String, String> requestParameters) {
+    final ODataResponse odResponse = processNettyRequest(request, requestParameters);
+    final HttpResponseStatus status = HttpResponseStatus.valueOf(odResponse.getStatusCode());
+
+    if (odResponse.getContent() == null && odResponse.getODataContent() == null) {
+      final HttpResponse response = new DefaultFullHttpResponse(request.protocolVersion(), status,
+          Unpooled.EMPTY_BUFFER);
+      copyHeaders(response, odResponse);
+      if (odResponse.getStatusCode() != HttpStatusCode.NO_CONTENT.getStatusCode()
+          && odResponse.getStatusCode() != HttpStatusCode.NOT_MODIFIED.getStatusCode()) {
+        HttpUtil.setContentLength(response, 0);
+      }
+      ctx.writeAndFlush(response);
+    } else {
+      final String contentEncoding = negotiateEncoding(request, odResponse);
+      final HttpResponse response = new DefaultHttpResponse(request.protocolVersion(), status);
+      copyHeaders(response, odResponse);
+      response.headers().remove(HttpHeaderNames.CONTENT_LENGTH);
+      HttpUtil.setTransferEncodingChunked(response, true);
+      final Runnable writer;
+      if (contentEncoding == null) {
+        ctx.write(response);
+        writer = new Runnable() {
+          @Override
+          public void run() {
+            writeChunkedContent(odResponse, ctx);
+          }
+        };
+      } else {
+        // The response head is written only when the content encoding is known.
+        final ResponseCompressionSupport support = handler.getResponseCompressionSupport();
+        writer = new Runnable() {
+          @Override
+          public void run() {
+            final ODataNettyChunkedOutputStream output = new ODataNettyChunkedOutputStream(ctx, COPY_BUFFER_SIZE);
+            writeContent(odResponse, createCompressingStream(contentEncoding,
+                new CompressingOutputStream.Target() {
+                  @Override
+                  public OutputStream open(final String encoding) {
+                    ctx.write(response);
+                    return output;
+                  }
+                },
+                response, support),
+                output);
+          }
+        };
+      }
+      writeOffEventLoop(writer, ctx);
+    }
+  }
+
+  /**
+   * Runs the given content writer in the current thread, or in the content executor if the current thread
+   * is the event loop of the channel. The event loop must not wait for the channel to become writable,
+   * so otherwise the whole content would be buffered in memory if the client reads slower than it is serialized.
+   * Errors of writers running in the executor are passed to the channel pipeline.
+   */
+  private void writeOffEventLoop(final Runnable writer, final ChannelHandlerContext ctx) {
+    if (ctx.channel().eventLoop().inEventLoop()) {
+      contentExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            writer.run();
+          } catch (final ODataRuntimeException e) {
+            ctx.fireExceptionCaught(e);
+          }
+        }
+      });
+    } else {
+      writer.run();
+    }
+  }
+
+  /**
+   * Sets the executor writing chunked response content for requests processed on the event loop.
+   */
+  void setContentExecutor(final Executor contentExecutor) {
+    this.contentExecutor = contentExecutor;
+  }
+
+  private String negotiateEncoding(final HttpRequest request, final ODataResponse odResponse) {
+    return CompressingOutputStream.negotiateEncoding(handler.getResponseCompressionSupport(),
+        request.headers().getAll(HttpHeaderNames.ACCEPT_ENCODING), odResponse);
+  }
+
+  @SuppressWarnings("unused")
+  private ODataResponse processNettyRequest(final HttpRequest request, final Map<String, String> requestParameters) {
+    ODataRequest odRequest = new ODataRequest();
     Exception exception = null;
     ODataResponse odResponse;
     
@@ -319,8 +560,7 @@ public void processNettyRequest(HttpRequest request, HttpResponse response,
       odResponse = handleException(odRequest, e);
     }
     debugger.stopRuntimeMeasurement(processMethodHandle);
-
-    convertToHttp(response, odResponse);
+    return odResponse;
   }
 
   public ODataResponse process(ODataRequest request) {
@@ -331,4 +571,9 @@ public void processNettyRequest(HttpRequest request, HttpResponse response,
   public void register(Processor processor) {
     handler.register(processor);
   }
+
+  @Override
+  public void register(final OlingoExtension extension) {
+    handler.register(extension);
+  }
 }
@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.compression.ResponseCompressionSupport;
+import org.apache.olingo.server.api.serializer.RenderedDocument;
+
+/**
+ * <p>Output stream which compresses the response content while it is written.</p>
+ * <p>The first <code>minimumSize</code> bytes are buffered. As soon as more bytes are written,
+ * the target is opened with the negotiated content encoding and all further bytes are compressed
+ * on the fly; if the stream is closed before, the target is opened without content encoding
+ * and the buffered bytes are written uncompressed.</p>
+ * <p>Closing the stream finishes the compression and closes the target stream.</p>
+ */
+public class CompressingOutputStream extends OutputStream {
+
+  public static final String GZIP = "gzip";
+  public static final String DEFLATE = "deflate";
+
+  /**
+   * Target of the (compressed) content, e.g., the response of a servlet or a Netty channel.
+   */
+  public interface Target {
+    /**
+     * Opens the output stream of the response. Headers can still be set when this method is called.
+     * @param contentEncoding the content encoding of the bytes written to the stream
+     * or <code>null</code> if they are not compressed
+     * @return the output stream
+     * @throws IOException if the stream can not be opened
+     */
+    OutputStream open(String contentEncoding) throws IOException;
+  }
+
+  private final Target target;
+  private final String contentEncoding;
+  private final int compressionLevel;
+  private byte[] buffer;
+  private int count = 0;
+  private OutputStream output;
+  private Deflater deflater;
+  private boolean closed = false;
+
+  /**
+   * Creates a compressing stream.
+   * @param target the target of the content
+   * @param contentEncoding the content encoding, either {@link #GZIP} or {@link #DEFLATE}
+   * @param compressionLevel the compression level from 0 to 9, or -1 for the default level
+   * @param minimumSize the minimum number of bytes to compress
+   */
+  public CompressingOutputStream(final Target target, final String contentEncoding, final int compressionLevel,
+      final int minimumSize) {
+    if (!GZIP.equals(contentEncoding) && !DEFLATE.equals(contentEncoding)) {
+      throw new IllegalArgumentException("Unsupported content encoding: " + contentEncoding);
+    }
+    this.target = target;
+    this.contentEncoding = contentEncoding;
+    this.compressionLevel = compressionLevel;
+    buffer = new byte[Math.max(minimumSize, 0)];
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    ensureOpen();
+    if (output == null && count < buffer.length) {
+      buffer[count++] = (byte) b;
+    } else {
+      getCompressingStream().write(b);
+    }
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    ensureOpen();
+    if (output == null && count + len <= buffer.length) {
+      System.arraycopy(b, off, buffer, count, len);
+      count += len;
+    } else {
+      getCompressingStream().write(b, off, len);
+    }
+  }
+
+  /**
+   * Flushes the bytes compressed so far to the target.
+   * Bytes still held by the compressor or in the buffer of not yet compressed bytes are not written;
+   * the compressor cannot be sync-flushed on Java 6, so flushing does not deliver streamed content
+   * incrementally while it is compressed.
+   */
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    if (output != null) {
+      output.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (output == null) {
+        output = target.open(null);
+        output.write(buffer, 0, count);
+      }
+      output.close();
+    } finally {
+      buffer = null;
+      if (deflater != null) {
+        deflater.end();
+      }
+    }
+  }
+
+  /**
+   * Returns whether the written content is compressed; this is known only after
+   * more than <code>minimumSize</code> bytes have been written or the stream has been closed.
+   * @return <code>true</code> if the content is compressed
+   */
+  public boolean isCompressing() {
+    return deflater != null;
+  }
+
+  private OutputStream getCompressingStream() throws IOException {
+    if (output == null) {
+      final OutputStream targetStream = target.open(contentEncoding);
+      if (GZIP.equals(contentEncoding)) {
+        output = new GZIPOutputStream(targetStream, ODataHttpHandlerImpl.COPY_BUFFER_SIZE) {
+          {
+            def.setLevel(compressionLevel);
+            deflater = def;
+          }
+        };
+      } else {
+        deflater = new Deflater(compressionLevel);
+        output = new DeflaterOutputStream(targetStream, deflater, ODataHttpHandlerImpl.COPY_BUFFER_SIZE);
+      }
+      output.write(buffer, 0, count);
+      buffer = null;
+      count = 0;
+    }
+    return output;
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream is already closed.");
+    }
+  }
+
+  /**
+   * <p>Determines the content encoding of the response content.</p>
+   * <p>The content is compressed only if response compression is supported, the response has content
+   * of a compressible type without content encoding, and the client accepts <code>gzip</code>
+   * (preferred) or <code>deflate</code>. If the content could be compressed, a <code>Vary</code>
+   * header for <code>Accept-Encoding</code> is added to the response; this header is also added
+   * to a "Not Modified" response if response compression is supported, since the representation
+   * it refers to could have been compressed.</p>
+   * <p>The content of a {@link RenderedDocument} is replaced by its kept gzip-compressed form
+   * with the corresponding Content-Encoding and ETag headers, so it is sent as it is
+   * and <code>null</code> is returned.</p>
+   * @param support the registered response compression support or <code>null</code>
+   * @param acceptEncodings the values of the Accept-Encoding header of the request or <code>null</code>
+   * @param response the OData response
+   * @return {@link #GZIP}, {@link #DEFLATE}, or <code>null</code> if the content is sent uncompressed
+   */
+  public static String negotiateEncoding(final ResponseCompressionSupport support,
+      final List<String> acceptEncodings, final ODataResponse response) {
+    final int statusCode = response.getStatusCode();
+    if (support != null && statusCode == HttpStatusCode.NOT_MODIFIED.getStatusCode()) {
+      addVary(response);
+    }
+    if (support == null
+        || response.getContent() == null && response.getODataContent() == null
+        || response.getHeader(HttpHeader.CONTENT_ENCODING) != null
+        || statusCode < HttpStatusCode.OK.getStatusCode()
+        || statusCode == HttpStatusCode.NO_CONTENT.getStatusCode()
+        || statusCode == HttpStatusCode.NOT_MODIFIED.getStatusCode()
+        || !support.isCompressible(response.getHeader(HttpHeader.CONTENT_TYPE))) {
+      return null;
+    }
+    addVary(response);
+
+    float gzip = -1;
+    float deflate = -1;
+    float any = -1;
+    if (acceptEncodings != null) {
+      for (final String value : acceptEncodings) {
+        for (final String coding : value.split(",")) {
+          final String[] parts = coding.split(";");
+          final String name = parts[0].trim().toLowerCase(Locale.ROOT);
+          final float quality = getQuality(parts);
+          if (GZIP.equals(name) || "x-gzip".equals(name)) {
+            gzip = Math.max(gzip, quality);
+          } else if (DEFLATE.equals(name)) {
+            deflate = Math.max(deflate, quality);
+          } else if ("*".equals(name)) {
+            any = quality;
+          }
+        }
+      }
+    }
+    if (gzip < 0) {
+      gzip = any;
+    }
+    if (deflate < 0) {
+      deflate = any;
+    }
+    final String encoding = gzip > 0 && gzip >= deflate ? GZIP : deflate > 0 ? DEFLATE : null;
+    return GZIP.equals(encoding) && useGzippedDocument(support, response) ? null : encoding;
+  }
+
+  /**
+   * Replaces the content of a rendered document with its kept gzip-compressed form.
+   * @return whether the content has been replaced
+   */
+  private static boolean useGzippedDocument(final ResponseCompressionSupport support,
+      final ODataResponse response) {
+    final InputStream content = response.getContent();
+    final RenderedDocument document = RenderedDocument.getDocument(content);
+    try {
+      if (document == null || content.available() <= support.getMinimumSize()) {
+        return false;
+      }
+    } catch (final IOException e) {
+      return false;
+    }
+    response.setContent(document.getGzippedContent());
+    response.setHeader(HttpHeader.CONTENT_ENCODING, GZIP);
+    final String eTag = response.getHeader(HttpHeader.ETAG);
+    if (eTag != null) {
+      response.setHeader(HttpHeader.ETAG, getCompressedETag(eTag));
+    }
+    return true;
+  }
+
+  /**
+   * <p>Gets the entity tag of the compressed response content.</p>
+   * <p>The compressed content is a different representation than the content provided by the application,
+   * so a strong entity tag is weakened; a weak entity tag still matches in the (weak) comparison
+   * of conditional requests.</p>
+   * @param eTag the entity tag of the not compressed content (can be <code>null</code>)
+   * @return the entity tag of the compressed content
+   */
+  public static String getCompressedETag(final String eTag) {
+    return eTag == null || eTag.startsWith("W/") ? eTag : "W/" + eTag;
+  }
+
+  private static float getQuality(final String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      final String parameter = parts[i].trim();
+      if (parameter.length() > 1 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')) {
+        final int index = parameter.indexOf('=');
+        if (index > 0) {
+          try {
+            return Float.parseFloat(parameter.substring(index + 1).trim());
+          } catch (final NumberFormatException e) {
+            return 0;
+          }
+        }
+      }
+    }
+    return 1;
+  }
+
+  private static void addVary(final ODataResponse response) {
+    final List<String> values = response.getHeaders(HttpHeader.VARY);
+    if (values != null) {
+      for (final String value : values) {
+        for (final String header : value.split(",")) {
+          if (HttpHeader.ACCEPT_ENCODING.equalsIgnoreCase(header.trim()) || "*".equals(header.trim())) {
+            return;
+          }
+        }
+      }
+    }
+    response.addHeader(HttpHeader.VARY, HttpHeader.ACCEPT_ENCODING);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.compression.RequestDecompressionSupport;
+
+/**
+ * <p>Input stream which decompresses the request content while it is read.</p>
+ * <p>The decompressor is created on the first read, so that request bodies which are never read
+ * (e.g., of GET requests) do not need to be valid compressed content. Reading more than the maximum
+ * number of decompressed bytes results in an {@link IOException}.</p>
+ */
+public class DecompressingInputStream extends InputStream {
+
+  private final InputStream compressed;
+  private final String contentEncoding;
+  private final long maximumSize;
+  private InputStream input;
+  private long count = 0;
+
+  /**
+   * Creates a decompressing stream.
+   * @param compressed the compressed content
+   * @param contentEncoding the content encoding, either {@link CompressingOutputStream#GZIP}
+   * or {@link CompressingOutputStream#DEFLATE}
+   * @param maximumSize the maximum number of decompressed bytes
+   */
+  public DecompressingInputStream(final InputStream compressed, final String contentEncoding,
+      final long maximumSize) {
+    this.compressed = compressed;
+    this.contentEncoding = contentEncoding;
+    this.maximumSize = maximumSize;
+  }
+
+  @Override
+  public int read() throws IOException {
+    final int b = getInput().read();
+    if (b > -1) {
+      count(1);
+    }
+    return b;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    final int n = getInput().read(b, off, len);
+    if (n > 0) {
+      count(n);
+    }
+    return n;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return input == null ? 0 : input.available();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (input == null) {
+      compressed.close();
+    } else {
+      input.close();
+    }
+  }
+
+  private InputStream getInput() throws IOException {
+    if (input == null) {
+      input = CompressingOutputStream.GZIP.equals(contentEncoding) ?
+          new GZIPInputStream(compressed, ODataHttpHandlerImpl.COPY_BUFFER_SIZE) :
+          new InflaterInputStream(compressed);
+    }
+    return input;
+  }
+
+  private void count(final int n) throws IOException {
+    count += n;
+    if (count > maximumSize) {
+      throw new IOException("The decompressed request content exceeds the maximum size of "
+          + maximumSize + " bytes.");
+    }
+  }
+
+  /**
+   * Replaces the body of the request with its decompressed content
+   * if request decompression is supported and the request has a Content-Encoding header.
+   * @param support the registered request decompression support or <code>null</code>
+   * @param request the OData request with headers and body
+   * @throws ODataHandlerException if the content encoding is not supported
+   */
+  public static void decompress(final RequestDecompressionSupport support, final ODataRequest request)
+      throws ODataHandlerException {
+    final String header = request.getHeader(HttpHeader.CONTENT_ENCODING);
+    if (support == null || header == null || request.getBody() == null) {
+      return;
+    }
+    final String contentEncoding = header.trim().toLowerCase(Locale.ROOT);
+    if (contentEncoding.isEmpty() || "identity".equals(contentEncoding)) {
+      return;
+    } else if (CompressingOutputStream.GZIP.equals(contentEncoding) || "x-gzip".equals(contentEncoding)) {
+      request.setBody(new DecompressingInputStream(request.getBody(), CompressingOutputStream.GZIP,
+          support.getMaximumSize()));
+    } else if (CompressingOutputStream.DEFLATE.equals(contentEncoding)) {
+      request.setBody(new DecompressingInputStream(request.getBody(), CompressingOutputStream.DEFLATE,
+          support.getMaximumSize()));
+    } else {
+      throw new ODataHandlerException("Unsupported content encoding " + header,
+          ODataHandlerException.MessageKeys.UNSUPPORTED_CONTENT_ENCODING, header);
+    }
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.olingo.server.core;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
 import org.apache.olingo.commons.api.ex.ODataRuntimeException;
@@ -35,6 +36,9 @@ import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.ODataServerError;
 import org.apache.olingo.server.api.OlingoExtension;
 import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.batch.ParallelBatchSupport;
+import org.apache.olingo.server.api.compression.RequestDecompressionSupport;
+import org.apache.olingo.server.api.compression.ResponseCompressionSupport;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.apache.olingo.server.api.etag.CustomETagSupport;
 import org.apache.olingo.server.api.etag.PreconditionException;
@@ -49,6 +53,7 @@ import org.apache.olingo.server.api.uri.queryoption.FormatOption;
 import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
 import org.apache.olingo.server.core.debug.ServerCoreDebugger;
 import org.apache.olingo.server.core.uri.parser.Parser;
+import org.apache.olingo.server.core.uri.parser.UriInfoCache;
 import org.apache.olingo.server.core.uri.parser.UriParserException;
 import org.apache.olingo.server.core.uri.parser.UriParserSemanticException;
 import org.apache.olingo.server.core.uri.parser.UriParserSyntaxException;
@@ -65,6 +70,10 @@ public class ODataHandlerImpl implements ODataHandler {
 
   private CustomContentTypeSupport customContentTypeSupport;
   private CustomETagSupport customETagSupport;
+  private ParallelBatchSupport parallelBatchSupport;
+  private ResponseCompressionSupport responseCompressionSupport;
+  private RequestDecompressionSupport requestDecompressionSupport;
+  private UriInfoCache uriInfoCache;
 
   private UriInfo uriInfo;
   private Exception lastThrownException;
@@ -139,7 +148,7 @@ public class ODataHandlerImpl implements ODataHandler {
 
     final int measurementUriParser = debugger.startRuntimeMeasurement("Parser", "parseUri");
     try {
-      uriInfo = new Parser(serviceMetadata.getEdm(), odata)
+      uriInfo = new Parser(serviceMetadata.getEdm(), odata, uriInfoCache)
           .parseUri(request.getRawODataPath(), request.getRawQueryPath(), null, request.getRawBaseUri());
     } catch (final ODataLibraryException e) {
       debugger.stopRuntimeMeasurement(measurementUriParser);
@@ -261,6 +270,14 @@ public class ODataHandlerImpl implements ODataHandler {
       this.customContentTypeSupport = (CustomContentTypeSupport) extension;
     } else if(extension instanceof CustomETagSupport) {
       this.customETagSupport = (CustomETagSupport) extension;
+    } else if(extension instanceof ParallelBatchSupport) {
+      this.parallelBatchSupport = (ParallelBatchSupport) extension;
+    } else if(extension instanceof ResponseCompressionSupport) {
+      this.responseCompressionSupport = (ResponseCompressionSupport) extension;
+    } else if(extension instanceof RequestDecompressionSupport) {
+      this.requestDecompressionSupport = (RequestDecompressionSupport) extension;
+    } else if(extension instanceof UriInfoCache) {
+      this.uriInfoCache = (UriInfoCache) extension;
     } else {
       throw new ODataRuntimeException("Got not supported exception with class name " +
           extension.getClass().getSimpleName());
@@ -275,6 +292,45 @@ public class ODataHandlerImpl implements ODataHandler {
     return customETagSupport;
   }
 
+  public ResponseCompressionSupport getResponseCompressionSupport() {
+    return responseCompressionSupport;
+  }
+
+  public RequestDecompressionSupport getRequestDecompressionSupport() {
+    return requestDecompressionSupport;
+  }
+
+  /**
+   * Gets the executor for the parts of a batch request.
+   * @param batchRequest the batch request
+   * @return the executor of the registered {@link ParallelBatchSupport} or <code>null</code>
+   * if the parts have to be executed sequentially
+   */
+  public Executor getBatchExecutor(final ODataRequest batchRequest) {
+    return parallelBatchSupport == null || debugger.isDebugMode() ?
+        null :
+        parallelBatchSupport.getExecutor(batchRequest);
+  }
+
+  /**
+   * Creates a handler with the same processors and extensions.
+   * A handler holds the state of the request it processes,
+   * so requests processed concurrently need handlers of their own.
+   * @return the new handler
+   */
+  public ODataHandlerImpl copy() {
+    ODataHandlerImpl copy = new ODataHandlerImpl(odata, serviceMetadata, debugger);
+    copy.processors.clear();
+    copy.processors.addAll(processors);
+    copy.customContentTypeSupport = customContentTypeSupport;
+    copy.customETagSupport = customETagSupport;
+    copy.parallelBatchSupport = parallelBatchSupport;
+    copy.responseCompressionSupport = responseCompressionSupport;
+    copy.requestDecompressionSupport = requestDecompressionSupport;
+    copy.uriInfoCache = uriInfoCache;
+    return copy;
+  }
+
   public Exception getLastThrownException() {
     return lastThrownException;
   }
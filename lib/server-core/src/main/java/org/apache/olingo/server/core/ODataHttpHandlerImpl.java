@@ -18,8 +18,10 @@
  */
 package org.apache.olingo.server.core;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
@@ -47,12 +49,14 @@ import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.ODataServerError;
 import org.apache.olingo.server.api.OlingoExtension;
 import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.compression.ResponseCompressionSupport;
 import org.apache.olingo.server.api.debug.DebugSupport;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.apache.olingo.server.api.etag.CustomETagSupport;
 import org.apache.olingo.server.api.processor.Processor;
 import org.apache.olingo.server.api.serializer.CustomContentTypeSupport;
 import org.apache.olingo.server.core.debug.ServerCoreDebugger;
+import org.apache.olingo.server.core.serializer.utils.CircleStreamBuffer;
 
 public class ODataHttpHandlerImpl implements ODataHttpHandler {
 
@@ -104,7 +108,15 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
               serverEnvironmentVariables);
     }
 
-    convertToHttp(response, odResponse);
+    final ResponseCompressionSupport compressionSupport = handler.getResponseCompressionSupport();
+    final String contentEncoding = CompressingOutputStream.negotiateEncoding(compressionSupport,
+        odRequest.getHeaders(HttpHeader.ACCEPT_ENCODING), odResponse);
+    if (contentEncoding == null) {
+      convertToHttp(response, odResponse);
+    } else {
+      convertToHttp(response, odResponse, contentEncoding,
+          compressionSupport.getCompressionLevel(), compressionSupport.getMinimumSize());
+    }
   }
 
   private Map<String, String> createEnvironmentVariablesMap(final HttpServletRequest request) {
@@ -165,17 +177,91 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
     }
   }
   
+  /**
+   * Converts the OData response into the servlet response, compressing the content while it is written.
+   * The Content-Length header of the OData response is not copied because it does not match
+   * the compressed content.
+   */
+  static void convertToHttp(final HttpServletResponse response, final ODataResponse odResponse,
+      final String contentEncoding, final int compressionLevel, final int minimumSize) {
+    response.setStatus(odResponse.getStatusCode());
+
+    for (Entry<String, List<String>> entry : odResponse.getAllHeaders().entrySet()) {
+      if (!HttpHeader.CONTENT_LENGTH.equalsIgnoreCase(entry.getKey())) {
+        for (String headerValue : entry.getValue()) {
+          response.addHeader(entry.getKey(), headerValue);
+        }
+      }
+    }
+
+    final OutputStream output = new CompressingOutputStream(
+        new CompressingOutputStream.Target() {
+          @Override
+          public OutputStream open(final String encoding) throws IOException {
+            if (encoding != null) {
+              response.setHeader(HttpHeader.CONTENT_ENCODING, encoding);
+              final String eTag = odResponse.getHeader(HttpHeader.ETAG);
+              if (eTag != null) {
+                response.setHeader(HttpHeader.ETAG, CompressingOutputStream.getCompressedETag(eTag));
+              }
+            }
+            return response.getOutputStream();
+          }
+        },
+        contentEncoding, compressionLevel, minimumSize);
+    final InputStream input = odResponse.getContent();
+    try {
+      if (input == null) {
+        odResponse.getODataContent().write(output);
+      } else if (input instanceof CircleStreamBuffer.BufferInputStream) {
+        ((CircleStreamBuffer.BufferInputStream) input).writeTo(output);
+      } else {
+        final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        int count;
+        while ((count = input.read(buffer)) > -1) {
+          output.write(buffer, 0, count);
+        }
+      }
+    } catch (IOException e) {
+      throw new ODataRuntimeException("Error on reading request content", e);
+    } finally {
+      closeStream(input);
+      closeStream(output);
+    }
+  }
+
   static void writeContent(final ODataResponse odataResponse, final HttpServletResponse servletResponse) {
     try {
       ODataContent res = odataResponse.getODataContent();
-      res.write(Channels.newChannel(servletResponse.getOutputStream()));
+      res.write(servletResponse.getOutputStream());
     } catch (IOException e) {
       throw new ODataRuntimeException("Error on reading request content", e);
     }
   }
 
   static void copyContent(final InputStream inputStream, final HttpServletResponse servletResponse) {
-    copyContent(Channels.newChannel(inputStream), servletResponse);
+    if (inputStream instanceof CircleStreamBuffer.BufferInputStream) {
+      writeBufferedContent((CircleStreamBuffer.BufferInputStream) inputStream, servletResponse);
+    } else {
+      copyContent(Channels.newChannel(inputStream), servletResponse);
+    }
+  }
+
+  /**
+   * Writes serialized content directly from the serializer buffers into the servlet output.
+   */
+  static void writeBufferedContent(final CircleStreamBuffer.BufferInputStream input,
+      final HttpServletResponse servletResponse) {
+    OutputStream output = null;
+    try {
+      output = servletResponse.getOutputStream();
+      input.writeTo(output);
+    } catch (IOException e) {
+      throw new ODataRuntimeException("Error on reading request content", e);
+    } finally {
+      closeStream(input);
+      closeStream(output);
+    }
   }
 
   static void copyContent(final ReadableByteChannel input, final HttpServletResponse servletResponse) {
@@ -205,6 +291,16 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
       }
     }
   }
+
+  private static void closeStream(final Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        // ignore
+      }
+    }
+  }
   
   private ODataRequest fillODataRequest(final ODataRequest odRequest, final HttpServletRequest httpRequest,
       final int split) throws ODataLibraryException {
@@ -216,6 +312,7 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
       int innerHandle = debugger.startRuntimeMeasurement("ODataHttpHandlerImpl", "copyHeaders");
       copyHeaders(odRequest, httpRequest);
       debugger.stopRuntimeMeasurement(innerHandle);
+      DecompressingInputStream.decompress(handler.getRequestDecompressionSupport(), odRequest);
       innerHandle = debugger.startRuntimeMeasurement("ODataHttpHandlerImpl", "fillUriInformation");
       fillUriInformation(odRequest, httpRequest, split);
       debugger.stopRuntimeMeasurement(innerHandle);
@@ -128,7 +128,8 @@ public class ODataWritableContent implements ODataContent {
 
   @Override
   public void write(OutputStream stream) {
-    write(Channels.newChannel(stream));
+    // Written directly (not through a channel) so that flushes reach the underlying stream.
+    this.streamContent.write(stream);
   }
 
   private ODataWritableContent(StreamContent streamContent) {
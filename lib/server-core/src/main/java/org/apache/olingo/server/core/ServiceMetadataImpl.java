@@ -18,32 +18,76 @@
  */
 package org.apache.olingo.server.core;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
 import org.apache.olingo.commons.api.edm.provider.CsdlEdmProvider;
 import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.commons.api.edmx.EdmxReferenceInclude;
+import org.apache.olingo.commons.api.edmx.EdmxReferenceIncludeAnnotation;
+import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.core.edm.EdmProviderImpl;
+import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.etag.ServiceMetadataETagSupport;
+import org.apache.olingo.server.api.serializer.RenderedDocument;
+import org.apache.olingo.server.api.serializer.RenderedDocumentSupport;
+import org.apache.olingo.server.api.serializer.SerializerException;
+import org.apache.olingo.server.api.serializer.SerializerResult;
 
 /**
+ * Service metadata of a service based on a {@link CsdlEdmProvider}.
+ * <p>
+ * The metadata document and the service document are serialized only once per content type
+ * and kept as {@link RenderedDocument}s.
+ * If the application provides a metadata ETag via {@link ServiceMetadataETagSupport}, the rendered documents
+ * are shared by all service metadata instances created for the same {@link CsdlEdmProvider} instance
+ * with equal references as long as the metadata ETag does not change,
+ * so they outlive service metadata created per request.
+ * Without metadata ETag, the provider content could change between instances, so the rendered documents
+ * belong to this instance only.
+ * </p>
  */
-public class ServiceMetadataImpl implements ServiceMetadata {
+public class ServiceMetadataImpl implements ServiceMetadata, RenderedDocumentSupport {
 
+  /**
+   * System property to create the complete EDM when the service metadata is created
+   * instead of creating its elements on first use.
+   */
+  public static final String LOAD_EDM_EAGERLY_PROPERTY = "org.apache.olingo.server.edm.loadEagerly";
+
+  private static final Map<CsdlEdmProvider, List<RenderedDocuments>> SHARED_DOCUMENTS =
+      new WeakHashMap<CsdlEdmProvider, List<RenderedDocuments>>();
+
+  private final CsdlEdmProvider edmProvider;
   private final Edm edm;
   private final List<EdmxReference> references;
   private final ServiceMetadataETagSupport serviceMetadataETagSupport;
+  private final RenderedDocuments documents;
 
   public ServiceMetadataImpl(final CsdlEdmProvider edmProvider, final List<EdmxReference> references,
       final ServiceMetadataETagSupport serviceMetadataETagSupport) {
-    edm = new EdmProviderImpl(edmProvider);
+    final EdmProviderImpl edmProviderImpl = new EdmProviderImpl(edmProvider);
+    if (Boolean.getBoolean(LOAD_EDM_EAGERLY_PROPERTY)) {
+      edmProviderImpl.loadAll();
+    }
+    edm = edmProviderImpl;
+    this.edmProvider = edmProvider;
     this.references = new ArrayList<EdmxReference>();
     this.references.addAll(references);
     this.serviceMetadataETagSupport = serviceMetadataETagSupport;
+    documents = new RenderedDocuments(null, this.references);
   }
 
   @Override
@@ -65,4 +109,140 @@ public class ServiceMetadataImpl implements ServiceMetadata {
   public ServiceMetadataETagSupport getServiceMetadataETagSupport() {
     return serviceMetadataETagSupport;
   }
+
+  @Override
+  public RenderedDocument getMetadataDocument(final OData odata, final ContentType contentType)
+      throws SerializerException {
+    final ConcurrentMap<String, RenderedDocument> metadataDocuments = getDocuments().metadataDocuments;
+    final String key = contentType.toContentTypeString();
+    RenderedDocument document = metadataDocuments.get(key);
+    if (document == null) {
+      document = render(odata.createSerializer(contentType).metadataDocument(this));
+      final RenderedDocument previous = metadataDocuments.putIfAbsent(key, document);
+      if (previous != null) {
+        document = previous;
+      }
+    }
+    return document;
+  }
+
+  @Override
+  public RenderedDocument getServiceDocument(final OData odata, final ContentType contentType)
+      throws SerializerException {
+    final ConcurrentMap<String, RenderedDocument> serviceDocuments = getDocuments().serviceDocuments;
+    final String key = contentType.toContentTypeString();
+    RenderedDocument document = serviceDocuments.get(key);
+    if (document == null) {
+      document = render(odata.createSerializer(contentType).serviceDocument(this, null));
+      final RenderedDocument previous = serviceDocuments.putIfAbsent(key, document);
+      if (previous != null) {
+        document = previous;
+      }
+    }
+    return document;
+  }
+
+  /**
+   * Gets the rendered documents for the current metadata ETag and the references of this instance.
+   * The documents of an outdated metadata ETag are dropped.
+   */
+  private RenderedDocuments getDocuments() {
+    final String metadataETag = serviceMetadataETagSupport == null ?
+        null :
+        serviceMetadataETagSupport.getMetadataETag();
+    if (metadataETag == null) {
+      return documents;
+    }
+    synchronized (SHARED_DOCUMENTS) {
+      List<RenderedDocuments> shared = SHARED_DOCUMENTS.get(edmProvider);
+      if (shared == null) {
+        shared = new ArrayList<RenderedDocuments>();
+        SHARED_DOCUMENTS.put(edmProvider, shared);
+      }
+      for (Iterator<RenderedDocuments> iterator = shared.iterator(); iterator.hasNext();) {
+        final RenderedDocuments candidate = iterator.next();
+        if (!metadataETag.equals(candidate.metadataETag)) {
+          iterator.remove();
+        } else if (equalReferences(references, candidate.references)) {
+          return candidate;
+        }
+      }
+      final RenderedDocuments created = new RenderedDocuments(metadataETag, references);
+      shared.add(created);
+      return created;
+    }
+  }
+
+  /**
+   * Compares references by what is rendered into the metadata document.
+   * References with annotations are only equal to themselves.
+   */
+  private static boolean equalReferences(final List<EdmxReference> references, final List<EdmxReference> other) {
+    if (references.size() != other.size()) {
+      return false;
+    }
+    for (int i = 0; i < references.size(); i++) {
+      final EdmxReference reference = references.get(i);
+      final EdmxReference otherReference = other.get(i);
+      if (reference != otherReference
+          && (hasAnnotations(reference) || hasAnnotations(otherReference)
+          || !String.valueOf(reference.getUri()).equals(String.valueOf(otherReference.getUri()))
+          || !includes(reference).equals(includes(otherReference)))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean hasAnnotations(final EdmxReference reference) {
+    return reference.getAnnotations() != null && !reference.getAnnotations().isEmpty();
+  }
+
+  private static List<String> includes(final EdmxReference reference) {
+    final List<String> includes = new ArrayList<String>();
+    for (EdmxReferenceInclude include : reference.getIncludes()) {
+      includes.add(include.getNamespace() + ' ' + include.getAlias());
+    }
+    for (EdmxReferenceIncludeAnnotation include : reference.getIncludeAnnotations()) {
+      includes.add(include.getTermNamespace() + ' ' + include.getQualifier() + ' ' + include.getTargetNamespace());
+    }
+    return includes;
+  }
+
+  private RenderedDocument render(final SerializerResult result) throws SerializerException {
+    try {
+      return new RenderedDocument(toByteArray(result.getContent()));
+    } catch (final IOException e) {
+      throw new SerializerException("An I/O exception occurred.", e, SerializerException.MessageKeys.IO_EXCEPTION);
+    }
+  }
+
+  private static byte[] toByteArray(final InputStream stream) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[8192];
+    int count;
+    try {
+      while ((count = stream.read(buffer)) >= 0) {
+        output.write(buffer, 0, count);
+      }
+    } finally {
+      stream.close();
+    }
+    return output.toByteArray();
+  }
+
+  /** Rendered metadata and service documents per content type for one version of the metadata. */
+  private static final class RenderedDocuments {
+    private final String metadataETag;
+    private final List<EdmxReference> references;
+    private final ConcurrentMap<String, RenderedDocument> metadataDocuments =
+        new ConcurrentHashMap<String, RenderedDocument>();
+    private final ConcurrentMap<String, RenderedDocument> serviceDocuments =
+        new ConcurrentHashMap<String, RenderedDocument>();
+
+    private RenderedDocuments(final String metadataETag, final List<EdmxReference> references) {
+      this.metadataETag = metadataETag;
+      this.references = references;
+    }
+  }
 }
@@ -18,6 +18,15 @@
  */
 package org.apache.olingo.server.core.batchhandler;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.commons.api.http.HttpMethod;
 import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.ODataHandler;
 import org.apache.olingo.server.api.ODataLibraryException;
@@ -26,12 +35,17 @@ import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.batch.BatchFacade;
 import org.apache.olingo.server.api.deserializer.batch.BatchDeserializerException;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartReader;
 import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
 import org.apache.olingo.server.api.processor.BatchProcessor;
+import org.apache.olingo.server.core.ODataHandlerImpl;
 import org.apache.olingo.server.core.deserializer.batch.BatchParserCommon;
 
 public class BatchFacadeImpl implements BatchFacade {
   private final BatchPartHandler partHandler;
+  private final ODataHandlerImpl oDataHandler;
+  private final BatchProcessor batchProcessor;
+  private final Executor executor;
 
   /**
    * Creates a new BatchFacade.
@@ -42,6 +56,25 @@ public class BatchFacadeImpl implements BatchFacade {
   public BatchFacadeImpl(final ODataHandler oDataHandler, final BatchProcessor batchProcessor,
                          final boolean isStrict) {
     partHandler = new BatchPartHandler(oDataHandler, batchProcessor, this);
+    this.oDataHandler = null;
+    this.batchProcessor = batchProcessor;
+    executor = null;
+  }
+
+  /**
+   * Creates a new BatchFacade which executes independent retrieve requests concurrently.
+   * @param oDataHandler   handler; each concurrently executed request is processed by a copy of it
+   * @param batchProcessor batch processor
+   * @param isStrict       mode switch (currently not used)
+   * @param executor       executor for retrieve requests; if <code>null</code> all requests are executed
+   *                       sequentially
+   */
+  public BatchFacadeImpl(final ODataHandlerImpl oDataHandler, final BatchProcessor batchProcessor,
+                         final boolean isStrict, final Executor executor) {
+    partHandler = new BatchPartHandler(oDataHandler, batchProcessor, this);
+    this.oDataHandler = oDataHandler;
+    this.batchProcessor = batchProcessor;
+    this.executor = executor;
   }
 
   @Override
@@ -56,6 +89,98 @@ public class BatchFacadeImpl implements BatchFacade {
     return partHandler.handleBatchRequest(request);
   }
 
+  @Override
+  public List<ODataResponsePart> handleBatchRequests(final BatchRequestPartReader requests,
+      final boolean continueOnError) throws ODataApplicationException, ODataLibraryException {
+    final List<ODataResponsePart> responseParts = new ArrayList<ODataResponsePart>();
+    final List<FutureTask<ODataResponsePart>> pendingParts = new ArrayList<FutureTask<ODataResponsePart>>();
+
+    while (requests.hasNext()) {
+      final BatchRequestPart request = requests.next();
+      if (executor != null && isRetrieveRequest(request)) {
+        final FutureTask<ODataResponsePart> task = new FutureTask<ODataResponsePart>(
+            new Callable<ODataResponsePart>() {
+              @Override
+              public ODataResponsePart call() throws Exception {
+                return new BatchPartHandler(oDataHandler.copy(), batchProcessor, BatchFacadeImpl.this)
+                    .handleBatchRequest(request);
+              }
+            });
+        executor.execute(task);
+        pendingParts.add(task);
+      } else {
+        // All preceding requests must have been finished before the next one is executed.
+        if (!collectPendingParts(pendingParts, responseParts, continueOnError)) {
+          return responseParts;
+        }
+        final ODataResponsePart responsePart = handleBatchRequest(request);
+        responseParts.add(responsePart);
+        if (isFailed(responsePart) && !continueOnError) {
+          return responseParts;
+        }
+      }
+    }
+    collectPendingParts(pendingParts, responseParts, continueOnError);
+
+    return responseParts;
+  }
+
+  /**
+   * Waits for the concurrently executed parts and adds their responses in order.
+   * @return <code>false</code> if processing has to be stopped due to an error response
+   */
+  private boolean collectPendingParts(final List<FutureTask<ODataResponsePart>> pendingParts,
+      final List<ODataResponsePart> responseParts, final boolean continueOnError)
+      throws ODataApplicationException, ODataLibraryException {
+    try {
+      for (final FutureTask<ODataResponsePart> task : pendingParts) {
+        final ODataResponsePart responsePart = getResult(task);
+        responseParts.add(responsePart);
+        if (isFailed(responsePart) && !continueOnError) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      for (final FutureTask<ODataResponsePart> task : pendingParts) {
+        task.cancel(false);
+      }
+      pendingParts.clear();
+    }
+  }
+
+  private ODataResponsePart getResult(final FutureTask<ODataResponsePart> task)
+      throws ODataApplicationException, ODataLibraryException {
+    try {
+      return task.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ODataRuntimeException("Interrupted while waiting for a batch request part.", e);
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof ODataApplicationException) {
+        throw (ODataApplicationException) cause;
+      } else if (cause instanceof ODataLibraryException) {
+        throw (ODataLibraryException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      } else {
+        throw new ODataRuntimeException((Exception) cause);
+      }
+    }
+  }
+
+  private boolean isRetrieveRequest(final BatchRequestPart request) {
+    return !request.isChangeSet() && request.getRequests().get(0).getMethod() == HttpMethod.GET;
+  }
+
+  private boolean isFailed(final ODataResponsePart responsePart) {
+    final int statusCode = responsePart.getResponses().get(0).getStatusCode();
+    return statusCode >= 400 && statusCode <= 600;
+  }
+
   @Override
   public String extractBoundaryFromContentType(final String contentType) throws BatchDeserializerException {
     return BatchParserCommon.getBoundary(contentType, 0);
@@ -42,8 +42,11 @@ public class BatchLineReader {
   private ReadState readState = new ReadState();
   private InputStream reader;
   private byte[] buffer;
+  // Collects the bytes of the current line; reused for all lines and only grown for long lines.
+  private ByteBuffer innerBuffer = ByteBuffer.allocate(BUFFER_SIZE);
   private int offset = 0;
   private int limit = 0;
+  private int lineNumber = 0;
 
   public BatchLineReader(final InputStream reader) {
     this(reader, BUFFER_SIZE);
@@ -78,20 +81,29 @@ public class BatchLineReader {
 
   public List<Line> toLineList() throws IOException {
     final List<Line> result = new ArrayList<Line>();
-    String currentLine = readLine();
-    if (currentLine != null) {
-      currentBoundary = currentLine.trim();
-      int counter = 1;
-      result.add(new Line(currentLine, counter++));
-
-      while ((currentLine = readLine()) != null) {
-        result.add(new Line(currentLine, counter++));
-      }
+    Line currentLine;
+    while ((currentLine = nextLine()) != null) {
+      result.add(currentLine);
     }
 
     return result;
   }
 
+  /**
+   * Reads the next line together with its line number.
+   * @return the next line or <code>null</code> at the end of the stream
+   */
+  public Line nextLine() throws IOException {
+    final String currentLine = readLine();
+    if (currentLine == null) {
+      return null;
+    }
+    if (lineNumber == 0) {
+      currentBoundary = currentLine.trim();
+    }
+    return new Line(currentLine, ++lineNumber);
+  }
+
   private void updateCurrentCharset(final String currentLine) {
     if (currentLine != null) {
       if (currentLine.startsWith(HttpHeader.CONTENT_TYPE)) {
@@ -128,7 +140,7 @@ public class BatchLineReader {
       return null;
     }
 
-    ByteBuffer innerBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    innerBuffer.clear();
     // EOF will be considered as line ending
     boolean foundLineEnd = false;
 
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.deserializer.batch;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.server.api.deserializer.batch.BatchDeserializerException;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartReader;
+
+/**
+ * Reads the body parts of a batch request incrementally.
+ * Only the lines of the current body part are held in memory;
+ * they are read up to the next boundary when the next part is requested.
+ */
+public class BatchRequestPartReaderImpl implements BatchRequestPartReader {
+
+  private final BatchLineReader reader;
+  private final String boundary;
+  private final boolean isStrict;
+  private final BatchRequestTransformator transformator;
+  private final Pattern boundaryDelimiterPattern;
+  private final Pattern boundaryPattern;
+  private final Queue<BatchRequestPart> parts = new LinkedList<BatchRequestPart>();
+  private boolean isPreambleRead = false;
+  private boolean isFinished = false;
+  private int firstLineNumber = 0;
+
+  public BatchRequestPartReaderImpl(final BatchLineReader reader, final String boundary, final boolean isStrict,
+      final BatchRequestTransformator transformator) {
+    this.reader = reader;
+    this.boundary = boundary;
+    this.isStrict = isStrict;
+    this.transformator = transformator;
+
+    final String quotedBoundary = Pattern.quote(boundary);
+    boundaryDelimiterPattern = Pattern.compile("--" + quotedBoundary + "--\\s*");
+    boundaryPattern = Pattern.compile("--" + quotedBoundary + "\\s*");
+  }
+
+  @Override
+  public boolean hasNext() throws BatchDeserializerException {
+    try {
+      while (parts.isEmpty() && !isFinished) {
+        final List<Line> bodyPartLines = readBodyPart();
+        if (bodyPartLines != null) {
+          final BatchBodyPart bodyPart = new BatchBodyPart(bodyPartLines, boundary, isStrict).parse();
+          parts.addAll(transformator.transform(bodyPart));
+        }
+      }
+    } catch (final BatchDeserializerException e) {
+      finish();
+      throw e;
+    }
+    return !parts.isEmpty();
+  }
+
+  @Override
+  public BatchRequestPart next() throws BatchDeserializerException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return parts.poll();
+  }
+
+  /**
+   * Reads the lines up to the next boundary.
+   * @return the lines of the body part or <code>null</code> for the preamble
+   */
+  private List<Line> readBodyPart() throws BatchDeserializerException {
+    final List<Line> currentPart = new LinkedList<Line>();
+    try {
+      Line currentLine;
+      while ((currentLine = reader.nextLine()) != null) {
+        if (firstLineNumber == 0) {
+          firstLineNumber = currentLine.getLineNumber();
+        }
+        if (boundaryDelimiterPattern.matcher(currentLine.toString()).matches()) {
+          finish();
+          return completeBodyPart(currentPart);
+        } else if (boundaryPattern.matcher(currentLine.toString()).matches()) {
+          return completeBodyPart(currentPart);
+        } else {
+          currentPart.add(currentLine);
+        }
+      }
+    } catch (final IOException e) {
+      finish();
+      throw new ODataRuntimeException(e);
+    }
+
+    throw new BatchDeserializerException("Missing close boundary delimiter",
+        BatchDeserializerException.MessageKeys.MISSING_CLOSE_DELIMITER, Integer.toString(firstLineNumber));
+  }
+
+  private List<Line> completeBodyPart(final List<Line> currentPart) {
+    BatchParserCommon.removeEndingCRLFFromList(currentPart);
+    if (isPreambleRead) {
+      return currentPart;
+    } else {
+      isPreambleRead = true;
+      return null;
+    }
+  }
+
+  private void finish() {
+    if (!isFinished) {
+      isFinished = true;
+      try {
+        reader.close();
+      } catch (final IOException e) {
+        // ignore
+      }
+    }
+  }
+}
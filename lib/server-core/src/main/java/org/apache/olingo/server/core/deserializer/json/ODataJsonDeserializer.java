@@ -26,11 +26,14 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.apache.olingo.commons.api.Constants;
 import org.apache.olingo.commons.api.IConstants;
@@ -42,6 +45,7 @@ import org.apache.olingo.commons.api.data.DeletedEntity.Reason;
 import org.apache.olingo.commons.api.data.Delta;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.Link;
 import org.apache.olingo.commons.api.data.Parameter;
 import org.apache.olingo.commons.api.data.Property;
@@ -71,6 +75,7 @@ import org.apache.olingo.commons.api.edm.geo.MultiPolygon;
 import org.apache.olingo.commons.api.edm.geo.Point;
 import org.apache.olingo.commons.api.edm.geo.Polygon;
 import org.apache.olingo.commons.api.edm.geo.SRID;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
@@ -86,6 +91,7 @@ import org.apache.olingo.server.core.serializer.utils.ContentTypeHelper;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -112,6 +118,14 @@ public class ODataJsonDeserializer implements ODataDeserializer {
   private static final String ODATA_CONTROL_INFORMATION_PREFIX = "@odata.";
   private static final String REASON = "reason";
 
+  /**
+   * The object mapper is thread-safe once configured; its factory creates parsers
+   * which can read subtrees with {@link JsonParser#readValueAsTree()}.
+   */
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY, true);
+  private static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory();
+
   private final boolean isIEEE754Compatible;
   private ServiceMetadata serviceMetadata;
   private IConstants constants;
@@ -140,35 +154,40 @@ public class ODataJsonDeserializer implements ODataDeserializer {
   @Override
   public DeserializerResult entityCollection(final InputStream stream, final EdmEntityType edmEntityType)
       throws DeserializerException {
+    JsonParser parser = null;
     try {
-      return DeserializerResultImpl.with().entityCollection(
-          consumeEntityCollectionNode(edmEntityType, parseJsonTree(stream), null))
-          .build();
+      parser = JSON_FACTORY.createParser(stream);
+      final JsonEntityIterator iterator = new JsonEntityIterator(parser, edmEntityType);
+      EntityCollection entitySet = new EntityCollection();
+      Entity entity;
+      while ((entity = iterator.readNext()) != null) {
+        entitySet.getEntities().add(entity);
+      }
+      return DeserializerResultImpl.with().entityCollection(entitySet).build();
     } catch (final IOException e) {
       throw wrapParseException(e);
+    } finally {
+      closeParser(parser);
     }
   }
 
-  private EntityCollection consumeEntityCollectionNode(final EdmEntityType edmEntityType, final ObjectNode tree,
-      final ExpandTreeBuilder expandBuilder) throws DeserializerException {
-    EntityCollection entitySet = new EntityCollection();
-
-    // Consume entities
-    JsonNode jsonNode = tree.get(Constants.VALUE);
-    if (jsonNode != null) {
-      entitySet.getEntities().addAll(consumeEntitySetArray(edmEntityType, jsonNode, expandBuilder));
-      tree.remove(Constants.VALUE);
-    } else {
-      throw new DeserializerException("Could not find value array.",
-          DeserializerException.MessageKeys.VALUE_ARRAY_NOT_PRESENT);
-    }
-
-    if (tree.isObject()) {
-      removeAnnotations(tree);
+  @Override
+  public EntityIterator entityCollectionStreamed(final InputStream stream, final EdmEntityType edmEntityType)
+      throws DeserializerException {
+    JsonParser parser = null;
+    try {
+      parser = JSON_FACTORY.createParser(stream);
+      final JsonEntityIterator iterator = new JsonEntityIterator(parser, edmEntityType);
+      // Read up to the value array so that an invalid envelope is reported here and not while iterating.
+      iterator.readUntilValueArray();
+      return iterator;
+    } catch (final IOException e) {
+      closeParser(parser);
+      throw wrapParseException(e);
+    } catch (final DeserializerException e) {
+      closeParser(parser);
+      throw e;
     }
-    assertJsonNodeIsEmpty(tree);
-
-    return entitySet;
   }
 
   private List<Entity> consumeEntitySetArray(final EdmEntityType edmEntityType, final JsonNode jsonNode,
@@ -190,6 +209,167 @@ public class ODataJsonDeserializer implements ODataDeserializer {
     }
   }
 
+  /**
+   * Reads the entities of a JSON array token by token; only the tree of the current entity is kept in memory.
+   * The parser must be positioned at the start of the array.
+   */
+  private List<Entity> consumeEntitySetArray(final EdmEntityType edmEntityType, final JsonParser parser,
+      final ExpandTreeBuilder expandBuilder) throws IOException, DeserializerException {
+    List<Entity> entities = new ArrayList<Entity>();
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      entities.add(readEntity(edmEntityType, parser, token, expandBuilder));
+    }
+    return entities;
+  }
+
+  private Entity readEntity(final EdmEntityType edmEntityType, final JsonParser parser, final JsonToken token,
+      final ExpandTreeBuilder expandBuilder) throws IOException, DeserializerException {
+    if (token != JsonToken.START_OBJECT) {
+      throw new DeserializerException("Nested Arrays and primitive values are not allowed for an entity value.",
+          DeserializerException.MessageKeys.INVALID_ENTITY);
+    }
+    final ObjectNode node = parser.readValueAsTree();
+    EdmEntityType derivedEdmEntityType = (EdmEntityType) getDerivedType(edmEntityType, node);
+    return consumeEntityNode(derivedEdmEntityType, node, expandBuilder);
+  }
+
+  /**
+   * Reads an entity collection from a JSON parser entity by entity.
+   * Fields besides the value array are checked in the same way and order as for a JSON tree:
+   * control information is ignored; custom annotations and unknown fields are reported
+   * after the value array has been read.
+   */
+  private class JsonEntityIterator extends EntityIterator {
+
+    private final JsonParser parser;
+    private final EdmEntityType edmEntityType;
+    private final Set<String> fieldNames = new HashSet<String>();
+    private String annotationField;
+    private String unknownField;
+    private boolean inValueArray = false;
+    private boolean finished = false;
+    private Entity next;
+
+    JsonEntityIterator(final JsonParser parser, final EdmEntityType edmEntityType) {
+      this.parser = parser;
+      this.edmEntityType = edmEntityType;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null && !finished) {
+        try {
+          next = readNext();
+        } catch (final IOException e) {
+          closeParser(parser);
+          throw new ODataRuntimeException(wrapParseException(e));
+        } catch (final DeserializerException e) {
+          closeParser(parser);
+          throw new ODataRuntimeException(e);
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public Entity next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final Entity entity = next;
+      next = null;
+      return entity;
+    }
+
+    /** Reads the next entity; returns <code>null</code> after the last one. */
+    Entity readNext() throws IOException, DeserializerException {
+      if (finished) {
+        return null;
+      }
+      if (!inValueArray) {
+        readUntilValueArray();
+      }
+      final JsonToken token = parser.nextToken();
+      if (token == JsonToken.END_ARRAY) {
+        finished = true;
+        readRemainingFields();
+        parser.close();
+        return null;
+      }
+      return readEntity(edmEntityType, parser, token, null);
+    }
+
+    void readUntilValueArray() throws IOException, DeserializerException {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new DeserializerException("Invalid JSON syntax.",
+            DeserializerException.MessageKeys.JSON_SYNTAX_EXCEPTION);
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String name = parser.getCurrentName();
+        final JsonToken token = readFieldName(name);
+        if (Constants.VALUE.equals(name)) {
+          if (token != JsonToken.START_ARRAY) {
+            throw new DeserializerException("The content of the value tag must be an Array but is not.",
+                DeserializerException.MessageKeys.VALUE_TAG_MUST_BE_AN_ARRAY);
+          }
+          inValueArray = true;
+          return;
+        }
+        skipField(name);
+      }
+      throw new DeserializerException("Could not find value array.",
+          DeserializerException.MessageKeys.VALUE_ARRAY_NOT_PRESENT);
+    }
+
+    private void readRemainingFields() throws IOException, DeserializerException {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String name = parser.getCurrentName();
+        readFieldName(name);
+        skipField(name);
+      }
+      if (annotationField != null) {
+        throw new DeserializerException("Custom annotation with field name: " + annotationField + " not supported",
+            DeserializerException.MessageKeys.NOT_IMPLEMENTED);
+      }
+      if (unknownField != null) {
+        throw new DeserializerException("Tree should be empty but still has content left: " + unknownField,
+            DeserializerException.MessageKeys.UNKNOWN_CONTENT, unknownField);
+      }
+    }
+
+    private JsonToken readFieldName(final String name) throws IOException, DeserializerException {
+      if (!fieldNames.add(name)) {
+        throw new DeserializerException("Duplicate json property detected.",
+            DeserializerException.MessageKeys.DUPLICATE_PROPERTY);
+      }
+      return parser.nextToken();
+    }
+
+    private void skipField(final String name) throws IOException {
+      parser.skipChildren();
+      if (name.contains(ODATA_CONTROL_INFORMATION_PREFIX)) {
+        // Control Information is ignored for requests as per specification chapter "4.5 Control Information"
+      } else if (name.contains(ODATA_ANNOTATION_MARKER)) {
+        if (annotationField == null && !(constants instanceof Constantsv01)) {
+          annotationField = name;
+        }
+      } else if (unknownField == null) {
+        unknownField = name;
+      }
+    }
+  }
+
+  private void closeParser(final JsonParser parser) {
+    if (parser != null) {
+      try {
+        parser.close();
+      } catch (final IOException e) {
+        // ignore
+      }
+    }
+  }
+
   @Override
   public DeserializerResult entity(final InputStream stream, final EdmEntityType edmEntityType)
       throws DeserializerException {
@@ -305,8 +485,36 @@ public class ODataJsonDeserializer implements ODataDeserializer {
   public DeserializerResult actionParameters(final InputStream stream, final EdmAction edmAction)
       throws DeserializerException {
     try {
-      ObjectNode tree = parseJsonTree(stream);
-      Map<String, Parameter> parameters = consumeParameters(edmAction, tree);
+      final JsonParser parser = JSON_FACTORY.createParser(stream);
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new DeserializerException("Invalid JSON syntax.",
+            DeserializerException.MessageKeys.JSON_SYNTAX_EXCEPTION);
+      }
+      // Collections of entities are read entity by entity; all other fields are kept as trees.
+      ObjectNode tree = OBJECT_MAPPER.createObjectNode();
+      Map<String, Parameter> entityCollectionParameters = new HashMap<String, Parameter>();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String name = parser.getCurrentName();
+        if (tree.has(name) || entityCollectionParameters.containsKey(name)) {
+          throw new DeserializerException("Duplicate json property detected.",
+              DeserializerException.MessageKeys.DUPLICATE_PROPERTY);
+        }
+        final JsonToken token = parser.nextToken();
+        final EdmParameter edmParameter = edmAction.getParameter(name);
+        if (token == JsonToken.START_ARRAY && edmParameter != null && edmParameter.isCollection()
+            && edmParameter.getType().getKind() == EdmTypeKind.ENTITY && !isBindingParameter(edmAction, name)) {
+          Parameter parameter = new Parameter();
+          parameter.setName(name);
+          EntityCollection entityCollection = new EntityCollection();
+          entityCollection.getEntities().addAll(
+              consumeEntitySetArray((EdmEntityType) edmParameter.getType(), parser, null));
+          parameter.setValue(ValueType.COLLECTION_ENTITY, entityCollection);
+          entityCollectionParameters.put(name, parameter);
+        } else {
+          tree.set(name, parser.<JsonNode> readValueAsTree());
+        }
+      }
+      Map<String, Parameter> parameters = consumeParameters(edmAction, tree, entityCollectionParameters);
 
       if (tree.isObject()) {
         removeAnnotations(tree);
@@ -319,10 +527,12 @@ public class ODataJsonDeserializer implements ODataDeserializer {
     }
   }
 
+  private boolean isBindingParameter(final EdmAction edmAction, final String name) {
+    return edmAction.isBound() && name.equals(edmAction.getParameterNames().get(0));
+  }
+
   private ObjectNode parseJsonTree(final InputStream stream) throws IOException, DeserializerException {
-    ObjectMapper objectMapper = new ObjectMapper();
-    objectMapper.configure(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY, true);
-    JsonParser parser = new JsonFactory(objectMapper).createParser(stream);
+    JsonParser parser = JSON_FACTORY.createParser(stream);
     final JsonNode tree = parser.getCodec().readTree(parser);
     if (tree == null || !tree.isObject()) {
       throw new DeserializerException("Invalid JSON syntax.",
@@ -331,8 +541,8 @@ public class ODataJsonDeserializer implements ODataDeserializer {
     return (ObjectNode) tree;
   }
 
-  private Map<String, Parameter> consumeParameters(final EdmAction edmAction, final ObjectNode node)
-      throws DeserializerException {
+  private Map<String, Parameter> consumeParameters(final EdmAction edmAction, final ObjectNode node,
+      final Map<String, Parameter> entityCollectionParameters) throws DeserializerException {
     List<String> parameterNames = edmAction.getParameterNames();
     if (edmAction.isBound()) {
       // The binding parameter must not occur in the payload.
@@ -348,7 +558,9 @@ public class ODataJsonDeserializer implements ODataDeserializer {
       case ENUM:
       case COMPLEX:
       case ENTITY:
-        Parameter parameter = createParameter(node.get(paramName), paramName, edmParameter);
+        Parameter parameter = entityCollectionParameters.containsKey(paramName) ?
+            entityCollectionParameters.get(paramName) :
+            createParameter(node.get(paramName), paramName, edmParameter);
         parameters.put(paramName, parameter);
         node.remove(paramName);
         break;
@@ -399,9 +611,7 @@ public class ODataJsonDeserializer implements ODataDeserializer {
   /** Reads a parameter value from a String. */
   public Parameter parameter(final String content, final EdmParameter parameter) throws DeserializerException {
     try {
-      JsonParser parser = new JsonFactory(new ObjectMapper()
-          .configure(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY, true))
-              .createParser(content);
+      JsonParser parser = JSON_FACTORY.createParser(content);
       JsonNode node = parser.getCodec().readTree(parser);
       if (node == null) {
         throw new DeserializerException("Invalid JSON syntax.",
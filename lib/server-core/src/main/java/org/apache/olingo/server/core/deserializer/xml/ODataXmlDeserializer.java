@@ -21,6 +21,7 @@ package org.apache.olingo.server.core.deserializer.xml;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,7 @@ import org.apache.olingo.commons.api.data.AbstractODataObject;
 import org.apache.olingo.commons.api.data.ComplexValue;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.Link;
 import org.apache.olingo.commons.api.data.Parameter;
 import org.apache.olingo.commons.api.data.Property;
@@ -696,6 +698,30 @@ public class ODataXmlDeserializer implements ODataDeserializer {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>The XML deserializer reads the complete collection first and iterates over the result.</p>
+   */
+  @Override
+  public EntityIterator entityCollectionStreamed(final InputStream input, final EdmEntityType edmEntityType)
+      throws DeserializerException {
+    final EntityCollection entityCollection = entityCollection(input, edmEntityType).getEntityCollection();
+    final Iterator<Entity> entities = entityCollection == null ?
+        new ArrayList<Entity>().iterator() :
+        entityCollection.getEntities().iterator();
+    return new EntityIterator() {
+      @Override
+      public boolean hasNext() {
+        return entities.hasNext();
+      }
+
+      @Override
+      public Entity next() {
+        return entities.next();
+      }
+    };
+  }
+
   @Override
   public DeserializerResult entityReferences(final InputStream stream) throws DeserializerException {
     try {
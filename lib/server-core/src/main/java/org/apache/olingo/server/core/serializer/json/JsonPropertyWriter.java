@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.json;
+
+import java.io.IOException;
+
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.constants.EdmTypeKind;
+import org.apache.olingo.commons.core.edm.primitivetype.EdmPrimitiveTypeFactory;
+import org.apache.olingo.commons.core.edm.primitivetype.SingletonPrimitiveType;
+import org.apache.olingo.server.api.serializer.SerializerException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * Writer of a single structural property, prepared once per property and serializer.
+ * <p>
+ * The field name is escaped in advance; for single-valued primitive properties (except streams)
+ * the primitive type, its facets, and the JSON representation of its values are resolved in advance,
+ * so that writing a value needs neither name handling nor type comparisons.
+ * Unboxed primitive values of properties are written without boxing them,
+ * and whole numbers and doubles are written as JSON numbers without converting them to strings first.
+ * </p>
+ */
+final class JsonPropertyWriter {
+
+  private enum ValueKind { BOOLEAN, NUMBER, STRING }
+
+  private final EdmProperty edmProperty;
+  private final SerializedString name;
+  private final EdmPrimitiveType primitiveType;
+  private final ValueKind kind;
+  private final Boolean isNullable;
+  private final Integer maxLength;
+  private final Integer precision;
+  private final Integer scale;
+  private final Boolean isUnicode;
+  /** whether whole numbers in the range from {@link #minimum} to {@link #maximum} are written directly */
+  private final boolean isWholeNumber;
+  private final long minimum;
+  private final long maximum;
+  /** whether finite double values are written directly */
+  private final boolean isDouble;
+
+  /**
+   * @param edmProperty the property
+   * @param isPrimitiveWritable whether primitive values may be written by this writer
+   * @param isIEEE754Compatible whether Int64 and Decimal values are written as strings
+   */
+  JsonPropertyWriter(final EdmProperty edmProperty, final boolean isPrimitiveWritable,
+      final boolean isIEEE754Compatible) {
+    this.edmProperty = edmProperty;
+    name = new SerializedString(edmProperty.getName());
+    isNullable = edmProperty.isNullable();
+    maxLength = edmProperty.getMaxLength();
+    precision = edmProperty.getPrecision();
+    scale = edmProperty.getScale();
+    isUnicode = edmProperty.isUnicode();
+    if (isPrimitiveWritable && edmProperty.isPrimitive() && !edmProperty.isCollection()
+        && edmProperty.getType().getKind() == EdmTypeKind.PRIMITIVE
+        && edmProperty.getType() != EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Stream)) {
+      primitiveType = (EdmPrimitiveType) edmProperty.getType();
+      kind = getKind(primitiveType, isIEEE754Compatible);
+    } else {
+      primitiveType = null;
+      kind = null;
+    }
+    final EdmPrimitiveTypeKind typeKind = kind == ValueKind.NUMBER ? getTypeKind(primitiveType) : null;
+    isDouble = typeKind == EdmPrimitiveTypeKind.Double;
+    isWholeNumber = typeKind == EdmPrimitiveTypeKind.Byte || typeKind == EdmPrimitiveTypeKind.SByte
+        || typeKind == EdmPrimitiveTypeKind.Int16 || typeKind == EdmPrimitiveTypeKind.Int32
+        || typeKind == EdmPrimitiveTypeKind.Int64;
+    minimum = typeKind == EdmPrimitiveTypeKind.Byte ? 0
+        : typeKind == EdmPrimitiveTypeKind.SByte ? Byte.MIN_VALUE
+            : typeKind == EdmPrimitiveTypeKind.Int16 ? Short.MIN_VALUE
+                : typeKind == EdmPrimitiveTypeKind.Int32 ? Integer.MIN_VALUE : Long.MIN_VALUE;
+    maximum = typeKind == EdmPrimitiveTypeKind.Byte ? (1 << Byte.SIZE) - 1
+        : typeKind == EdmPrimitiveTypeKind.SByte ? Byte.MAX_VALUE
+            : typeKind == EdmPrimitiveTypeKind.Int16 ? Short.MAX_VALUE
+                : typeKind == EdmPrimitiveTypeKind.Int32 ? Integer.MAX_VALUE : Long.MAX_VALUE;
+  }
+
+  private static EdmPrimitiveTypeKind getTypeKind(final EdmPrimitiveType type) {
+    for (final EdmPrimitiveTypeKind typeKind : EdmPrimitiveTypeKind.values()) {
+      if (type == EdmPrimitiveTypeFactory.getInstance(typeKind)) {
+        return typeKind;
+      }
+    }
+    return null;
+  }
+
+  private static ValueKind getKind(final EdmPrimitiveType type, final boolean isIEEE754Compatible) {
+    if (type == EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Boolean)) {
+      return ValueKind.BOOLEAN;
+    } else if (type == EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Byte)
+        || type == EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Double)
+        || type == EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Int16)
+        || type == EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Int32)
+        || type == EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.SByte)
+        || type == EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Single)
+        || (type == EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Decimal)
+        || type == EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Int64))
+        && !isIEEE754Compatible) {
+      return ValueKind.NUMBER;
+    } else {
+      return ValueKind.STRING;
+    }
+  }
+
+  EdmProperty getEdmProperty() {
+    return edmProperty;
+  }
+
+  /**
+   * Returns whether the given property value can be written by {@link #writePrimitive(Property, JsonGenerator)}.
+   */
+  boolean canWritePrimitive(final Property property) {
+    return primitiveType != null && property != null && property.isPrimitive();
+  }
+
+  /**
+   * Writes whole numbers of the integer types and finite values of type Double directly as JSON numbers.
+   * @return whether the value has been written; values out of range are left to the primitive type
+   */
+  private boolean writeNumber(final Property property, final JsonGenerator json) throws IOException {
+    if (isWholeNumber) {
+      final long number;
+      if (property.hasLongValue()) {
+        number = property.getLongValue();
+      } else {
+        final Object value = property.getValue();
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+          number = ((Number) value).longValue();
+        } else {
+          return false;
+        }
+      }
+      if (number >= minimum && number <= maximum) {
+        json.writeNumber(number);
+        return true;
+      }
+    } else if (isDouble) {
+      final double number;
+      if (property.hasDoubleValue()) {
+        number = property.getDoubleValue();
+      } else if (property.getValue() instanceof Double) {
+        number = (Double) property.getValue();
+      } else {
+        return false;
+      }
+      if (!Double.isInfinite(number) && !Double.isNaN(number)) {
+        json.writeNumber(number);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private String valueToString(final Property property) throws EdmPrimitiveTypeException {
+    if (primitiveType instanceof SingletonPrimitiveType) {
+      if (property.hasLongValue()) {
+        return ((SingletonPrimitiveType) primitiveType).longValueToString(property.getLongValue(),
+            isNullable, maxLength, precision, scale, isUnicode);
+      } else if (property.hasDoubleValue()) {
+        return ((SingletonPrimitiveType) primitiveType).doubleValueToString(property.getDoubleValue(),
+            isNullable, maxLength, precision, scale, isUnicode);
+      }
+    }
+    return primitiveType.valueToString(property.getValue(), isNullable, maxLength, precision, scale, isUnicode);
+  }
+
+  /**
+   * Writes the field name and the primitive value of the given property.
+   * @param property a non-<code>null</code> property for which {@link #canWritePrimitive(Property)} is true
+   */
+  void writePrimitive(final Property property, final JsonGenerator json) throws IOException, SerializerException {
+    json.writeFieldName(name);
+    if (kind == ValueKind.BOOLEAN && property.hasBooleanValue()) {
+      json.writeBoolean(property.getBooleanValue());
+      return;
+    }
+    if (kind == ValueKind.NUMBER && writeNumber(property, json)) {
+      return;
+    }
+    final String value;
+    try {
+      value = valueToString(property);
+    } catch (final EdmPrimitiveTypeException e) {
+      throw new SerializerException("Wrong value for property!", e,
+          SerializerException.MessageKeys.WRONG_PROPERTY_VALUE,
+          edmProperty.getName(), String.valueOf(property.getValue()));
+    }
+    if (value == null) {
+      json.writeNull();
+    } else if (kind == ValueKind.NUMBER) {
+      json.writeNumber(value);
+    } else if (kind == ValueKind.BOOLEAN) {
+      json.writeBoolean(Boolean.parseBoolean(value));
+    } else {
+      json.writeString(value);
+    }
+  }
+}
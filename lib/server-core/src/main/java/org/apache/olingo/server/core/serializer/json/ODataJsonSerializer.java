@@ -27,6 +27,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Base64;
@@ -42,6 +44,7 @@ import org.apache.olingo.commons.api.data.Link;
 import org.apache.olingo.commons.api.data.Linked;
 import org.apache.olingo.commons.api.data.Operation;
 import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.PropertyList;
 import org.apache.olingo.commons.api.edm.EdmComplexType;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
@@ -81,7 +84,6 @@ import org.apache.olingo.server.api.uri.UriHelper;
 import org.apache.olingo.server.api.uri.queryoption.CountOption;
 import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
 import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
-import org.apache.olingo.server.api.uri.queryoption.LevelsExpandOption;
 import org.apache.olingo.server.api.uri.queryoption.SelectOption;
 import org.apache.olingo.server.core.ODataWritableContent;
 import org.apache.olingo.server.core.serializer.AbstractODataSerializer;
@@ -90,10 +92,12 @@ import org.apache.olingo.server.core.serializer.utils.CircleStreamBuffer;
 import org.apache.olingo.server.core.serializer.utils.ContentTypeHelper;
 import org.apache.olingo.server.core.serializer.utils.ContextURLBuilder;
 import org.apache.olingo.server.core.serializer.utils.ExpandSelectHelper;
+import org.apache.olingo.server.core.serializer.utils.ProjectionPlan;
+import org.apache.olingo.server.core.serializer.utils.ProjectionPlan.NavigationPlan;
+import org.apache.olingo.server.core.serializer.utils.ProjectionPlanCache;
+import org.apache.olingo.server.core.serializer.utils.SerializerFactories;
 import org.apache.olingo.server.core.uri.UriHelperImpl;
-import org.apache.olingo.server.core.uri.queryoption.ExpandOptionImpl;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 
 public class ODataJsonSerializer extends AbstractODataSerializer {
@@ -111,9 +115,14 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
     geoValueTypeToJsonName = Collections.unmodifiableMap(temp);
   }
 
+  private static final int MAX_PROPERTY_WRITERS = 256;
+
   private final boolean isIEEE754Compatible;
   private final boolean isODataMetadataNone;
   private final boolean isODataMetadataFull;
+  private final ProjectionPlanCache projectionPlans = new ProjectionPlanCache();
+  private final ConcurrentMap<ProjectionPlan, JsonPropertyWriter[]> propertyWriters =
+      new ConcurrentHashMap<ProjectionPlan, JsonPropertyWriter[]>();
   private IConstants constants;
 
   public ODataJsonSerializer(final ContentType contentType, final IConstants constants) {
@@ -139,7 +148,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       new ServiceDocumentJsonSerializer(metadata, serviceRoot, isODataMetadataNone).writeServiceDocument(json);
 
       json.close();
@@ -162,7 +171,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       new MetadataDocumentJsonSerializer(serviceMetadata).writeMetadataDocument(json);
 
       json.close();
@@ -184,7 +193,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       new ODataErrorSerializer().writeErrorDocument(json, error);
 
       json.close();
@@ -209,7 +218,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       json.writeStartObject();
 
       final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
@@ -263,7 +272,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
     SerializerException cachedException;
     boolean pagination = false;
     try {
-      JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       json.writeStartObject();
 
       final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
@@ -306,7 +315,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
       final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       String name =  contextURL == null ? null:contextURL.getEntitySetOrSingletonOrType();
       writeEntity(metadata, entityType, entity, contextURL,
           options == null ? null : options.getExpand(),
@@ -380,17 +389,9 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
     return entity.getId().toASCIIString();
   }
 
-  private boolean areKeyPredicateNamesSelected(SelectOption select, EdmEntityType type) {
-    if (select == null || ExpandSelectHelper.isAll(select)) {
-      return true;
-    }
-    final Set<String> selected = ExpandSelectHelper.getSelectedPropertyNames(select.getSelectItems());
-    for (String key : type.getKeyPredicateNames()) {
-      if (!selected.contains(key)) {
-        return false;
-      }
-    }
-    return true;
+  private boolean areKeyPredicateNamesSelected(SelectOption select, EdmEntityType type,
+      final ExpandOption expand) {
+    return select == null || projectionPlans.get(type, select, expand).areKeysSelected();
   }
 
   protected void writeEntity(final ServiceMetadata metadata, final EdmEntityType entityType, final Entity entity,
@@ -438,7 +439,8 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
         if ((!isODataMetadataNone && !resolvedType.equals(entityType)) || isODataMetadataFull) {
           json.writeStringField(constants.getType(), "#" + entity.getType());
         }
-        if ((!isODataMetadataNone && !areKeyPredicateNamesSelected(select, resolvedType)) || isODataMetadataFull) {
+        if ((!isODataMetadataNone && !areKeyPredicateNamesSelected(select, resolvedType, expand))
+            || isODataMetadataFull) {
           json.writeStringField(constants.getId(), getEntityId(entity, resolvedType, name));
         }
         
@@ -527,31 +529,47 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
       final List<Property> properties,
       final SelectOption select, final JsonGenerator json, Linked linked, ExpandOption expand)
       throws IOException, SerializerException {
-    final boolean all = ExpandSelectHelper.isAll(select);
-    final Set<String> selected = all ? new HashSet<String>() :
-        ExpandSelectHelper.getSelectedPropertyNames(select.getSelectItems());
-    addKeyPropertiesToSelected(selected, type);
-    Set<List<String>> expandedPaths = ExpandSelectHelper.getExpandedItemsPath(expand);
-    for (final String propertyName : type.getPropertyNames()) {
-      if (all || selected.contains(propertyName)) {
-        final EdmProperty edmProperty = type.getStructuralProperty(propertyName);
-        final Property property = findProperty(propertyName, properties);
-        final Set<List<String>> selectedPaths = all || edmProperty.isPrimitive() ? null :
-            ExpandSelectHelper.getSelectedPaths(select.getSelectItems(), propertyName);
-        writeProperty(metadata, edmProperty, property, selectedPaths, json, expandedPaths, linked, expand);
+    final ProjectionPlan plan = projectionPlans.get(type, select, expand);
+    final JsonPropertyWriter[] writers = getPropertyWriters(plan);
+    int next = 0;
+    for (int index = 0; index < writers.length; index++) {
+      final JsonPropertyWriter writer = writers[index];
+      final EdmProperty edmProperty = writer.getEdmProperty();
+      // Properties are usually in the order of the type, so the search starts after the last match.
+      final int position = findProperty(edmProperty.getName(), properties, next);
+      final Property property = position < 0 ? null : properties.get(position);
+      if (position >= 0) {
+        next = position + 1;
+      }
+      if (writer.canWritePrimitive(property) && !property.isNull()) {
+        writer.writePrimitive(property, json);
+      } else {
+        writeProperty(metadata, edmProperty, property, plan.getSelectedPaths(index), json,
+            plan.getExpandedPaths(), linked, expand);
       }
     }
   }
-  
-  private void addKeyPropertiesToSelected(Set<String> selected, EdmStructuredType type) {
-    if (!selected.isEmpty() && type instanceof EdmEntityType) {
-      List<String> keyNames = ((EdmEntityType) type).getKeyPredicateNames();
-      for (String key : keyNames) {
-        if (!selected.contains(key)) {
-          selected.add(key);
-        }
+
+  /**
+   * Gets the property writers for the properties of the given projection plan, in the same order.
+   * With full metadata, or if property writing has been customized in a subclass,
+   * the writers only serve to iterate over the properties.
+   */
+  private JsonPropertyWriter[] getPropertyWriters(final ProjectionPlan plan) {
+    JsonPropertyWriter[] writers = propertyWriters.get(plan);
+    if (writers == null) {
+      final List<EdmProperty> edmProperties = plan.getProperties();
+      final boolean isFastPath = !isODataMetadataFull && getClass() == ODataJsonSerializer.class;
+      writers = new JsonPropertyWriter[edmProperties.size()];
+      for (int index = 0; index < writers.length; index++) {
+        writers[index] = new JsonPropertyWriter(edmProperties.get(index), isFastPath, isIEEE754Compatible);
+      }
+      if (propertyWriters.size() >= MAX_PROPERTY_WRITERS) {
+        propertyWriters.clear();
       }
+      propertyWriters.put(plan, writers);
     }
+    return writers;
   }
 
   protected void writeNavigationProperties(final ServiceMetadata metadata,
@@ -571,29 +589,14 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
       }
     }
     if ((toDepth != null && toDepth > 1) || (toDepth == null && ExpandSelectHelper.hasExpand(expand))) {
-      final ExpandItem expandAll = ExpandSelectHelper.getExpandAll(expand);
-      for (final String propertyName : type.getNavigationPropertyNames()) {
-        final ExpandItem innerOptions = ExpandSelectHelper.getExpandItemBasedOnType(expand.getExpandItems(), 
-            propertyName, type, name);
-        if (innerOptions != null || expandAll != null || toDepth != null) {
-          Integer levels = null;
-          final EdmNavigationProperty property = type.getNavigationProperty(propertyName);
+      final NavigationPlan plan = projectionPlans.get(type, null, expand).getNavigationPlan(name);
+      for (int index = 0; index < plan.size(); index++) {
+        if (plan.isExpanded(index) || toDepth != null) {
+          final ExpandItem innerOptions = plan.getExpandItem(index);
+          final EdmNavigationProperty property = plan.getProperty(index);
           final Link navigationLink = linked.getNavigationLink(property.getName());
-          ExpandOption childExpand = null;
-          LevelsExpandOption levelsOption = null;
-          if (innerOptions != null) {
-            levelsOption = innerOptions.getLevelsOption();
-            childExpand = levelsOption == null ? innerOptions.getExpandOption() : new ExpandOptionImpl().addExpandItem(
-                innerOptions);
-          } else if (expandAll != null) {
-            levels = 1;
-            levelsOption = expandAll.getLevelsOption();
-            childExpand = new ExpandOptionImpl().addExpandItem(expandAll);
-          }
-
-          if (levelsOption != null) { 
-            levels = levelsOption.isMax() ? Integer.MAX_VALUE : levelsOption.getValue();
-          }
+          Integer levels = plan.getLevels(index);
+          ExpandOption childExpand = plan.getChildExpand(index);
           if (toDepth != null) {
             levels = toDepth - 1;
             childExpand = expand;
@@ -1109,6 +1112,9 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
     
 
   private Property findProperty(final String propertyName, final List<Property> properties) {
+    if (properties instanceof PropertyList) {
+      return ((PropertyList) properties).getProperty(propertyName);
+    }
     for (final Property property : properties) {
       if (propertyName.equals(property.getName())) {
         return property;
@@ -1117,6 +1123,17 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
     return null;
   }
 
+  private int findProperty(final String propertyName, final List<Property> properties, final int start) {
+    final int size = properties.size();
+    for (int offset = 0; offset < size; offset++) {
+      final int index = (start + offset) % size;
+      if (propertyName.equals(properties.get(index).getName())) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
   @Override
   public SerializerResult primitive(final ServiceMetadata metadata, final EdmPrimitiveType type,
       final Property property, final PrimitiveSerializerOptions options) throws SerializerException {
@@ -1126,7 +1143,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
       final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       json.writeStartObject();
       writeContextURL(contextURL, json);
       writeMetadataETag(metadata, json);
@@ -1172,7 +1189,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
         contextURL.getEntitySetOrSingletonOrType();
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       json.writeStartObject();
       writeContextURL(contextURL, json);
       writeMetadataETag(metadata, json);      
@@ -1231,7 +1248,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
       final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       json.writeStartObject();
       writeContextURL(contextURL, json);
       writeMetadataETag(metadata, json);
@@ -1269,7 +1286,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
       final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       json.writeStartObject();
       writeContextURL(contextURL, json);
       writeMetadataETag(metadata, json);
@@ -1316,7 +1333,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       final UriHelper uriHelper = new UriHelperImpl();
       outputStream = buffer.getOutputStream();
-      final JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      final JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
 
       json.writeStartObject();
       writeContextURL(contextURL, json);
@@ -1348,7 +1365,7 @@ public class ODataJsonSerializer extends AbstractODataSerializer {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       final UriHelper uriHelper = new UriHelperImpl();
       outputStream = buffer.getOutputStream();
-      final JsonGenerator json = new JsonFactory().createGenerator(outputStream);
+      final JsonGenerator json = SerializerFactories.createJsonGenerator(outputStream);
       json.writeStartObject();
 
       writeContextURL(contextURL, json);
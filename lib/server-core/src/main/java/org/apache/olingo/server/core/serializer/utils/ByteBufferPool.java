@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe pool of {@link ByteBuffer}s used by the {@link CircleStreamBuffer}.
+ * <p>
+ * Only buffers with a capacity that is a power of two are pooled, one lock-free queue per capacity.
+ * The sum of the capacities of all pooled buffers never exceeds the configured maximum;
+ * buffers released beyond this limit are left to the garbage collector.
+ * </p>
+ * <p>
+ * The default pool is shared by all serializers of the class loader. It can be configured with the system
+ * properties {@value #MAX_POOLED_BYTES_PROPERTY} (<code>0</code> disables pooling)
+ * and {@value #DIRECT_PROPERTY} (allocate off-heap buffers) or replaced via {@link #setDefault(ByteBufferPool)}.
+ * </p>
+ */
+public class ByteBufferPool {
+
+  public static final String MAX_POOLED_BYTES_PROPERTY = "org.apache.olingo.server.bufferPool.maxBytes";
+  public static final String DIRECT_PROPERTY = "org.apache.olingo.server.bufferPool.direct";
+
+  private static final long DEFAULT_MAX_POOLED_BYTES = 16 * 1024 * 1024;
+
+  private static volatile ByteBufferPool defaultPool = new ByteBufferPool(
+      Long.getLong(MAX_POOLED_BYTES_PROPERTY, DEFAULT_MAX_POOLED_BYTES),
+      Boolean.getBoolean(DIRECT_PROPERTY));
+
+  private final ConcurrentMap<Integer, Queue<ByteBuffer>> pools = new ConcurrentHashMap<Integer, Queue<ByteBuffer>>();
+  private final AtomicLong pooledBytes = new AtomicLong();
+  private final long maxPooledBytes;
+  private final boolean direct;
+
+  /**
+   * Creates a pool.
+   *
+   * @param maxPooledBytes maximum sum of capacities of all pooled buffers; <code>0</code> disables pooling
+   * @param direct whether newly allocated buffers are direct (off-heap) buffers
+   */
+  public ByteBufferPool(final long maxPooledBytes, final boolean direct) {
+    this.maxPooledBytes = maxPooledBytes;
+    this.direct = direct;
+  }
+
+  /**
+   * Gets the pool used by default by {@link CircleStreamBuffer}.
+   * @return the default pool
+   */
+  public static ByteBufferPool getDefault() {
+    return defaultPool;
+  }
+
+  /**
+   * Replaces the pool used by default by {@link CircleStreamBuffer}.
+   * @param pool the new default pool
+   */
+  public static void setDefault(final ByteBufferPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Default buffer pool must not be null.");
+    }
+    defaultPool = pool;
+  }
+
+  /**
+   * Gets a cleared buffer with exactly the requested capacity, either from the pool or newly allocated.
+   *
+   * @param capacity capacity of the buffer
+   * @return the buffer
+   */
+  public ByteBuffer acquire(final int capacity) {
+    final Queue<ByteBuffer> queue = pools.get(capacity);
+    if (queue != null) {
+      final ByteBuffer buffer = queue.poll();
+      if (buffer != null) {
+        pooledBytes.addAndGet(-capacity);
+        buffer.clear();
+        return buffer;
+      }
+    }
+    return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+  }
+
+  /**
+   * Returns a buffer to the pool. The caller must not use the buffer afterwards.
+   *
+   * @param buffer the buffer (can be <code>null</code>)
+   */
+  public void release(final ByteBuffer buffer) {
+    if (buffer == null || buffer.isDirect() != direct || buffer.isReadOnly()) {
+      return;
+    }
+    final int capacity = buffer.capacity();
+    if (Integer.bitCount(capacity) != 1) {
+      return;
+    }
+    if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+      pooledBytes.addAndGet(-capacity);
+      return;
+    }
+    Queue<ByteBuffer> queue = pools.get(capacity);
+    if (queue == null) {
+      final Queue<ByteBuffer> newQueue = new ConcurrentLinkedQueue<ByteBuffer>();
+      queue = pools.putIfAbsent(capacity, newQueue);
+      if (queue == null) {
+        queue = newQueue;
+      }
+    }
+    buffer.clear();
+    queue.offer(buffer);
+  }
+
+  /**
+   * Gets the sum of the capacities of all currently pooled buffers.
+   * @return number of pooled bytes
+   */
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+}
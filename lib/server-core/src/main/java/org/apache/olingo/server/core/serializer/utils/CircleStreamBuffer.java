@@ -22,14 +22,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
 import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * Circular stream buffer to write/read into/from one single buffer.
  * With support of {@link InputStream} and {@link OutputStream} access to buffered data.
- *
- *
+ * <p>
+ * The internal buffers are taken from a {@link ByteBufferPool} and given back as soon as they have been read
+ * completely or the read part is closed. A {@link CircleStreamBuffer} must only be used by one thread at a time.
+ * </p>
  */
 public class CircleStreamBuffer {
 
@@ -44,10 +48,11 @@ public class CircleStreamBuffer {
   private boolean writeClosed = false;
   private boolean readClosed = false;
 
-  private Queue<ByteBuffer> bufferQueue = new LinkedBlockingQueue<ByteBuffer>();
+  private final Queue<ByteBuffer> bufferQueue = new ArrayDeque<ByteBuffer>();
+  private final ByteBufferPool bufferPool;
   private ByteBuffer currentWriteBuffer;
 
-  private final InternalInputStream inStream;
+  private final BufferInputStream inStream;
   private final InternalOutputStream outStream;
 
   /**
@@ -63,9 +68,20 @@ public class CircleStreamBuffer {
    * @param initialCapacity initial capacity of internal buffer
    */
   public CircleStreamBuffer(final int initialCapacity) {
+    this(initialCapacity, ByteBufferPool.getDefault());
+  }
+
+  /**
+   * Create a {@link CircleStreamBuffer} with given initial buffer size and buffer pool.
+   *
+   * @param initialCapacity initial capacity of internal buffer
+   * @param bufferPool pool the internal buffers are taken from and given back to
+   */
+  public CircleStreamBuffer(final int initialCapacity, final ByteBufferPool bufferPool) {
     currentAllocateCapacity = initialCapacity;
+    this.bufferPool = bufferPool;
     createNewWriteBuffer();
-    inStream = new InternalInputStream(this);
+    inStream = new BufferInputStream(this);
     outStream = new InternalOutputStream(this);
   }
 
@@ -107,10 +123,13 @@ public class CircleStreamBuffer {
    */
   public void closeRead() {
     readClosed = true;
-    // clear references to byte buffers
+    // give the byte buffers back to the pool;
+    // the current write buffer is kept because writing is still possible
     ByteBuffer buffer = bufferQueue.poll();
     while (buffer != null) {
-      buffer.clear();
+      if (buffer != currentWriteBuffer) {
+        bufferPool.release(buffer);
+      }
       buffer = bufferQueue.poll();
     }
   }
@@ -154,7 +173,7 @@ public class CircleStreamBuffer {
     } else {
       tmp = bufferQueue.peek();
       if (tmp != null && !tmp.hasRemaining()) {
-        tmp = bufferQueue.poll();
+        releaseReadBuffer(bufferQueue.poll());
         next = true;
       }
     }
@@ -170,6 +189,14 @@ public class CircleStreamBuffer {
     return tmp;
   }
 
+  private void releaseReadBuffer(final ByteBuffer buffer) {
+    // in read mode the current write buffer is never written again
+    if (buffer == currentWriteBuffer) {
+      currentWriteBuffer = null;
+    }
+    bufferPool.release(buffer);
+  }
+
   private int read(final byte[] b, final int off, final int len) throws IOException {
     ByteBuffer readBuffer = getReadBuffer();
     if (readBuffer == null) {
@@ -184,6 +211,28 @@ public class CircleStreamBuffer {
     return toReadLength;
   }
 
+  private long writeTo(final OutputStream out) throws IOException {
+    long count = 0;
+    WritableByteChannel channel = null;
+    ByteBuffer readBuffer = getReadBuffer();
+    while (readBuffer != null) {
+      count += readBuffer.remaining();
+      if (readBuffer.hasArray()) {
+        out.write(readBuffer.array(), readBuffer.arrayOffset() + readBuffer.position(), readBuffer.remaining());
+        readBuffer.position(readBuffer.limit());
+      } else {
+        if (channel == null) {
+          channel = Channels.newChannel(out);
+        }
+        while (readBuffer.hasRemaining()) {
+          channel.write(readBuffer);
+        }
+      }
+      readBuffer = getReadBuffer();
+    }
+    return count;
+  }
+
   private int read() throws IOException {
     ByteBuffer readBuffer = getReadBuffer();
     if (readBuffer == null) {
@@ -271,7 +320,7 @@ public class CircleStreamBuffer {
   private ByteBuffer allocateBuffer(final int requestedCapacity) {
     if (requestedCapacity > MAX_CAPACITY) {
       currentAllocateCapacity = MAX_CAPACITY;
-      return ByteBuffer.allocate(requestedCapacity);
+      return bufferPool.acquire(requestedCapacity);
     }
 
     if (requestedCapacity <= currentAllocateCapacity) {
@@ -283,7 +332,7 @@ public class CircleStreamBuffer {
       currentAllocateCapacity = requestedCapacity;
     }
 
-    return ByteBuffer.allocate(currentAllocateCapacity);
+    return bufferPool.acquire(currentAllocateCapacity);
   }
 
   // #############################################
@@ -293,16 +342,31 @@ public class CircleStreamBuffer {
   // #############################################
 
   /**
-   *
+   * Input stream on the data of a {@link CircleStreamBuffer}.
+   * Besides the {@link InputStream} methods it allows to write the data
+   * from the internal buffers directly into an {@link OutputStream}.
    */
-  private static class InternalInputStream extends InputStream {
+  public static class BufferInputStream extends InputStream {
 
     private final CircleStreamBuffer inBuffer;
 
-    public InternalInputStream(final CircleStreamBuffer csBuffer) {
+    private BufferInputStream(final CircleStreamBuffer csBuffer) {
       inBuffer = csBuffer;
     }
 
+    /**
+     * Writes all remaining data into the given output stream without copying it
+     * into an intermediate buffer. Afterwards this input stream is at its end;
+     * neither this input stream nor the given output stream is closed.
+     *
+     * @param out output stream the data is written to
+     * @return number of written bytes
+     * @throws IOException if reading from the buffer or writing to the output stream fails
+     */
+    public long writeTo(final OutputStream out) throws IOException {
+      return inBuffer.writeTo(out);
+    }
+
     @Override
     public int available() throws IOException {
       return inBuffer.remaining();
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.EdmStructuredType;
+import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
+import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
+import org.apache.olingo.server.api.uri.queryoption.LevelsExpandOption;
+import org.apache.olingo.server.api.uri.queryoption.SelectOption;
+import org.apache.olingo.server.core.uri.queryoption.ExpandOptionImpl;
+
+/**
+ * <p>Projection of a structured type according to the $select and $expand options of a request.</p>
+ * <p>The plan evaluates the system query options once with the {@link ExpandSelectHelper}
+ * and holds the results in the order of the properties of the type, so that serializers
+ * do not have to evaluate them again for every entity they write. Plans are immutable;
+ * they are created and shared via a {@link ProjectionPlanCache}.</p>
+ */
+public final class ProjectionPlan {
+
+  private final EdmStructuredType type;
+  private final ExpandOption expand;
+  private final boolean all;
+  private final boolean keysSelected;
+  private final List<EdmProperty> properties;
+  private final List<Set<List<String>>> selectedPaths;
+  private final Set<List<String>> expandedPaths;
+  private volatile NavigationPlan navigationPlan;
+
+  ProjectionPlan(final EdmStructuredType type, final SelectOption select, final ExpandOption expand) {
+    this.type = type;
+    this.expand = expand;
+    all = ExpandSelectHelper.isAll(select);
+    final Set<String> selected = all ? new HashSet<String>() :
+        ExpandSelectHelper.getSelectedPropertyNames(select.getSelectItems());
+    keysSelected = all || !(type instanceof EdmEntityType)
+        || selected.containsAll(((EdmEntityType) type).getKeyPredicateNames());
+    if (!selected.isEmpty() && type instanceof EdmEntityType) {
+      selected.addAll(((EdmEntityType) type).getKeyPredicateNames());
+    }
+
+    final List<EdmProperty> selectedProperties = new ArrayList<EdmProperty>();
+    final List<Set<List<String>>> paths = new ArrayList<Set<List<String>>>();
+    for (final String propertyName : type.getPropertyNames()) {
+      if (all || selected.contains(propertyName)) {
+        final EdmProperty edmProperty = type.getStructuralProperty(propertyName);
+        selectedProperties.add(edmProperty);
+        paths.add(all || edmProperty.isPrimitive() ? null :
+            unmodifiable(ExpandSelectHelper.getSelectedPaths(select.getSelectItems(), propertyName)));
+      }
+    }
+    properties = Collections.unmodifiableList(selectedProperties);
+    selectedPaths = Collections.unmodifiableList(paths);
+    expandedPaths = Collections.unmodifiableSet(ExpandSelectHelper.getExpandedItemsPath(expand));
+  }
+
+  /**
+   * Returns whether all properties are selected.
+   * @return <code>true</code> if there is no $select or it contains <code>*</code>
+   */
+  public boolean isAll() {
+    return all;
+  }
+
+  /**
+   * Returns whether all key properties of an entity type have been selected explicitly
+   * (or implicitly by selecting all properties).
+   * @return <code>true</code> if the keys are selected or the type is not an entity type
+   */
+  public boolean areKeysSelected() {
+    return keysSelected;
+  }
+
+  /**
+   * Gets the structural properties to be written, in the order of the type definition.
+   * @return the selected properties, including the key properties of an entity type
+   */
+  public List<EdmProperty> getProperties() {
+    return properties;
+  }
+
+  /**
+   * Gets the selected paths within the selected property at the given index.
+   * @param index index in the list of {@link #getProperties()}
+   * @return the selected paths or <code>null</code> if the property is selected completely
+   */
+  public Set<List<String>> getSelectedPaths(final int index) {
+    return selectedPaths.get(index);
+  }
+
+  /**
+   * Gets the paths of expanded navigation properties within complex properties.
+   * @return the expanded paths
+   */
+  public Set<List<String>> getExpandedPaths() {
+    return expandedPaths;
+  }
+
+  /**
+   * Gets the expansion of the navigation properties for the given resource name.
+   * @param name the name of the resource the entities belong to (can be <code>null</code>)
+   * @return the navigation plan
+   */
+  public NavigationPlan getNavigationPlan(final String name) {
+    NavigationPlan plan = navigationPlan;
+    if (plan == null || (plan.name == null ? name != null : !plan.name.equals(name))) {
+      plan = new NavigationPlan(type, expand, name);
+      navigationPlan = plan;
+    }
+    return plan;
+  }
+
+  private static Set<List<String>> unmodifiable(final Set<List<String>> paths) {
+    return paths == null ? null : Collections.unmodifiableSet(paths);
+  }
+
+  /**
+   * Expansion of the navigation properties of a structured type according to the $expand option.
+   */
+  public static final class NavigationPlan {
+
+    private final String name;
+    private final ExpandItem expandAll;
+    private final List<EdmNavigationProperty> properties = new ArrayList<EdmNavigationProperty>();
+    private final List<ExpandItem> expandItems = new ArrayList<ExpandItem>();
+    private final List<ExpandOption> childExpands = new ArrayList<ExpandOption>();
+    private final List<Integer> levels = new ArrayList<Integer>();
+
+    NavigationPlan(final EdmStructuredType type, final ExpandOption expand, final String name) {
+      this.name = name;
+      final boolean hasExpand = ExpandSelectHelper.hasExpand(expand);
+      expandAll = hasExpand ? ExpandSelectHelper.getExpandAll(expand) : null;
+      for (final String propertyName : type.getNavigationPropertyNames()) {
+        final ExpandItem innerOptions = hasExpand ?
+            ExpandSelectHelper.getExpandItemBasedOnType(expand.getExpandItems(), propertyName, type, name) :
+            null;
+        Integer level = null;
+        ExpandOption childExpand = null;
+        LevelsExpandOption levelsOption = null;
+        if (innerOptions != null) {
+          levelsOption = innerOptions.getLevelsOption();
+          childExpand = levelsOption == null ? innerOptions.getExpandOption() :
+              new ExpandOptionImpl().addExpandItem(innerOptions);
+        } else if (expandAll != null) {
+          level = 1;
+          levelsOption = expandAll.getLevelsOption();
+          childExpand = new ExpandOptionImpl().addExpandItem(expandAll);
+        }
+        if (levelsOption != null) {
+          level = levelsOption.isMax() ? Integer.MAX_VALUE : levelsOption.getValue();
+        }
+        properties.add(type.getNavigationProperty(propertyName));
+        expandItems.add(innerOptions);
+        childExpands.add(childExpand);
+        levels.add(level);
+      }
+    }
+
+    /**
+     * Gets the number of navigation properties of the type.
+     * @return the number of navigation properties
+     */
+    public int size() {
+      return properties.size();
+    }
+
+    /**
+     * Gets the navigation property at the given index, in the order of the type definition.
+     * @param index the index
+     * @return the navigation property
+     */
+    public EdmNavigationProperty getProperty(final int index) {
+      return properties.get(index);
+    }
+
+    /**
+     * Gets the expand item for the navigation property at the given index.
+     * @param index the index
+     * @return the expand item or <code>null</code> if the property is not expanded explicitly
+     */
+    public ExpandItem getExpandItem(final int index) {
+      return expandItems.get(index);
+    }
+
+    /**
+     * Returns whether the navigation property at the given index is expanded,
+     * explicitly or with <code>*</code>.
+     * @param index the index
+     * @return <code>true</code> if the property is expanded
+     */
+    public boolean isExpanded(final int index) {
+      return expandAll != null || expandItems.get(index) != null;
+    }
+
+    /**
+     * Gets the expand option for the entities of the navigation property at the given index.
+     * The option is always the same instance, so that the projection plans of the expanded
+     * entities can be cached.
+     * @param index the index
+     * @return the expand option or <code>null</code>
+     */
+    public ExpandOption getChildExpand(final int index) {
+      return childExpands.get(index);
+    }
+
+    /**
+     * Gets the number of levels to expand for the navigation property at the given index.
+     * @param index the index
+     * @return the number of levels or <code>null</code> if they are not restricted by a $levels option
+     */
+    public Integer getLevels(final int index) {
+      return levels.get(index);
+    }
+  }
+}
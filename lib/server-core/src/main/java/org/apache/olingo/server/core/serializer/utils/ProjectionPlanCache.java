@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.olingo.commons.api.edm.EdmStructuredType;
+import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
+import org.apache.olingo.server.api.uri.queryoption.SelectOption;
+
+/**
+ * <p>Cache of {@link ProjectionPlan}s, held by a serializer.</p>
+ * <p>Plans are identified by the instances of the type and of the system query options,
+ * so a plan is created once per request (or once per cached URI) and type.
+ * The cache is thread-safe and bounded; it is cleared when it is full.</p>
+ */
+public class ProjectionPlanCache {
+
+  private static final int MAX_SIZE = 256;
+
+  private final ConcurrentMap<Key, ProjectionPlan> plans = new ConcurrentHashMap<Key, ProjectionPlan>();
+
+  /**
+   * Gets the projection plan for the given type and options.
+   * @param type the structured type
+   * @param select the $select option (can be <code>null</code>)
+   * @param expand the $expand option (can be <code>null</code>)
+   * @return the plan
+   */
+  public ProjectionPlan get(final EdmStructuredType type, final SelectOption select, final ExpandOption expand) {
+    final Key key = new Key(type, select, expand);
+    ProjectionPlan plan = plans.get(key);
+    if (plan == null) {
+      plan = new ProjectionPlan(type, select, expand);
+      if (plans.size() >= MAX_SIZE) {
+        plans.clear();
+      }
+      plans.put(key, plan);
+    }
+    return plan;
+  }
+
+  private static final class Key {
+    private final EdmStructuredType type;
+    private final SelectOption select;
+    private final ExpandOption expand;
+
+    private Key(final EdmStructuredType type, final SelectOption select, final ExpandOption expand) {
+      this.type = type;
+      this.select = select;
+      this.expand = expand;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return type == other.type && select == other.select && expand == other.expand;
+    }
+
+    @Override
+    public int hashCode() {
+      return (System.identityHashCode(type) * 31 + System.identityHashCode(select)) * 31
+          + System.identityHashCode(expand);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Shared factories for the JSON generators and XML stream writers used by the serializers.
+ * <p>
+ * Both factories are thread-safe once configured, so they are created only once instead of for every
+ * serializer call; this avoids the symbol table set-up of the {@link JsonFactory} and the service lookup of
+ * {@link XMLOutputFactory#newInstance()}. The JSON factory recycles the internal buffers of its generators
+ * per thread via Jackson's <code>BufferRecycler</code>.
+ * </p>
+ * <p>
+ * The XML output factory is looked up with the standard StAX mechanism (Aalto, if it is on the class path)
+ * and can be replaced by another StAX implementation via {@link #setXmlOutputFactory(XMLOutputFactory)}.
+ * </p>
+ */
+public final class SerializerFactories {
+
+  private static final JsonFactory JSON_FACTORY =
+      new JsonFactory().enable(JsonFactory.Feature.USE_THREAD_LOCAL_FOR_BUFFER_RECYCLING);
+
+  private static volatile XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+
+  private SerializerFactories() {
+    // Private constructor for utility classes
+  }
+
+  /**
+   * Gets the shared JSON factory.
+   * @return the JSON factory
+   */
+  public static JsonFactory getJsonFactory() {
+    return JSON_FACTORY;
+  }
+
+  /**
+   * Creates a JSON generator writing UTF-8 into the given output stream.
+   * @param outputStream the output stream
+   * @return the JSON generator
+   * @throws IOException if the generator can not be created
+   */
+  public static JsonGenerator createJsonGenerator(final OutputStream outputStream) throws IOException {
+    return JSON_FACTORY.createGenerator(outputStream);
+  }
+
+  /**
+   * Gets the shared XML output factory.
+   * @return the XML output factory
+   */
+  public static XMLOutputFactory getXmlOutputFactory() {
+    return xmlOutputFactory;
+  }
+
+  /**
+   * Replaces the shared XML output factory, e.g., to use a specific StAX implementation.
+   * The factory must not be re-configured afterwards because it is used concurrently.
+   * @param factory the XML output factory
+   */
+  public static void setXmlOutputFactory(final XMLOutputFactory factory) {
+    if (factory == null) {
+      throw new IllegalArgumentException("XML output factory must not be null.");
+    }
+    xmlOutputFactory = factory;
+  }
+
+  /**
+   * Creates an XML stream writer writing into the given output stream.
+   * @param outputStream the output stream
+   * @param charset the character encoding
+   * @return the XML stream writer
+   * @throws XMLStreamException if the writer can not be created
+   */
+  public static XMLStreamWriter createXmlStreamWriter(final OutputStream outputStream, final String charset)
+      throws XMLStreamException {
+    return xmlOutputFactory.createXMLStreamWriter(outputStream, charset);
+  }
+}
@@ -27,7 +27,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
@@ -42,6 +41,7 @@ import org.apache.olingo.commons.api.data.Link;
 import org.apache.olingo.commons.api.data.Linked;
 import org.apache.olingo.commons.api.data.Operation;
 import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.PropertyList;
 import org.apache.olingo.commons.api.edm.EdmComplexType;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
@@ -72,7 +72,6 @@ import org.apache.olingo.server.api.uri.UriHelper;
 import org.apache.olingo.server.api.uri.queryoption.CountOption;
 import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
 import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
-import org.apache.olingo.server.api.uri.queryoption.LevelsExpandOption;
 import org.apache.olingo.server.api.uri.queryoption.SelectOption;
 import org.apache.olingo.server.core.ODataWritableContent;
 import org.apache.olingo.server.core.serializer.AbstractODataSerializer;
@@ -80,8 +79,11 @@ import org.apache.olingo.server.core.serializer.SerializerResultImpl;
 import org.apache.olingo.server.core.serializer.utils.CircleStreamBuffer;
 import org.apache.olingo.server.core.serializer.utils.ContextURLBuilder;
 import org.apache.olingo.server.core.serializer.utils.ExpandSelectHelper;
+import org.apache.olingo.server.core.serializer.utils.ProjectionPlan;
+import org.apache.olingo.server.core.serializer.utils.ProjectionPlan.NavigationPlan;
+import org.apache.olingo.server.core.serializer.utils.ProjectionPlanCache;
+import org.apache.olingo.server.core.serializer.utils.SerializerFactories;
 import org.apache.olingo.server.core.uri.UriHelperImpl;
-import org.apache.olingo.server.core.uri.queryoption.ExpandOptionImpl;
 
 public class ODataXmlSerializer extends AbstractODataSerializer {
 
@@ -92,6 +94,10 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
   private static final String NS_METADATA = Constants.NS_METADATA;
   private static final String DATA = Constants.PREFIX_DATASERVICES;
   private static final String NS_DATA = Constants.NS_DATASERVICES;
+  /** Number of entities after which a streamed feed is flushed to the client. */
+  private static final int STREAM_FLUSH_INTERVAL = 50;
+
+  private final ProjectionPlanCache projectionPlans = new ProjectionPlanCache();
 
   @Override
   public SerializerResult serviceDocument(final ServiceMetadata metadata, final String serviceRoot)
@@ -101,7 +107,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
       ServiceDocumentXmlSerializer serializer = new ServiceDocumentXmlSerializer(metadata, serviceRoot);
       serializer.writeServiceDocument(writer);
 
@@ -130,7 +136,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
       MetadataDocumentXmlSerializer serializer = new MetadataDocumentXmlSerializer(serviceMetadata);
       serializer.writeMetadataDocument(writer);
 
@@ -164,7 +170,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
       writer.writeStartDocument(DEFAULT_CHARSET, "1.0");
 
       writer.writeStartElement("error");
@@ -236,7 +242,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
       writer.writeStartDocument(DEFAULT_CHARSET, "1.0");
       writer.writeStartElement(ATOM, Constants.ATOM_ELEM_FEED, NS_ATOM);
       writer.writeNamespace(ATOM, NS_ATOM);
@@ -298,7 +304,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     final String name = contextURL == null ? null : contextURL.getEntitySetOrSingletonOrType();
     SerializerException cachedException;
     try {
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
       writer.writeStartDocument(DEFAULT_CHARSET, "1.0");
       writer.writeStartElement(ATOM, Constants.ATOM_ELEM_FEED, NS_ATOM);
       writer.writeNamespace(ATOM, NS_ATOM);
@@ -315,20 +321,32 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
         writer.writeEndElement();
       }
 
-      if (options != null && options.getCount() != null && options.getCount().getValue()
-          && entitySet.getCount() != null) {
+      // Count and next link are written up front if already known; otherwise the iterator
+      // gets the chance to provide them while it is consumed and they follow the entries.
+      final boolean countRequested = options != null && options.getCount() != null && options.getCount().getValue();
+      boolean countWritten = false;
+      if (countRequested && entitySet.getCount() != null) {
         writeCount(entitySet, writer);
+        countWritten = true;
       }
-      if (entitySet!=null && entitySet.getNext() != null) {
+      boolean nextWritten = false;
+      if (entitySet.getNext() != null) {
         writeNextLink(entitySet, writer);
+        nextWritten = true;
       }
       boolean writeOnlyRef = (options != null && options.getWriteOnlyReferences());
       if (options == null) {
-        writeEntitySet(metadata, entityType, entitySet, null, null, null, null, writer, writeOnlyRef, name, null);
+        writeStreamedEntitySet(metadata, entityType, entitySet, null, null, null, writer, writeOnlyRef, name,
+            outputStream);
       } else {
-        writeEntitySet(metadata, entityType, entitySet,
-            options.getExpand(), null, 
-            options.getSelect(), options.xml10InvalidCharReplacement(), writer, writeOnlyRef, name, null);
+        writeStreamedEntitySet(metadata, entityType, entitySet, options.getExpand(), options.getSelect(),
+            options.xml10InvalidCharReplacement(), writer, writeOnlyRef, name, outputStream);
+      }
+      if (countRequested && !countWritten && entitySet.getCount() != null) {
+        writeCount(entitySet, writer);
+      }
+      if (!nextWritten && entitySet.getNext() != null) {
+        writeNextLink(entitySet, writer);
       }
 
       writer.writeEndElement();
@@ -339,6 +357,31 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
       cachedException =
           new SerializerException(IO_EXCEPTION_TEXT, e, SerializerException.MessageKeys.IO_EXCEPTION);
       throw cachedException;
+    } catch (final IOException e) {
+      cachedException =
+          new SerializerException(IO_EXCEPTION_TEXT, e, SerializerException.MessageKeys.IO_EXCEPTION);
+      throw cachedException;
+    }
+  }
+
+  /**
+   * Writes the entities of a streamed collection and pushes the written content
+   * to the output stream every {@link #STREAM_FLUSH_INTERVAL} entities,
+   * so that clients receive the first entries before the iteration has finished.
+   */
+  private void writeStreamedEntitySet(final ServiceMetadata metadata, final EdmEntityType entityType,
+      final EntityIterator entitySet, final ExpandOption expand, final SelectOption select,
+      final String xml10InvalidCharReplacement, final XMLStreamWriter writer,
+      final boolean writeOnlyRef, final String name, final OutputStream outputStream)
+      throws XMLStreamException, SerializerException, IOException {
+    int written = 0;
+    while (entitySet.hasNext()) {
+      writeEntity(metadata, entityType, entitySet.next(), null, expand, null, select,
+          xml10InvalidCharReplacement, writer, false, writeOnlyRef, name, null);
+      if (++written % STREAM_FLUSH_INTERVAL == 0) {
+        writer.flush();
+        outputStream.flush();
+      }
     }
   }
 
@@ -363,7 +406,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
       writer.writeStartDocument(DEFAULT_CHARSET, "1.0");
       writeEntity(metadata, entityType, entity, contextURL,
           options == null ? null : options.getExpand(),
@@ -629,31 +672,13 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
       final List<Property> properties, final SelectOption select, final String xml10InvalidCharReplacement, 
       final XMLStreamWriter writer, Linked linked, ExpandOption expand) 
           throws XMLStreamException, SerializerException {
-    final boolean all = ExpandSelectHelper.isAll(select);
-    final Set<String> selected = all ? new HashSet<String>() :
-        ExpandSelectHelper.getSelectedPropertyNames(select.getSelectItems());
-    addKeyPropertiesToSelected(selected, type);
-    Set<List<String>> expandedPaths = ExpandSelectHelper.getExpandedItemsPath(expand);
-    for (final String propertyName : type.getPropertyNames()) {
-      if (all || selected.contains(propertyName)) {
-        final EdmProperty edmProperty = type.getStructuralProperty(propertyName);
-        final Property property = findProperty(propertyName, properties);
-        final Set<List<String>> selectedPaths = all || edmProperty.isPrimitive() ? null :
-            ExpandSelectHelper.getSelectedPaths(select.getSelectItems(), propertyName);
-        writeProperty(metadata, edmProperty, property, selectedPaths, 
-            xml10InvalidCharReplacement, writer, expandedPaths, linked, expand);
-      }
-    }
-  }
-
-  private void addKeyPropertiesToSelected(Set<String> selected, EdmStructuredType type) {
-    if (!selected.isEmpty() && type instanceof EdmEntityType) {
-      List<String> keyNames = ((EdmEntityType) type).getKeyPredicateNames();
-      for (String key : keyNames) {
-        if (!selected.contains(key)) {
-          selected.add(key);
-        }
-      }
+    final ProjectionPlan plan = projectionPlans.get(type, select, expand);
+    final List<EdmProperty> edmProperties = plan.getProperties();
+    for (int index = 0; index < edmProperties.size(); index++) {
+      final EdmProperty edmProperty = edmProperties.get(index);
+      final Property property = findProperty(edmProperty.getName(), properties);
+      writeProperty(metadata, edmProperty, property, plan.getSelectedPaths(index),
+          xml10InvalidCharReplacement, writer, plan.getExpandedPaths(), linked, expand);
     }
   }
   
@@ -662,30 +687,15 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
       final String xml10InvalidCharReplacement, final Set<String> ancestors, String name, final XMLStreamWriter writer) 
           throws SerializerException, XMLStreamException {
     if ((toDepth != null && toDepth > 1) || (toDepth == null && ExpandSelectHelper.hasExpand(expand))) {
-      final ExpandItem expandAll = ExpandSelectHelper.getExpandAll(expand);
-      for (final String propertyName : type.getNavigationPropertyNames()) {
-        final ExpandItem innerOptions = ExpandSelectHelper.getExpandItemBasedOnType(expand.getExpandItems(), 
-            propertyName, type, name);
-        if (expandAll != null || innerOptions != null || toDepth != null) {
-          Integer levels = null;
-          final EdmNavigationProperty property = type.getNavigationProperty(propertyName);
+      final NavigationPlan plan = projectionPlans.get(type, null, expand).getNavigationPlan(name);
+      for (int index = 0; index < plan.size(); index++) {
+        final String propertyName = plan.getProperty(index).getName();
+        if (plan.isExpanded(index) || toDepth != null) {
+          final ExpandItem innerOptions = plan.getExpandItem(index);
+          final EdmNavigationProperty property = plan.getProperty(index);
           final Link navigationLink = getOrCreateLink(linked, propertyName);
-          ExpandOption childExpand = null;
-          LevelsExpandOption levelsOption = null;
-          if (innerOptions != null) {
-            levelsOption = innerOptions.getLevelsOption();
-            childExpand = levelsOption == null ? innerOptions.getExpandOption() :
-              new ExpandOptionImpl().addExpandItem(innerOptions);
-          } else if (expandAll != null) {
-            levels = 1;
-            levelsOption = expandAll.getLevelsOption();
-            childExpand = new ExpandOptionImpl().addExpandItem(expandAll);
-          } 
-          
-          if (levelsOption != null) {
-            levels = levelsOption.isMax() ? Integer.MAX_VALUE :
-              levelsOption.getValue();
-          }
+          Integer levels = plan.getLevels(index);
+          ExpandOption childExpand = plan.getChildExpand(index);
           if (toDepth != null) {
             levels = toDepth - 1;
             childExpand = expand;
@@ -1031,6 +1041,9 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
   }
 
   private Property findProperty(final String propertyName, final List<Property> properties) {
+    if (properties instanceof PropertyList) {
+      return ((PropertyList) properties).getProperty(propertyName);
+    }
     for (final Property property : properties) {
       if (propertyName.equals(property.getName())) {
         return property;
@@ -1049,7 +1062,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
 
       writer.writeStartDocument(DEFAULT_CHARSET, "1.0");
       writer.writeStartElement(METADATA, Constants.VALUE, NS_METADATA);
@@ -1120,7 +1133,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
       }
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
       writer.writeStartDocument(DEFAULT_CHARSET, "1.0");
       writer.writeStartElement(METADATA, Constants.VALUE, NS_METADATA);
       writer.writeNamespace(METADATA, NS_METADATA);
@@ -1169,7 +1182,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
 
       writer.writeStartDocument(DEFAULT_CHARSET, "1.0");
       writer.writeStartElement(METADATA, Constants.VALUE, NS_METADATA);
@@ -1223,7 +1236,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
       writer.writeStartDocument(DEFAULT_CHARSET, "1.0");
       writer.writeStartElement(METADATA, Constants.VALUE, NS_METADATA);
       writer.writeNamespace(METADATA, NS_METADATA);
@@ -1279,7 +1292,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
       writer.writeStartDocument(DEFAULT_CHARSET, "1.0");
       writeReference(entity, options == null ? null : options.getContextURL(), writer, true);
       writer.writeEndDocument();
@@ -1330,7 +1343,7 @@ public class ODataXmlSerializer extends AbstractODataSerializer {
     try {
       CircleStreamBuffer buffer = new CircleStreamBuffer();
       outputStream = buffer.getOutputStream();
-      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, DEFAULT_CHARSET);
+      XMLStreamWriter writer = SerializerFactories.createXmlStreamWriter(outputStream, DEFAULT_CHARSET);
       writer.writeStartDocument(DEFAULT_CHARSET, "1.0");
       writer.writeStartElement(ATOM, Constants.ATOM_ELEM_FEED, NS_ATOM);
       writer.writeNamespace(ATOM, NS_ATOM);
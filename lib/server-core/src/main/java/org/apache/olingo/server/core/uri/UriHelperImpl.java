@@ -22,6 +22,7 @@ import java.util.List;
 
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.PropertyList;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
@@ -131,6 +132,9 @@ public class UriHelperImpl implements UriHelper {
   }
 
   private Property findProperty(final String propertyName, final List<Property> properties) {
+    if (properties instanceof PropertyList) {
+      return ((PropertyList) properties).getProperty(propertyName);
+    }
     for (final Property property : properties) {
       if (propertyName.equals(property.getName())) {
         return property;
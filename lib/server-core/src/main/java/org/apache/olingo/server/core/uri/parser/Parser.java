@@ -85,13 +85,39 @@ public class Parser {
 
   private final Edm edm;
   private final OData odata;
+  private final UriInfoCache uriInfoCache;
 
   public Parser(final Edm edm, final OData odata) {
+    this(edm, odata, null);
+  }
+
+  /**
+   * Creates a parser that looks up and stores the parsed resource URIs in the given cache.
+   * @param edm the entity data model
+   * @param odata the OData instance
+   * @param uriInfoCache the cache of parsed resource URIs (can be <code>null</code>)
+   */
+  public Parser(final Edm edm, final OData odata, final UriInfoCache uriInfoCache) {
     this.edm = edm;
     this.odata = odata;
+    this.uriInfoCache = uriInfoCache;
+  }
+
+  public UriInfo parseUri(final String path, final String query, final String fragment, final String baseUri)
+      throws UriParserException, UriValidationException {
+    final UriInfoCache.Key key = uriInfoCache == null ? null : uriInfoCache.createKey(path, query, fragment);
+    if (key == null) {
+      return parse(path, query, fragment, baseUri);
+    }
+    UriInfo uriInfo = uriInfoCache.get(key, edm);
+    if (uriInfo == null) {
+      uriInfo = parse(path, query, fragment, baseUri);
+      uriInfoCache.put(key, uriInfo, edm);
+    }
+    return uriInfo;
   }
 
-  public UriInfo parseUri(final String path, final String query, final String fragment, String baseUri)
+  private UriInfo parse(final String path, final String query, final String fragment, String baseUri)
       throws UriParserException, UriValidationException {
 
     UriInfoImpl contextUriInfo = new UriInfoImpl();
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.server.api.OlingoExtension;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriInfoKind;
+import org.apache.olingo.server.api.uri.UriParameter;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.queryoption.AliasQueryOption;
+import org.apache.olingo.server.core.uri.UriInfoImpl;
+import org.apache.olingo.server.core.uri.UriResourceComplexPropertyImpl;
+import org.apache.olingo.server.core.uri.UriResourceCountImpl;
+import org.apache.olingo.server.core.uri.UriResourceEntitySetImpl;
+import org.apache.olingo.server.core.uri.UriResourceNavigationPropertyImpl;
+import org.apache.olingo.server.core.uri.UriResourcePrimitivePropertyImpl;
+import org.apache.olingo.server.core.uri.UriResourceRefImpl;
+import org.apache.olingo.server.core.uri.UriResourceSingletonImpl;
+import org.apache.olingo.server.core.uri.UriResourceTypedImpl;
+import org.apache.olingo.server.core.uri.UriResourceValueImpl;
+import org.apache.olingo.server.core.uri.UriResourceWithKeysImpl;
+import org.apache.olingo.server.core.uri.parser.UriTokenizer.TokenKind;
+import org.apache.olingo.server.core.uri.validator.UriValidationException;
+
+/**
+ * Bounded, thread-safe LRU cache of parsed resource URIs.
+ * <p>
+ * The cache key is built from the decoded path segments with the contents of key predicates replaced by
+ * a placeholder, together with the fragment. So <code>ESAllPrim(1)</code> and <code>ESAllPrim(2)</code>
+ * share one cached template. For a cache hit, only the key predicates of the request are parsed (and
+ * validated against the key properties); every resource part of the returned {@link UriInfo} is a new
+ * instance, so nothing mutable is shared between requests.
+ * </p>
+ * <p>
+ * Only URIs of kind {@link UriInfoKind#resource} without query are cached where every path segment is
+ * an entity set, singleton, navigation property, primitive or complex property, <code>$count</code>,
+ * <code>$value</code>, or <code>$ref</code>, no path segment is namespace-qualified, and no key predicate
+ * refers to an alias. The cache is split into independently locked stripes, each of them evicting its
+ * least-recently used entry.
+ * </p>
+ * <p>
+ * URI caching is disabled by default. To enable it, create one cache per service and register it
+ * at every handler of the service, see {@link org.apache.olingo.server.api.ODataHandler#register(OlingoExtension)}.
+ * The cached templates belong to the {@link Edm} they have been parsed with; a template is used only
+ * for requests with the same {@link Edm} instance, so the cache hits only if the service metadata
+ * are not created anew for each request.
+ * </p>
+ */
+public class UriInfoCache implements OlingoExtension {
+
+  private static final int STRIPES = 16;
+
+  private final List<Map<Key, Template>> stripes;
+
+  /**
+   * Creates a cache.
+   * @param maxSize maximum number of cached URI templates
+   */
+  public UriInfoCache(final int maxSize) {
+    final int maxStripeSize = Math.max(1, (maxSize + STRIPES - 1) / STRIPES);
+    stripes = new ArrayList<Map<Key, Template>>(STRIPES);
+    for (int i = 0; i < STRIPES; i++) {
+      stripes.add(new LinkedHashMap<Key, Template>(16, 0.75F, true) {
+        private static final long serialVersionUID = 2847532876218743915L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Template> eldest) {
+          return size() > maxStripeSize;
+        }
+      });
+    }
+  }
+
+  /**
+   * Creates the cache key for a request URI.
+   * @param path the resource path
+   * @param query the query (can be <code>null</code>)
+   * @param fragment the fragment (can be <code>null</code>)
+   * @return the key, or <code>null</code> if the URI is not cacheable
+   * @throws UriParserSyntaxException if the path can not be decoded
+   */
+  public Key createKey(final String path, final String query, final String fragment)
+      throws UriParserSyntaxException {
+    if (query != null && !query.isEmpty()) {
+      // Query options are mutable objects; they are not shared between requests.
+      return null;
+    }
+    final List<String> segments = UriDecoder.splitAndDecodePath(path);
+    if (segments.size() > 1 && segments.get(0).isEmpty()) {
+      segments.remove(0);
+    }
+    final List<String> keyPredicates = new ArrayList<String>(segments.size());
+    for (int i = 0; i < segments.size(); i++) {
+      final String segment = segments.get(i);
+      final int open = segment.indexOf('(');
+      if (open > 0 && segment.charAt(segment.length() - 1) == ')' && isIdentifier(segment, open)) {
+        final String keyPredicate = segment.substring(open);
+        if (keyPredicate.indexOf('@') >= 0) {
+          return null;
+        }
+        keyPredicates.add(keyPredicate);
+        segments.set(i, segment.substring(0, open) + "()");
+      } else {
+        keyPredicates.add(null);
+      }
+    }
+    return new Key(segments, keyPredicates, fragment);
+  }
+
+  /**
+   * Gets the parsed URI for the given key, with the key predicates of the key.
+   * @param key the cache key
+   * @param edm the entity data model
+   * @return a new {@link UriInfo} instance, or <code>null</code> if the cache does not contain the key
+   * @throws UriParserException if a key predicate is not valid
+   * @throws UriValidationException if a key predicate is not valid
+   */
+  public UriInfo get(final Key key, final Edm edm) throws UriParserException, UriValidationException {
+    final Map<Key, Template> stripe = getStripe(key);
+    Template template;
+    synchronized (stripe) {
+      template = stripe.get(key);
+    }
+    return template == null || template.edm != edm ? null : bind(template, key, edm);
+  }
+
+  /**
+   * Stores the parsed URI for the given key if it is cacheable.
+   * Only the EDM elements of the resource parts are kept, so the parsed URI can be modified afterwards.
+   * @param key the cache key
+   * @param uriInfo the parsed URI
+   * @param edm the entity data model the URI has been parsed with
+   */
+  public void put(final Key key, final UriInfo uriInfo, final Edm edm) {
+    if (isCacheable(key, uriInfo)) {
+      final Template template = new Template(edm, new ArrayList<UriResource>(uriInfo.getUriResourceParts()));
+      final Map<Key, Template> stripe = getStripe(key);
+      synchronized (stripe) {
+        stripe.put(key, template);
+      }
+    }
+  }
+
+  /**
+   * Gets the number of cached URI templates.
+   * @return the size of the cache
+   */
+  public int size() {
+    int size = 0;
+    for (final Map<Key, Template> stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.size();
+      }
+    }
+    return size;
+  }
+
+  private Map<Key, Template> getStripe(final Key key) {
+    return stripes.get((key.hashCode() & Integer.MAX_VALUE) % STRIPES);
+  }
+
+  private boolean isCacheable(final Key key, final UriInfo uriInfo) {
+    if (uriInfo.getKind() != UriInfoKind.resource || uriInfo.getEntityTypeCast() != null) {
+      return false;
+    }
+    final List<UriResource> parts = uriInfo.getUriResourceParts();
+    if (parts.size() != key.segments.size()) {
+      return false;
+    }
+    for (int i = 0; i < parts.size(); i++) {
+      final UriResource part = parts.get(i);
+      if (key.segments.get(i).indexOf('.') >= 0) {
+        return false;
+      }
+      if (part instanceof UriResourceEntitySetImpl || part instanceof UriResourceNavigationPropertyImpl) {
+        final UriResourceWithKeysImpl partWithKeys = (UriResourceWithKeysImpl) part;
+        if ((key.keyPredicates.get(i) == null) != partWithKeys.getKeyPredicates().isEmpty()
+            || partWithKeys.getTypeFilterOnCollection() != null
+            || partWithKeys.getTypeFilterOnEntry() != null) {
+          return false;
+        }
+      } else if (key.keyPredicates.get(i) != null
+          || !(part instanceof UriResourceSingletonImpl
+          || part instanceof UriResourcePrimitivePropertyImpl
+          || part instanceof UriResourceComplexPropertyImpl
+          || part instanceof UriResourceCountImpl
+          || part instanceof UriResourceValueImpl
+          || part instanceof UriResourceRefImpl)
+          || part instanceof UriResourceTypedImpl && ((UriResourceTypedImpl) part).getTypeFilter() != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private UriInfo bind(final Template template, final Key key, final Edm edm)
+      throws UriParserException, UriValidationException {
+    final Map<String, AliasQueryOption> noAliases = Collections.emptyMap();
+    final UriInfoImpl uriInfo = new UriInfoImpl().setKind(UriInfoKind.resource);
+    for (int i = 0; i < template.parts.size(); i++) {
+      final UriResource part = template.parts.get(i);
+      final String keyPredicate = key.keyPredicates.get(i);
+      if (part instanceof UriResourceEntitySetImpl) {
+        final UriResourceEntitySetImpl entitySetResource =
+            new UriResourceEntitySetImpl(((UriResourceEntitySetImpl) part).getEntitySet());
+        if (keyPredicate != null) {
+          final UriTokenizer tokenizer = new UriTokenizer(keyPredicate);
+          ParserHelper.requireNext(tokenizer, TokenKind.OPEN);
+          final List<UriParameter> keys =
+              ParserHelper.parseKeyPredicate(tokenizer, entitySetResource.getEntityType(), null, edm, null, noAliases);
+          ParserHelper.requireTokenEnd(tokenizer);
+          entitySetResource.setKeyPredicates(keys);
+        }
+        uriInfo.addResourcePart(entitySetResource);
+      } else if (part instanceof UriResourceNavigationPropertyImpl) {
+        final UriResourceNavigationPropertyImpl navigationResource =
+            new UriResourceNavigationPropertyImpl(((UriResourceNavigationPropertyImpl) part).getProperty());
+        if (keyPredicate != null) {
+          final UriTokenizer tokenizer = new UriTokenizer(keyPredicate);
+          final List<UriParameter> keys =
+              ParserHelper.parseNavigationKeyPredicate(tokenizer, navigationResource.getProperty(), edm, null,
+                  noAliases);
+          ParserHelper.requireTokenEnd(tokenizer);
+          navigationResource.setKeyPredicates(keys);
+        }
+        uriInfo.addResourcePart(navigationResource);
+      } else if (part instanceof UriResourceSingletonImpl) {
+        uriInfo.addResourcePart(new UriResourceSingletonImpl(((UriResourceSingletonImpl) part).getSingleton()));
+      } else if (part instanceof UriResourcePrimitivePropertyImpl) {
+        uriInfo.addResourcePart(
+            new UriResourcePrimitivePropertyImpl(((UriResourcePrimitivePropertyImpl) part).getProperty()));
+      } else if (part instanceof UriResourceComplexPropertyImpl) {
+        uriInfo.addResourcePart(
+            new UriResourceComplexPropertyImpl(((UriResourceComplexPropertyImpl) part).getProperty()));
+      } else if (part instanceof UriResourceCountImpl) {
+        uriInfo.addResourcePart(new UriResourceCountImpl());
+      } else if (part instanceof UriResourceValueImpl) {
+        uriInfo.addResourcePart(new UriResourceValueImpl());
+      } else {
+        uriInfo.addResourcePart(new UriResourceRefImpl());
+      }
+    }
+    uriInfo.setFragment(key.fragment);
+    return uriInfo;
+  }
+
+  private static boolean isIdentifier(final String segment, final int end) {
+    for (int i = 0; i < end; i++) {
+      final char c = segment.charAt(i);
+      if (!(Character.isLetterOrDigit(c) || c == '_')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Key of a cached URI template.
+   */
+  public static final class Key {
+    private final List<String> segments;
+    private final List<String> keyPredicates;
+    private final String fragment;
+    private final int hashCode;
+
+    private Key(final List<String> segments, final List<String> keyPredicates, final String fragment) {
+      this.segments = segments;
+      this.keyPredicates = keyPredicates;
+      this.fragment = fragment;
+      hashCode = 31 * segments.hashCode() + (fragment == null ? 0 : fragment.hashCode());
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return hashCode == other.hashCode
+          && segments.equals(other.segments)
+          && (fragment == null ? other.fragment == null : fragment.equals(other.fragment));
+    }
+  }
+
+  /**
+   * Cached URI template: the resource parts parsed with an entity data model.
+   * Only their EDM elements are used, so they are never handed out.
+   */
+  private static final class Template {
+    private final Edm edm;
+    private final List<UriResource> parts;
+
+    private Template(final Edm edm, final List<UriResource> parts) {
+      this.edm = edm;
+      this.parts = parts;
+    }
+  }
+}
@@ -19,17 +19,30 @@
 package org.apache.olingo.netty.server.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
 import org.apache.olingo.commons.api.http.HttpMethod;
 import org.apache.olingo.server.api.ODataLibraryException;
 import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
 import org.junit.Test;
 
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.LastHttpContent;
 
 public class ODataNettyHandlerImplTest {
 
@@ -157,4 +170,63 @@ public class ODataNettyHandlerImplTest {
       assertEquals(rawServiceResolutionUri, odr.getRawServiceResolutionUri());
     }
   }
+
+  @Test
+  public void writeChunkedContent() {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 3 * ODataNettyHandlerImpl.COPY_BUFFER_SIZE; i++) {
+      content.append((char) ('a' + i % 26));
+    }
+    ODataResponse odResponse = new ODataResponse();
+    odResponse.setContent(new ByteArrayInputStream(content.toString().getBytes(Charset.forName("UTF-8"))));
+
+    ODataNettyHandlerImpl.writeChunkedContent(odResponse, channel.pipeline().firstContext());
+
+    StringBuilder written = new StringBuilder();
+    int chunks = 0;
+    Object message;
+    while ((message = channel.readOutbound()) != null) {
+      HttpContent chunk = (HttpContent) message;
+      assertTrue(chunk.content().readableBytes() <= ODataNettyHandlerImpl.COPY_BUFFER_SIZE);
+      written.append(chunk.content().toString(Charset.forName("UTF-8")));
+      chunk.release();
+      chunks++;
+    }
+    assertEquals(content.toString(), written.toString());
+    // three full chunks plus the last (empty) chunk
+    assertEquals(4, chunks);
+  }
+
+  @Test
+  public void writeChunkedContentAbortsOnError() {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    final byte[] content = new byte[2 * ODataNettyHandlerImpl.COPY_BUFFER_SIZE];
+    ODataResponse odResponse = new ODataResponse();
+    odResponse.setContent(new InputStream() {
+      private int position = 0;
+
+      @Override
+      public int read() throws IOException {
+        if (position < content.length) {
+          return content[position++];
+        }
+        throw new IOException("broken");
+      }
+    });
+
+    try {
+      ODataNettyHandlerImpl.writeChunkedContent(odResponse, channel.pipeline().firstContext());
+      fail("Expected exception not thrown");
+    } catch (final ODataRuntimeException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    }
+
+    Object message;
+    while ((message = channel.readOutbound()) != null) {
+      assertFalse(message instanceof LastHttpContent);
+      ((HttpContent) message).release();
+    }
+    assertFalse(channel.isOpen());
+  }
 }
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.compression.DefaultResponseCompressionSupport;
+import org.apache.olingo.server.api.compression.ResponseCompressionSupport;
+import org.apache.olingo.server.api.serializer.RenderedDocument;
+import org.junit.Test;
+
+public class CompressingOutputStreamTest {
+
+  private final ResponseCompressionSupport support = new DefaultResponseCompressionSupport();
+
+  @Test
+  public void negotiateEncoding() {
+    assertEquals(CompressingOutputStream.GZIP, negotiate("gzip, deflate"));
+    assertEquals(CompressingOutputStream.GZIP, negotiate("deflate;q=0.5,gzip"));
+    assertEquals(CompressingOutputStream.DEFLATE, negotiate("gzip;q=0.5, deflate"));
+    assertEquals(CompressingOutputStream.DEFLATE, negotiate("gzip;q=0,*"));
+    assertEquals(CompressingOutputStream.GZIP, negotiate("*"));
+    assertNull(negotiate("gzip;q=0"));
+    assertNull(negotiate("identity"));
+    assertNull(negotiate(null));
+  }
+
+  @Test
+  public void negotiateEncodingOfUncompressibleResponse() {
+    ODataResponse response = createResponse("application/octet-stream");
+    assertNull(CompressingOutputStream.negotiateEncoding(support, Collections.singletonList("gzip"), response));
+    assertNull(response.getHeader(HttpHeader.VARY));
+
+    response = createResponse("application/json");
+    response.setHeader(HttpHeader.CONTENT_ENCODING, "gzip");
+    assertNull(CompressingOutputStream.negotiateEncoding(support, Collections.singletonList("gzip"), response));
+
+    response = createResponse("application/json");
+    response.setStatusCode(304);
+    assertNull(CompressingOutputStream.negotiateEncoding(support, Collections.singletonList("gzip"), response));
+    assertEquals(HttpHeader.ACCEPT_ENCODING, response.getHeader(HttpHeader.VARY));
+
+    assertNull(CompressingOutputStream.negotiateEncoding(null, Collections.singletonList("gzip"),
+        createResponse("application/json")));
+  }
+
+  @Test
+  public void negotiateEncodingAddsVary() {
+    ODataResponse response = createResponse("application/json;odata.metadata=minimal");
+    assertNull(CompressingOutputStream.negotiateEncoding(support, null, response));
+    assertEquals(HttpHeader.ACCEPT_ENCODING, response.getHeader(HttpHeader.VARY));
+
+    response = createResponse("application/xml");
+    response.setHeader(HttpHeader.VARY, "Accept, Accept-Encoding");
+    assertEquals(CompressingOutputStream.GZIP,
+        CompressingOutputStream.negotiateEncoding(support, Arrays.asList("br", "gzip"), response));
+    assertEquals(1, response.getHeaders(HttpHeader.VARY).size());
+  }
+
+  @Test
+  public void renderedDocumentSentGzipped() throws Exception {
+    final byte[] document = new byte[4096];
+    Arrays.fill(document, (byte) 'a');
+    ODataResponse response = createResponse("application/xml");
+    response.setContent(new RenderedDocument(document).getContent());
+    response.setHeader(HttpHeader.ETAG, "\"1\"");
+    assertNull(CompressingOutputStream.negotiateEncoding(support, Arrays.asList("x-gzip;q=0.8, deflate;q=0.5"),
+        response));
+    assertEquals(CompressingOutputStream.GZIP, response.getHeader(HttpHeader.CONTENT_ENCODING));
+    assertEquals("W/\"1\"", response.getHeader(HttpHeader.ETAG));
+    assertArrayEquals(document, IOUtils.toByteArray(new GZIPInputStream(response.getContent())));
+
+    response = createResponse("application/xml");
+    response.setContent(new RenderedDocument(document).getContent());
+    assertEquals(CompressingOutputStream.DEFLATE,
+        CompressingOutputStream.negotiateEncoding(support, Arrays.asList("gzip;q=0.5, deflate"), response));
+    assertNull(response.getHeader(HttpHeader.CONTENT_ENCODING));
+
+    // not without compression support
+    response = createResponse("application/xml");
+    response.setContent(new RenderedDocument(document).getContent());
+    assertNull(CompressingOutputStream.negotiateEncoding(null, Collections.singletonList("gzip"), response));
+    assertNull(response.getHeader(HttpHeader.CONTENT_ENCODING));
+    assertArrayEquals(document, IOUtils.toByteArray(response.getContent()));
+  }
+
+  @Test
+  public void compressedETag() {
+    assertEquals("W/\"1\"", CompressingOutputStream.getCompressedETag("\"1\""));
+    assertEquals("W/\"1\"", CompressingOutputStream.getCompressedETag("W/\"1\""));
+    assertNull(CompressingOutputStream.getCompressedETag(null));
+  }
+
+  @Test
+  public void belowMinimumSize() throws Exception {
+    final RecordingTarget target = new RecordingTarget();
+    final CompressingOutputStream stream =
+        new CompressingOutputStream(target, CompressingOutputStream.GZIP, -1, 10);
+    stream.write("0123456789".getBytes("UTF-8"));
+    stream.flush();
+    assertFalse(target.opened);
+    stream.close();
+    assertFalse(stream.isCompressing());
+    assertTrue(target.opened);
+    assertNull(target.contentEncoding);
+    assertEquals("0123456789", new String(target.output.toByteArray(), "UTF-8"));
+  }
+
+  @Test
+  public void deflate() throws Exception {
+    final byte[] content = new byte[5000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) ('a' + i % 7);
+    }
+    final RecordingTarget target = new RecordingTarget();
+    final CompressingOutputStream stream =
+        new CompressingOutputStream(target, CompressingOutputStream.DEFLATE, 9, 1024);
+    stream.write(content, 0, 1024);
+    assertFalse(target.opened);
+    stream.write(content[1024]);
+    assertTrue(stream.isCompressing());
+    assertEquals(CompressingOutputStream.DEFLATE, target.contentEncoding);
+    stream.write(content, 1025, content.length - 1025);
+    stream.close();
+
+    assertTrue(target.output.size() < content.length);
+    assertArrayEquals(content,
+        IOUtils.toByteArray(new InflaterInputStream(new ByteArrayInputStream(target.output.toByteArray()))));
+  }
+
+  private String negotiate(final String acceptEncoding) {
+    return CompressingOutputStream.negotiateEncoding(support,
+        acceptEncoding == null ? null : Collections.singletonList(acceptEncoding),
+        createResponse("application/json"));
+  }
+
+  private ODataResponse createResponse(final String contentType) {
+    ODataResponse response = new ODataResponse();
+    response.setStatusCode(200);
+    response.setHeader(HttpHeader.CONTENT_TYPE, contentType);
+    response.setContent(new ByteArrayInputStream(new byte[0]));
+    return response;
+  }
+
+  private static class RecordingTarget implements CompressingOutputStream.Target {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private boolean opened = false;
+    private String contentEncoding;
+
+    @Override
+    public OutputStream open(final String contentEncoding) {
+      opened = true;
+      this.contentEncoding = contentEncoding;
+      return output;
+    }
+  }
+}
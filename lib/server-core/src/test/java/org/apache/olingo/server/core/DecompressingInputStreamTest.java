@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.compression.DefaultRequestDecompressionSupport;
+import org.junit.Test;
+
+public class DecompressingInputStreamTest {
+
+  private static final String CONTENT = "{\"PropertyInt16\":1,\"PropertyString\":\"First Resource\"}";
+
+  @Test
+  public void gzip() throws Exception {
+    final ODataRequest request = createRequest("gzip", gzip(CONTENT.getBytes("UTF-8")));
+    DecompressingInputStream.decompress(new DefaultRequestDecompressionSupport(), request);
+    assertEquals(CONTENT, IOUtils.toString(request.getBody(), "UTF-8"));
+  }
+
+  @Test
+  public void deflate() throws Exception {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    DeflaterOutputStream output = new DeflaterOutputStream(compressed);
+    output.write(CONTENT.getBytes("UTF-8"));
+    output.close();
+    final ODataRequest request = createRequest("Deflate", compressed.toByteArray());
+    DecompressingInputStream.decompress(new DefaultRequestDecompressionSupport(), request);
+    assertEquals(CONTENT, IOUtils.toString(request.getBody(), "UTF-8"));
+  }
+
+  @Test
+  public void unchanged() throws Exception {
+    ODataRequest request = createRequest("gzip", new byte[0]);
+    final InputStream body = request.getBody();
+    DecompressingInputStream.decompress(null, request);
+    assertSame(body, request.getBody());
+
+    request = createRequest("identity", new byte[0]);
+    final InputStream identityBody = request.getBody();
+    DecompressingInputStream.decompress(new DefaultRequestDecompressionSupport(), request);
+    assertSame(identityBody, request.getBody());
+
+    request = createRequest(null, new byte[0]);
+    DecompressingInputStream.decompress(new DefaultRequestDecompressionSupport(), request);
+    assertEquals(0, IOUtils.toByteArray(request.getBody()).length);
+  }
+
+  @Test
+  public void unsupportedEncoding() {
+    try {
+      DecompressingInputStream.decompress(new DefaultRequestDecompressionSupport(), createRequest("br", new byte[0]));
+      fail("Expected exception not thrown.");
+    } catch (final ODataHandlerException e) {
+      assertEquals(ODataHandlerException.MessageKeys.UNSUPPORTED_CONTENT_ENCODING, e.getMessageKey());
+    }
+  }
+
+  @Test
+  public void maximumSize() throws Exception {
+    final ODataRequest request = createRequest("gzip", gzip(new byte[100000]));
+    DecompressingInputStream.decompress(new DefaultRequestDecompressionSupport(50000), request);
+    try {
+      IOUtils.toByteArray(request.getBody());
+      fail("Expected exception not thrown.");
+    } catch (final IOException e) {
+      assertEquals("The decompressed request content exceeds the maximum size of 50000 bytes.", e.getMessage());
+    }
+  }
+
+  private ODataRequest createRequest(final String contentEncoding, final byte[] body) {
+    ODataRequest request = new ODataRequest();
+    if (contentEncoding != null) {
+      request.setHeader(HttpHeader.CONTENT_ENCODING, contentEncoding);
+    }
+    request.setBody(new ByteArrayInputStream(body));
+    return request;
+  }
+
+  private byte[] gzip(final byte[] content) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    GZIPOutputStream output = new GZIPOutputStream(compressed);
+    output.write(content);
+    output.close();
+    return compressed.toByteArray();
+  }
+}
@@ -19,15 +19,31 @@
 package org.apache.olingo.server.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpMethod;
 import org.apache.olingo.server.api.ODataLibraryException;
 import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.core.serializer.utils.CircleStreamBuffer;
 import org.junit.Test;
 
 public class ODataHttpHandlerImplTest {
@@ -224,4 +240,53 @@ public class ODataHttpHandlerImplTest {
     
     }
   }
+
+  @Test
+  public void copyBufferedContent() throws Exception {
+    CircleStreamBuffer buffer = new CircleStreamBuffer();
+    buffer.getOutputStream().write("{\"value\":[]}".getBytes("UTF-8"));
+    buffer.getOutputStream().close();
+
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+      @Override
+      public void write(final int b) throws IOException {
+        written.write(b);
+      }
+    });
+
+    ODataHttpHandlerImpl.copyContent(buffer.getInputStream(), response);
+    assertEquals("{\"value\":[]}", new String(written.toByteArray(), "UTF-8"));
+  }
+
+  @Test
+  public void convertToHttpCompressed() throws Exception {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      content.append("{\"PropertyInt16\":").append(i).append('}');
+    }
+    ODataResponse odResponse = new ODataResponse();
+    odResponse.setStatusCode(200);
+    odResponse.setHeader(HttpHeader.CONTENT_LENGTH, "12345");
+    odResponse.setHeader(HttpHeader.ETAG, "\"1\"");
+    odResponse.setContent(new ByteArrayInputStream(content.toString().getBytes("UTF-8")));
+
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+      @Override
+      public void write(final int b) throws IOException {
+        written.write(b);
+      }
+    });
+
+    ODataHttpHandlerImpl.convertToHttp(response, odResponse, CompressingOutputStream.GZIP, -1, 1024);
+    verify(response).setHeader(HttpHeader.CONTENT_ENCODING, CompressingOutputStream.GZIP);
+    verify(response).setHeader(HttpHeader.ETAG, "W/\"1\"");
+    verify(response, never()).addHeader(eq(HttpHeader.CONTENT_LENGTH), anyString());
+    assertTrue(written.size() < content.length());
+    assertEquals(content.toString(),
+        IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(written.toByteArray())), "UTF-8"));
+  }
 }
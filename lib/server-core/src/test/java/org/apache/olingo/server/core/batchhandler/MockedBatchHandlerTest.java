@@ -19,8 +19,10 @@
 package org.apache.olingo.server.core.batchhandler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +35,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.format.ContentType;
@@ -49,11 +53,13 @@ import org.apache.olingo.server.api.batch.BatchFacade;
 import org.apache.olingo.server.api.deserializer.batch.BatchDeserializerException;
 import org.apache.olingo.server.api.deserializer.batch.BatchOptions;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartReader;
 import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
 import org.apache.olingo.server.api.processor.BatchProcessor;
 import org.apache.olingo.server.api.serializer.BatchSerializerException;
 import org.apache.olingo.server.core.ODataHandlerImpl;
 import org.apache.olingo.server.core.deserializer.batch.BatchLineReader;
+import org.apache.olingo.server.core.deserializer.batch.BatchParser;
 import org.apache.olingo.server.core.deserializer.batch.BatchParserCommon;
 import org.junit.Before;
 import org.junit.Test;
@@ -242,6 +248,82 @@ public class MockedBatchHandlerTest {
     reader.close();
   }
 
+  @Test
+  public void parallelRetrieveRequests() throws Exception {
+    final String content = ""
+        + "--batch_12345" + CRLF
+        + "Content-Type: application/http" + CRLF
+        + "Content-Transfer-Encoding: binary" + CRLF
+        + CRLF
+        + "GET ESAllPrim(0) HTTP/1.1" + CRLF
+        + CRLF
+        + CRLF
+        + "--batch_12345" + CRLF
+        + "Content-Type: application/http" + CRLF
+        + "Content-Transfer-Encoding: binary" + CRLF
+        + CRLF
+        + "GET ESAllPrim(1) HTTP/1.1" + CRLF
+        + CRLF
+        + CRLF
+        + "--batch_12345" + CRLF
+        + "Content-Type: multipart/mixed; boundary=changeset_12345" + CRLF
+        + CRLF
+        + "--changeset_12345" + CRLF
+        + "Content-Type: application/http" + CRLF
+        + "Content-Transfer-Encoding: binary" + CRLF
+        + "Content-Id: 1" + CRLF
+        + CRLF
+        + "PUT ESAllPrim(1) HTTP/1.1" + CRLF
+        + "Content-Type: application/json" + CRLF
+        + CRLF
+        + CRLF
+        + "--changeset_12345--" + CRLF
+        + CRLF
+        + "--batch_12345" + CRLF
+        + "Content-Type: application/http" + CRLF
+        + "Content-Transfer-Encoding: binary" + CRLF
+        + CRLF
+        + "GET ESAllPrim(2) HTTP/1.1" + CRLF
+        + CRLF
+        + CRLF
+        + "--batch_12345--";
+
+    final String requestThread = Thread.currentThread().getName();
+    final List<String> processingThreads = Collections.synchronizedList(new ArrayList<String>());
+    when(oDataHandler.copy()).thenReturn(oDataHandler);
+    when(oDataHandler.process(any(ODataRequest.class))).then(new Answer<ODataResponse>() {
+      @Override
+      public ODataResponse answer(final InvocationOnMock invocation) throws Throwable {
+        final ODataRequest request = (ODataRequest) invocation.getArguments()[0];
+        if (request.getMethod() == HttpMethod.GET) {
+          processingThreads.add(Thread.currentThread().getName());
+        }
+        final ODataResponse response = buildResponse(request);
+        response.setHeader("X-Path", request.getRawODataPath());
+        return response;
+      }
+    });
+
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final BatchFacade facade = new BatchFacadeImpl(oDataHandler, new BatchTestProcessorImpl(), true, executor);
+      final BatchRequestPartReader parts = new BatchParser().parseBatchRequestStreamed(
+          new ByteArrayInputStream(content.getBytes("UTF-8")), "batch_12345",
+          BatchOptions.with().isStrict(true).rawBaseUri(BASE_URI).build());
+      final List<ODataResponsePart> responseParts = facade.handleBatchRequests(parts, false);
+
+      assertEquals(4, responseParts.size());
+      assertEquals("/ESAllPrim(0)", responseParts.get(0).getResponses().get(0).getHeader("X-Path"));
+      assertEquals("/ESAllPrim(1)", responseParts.get(1).getResponses().get(0).getHeader("X-Path"));
+      assertTrue(responseParts.get(2).isChangeSet());
+      assertEquals("/ESAllPrim(2)", responseParts.get(3).getResponses().get(0).getHeader("X-Path"));
+      assertEquals(3, processingThreads.size());
+      assertFalse(processingThreads.contains(requestThread));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   public void testMultipleChangeSets() throws Exception {
     final String content = ""
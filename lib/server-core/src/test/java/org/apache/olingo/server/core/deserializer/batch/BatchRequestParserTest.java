@@ -22,6 +22,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.util.List;
 
 import org.apache.commons.io.IOUtils;
@@ -32,6 +33,7 @@ import org.apache.olingo.server.api.deserializer.batch.BatchDeserializerExceptio
 import org.apache.olingo.server.api.deserializer.batch.BatchDeserializerException.MessageKeys;
 import org.apache.olingo.server.api.deserializer.batch.BatchOptions;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartReader;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -460,6 +462,54 @@ public class BatchRequestParserTest {
     parseInvalidBatchBody(batch, BatchDeserializerException.MessageKeys.MISSING_CLOSE_DELIMITER);
   }
 
+  @Test
+  public void streamedPartsAreReadLazily() throws Exception {
+    final String firstPart = "--" + BOUNDARY + CRLF
+        + GET_REQUEST
+        + "--" + BOUNDARY + CRLF;
+    final String secondPart = GET_REQUEST
+        + "--" + BOUNDARY + "--";
+    final boolean[] secondPartRead = new boolean[] { false };
+    final InputStream secondPartStream = new ByteArrayInputStream(secondPart.getBytes("ISO-8859-1")) {
+      @Override
+      public synchronized int read(final byte[] b, final int off, final int len) {
+        secondPartRead[0] = true;
+        return super.read(b, off, len);
+      }
+    };
+
+    final BatchRequestPartReader reader = new BatchParser().parseBatchRequestStreamed(
+        new SequenceInputStream(IOUtils.toInputStream(firstPart), secondPartStream), BOUNDARY,
+        BatchOptions.with().isStrict(true).rawBaseUri(SERVICE_ROOT).build());
+
+    Assert.assertTrue(reader.hasNext());
+    Assert.assertEquals(HttpMethod.GET, reader.next().getRequests().get(0).getMethod());
+    Assert.assertFalse(secondPartRead[0]);
+
+    Assert.assertTrue(reader.hasNext());
+    Assert.assertEquals(HttpMethod.GET, reader.next().getRequests().get(0).getMethod());
+    Assert.assertTrue(secondPartRead[0]);
+    Assert.assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void streamedMissingCloseDelimiter() throws Exception {
+    final String batch = "--" + BOUNDARY + CRLF
+        + GET_REQUEST
+        + "--" + BOUNDARY + CRLF
+        + GET_REQUEST;
+
+    final BatchRequestPartReader reader = new BatchParser().parseBatchRequestStreamed(
+        IOUtils.toInputStream(batch), BOUNDARY, BatchOptions.with().isStrict(true).rawBaseUri(SERVICE_ROOT).build());
+    Assert.assertNotNull(reader.next());
+    try {
+      reader.hasNext();
+      Assert.fail("No exception thrown. Expected: " + MessageKeys.MISSING_CLOSE_DELIMITER);
+    } catch (BatchDeserializerException e) {
+      Assert.assertEquals(MessageKeys.MISSING_CLOSE_DELIMITER, e.getMessageKey());
+    }
+  }
+
   @Test
   public void emptyRequest() throws Exception {
     final String batch = "--" + BOUNDARY + "--";
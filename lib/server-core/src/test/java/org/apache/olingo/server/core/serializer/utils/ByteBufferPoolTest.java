@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class ByteBufferPoolTest {
+
+  @Test
+  public void reuse() {
+    ByteBufferPool pool = new ByteBufferPool(1024, false);
+    ByteBuffer buffer = pool.acquire(512);
+    assertEquals(512, buffer.capacity());
+    assertFalse(buffer.isDirect());
+    buffer.put((byte) 1);
+
+    pool.release(buffer);
+    assertEquals(512, pool.getPooledBytes());
+
+    ByteBuffer reused = pool.acquire(512);
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertEquals(0, pool.getPooledBytes());
+    assertNotSame(buffer, pool.acquire(512));
+  }
+
+  @Test
+  public void limit() {
+    ByteBufferPool pool = new ByteBufferPool(1024, false);
+    pool.release(ByteBuffer.allocate(512));
+    pool.release(ByteBuffer.allocate(512));
+    pool.release(ByteBuffer.allocate(512));
+    assertEquals(1024, pool.getPooledBytes());
+  }
+
+  @Test
+  public void disabled() {
+    ByteBufferPool pool = new ByteBufferPool(0, false);
+    ByteBuffer buffer = pool.acquire(512);
+    pool.release(buffer);
+    assertEquals(0, pool.getPooledBytes());
+    assertNotSame(buffer, pool.acquire(512));
+  }
+
+  @Test
+  public void notPooled() {
+    ByteBufferPool pool = new ByteBufferPool(1024 * 1024, false);
+    // no power of two
+    pool.release(ByteBuffer.allocate(1000));
+    // wrong kind of buffer
+    pool.release(ByteBuffer.allocateDirect(512));
+    pool.release(null);
+    assertEquals(0, pool.getPooledBytes());
+  }
+
+  @Test
+  public void direct() {
+    ByteBufferPool pool = new ByteBufferPool(1024, true);
+    ByteBuffer buffer = pool.acquire(512);
+    assertTrue(buffer.isDirect());
+    pool.release(buffer);
+    assertSame(buffer, pool.acquire(512));
+  }
+}
@@ -19,7 +19,9 @@
 package org.apache.olingo.server.core.serializer.utils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -268,6 +270,68 @@ public class CircleStreamBufferTest {
     write.write("Test".getBytes(DEFAULT_CHARSET), 0, 4);
   }
 
+  @Test
+  public void testBuffersReturnedToPool() throws Exception {
+    ByteBufferPool pool = new ByteBufferPool(1024 * 1024, false);
+    CircleStreamBuffer csb = new CircleStreamBuffer(128, pool);
+
+    String testData = createTestString(4096);
+    csb.getOutputStream().write(testData.getBytes(DEFAULT_CHARSET));
+    csb.getOutputStream().close();
+    assertEquals(0, pool.getPooledBytes());
+
+    InputStream inStream = csb.getInputStream();
+    assertEquals(testData, readFrom(inStream));
+    inStream.close();
+    assertTrue(pool.getPooledBytes() > 0);
+
+    // a second buffer reuses the pooled buffers
+    long pooledBytes = pool.getPooledBytes();
+    CircleStreamBuffer second = new CircleStreamBuffer(128, pool);
+    assertTrue(pool.getPooledBytes() < pooledBytes);
+    second.getOutputStream().write(testData.getBytes(DEFAULT_CHARSET));
+    assertEquals(testData, readFrom(second.getInputStream()));
+  }
+
+  @Test
+  public void testDirectBufferPool() throws Exception {
+    CircleStreamBuffer csb = new CircleStreamBuffer(128, new ByteBufferPool(1024 * 1024, true));
+
+    String testData = createTestString(1024);
+    csb.getOutputStream().write(testData.getBytes(DEFAULT_CHARSET));
+    assertEquals(testData, readFrom(csb.getInputStream()));
+  }
+
+  @Test
+  public void testWriteTo() throws Exception {
+    ByteBufferPool pool = new ByteBufferPool(1024 * 1024, false);
+    CircleStreamBuffer csb = new CircleStreamBuffer(128, pool);
+
+    String testData = createTestString(4096);
+    csb.getOutputStream().write(testData.getBytes(DEFAULT_CHARSET));
+    csb.getOutputStream().close();
+
+    CircleStreamBuffer.BufferInputStream inStream = (CircleStreamBuffer.BufferInputStream) csb.getInputStream();
+    assertEquals(testData.charAt(0), inStream.read());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(4095, inStream.writeTo(out));
+    assertEquals(testData.substring(1), new String(out.toByteArray(), DEFAULT_CHARSET));
+    assertEquals(-1, inStream.read());
+    assertTrue(pool.getPooledBytes() > 0);
+  }
+
+  @Test
+  public void testWriteToFromDirectBuffers() throws Exception {
+    CircleStreamBuffer csb = new CircleStreamBuffer(128, new ByteBufferPool(1024 * 1024, true));
+
+    String testData = createTestString(1024);
+    csb.getOutputStream().write(testData.getBytes(DEFAULT_CHARSET));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((CircleStreamBuffer.BufferInputStream) csb.getInputStream()).writeTo(out);
+    assertEquals(testData, new String(out.toByteArray(), DEFAULT_CHARSET));
+  }
+
   // ###################################################
   // #
   // # Below here are test helper methods
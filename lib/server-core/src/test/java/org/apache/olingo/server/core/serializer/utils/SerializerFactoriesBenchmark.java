@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Compares creating the JSON and XML factories per serializer call with the shared
+ * {@link SerializerFactories} for a small entity response.
+ * <p>
+ * Run with <code>java -cp &lt;test class path&gt;
+ * org.apache.olingo.server.core.serializer.utils.SerializerFactoriesBenchmark</code>.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializerFactoriesBenchmark {
+
+  private static final String CHARSET = "UTF-8";
+
+  private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(1024);
+
+  @Benchmark
+  public int jsonPerCallFactory() throws IOException {
+    outputStream.reset();
+    writeJson(new JsonFactory().createGenerator(outputStream));
+    return outputStream.size();
+  }
+
+  @Benchmark
+  public int jsonSharedFactory() throws IOException {
+    outputStream.reset();
+    writeJson(SerializerFactories.createJsonGenerator(outputStream));
+    return outputStream.size();
+  }
+
+  @Benchmark
+  public int xmlPerCallFactory() throws XMLStreamException {
+    outputStream.reset();
+    writeXml(XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, CHARSET));
+    return outputStream.size();
+  }
+
+  @Benchmark
+  public int xmlSharedFactory() throws XMLStreamException {
+    outputStream.reset();
+    writeXml(SerializerFactories.createXmlStreamWriter(outputStream, CHARSET));
+    return outputStream.size();
+  }
+
+  private static void writeJson(final JsonGenerator json) throws IOException {
+    json.writeStartObject();
+    json.writeStringField("@odata.context", "$metadata#ESTwoPrim/$entity");
+    json.writeNumberField("PropertyInt16", 32766);
+    json.writeStringField("PropertyString", "Test String1");
+    json.writeEndObject();
+    json.close();
+  }
+
+  private static void writeXml(final XMLStreamWriter writer) throws XMLStreamException {
+    writer.writeStartDocument(CHARSET, "1.0");
+    writer.writeStartElement("a", "entry", "http://www.w3.org/2005/Atom");
+    writer.writeNamespace("a", "http://www.w3.org/2005/Atom");
+    writer.writeStartElement("m", "properties", "http://docs.oasis-open.org/odata/ns/metadata");
+    writer.writeNamespace("m", "http://docs.oasis-open.org/odata/ns/metadata");
+    writer.writeStartElement("d", "PropertyInt16", "http://docs.oasis-open.org/odata/ns/data");
+    writer.writeNamespace("d", "http://docs.oasis-open.org/odata/ns/data");
+    writer.writeCharacters("32766");
+    writer.writeEndElement();
+    writer.writeStartElement("d", "PropertyString", "http://docs.oasis-open.org/odata/ns/data");
+    writer.writeCharacters("Test String1");
+    writer.writeEndElement();
+    writer.writeEndElement();
+    writer.writeEndElement();
+    writer.writeEndDocument();
+    writer.close();
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(SerializerFactoriesBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -235,12 +235,9 @@ public class ExpressionVisitorImpl implements ExpressionVisitor<VisitorOperand>
             }
           } else {
             currentEdmProperty = ((UriResourceProperty) uriResourceParts.get(i)).getProperty();
-            final List<Property> complex = currentProperty.asComplex().getValue();
-            for (final Property innerProperty : complex) {
-              if (innerProperty.getName().equals(currentEdmProperty.getName())) {
-                currentProperty = innerProperty;
-                break;
-              }
+            final Property innerProperty = currentProperty.asComplex().getProperty(currentEdmProperty.getName());
+            if (innerProperty != null) {
+              currentProperty = innerProperty;
             }
           }
         }
@@ -265,15 +262,8 @@ public class ExpressionVisitorImpl implements ExpressionVisitor<VisitorOperand>
     } else if (initialPart instanceof UriResourceLambdaVariable) {
       EdmComplexType complexType = (EdmComplexType) ((UriResourceLambdaVarImpl)initialPart).getTypeFilter();
       EdmProperty currentEdmProperty = ((UriResourceProperty) uriResourceParts.get(1)).getProperty();
-      Property currentProperty = null;
-      List<Property> properties = complexValue.getValue();
-      for (final Property innerProperty : properties) {
-        if (innerProperty.getName().equals(currentEdmProperty.getName()) && 
-            complexType.getProperty(innerProperty.getName()) != null) {
-          currentProperty = innerProperty;
-          break;
-        }
-      }
+      final Property currentProperty = complexType.getProperty(currentEdmProperty.getName()) == null ? null :
+          complexValue.getProperty(currentEdmProperty.getName());
       return new TypedOperand(currentProperty == null ? null : currentProperty.getValue(), 
           currentEdmProperty.getType(), currentEdmProperty);
     } else {
@@ -19,9 +19,18 @@
 package org.apache.olingo.netty.server.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,24 +38,47 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.netty.server.api.ODataNetty;
 import org.apache.olingo.netty.server.api.ODataNettyHandler;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.processor.EntityProcessor;
 import org.apache.olingo.server.api.processor.MetadataProcessor;
+import org.apache.olingo.server.api.uri.UriInfo;
 import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseEncoder;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 
 public class ODataNettyHandlerImplTest {
@@ -153,4 +185,151 @@ public class ODataNettyHandlerImplTest {
     nettyResponse.status();
     assertEquals(HttpStatusCode.CREATED.getStatusCode(), HttpResponseStatus.CREATED.code());
   }
+
+  @Test
+  public void testNettyReqResp_ChunkedGetMethod() {
+    final ODataNetty odata = ODataNetty.newInstance();
+    final ServiceMetadata metadata = odata.createServiceMetadata(
+        new EdmTechProvider(), Collections.<EdmxReference> emptyList());
+    ODataNettyHandlerImpl handler = (ODataNettyHandlerImpl) odata.createNettyHandler(metadata);
+    final List<Runnable> writers = new ArrayList<Runnable>();
+    handler.setContentExecutor(new Executor() {
+      @Override
+      public void execute(final Runnable command) {
+        writers.add(command);
+      }
+    });
+
+    DefaultFullHttpRequest nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET,
+        "/odata.svc/$metadata");
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+
+    Map<String, String> requestParams = new HashMap<String, String>();
+    requestParams.put("contextPath", "/odata.svc");
+    handler.processNettyRequest(nettyRequest, channel.pipeline().firstContext(), requestParams);
+
+    // The content is not written on the event loop of the channel.
+    assertNull(channel.readOutbound());
+    assertEquals(1, writers.size());
+    writers.get(0).run();
+
+    HttpResponse nettyResponse = (HttpResponse) channel.readOutbound();
+    assertEquals(HttpResponseStatus.OK, nettyResponse.status());
+    assertTrue(HttpUtil.isTransferEncodingChunked(nettyResponse));
+    StringBuilder content = new StringBuilder();
+    Object message;
+    while ((message = channel.readOutbound()) != null) {
+      content.append(((HttpContent) message).content().toString(Charset.forName("UTF-8")));
+      ((HttpContent) message).release();
+    }
+    assertTrue(content.toString().contains("<edmx:Edmx"));
+  }
+
+  @Test
+  public void chunkedContentWaitsForSlowClient() throws Exception {
+    final int length = 16 * 1024 * 1024;
+    final int[] position = new int[1];
+    EntityProcessor processor = mock(EntityProcessor.class);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(final InvocationOnMock invocation) {
+        final ODataResponse response = (ODataResponse) invocation.getArguments()[1];
+        response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+        response.setContent(new InputStream() {
+          @Override
+          public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0];
+          }
+
+          @Override
+          public int read(final byte[] b, final int off, final int len) throws IOException {
+            synchronized (position) {
+              final int count = Math.min(len, length - position[0]);
+              if (count <= 0) {
+                return -1;
+              }
+              for (int i = 0; i < count; i++) {
+                b[off + i] = 'a';
+              }
+              position[0] += count;
+              return count;
+            }
+          }
+        });
+        return null;
+      }
+    }).when(processor).readEntity(any(ODataRequest.class), any(ODataResponse.class), any(UriInfo.class),
+        any(ContentType.class));
+
+    final ODataNetty odata = ODataNetty.newInstance();
+    final ODataNettyHandler handler = odata.createNettyHandler(odata.createServiceMetadata(
+        new EdmTechProvider(), Collections.<EdmxReference> emptyList()));
+    handler.register(processor);
+    final Map<String, String> requestParams = new HashMap<String, String>();
+    requestParams.put("contextPath", "/odata.svc");
+
+    EventLoopGroup group = new NioEventLoopGroup(1);
+    Socket client = new Socket();
+    try {
+      Channel server = new ServerBootstrap()
+          .group(group)
+          .channel(NioServerSocketChannel.class)
+          .childOption(ChannelOption.SO_SNDBUF, 8192)
+          .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8192, 32768))
+          .childHandler(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(final SocketChannel channel) {
+              channel.pipeline().addLast(new HttpResponseEncoder(), new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelActive(final ChannelHandlerContext ctx) {
+                  // Processed on the event loop of the channel.
+                  handler.processNettyRequest(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET,
+                      "/odata.svc/ESAllPrim(32767)"), ctx, requestParams);
+                }
+              });
+            }
+          })
+          .bind("127.0.0.1", 0).sync().channel();
+
+      client.setReceiveBufferSize(8192);
+      client.connect(new InetSocketAddress("127.0.0.1", ((InetSocketAddress) server.localAddress()).getPort()));
+
+      // The client does not read, so the serialization must stop once the buffers are full.
+      int previous = -1;
+      for (int i = 0; i < 100; i++) {
+        Thread.sleep(100);
+        synchronized (position) {
+          if (position[0] == previous && previous > 0) {
+            break;
+          }
+          previous = position[0];
+        }
+      }
+      synchronized (position) {
+        assertTrue(position[0] > 0);
+        assertTrue(position[0] < 1024 * 1024);
+      }
+
+      // Read until the last (empty) chunk.
+      final InputStream in = client.getInputStream();
+      final byte[] buffer = new byte[8192];
+      final StringBuilder tail = new StringBuilder();
+      long received = 0;
+      int count;
+      while (!tail.toString().endsWith("\r\n0\r\n\r\n") && (count = in.read(buffer)) != -1) {
+        received += count;
+        tail.append(new String(buffer, 0, count, "ISO-8859-1"));
+        tail.delete(0, Math.max(0, tail.length() - 7));
+      }
+      assertTrue(received > length);
+      synchronized (position) {
+        assertEquals(length, position[0]);
+      }
+      server.close().sync();
+    } finally {
+      client.close();
+      group.shutdownGracefully();
+    }
+  }
 }
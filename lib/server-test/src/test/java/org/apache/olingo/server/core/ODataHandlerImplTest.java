@@ -20,8 +20,10 @@ package org.apache.olingo.server.core;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -32,9 +34,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
 import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -43,8 +47,10 @@ import org.apache.commons.io.IOUtils;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
 import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
 import org.apache.olingo.commons.api.edm.provider.CsdlAbstractEdmProvider;
+import org.apache.olingo.commons.api.edm.provider.CsdlEdmProvider;
 import org.apache.olingo.commons.api.edm.provider.CsdlEntitySet;
 import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.commons.api.edmx.EdmxReferenceInclude;
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpHeader;
@@ -57,6 +63,7 @@ import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.ODataServerError;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.batch.BatchFacade;
+import org.apache.olingo.server.api.etag.ServiceMetadataETagSupport;
 import org.apache.olingo.server.api.processor.ActionComplexCollectionProcessor;
 import org.apache.olingo.server.api.processor.ActionComplexProcessor;
 import org.apache.olingo.server.api.processor.ActionEntityCollectionProcessor;
@@ -82,8 +89,10 @@ import org.apache.olingo.server.api.processor.Processor;
 import org.apache.olingo.server.api.processor.ReferenceCollectionProcessor;
 import org.apache.olingo.server.api.processor.ReferenceProcessor;
 import org.apache.olingo.server.api.processor.ServiceDocumentProcessor;
+import org.apache.olingo.server.api.serializer.RenderedDocumentSupport;
 import org.apache.olingo.server.api.uri.UriInfo;
 import org.apache.olingo.server.core.debug.ServerCoreDebugger;
+import org.apache.olingo.server.core.uri.parser.UriInfoCache;
 import org.apache.olingo.server.tecsvc.processor.TechnicalActionProcessor;
 import org.apache.olingo.server.tecsvc.provider.ContainerProvider;
 import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
@@ -199,6 +208,74 @@ public class ODataHandlerImplTest {
     assertNull(response2.getContent());
   }
 
+  @Test
+  public void metadataRenderedDocument() throws Exception {
+    final ODataResponse response = dispatch(HttpMethod.GET, "$metadata", null);
+    final String eTag = response.getHeader(HttpHeader.ETAG);
+    assertNotNull(eTag);
+    assertTrue(eTag.startsWith("\""));
+
+    final ODataResponse notModified =
+        dispatch(HttpMethod.GET, "$metadata", null, HttpHeader.IF_NONE_MATCH, eTag, null);
+    assertEquals(HttpStatusCode.NOT_MODIFIED.getStatusCode(), notModified.getStatusCode());
+    assertNull(notModified.getContent());
+
+    final ODataResponse head = dispatch(HttpMethod.HEAD, "$metadata", null);
+    assertEquals(eTag, head.getHeader(HttpHeader.ETAG));
+
+    // the compression is negotiated later, together with all other responses
+    final ODataResponse notGzipped =
+        dispatch(HttpMethod.GET, "$metadata", null, HttpHeader.ACCEPT_ENCODING, "gzip", null);
+    assertNull(notGzipped.getHeader(HttpHeader.CONTENT_ENCODING));
+    assertNull(notGzipped.getHeader(HttpHeader.VARY));
+    assertEquals(eTag, notGzipped.getHeader(HttpHeader.ETAG));
+  }
+
+  @Test
+  public void renderedDocumentsSharedWithMetadataETag() throws Exception {
+    final OData odata = OData.newInstance();
+    final CsdlEdmProvider provider = new EdmTechProvider();
+    final ServiceMetadataETagSupport eTagSupport = new ServiceMetadataETagSupport() {
+      @Override
+      public String getMetadataETag() {
+        return "W/\"metadata\"";
+      }
+
+      @Override
+      public String getServiceDocumentETag() {
+        return "W/\"serviceDocument\"";
+      }
+    };
+    final RenderedDocumentSupport first = (RenderedDocumentSupport)
+        odata.createServiceMetadata(provider, Collections.<EdmxReference> emptyList(), eTagSupport);
+    final RenderedDocumentSupport second = (RenderedDocumentSupport)
+        odata.createServiceMetadata(provider, Collections.<EdmxReference> emptyList(), eTagSupport);
+    assertSame(first.getMetadataDocument(odata, ContentType.APPLICATION_XML),
+        second.getMetadataDocument(odata, ContentType.APPLICATION_XML));
+    assertSame(first.getServiceDocument(odata, ContentType.JSON),
+        second.getServiceDocument(odata, ContentType.JSON));
+
+    final RenderedDocumentSupport withReference = (RenderedDocumentSupport)
+        odata.createServiceMetadata(provider, references(), eTagSupport);
+    assertNotSame(first.getMetadataDocument(odata, ContentType.APPLICATION_XML),
+        withReference.getMetadataDocument(odata, ContentType.APPLICATION_XML));
+    assertSame(withReference.getMetadataDocument(odata, ContentType.APPLICATION_XML),
+        ((RenderedDocumentSupport) odata.createServiceMetadata(provider, references(), eTagSupport))
+            .getMetadataDocument(odata, ContentType.APPLICATION_XML));
+    assertSame(first.getMetadataDocument(odata, ContentType.APPLICATION_XML),
+        second.getMetadataDocument(odata, ContentType.APPLICATION_XML));
+
+    final RenderedDocumentSupport withoutETag = (RenderedDocumentSupport)
+        odata.createServiceMetadata(provider, Collections.<EdmxReference> emptyList());
+    assertNotSame(first.getMetadataDocument(odata, ContentType.APPLICATION_XML),
+        withoutETag.getMetadataDocument(odata, ContentType.APPLICATION_XML));
+  }
+
+  private static List<EdmxReference> references() {
+    return Collections.singletonList(new EdmxReference(URI.create("http://host/Vocabularies/Core.xml"))
+        .addInclude(new EdmxReferenceInclude("Org.OData.Core.V1", "Core")));
+  }
+
   @Test
   public void maxVersionNone() {
     final ODataResponse response = dispatch(HttpMethod.GET, "$metadata", null);
@@ -401,6 +478,27 @@ public class ODataHandlerImplTest {
     assertNull(handler.getUriInfo());
   }
 
+  @Test
+  public void copyKeepsUriInfoCache() throws Exception {
+    final OData odata = OData.newInstance();
+    final ServiceMetadata serviceMetadata = odata.createServiceMetadata(
+        new EdmTechProvider(), Collections.<EdmxReference> emptyList());
+    final ODataHandlerImpl handler = new ODataHandlerImpl(odata, serviceMetadata, new ServerCoreDebugger(odata));
+    final UriInfoCache cache = new UriInfoCache(16);
+    handler.register(cache);
+    final EntityProcessor processor = mock(EntityProcessor.class);
+    handler.register(processor);
+
+    ODataRequest request = new ODataRequest();
+    request.setMethod(HttpMethod.GET);
+    request.setRawBaseUri(BASE_URI);
+    request.setRawODataPath("ESAllPrim(1)");
+    handler.copy().process(request);
+    verify(processor).readEntity(any(ODataRequest.class), any(ODataResponse.class), any(UriInfo.class),
+        any(ContentType.class));
+    assertEquals(1, cache.size());
+  }
+
   @Test
   public void dispatchBatch() throws Exception {
     final String uri = "$batch";
@@ -19,6 +19,7 @@
 package org.apache.olingo.server.core.deserializer.json;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -30,8 +31,10 @@ import java.util.List;
 
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
@@ -163,6 +166,62 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
         DeserializerException.MessageKeys.NOT_IMPLEMENTED);
   }
 
+  @Test
+  public void esAllPrimStreamed() throws Exception {
+    final EntityIterator iterator = deserializeStreamed(getFileAsStream("ESAllPrim.json"), "ETAllPrim");
+    assertTrue(iterator.hasNext());
+    assertEquals(new Short((short) 32767), iterator.next().getProperty("PropertyInt16").getValue());
+    assertTrue(iterator.hasNext());
+    assertEquals(new Short((short) -32768), iterator.next().getProperty("PropertyInt16").getValue());
+    assertTrue(iterator.hasNext());
+    assertEquals(new Short((short) 0), iterator.next().getProperty("PropertyInt16").getValue());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void valueTagMissingStreamed() throws Exception {
+    try {
+      deserializeStreamed(new ByteArrayInputStream("{\"@odata.context\":\"$metadata#ESAllPrim\"}".getBytes()),
+          "ETAllPrim");
+      fail("Expected exception not thrown.");
+    } catch (final DeserializerException e) {
+      assertEquals(DeserializerException.MessageKeys.VALUE_ARRAY_NOT_PRESENT, e.getMessageKey());
+    }
+  }
+
+  @Test
+  public void wrongValueInValueArrayStreamed() throws Exception {
+    final EntityIterator iterator = deserializeStreamed(
+        new ByteArrayInputStream("{\"value\":[{\"PropertyInt16\":1},1234]}".getBytes()), "ETAllPrim");
+    assertEquals(new Short((short) 1), iterator.next().getProperty("PropertyInt16").getValue());
+    try {
+      iterator.hasNext();
+      fail("Expected exception not thrown.");
+    } catch (final ODataRuntimeException e) {
+      assertEquals(DeserializerException.MessageKeys.INVALID_ENTITY,
+          ((DeserializerException) e.getCause()).getMessageKey());
+    }
+  }
+
+  @Test
+  public void unknownContentInCollectionStreamed() throws Exception {
+    final EntityIterator iterator = deserializeStreamed(
+        new ByteArrayInputStream("{\"unknown\":null,\"value\":[]}".getBytes()), "ETAllPrim");
+    try {
+      iterator.hasNext();
+      fail("Expected exception not thrown.");
+    } catch (final ODataRuntimeException e) {
+      assertEquals(DeserializerException.MessageKeys.UNKNOWN_CONTENT,
+          ((DeserializerException) e.getCause()).getMessageKey());
+    }
+  }
+
+  private EntityIterator deserializeStreamed(final InputStream stream, final String entityTypeName)
+      throws DeserializerException {
+    return OData.newInstance().createDeserializer(ContentType.JSON, metadata)
+        .entityCollectionStreamed(stream, edm.getEntityType(new FullQualifiedName(NAMESPACE, entityTypeName)));
+  }
+
   private EntityCollection deserialize(final InputStream stream, final String entityTypeName)
       throws DeserializerException {
     return OData.newInstance().createDeserializer(ContentType.JSON, metadata)
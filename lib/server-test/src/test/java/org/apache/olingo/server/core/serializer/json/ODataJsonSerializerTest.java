@@ -144,6 +144,54 @@ public class ODataJsonSerializerTest {
     Assert.assertEquals(expectedResult, resultString);
   }
   
+  @Test
+  public void entityPropertiesInReverseOrder() throws Exception {
+    final EdmEntitySet edmEntitySet = entityContainer.getEntitySet("ESAllPrim");
+    final Entity entity = data.readAll(edmEntitySet).getEntities().get(0);
+    Collections.reverse(entity.getProperties());
+    InputStream result = serializer.entity(metadata, edmEntitySet.getEntityType(), entity,
+        EntitySerializerOptions.with()
+            .contextURL(ContextURL.with().entitySet(edmEntitySet).suffix(Suffix.ENTITY).build())
+            .select(ExpandSelectMock.mockSelectOption(Arrays.asList(
+                ExpandSelectMock.mockSelectItem(edmEntitySet, "PropertyBoolean"),
+                ExpandSelectMock.mockSelectItem(edmEntitySet, "PropertyDecimal"))))
+            .build()).getContent();
+    Assert.assertEquals("{"
+        + "\"@odata.context\":\"$metadata#ESAllPrim/$entity\","
+        + "\"@odata.metadataEtag\":\"W/\\\"metadataETag\\\"\","
+        + "\"@odata.id\":\"ESAllPrim(32767)\","
+        + "\"PropertyInt16\":32767,"
+        + "\"PropertyBoolean\":true,"
+        + "\"PropertyDecimal\":34"
+        + "}",
+        IOUtils.toString(result));
+  }
+
+  @Test
+  public void entityUnboxedValues() throws Exception {
+    final EdmEntitySet edmEntitySet = entityContainer.getEntitySet("ESAllPrim");
+    final Entity entity = data.readAll(edmEntitySet).getEntities().get(0);
+    final EntitySerializerOptions options = EntitySerializerOptions.with()
+        .contextURL(ContextURL.with().entitySet(edmEntitySet).suffix(Suffix.ENTITY).build())
+        .build();
+    final String expected = IOUtils.toString(
+        serializer.entity(metadata, edmEntitySet.getEntityType(), entity, options).getContent());
+    entity.getProperty("PropertyInt16").setLongValue(32767);
+    entity.getProperty("PropertyBoolean").setBooleanValue(true);
+    entity.getProperty("PropertyInt64").setLongValue(Long.MAX_VALUE);
+    entity.getProperty("PropertyDouble").setDoubleValue(-1.79E19);
+    Assert.assertEquals(expected, IOUtils.toString(
+        serializer.entity(metadata, edmEntitySet.getEntityType(), entity, options).getContent()));
+
+    entity.getProperty("PropertyByte").setLongValue(256);
+    try {
+      serializer.entity(metadata, edmEntitySet.getEntityType(), entity, options);
+      Assert.fail("Expected exception not thrown");
+    } catch (final SerializerException e) {
+      Assert.assertEquals(SerializerException.MessageKeys.WRONG_PROPERTY_VALUE, e.getMessageKey());
+    }
+  }
+
   @Test
   public void entitySimpleMetadataFull() throws Exception {
     final EdmEntitySet edmEntitySet = entityContainer.getEntitySet("ESAllPrim");
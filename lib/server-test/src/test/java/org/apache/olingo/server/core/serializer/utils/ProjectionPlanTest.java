@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.EdmEntityContainer;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
+import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
+import org.apache.olingo.server.api.uri.queryoption.SelectOption;
+import org.apache.olingo.server.core.serializer.ExpandSelectMock;
+import org.apache.olingo.server.core.serializer.utils.ProjectionPlan.NavigationPlan;
+import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
+import org.junit.Test;
+
+public class ProjectionPlanTest {
+
+  private static final Edm edm = OData.newInstance().createServiceMetadata(
+      new EdmTechProvider(), Collections.<EdmxReference> emptyList()).getEdm();
+  private static final EdmEntityContainer entityContainer = edm.getEntityContainer();
+
+  @Test
+  public void all() {
+    final EdmEntitySet entitySet = entityContainer.getEntitySet("ESAllPrim");
+    final ProjectionPlan plan = new ProjectionPlanCache().get(entitySet.getEntityType(), null, null);
+    assertTrue(plan.isAll());
+    assertTrue(plan.areKeysSelected());
+    assertEquals(entitySet.getEntityType().getPropertyNames().size(), plan.getProperties().size());
+    assertNull(plan.getSelectedPaths(0));
+    assertTrue(plan.getExpandedPaths().isEmpty());
+  }
+
+  @Test
+  public void select() {
+    final EdmEntitySet entitySet = entityContainer.getEntitySet("ESAllPrim");
+    final SelectOption select = ExpandSelectMock.mockSelectOption(Arrays.asList(
+        ExpandSelectMock.mockSelectItem(entitySet, "PropertyDate"),
+        ExpandSelectMock.mockSelectItem(entitySet, "PropertyString")));
+    final ProjectionPlanCache cache = new ProjectionPlanCache();
+    final ProjectionPlan plan = cache.get(entitySet.getEntityType(), select, null);
+    assertFalse(plan.isAll());
+    assertFalse(plan.areKeysSelected());
+    // in the order of the type definition, including the key property
+    assertEquals(3, plan.getProperties().size());
+    assertEquals("PropertyInt16", plan.getProperties().get(0).getName());
+    assertEquals("PropertyString", plan.getProperties().get(1).getName());
+    assertEquals("PropertyDate", plan.getProperties().get(2).getName());
+
+    assertSame(plan, cache.get(entitySet.getEntityType(), select, null));
+  }
+
+  @Test
+  public void expand() {
+    final EdmEntitySet entitySet = entityContainer.getEntitySet("ESTwoPrim");
+    final ExpandItem expandItem = ExpandSelectMock.mockExpandItem(entitySet, "NavPropertyETAllPrimOne");
+    final ExpandOption expand = ExpandSelectMock.mockExpandOption(Collections.singletonList(expandItem));
+    final NavigationPlan plan = new ProjectionPlanCache().get(entitySet.getEntityType(), null, expand)
+        .getNavigationPlan(entitySet.getName());
+    assertEquals(entitySet.getEntityType().getNavigationPropertyNames().size(), plan.size());
+    for (int index = 0; index < plan.size(); index++) {
+      if ("NavPropertyETAllPrimOne".equals(plan.getProperty(index).getName())) {
+        assertTrue(plan.isExpanded(index));
+        assertSame(expandItem, plan.getExpandItem(index));
+        assertNull(plan.getLevels(index));
+      } else {
+        assertFalse(plan.isExpanded(index));
+        assertNull(plan.getChildExpand(index));
+      }
+    }
+  }
+}
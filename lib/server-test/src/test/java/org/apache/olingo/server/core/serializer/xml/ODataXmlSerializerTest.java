@@ -18,6 +18,7 @@
  */
 package org.apache.olingo.server.core.serializer.xml;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -34,6 +35,7 @@ import org.apache.olingo.commons.api.data.ContextURL;
 import org.apache.olingo.commons.api.data.ContextURL.Suffix;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ValueType;
 import org.apache.olingo.commons.api.edm.EdmComplexType;
@@ -1293,6 +1295,54 @@ public class ODataXmlSerializerTest {
     checkXMLEqual(expectedResult, resultString);
   }
 
+  @Test
+  public void entityCollectionStreamedWithTrailingCountAndNextLink() throws Exception {
+    final EdmEntitySet edmEntitySet = entityContainer.getEntitySet("ESTwoPrim");
+    final Entity entity = data.readAll(edmEntitySet).getEntities().get(0);
+    final EntityIterator entityIterator = new EntityIterator() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        if (index < 120) {
+          return true;
+        }
+        setCount(120);
+        setNext(URI.create("/next"));
+        return false;
+      }
+
+      @Override
+      public Entity next() {
+        index++;
+        return entity;
+      }
+    };
+    CountOption countOption = Mockito.mock(CountOption.class);
+    Mockito.when(countOption.getValue()).thenReturn(true);
+
+    final int[] flushes = new int[1];
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+      @Override
+      public void flush() throws IOException {
+        flushes[0]++;
+      }
+    };
+    serializer.entityCollectionStreamed(metadata, edmEntitySet.getEntityType(), entityIterator,
+        EntityCollectionSerializerOptions.with()
+            .contextURL(ContextURL.with().entitySet(edmEntitySet).build())
+            .count(countOption)
+            .build()).getODataContent().write(outputStream);
+    final String resultString = new String(outputStream.toByteArray(), "UTF-8");
+
+    Assert.assertThat(resultString, CoreMatchers.endsWith("</a:entry>"
+        + "<m:count>120</m:count>"
+        + "<a:link rel=\"next\" href=\"/next\"/>"
+        + "</a:feed>"));
+    Assert.assertEquals(120, resultString.split("<a:entry>", -1).length - 1);
+    Assert.assertTrue(flushes[0] >= 2);
+  }
+
   @Test
   public void entitySetMedia() throws Exception {
     final EdmEntitySet edmEntitySet = entityContainer.getEntitySet("ESMedia");
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriParameter;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.api.uri.UriResourceNavigation;
+import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
+import org.junit.Test;
+
+public class UriInfoCacheTest {
+
+  private static final OData odata = OData.newInstance();
+  private static final Edm edm = odata.createServiceMetadata(
+      new EdmTechProvider(), Collections.<EdmxReference> emptyList()).getEdm();
+
+  private final UriInfoCache cache = new UriInfoCache(1024);
+
+  @Test
+  public void keyPredicatesAreBoundToTemplate() throws Exception {
+    final UriInfo first = parse("ESAllPrim(1)/PropertyString", null);
+    final UriInfo second = parse("ESAllPrim(32767)/PropertyString", null);
+    assertEquals(1, cache.size());
+    assertNotSame(first, second);
+    assertEquals("1", getKeys(first, 0).get(0).getText());
+    assertEquals("32767", getKeys(second, 0).get(0).getText());
+    for (int i = 0; i < 2; i++) {
+      assertNotSame(first.getUriResourceParts().get(i), second.getUriResourceParts().get(i));
+    }
+    assertEquals("PropertyString", second.getUriResourceParts().get(1).getSegmentValue());
+
+    parse("ESAllPrim(1)/PropertyInt16", null);
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void templateIsBoundToEdm() throws Exception {
+    parse("ESAllPrim(1)", null);
+    final Edm otherEdm = odata.createServiceMetadata(
+        new EdmTechProvider(), Collections.<EdmxReference> emptyList()).getEdm();
+    final UriInfo uriInfo = new Parser(otherEdm, odata, cache).parseUri("ESAllPrim(2)", null, null, null);
+    assertSame(otherEdm.getEntityContainer().getEntitySet("ESAllPrim"),
+        ((UriResourceEntitySet) uriInfo.getUriResourceParts().get(0)).getEntitySet());
+  }
+
+  @Test
+  public void navigationKeyPredicates() throws Exception {
+    parse("ESKeyNav(1)/NavPropertyETTwoKeyNavMany(PropertyInt16=1,PropertyString='1')/PropertyString", null);
+    final UriInfo uriInfo =
+        parse("ESKeyNav(2)/NavPropertyETTwoKeyNavMany(PropertyString='x',PropertyInt16=3)/PropertyString", null);
+    assertEquals(1, cache.size());
+    assertEquals(3, uriInfo.getUriResourceParts().size());
+    assertEquals("2", getKeys(uriInfo, 0).get(0).getText());
+    final List<UriParameter> keys = ((UriResourceNavigation) uriInfo.getUriResourceParts().get(1)).getKeyPredicates();
+    assertEquals("PropertyString", keys.get(0).getName());
+    assertEquals("'x'", keys.get(0).getText());
+    assertEquals("3", keys.get(1).getText());
+  }
+
+  @Test
+  public void invalidKeyPredicateOnCacheHit() throws Exception {
+    parse("ESAllPrim(1)", null);
+    assertSameException("ESAllPrim('1')");
+    assertSameException("ESAllPrim(1,2)");
+    assertSameException("ESAllPrim()");
+    assertSameException("ESAllPrim(PropertyString=1)");
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void uncachedUris() throws Exception {
+    parse("$metadata", null);
+    parse("ESTwoPrim/olingo.odata.test1.ETBase", null);
+    parse("FICRTCollString()", null);
+    parse("ESAllPrim(@p)", "@p=1");
+    parse("$crossjoin(ESTwoPrim,ESAllPrim)", null);
+    parse("ESAllPrim(1)", "$select=PropertyString");
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void sizeIsBounded() throws Exception {
+    final UriInfoCache smallCache = new UriInfoCache(16);
+    for (int i = 0; i < 100; i++) {
+      new Parser(edm, odata, smallCache).parseUri("ESAllPrim(1)", null, "f" + i, null);
+    }
+    assertTrue(smallCache.size() <= 16);
+  }
+
+  private void assertSameException(final String path) throws Exception {
+    ODataLibraryException expected = null;
+    try {
+      new Parser(edm, odata).parseUri(path, null, null, null);
+      fail("Expected ODataLibraryException");
+    } catch (final ODataLibraryException e) {
+      expected = e;
+    }
+    try {
+      parse(path, null);
+      fail("Expected ODataLibraryException");
+    } catch (final ODataLibraryException e) {
+      assertSame(expected.getClass(), e.getClass());
+      assertEquals(expected.getMessageKey(), e.getMessageKey());
+    }
+  }
+
+  private UriInfo parse(final String path, final String query) throws Exception {
+    return new Parser(edm, odata, cache).parseUri(path, query, null, null);
+  }
+
+  private static List<UriParameter> getKeys(final UriInfo uriInfo, final int index) {
+    return ((UriResourceEntitySet) uriInfo.getUriResourceParts().get(index)).getKeyPredicates();
+  }
+}